@@ -1,6 +1,9 @@
 package com.kylin.admin.aspect;
 
 import com.kylin.admin.annotation.RequiresPermissions;
+import com.kylin.admin.config.PermissionMask;
+import com.kylin.admin.config.SecurityUser;
+import com.kylin.admin.service.PermissionRegistry;
 import com.kylin.common.BusinessException;
 import lombok.RequiredArgsConstructor;
 import org.aspectj.lang.JoinPoint;
@@ -12,30 +15,33 @@ import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
 
-import java.util.Collection;
-import java.util.Set;
-import java.util.stream.Collectors;
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * 权限校验 AOP 切面
+ * 每个注解方法首次调用时解析为所需权限位图并缓存，之后的校验只做位运算
  */
 @Aspect
 @Component
 @RequiredArgsConstructor
 public class PermissionAspect {
 
+    private final PermissionRegistry permissionRegistry;
+
+    /**
+     * 方法 -> 所需权限（方法集合在运行期固定，缓存不需要淘汰）
+     */
+    private final Map<Method, RequiredPermissions> requiredCache = new ConcurrentHashMap<>();
+
     @Before("@annotation(com.kylin.admin.annotation.RequiresPermissions)")
     public void checkPermission(JoinPoint joinPoint) {
-        // 获取方法上的注解
-        MethodSignature signature = (MethodSignature) joinPoint.getSignature();
-        RequiresPermissions annotation = signature.getMethod().getAnnotation(RequiresPermissions.class);
-
-        if (annotation == null) {
-            return;
-        }
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        RequiredPermissions required = requiredCache.computeIfAbsent(method, this::resolve);
 
-        String[] requiredPermissions = annotation.value();
-        if (requiredPermissions.length == 0) {
+        if (required.isEmpty()) {
             return;
         }
 
@@ -45,28 +51,51 @@ public class PermissionAspect {
             throw new BusinessException("未登录或登录已过期");
         }
 
-        Collection<? extends GrantedAuthority> authorities = authentication.getAuthorities();
-        Set<String> userPermissions = authorities.stream()
-                .map(GrantedAuthority::getAuthority)
-                .collect(Collectors.toSet());
+        // 超级管理员在位图中以标记表示，“任一所需权限”即位图有交集
+        if (!hasPermission(authentication, required)) {
+            throw new BusinessException("权限不足，需要权限：" + required.description);
+        }
+    }
 
-        // 检查是否有超级管理员权限
-        if (userPermissions.contains("*:*:*")) {
-            return;
+    private boolean hasPermission(Authentication authentication, RequiredPermissions required) {
+        if (authentication.getPrincipal() instanceof SecurityUser securityUser
+                && securityUser.getPermissionMask() != null) {
+            return securityUser.getPermissionMask().grantsAny(required.mask);
         }
 
-        // 检查是否有任一所需权限
-        boolean hasPermission = false;
-        for (String requiredPermission : requiredPermissions) {
-            if (userPermissions.contains(requiredPermission)) {
-                hasPermission = true;
-                break;
+        // 非 SecurityUser 主体（如测试或其他认证方式）按权限字符串比较
+        for (GrantedAuthority authority : authentication.getAuthorities()) {
+            String permission = authority.getAuthority();
+            if (PermissionMask.ALL_PERMISSIONS.equals(permission)
+                    || Arrays.asList(required.permissions).contains(permission)) {
+                return true;
             }
         }
+        return false;
+    }
+
+    private RequiredPermissions resolve(Method method) {
+        RequiresPermissions annotation = method.getAnnotation(RequiresPermissions.class);
+        String[] permissions = annotation == null ? new String[0] : annotation.value();
+        return new RequiredPermissions(permissions, permissionRegistry.maskOf(Arrays.asList(permissions)));
+    }
+
+    /**
+     * 注解方法解析后的所需权限
+     */
+    private static final class RequiredPermissions {
+        private final String[] permissions;
+        private final PermissionMask mask;
+        private final String description;
 
-        if (!hasPermission) {
-            throw new BusinessException("权限不足，需要权限：" + String.join(", ", requiredPermissions));
+        private RequiredPermissions(String[] permissions, PermissionMask mask) {
+            this.permissions = permissions;
+            this.mask = mask;
+            this.description = String.join(", ", permissions);
+        }
+
+        private boolean isEmpty() {
+            return permissions.length == 0;
         }
     }
 }
-
@@ -0,0 +1,68 @@
+package com.kylin.admin.config;
+
+/**
+ * 权限位图（不可变）
+ *
+ * 每个权限标识由 PermissionRegistry 分配一个整数编号，对应位图中的一位；
+ * 超级管理员权限 *:*:* 不占位，以 all 标记表示拥有全部权限。
+ * 用户持有自身权限位图，@RequiresPermissions 方法持有所需权限位图，校验时按字比较，不产生临时对象。
+ */
+public final class PermissionMask {
+
+    /**
+     * 超级管理员权限标识
+     */
+    public static final String ALL_PERMISSIONS = "*:*:*";
+
+    public static final PermissionMask EMPTY = new PermissionMask(new long[0], false);
+
+    private final long[] words;
+    private final boolean all;
+
+    PermissionMask(long[] words, boolean all) {
+        this.words = words;
+        this.all = all;
+    }
+
+    /**
+     * 由权限编号构建位图
+     * @param ids 权限编号（非负）
+     * @param all 是否拥有全部权限
+     */
+    public static PermissionMask of(int[] ids, boolean all) {
+        int max = -1;
+        for (int id : ids) {
+            max = Math.max(max, id);
+        }
+        long[] words = new long[(max >> 6) + 1];
+        for (int id : ids) {
+            words[id >> 6] |= 1L << id;
+        }
+        return new PermissionMask(words, all);
+    }
+
+    /**
+     * 是否拥有全部权限（*:*:*）
+     */
+    public boolean isAll() {
+        return all;
+    }
+
+    /**
+     * 是否满足所需权限：拥有全部权限，或至少拥有所需权限中的一项
+     * @param required 所需权限位图
+     */
+    public boolean grantsAny(PermissionMask required) {
+        if (all) {
+            return true;
+        }
+        long[] requiredWords = required.words;
+        int n = Math.min(words.length, requiredWords.length);
+        for (int i = 0; i < n; i++) {
+            if ((words[i] & requiredWords[i]) != 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
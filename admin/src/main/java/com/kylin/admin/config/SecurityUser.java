@@ -1,7 +1,9 @@
 package com.kylin.admin.config;
 
 import com.kylin.admin.entity.SysUser;
+import lombok.AccessLevel;
 import lombok.Data;
+import lombok.Setter;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -17,18 +19,34 @@ import java.util.stream.Collectors;
 public class SecurityUser implements UserDetails {
 
     private SysUser user;
+
+    @Setter(AccessLevel.NONE)
     private List<String> permissions;
 
-    public SecurityUser(SysUser user, List<String> permissions) {
+    /**
+     * 权限对应的 GrantedAuthority，构造时生成一次（主体会被缓存并在多个请求间复用）
+     */
+    @Setter(AccessLevel.NONE)
+    private List<GrantedAuthority> authorities;
+
+    /**
+     * 权限位图，供 PermissionAspect 做位运算校验
+     */
+    @Setter(AccessLevel.NONE)
+    private PermissionMask permissionMask;
+
+    public SecurityUser(SysUser user, List<String> permissions, PermissionMask permissionMask) {
         this.user = user;
         this.permissions = permissions;
+        this.authorities = permissions.stream()
+                .map(SimpleGrantedAuthority::new)
+                .collect(Collectors.toUnmodifiableList());
+        this.permissionMask = permissionMask;
     }
 
     @Override
     public Collection<? extends GrantedAuthority> getAuthorities() {
-        return permissions.stream()
-                .map(SimpleGrantedAuthority::new)
-                .collect(Collectors.toList());
+        return authorities;
     }
 
     @Override
@@ -3,6 +3,7 @@ package com.kylin.admin.controller;
 import com.kylin.admin.annotation.RequiresPermissions;
 import com.kylin.admin.config.SecurityUser;
 import com.kylin.admin.dto.LoginDTO;
+import com.kylin.admin.service.PrincipalCache;
 import com.kylin.admin.service.SysUserService;
 import com.kylin.admin.util.JwtUtil;
 import com.kylin.common.R;
@@ -25,6 +26,7 @@ public class AuthController {
 
     private final SysUserService sysUserService;
     private final JwtUtil jwtUtil;
+    private final PrincipalCache principalCache;
 
     /**
      * 登录接口
@@ -78,4 +80,19 @@ public class AuthController {
 
         return R.ok(result);
     }
+
+    /**
+     * 刷新权限缓存接口
+     * 直接在库中调整角色、菜单授权后调用；传 userId 时只刷新该用户，否则刷新全部用户
+     */
+    @PostMapping("/permissions/refresh")
+    @RequiresPermissions("system:permission:refresh")
+    public R<Void> refreshPermissions(@RequestParam(required = false) Long userId) {
+        if (userId != null) {
+            principalCache.invalidate(userId);
+        } else {
+            principalCache.invalidateAll();
+        }
+        return R.ok();
+    }
 }
\ No newline at end of file
@@ -0,0 +1,80 @@
+package com.kylin.admin.service;
+
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.kylin.admin.config.PermissionMask;
+import com.kylin.admin.entity.SysMenu;
+import com.kylin.admin.mapper.SysMenuMapper;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 权限标识编号注册表
+ *
+ * 启动时按 sys_menu.perms 为每个权限标识分配整数编号；之后新增的菜单权限或注解中出现的新标识在首次使用时追加编号。
+ * 编号一经分配不再改变，用户位图与注解位图无论何时构建都可直接比较。
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PermissionRegistry {
+
+    private final SysMenuMapper sysMenuMapper;
+
+    private final Map<String, Integer> ids = new ConcurrentHashMap<>();
+
+    private final AtomicInteger nextId = new AtomicInteger();
+
+    @PostConstruct
+    public void init() {
+        try {
+            List<SysMenu> menus = sysMenuMapper.selectList(
+                    new LambdaQueryWrapper<SysMenu>()
+                            .select(SysMenu::getPerms)
+                            .isNotNull(SysMenu::getPerms)
+                            .ne(SysMenu::getPerms, "")
+                            .orderByAsc(SysMenu::getId)
+            );
+            for (SysMenu menu : menus) {
+                idOf(menu.getPerms());
+            }
+            log.info("权限标识编号加载完成，共 {} 项", ids.size());
+        } catch (Exception e) {
+            // 启动时数据库不可用不影响使用，权限标识在首次使用时分配编号
+            log.warn("加载权限标识失败，将在首次使用时分配编号：{}", e.getMessage());
+        }
+    }
+
+    /**
+     * 构建权限位图
+     * @param permissions 权限标识（包含 *:*:* 时标记为拥有全部权限）
+     */
+    public PermissionMask maskOf(Collection<String> permissions) {
+        boolean all = false;
+        int[] bits = new int[permissions.size()];
+        int count = 0;
+        for (String permission : permissions) {
+            if (permission == null || permission.trim().isEmpty()) {
+                continue;
+            }
+            if (PermissionMask.ALL_PERMISSIONS.equals(permission.trim())) {
+                all = true;
+            } else {
+                bits[count++] = idOf(permission);
+            }
+        }
+        return PermissionMask.of(Arrays.copyOf(bits, count), all);
+    }
+
+    private int idOf(String permission) {
+        return ids.computeIfAbsent(permission.trim(), p -> nextId.getAndIncrement());
+    }
+}
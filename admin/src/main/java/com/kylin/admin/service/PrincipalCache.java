@@ -0,0 +1,122 @@
+package com.kylin.admin.service;
+
+import com.kylin.admin.config.SecurityUser;
+import com.kylin.admin.service.impl.UserDetailsServiceImpl;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 已认证用户主体缓存（用户ID + 权限版本 -> SecurityUser）
+ *
+ * JWT 过滤器每个请求都需要用户及其权限，加载一次要查询用户、用户角色、角色菜单、菜单四张表。
+ * 缓存命中时请求认证不再访问数据库；条目在以下情况失效：
+ * 1. 超过存活时间（kylin.security.principal-cache.ttl-seconds），角色/菜单直接在库中调整时最多延迟该时长生效
+ * 2. 调用 invalidate(userId)：用户重新登录、单个用户授权变更
+ * 3. 调用 invalidateAll()：递增权限版本，角色/菜单授权变更后所有条目随即失效
+ *
+ * 加载在 compute 内完成，同一用户的失效操作会等待进行中的加载结束后再删除，不会把旧权限写回缓存。
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PrincipalCache {
+
+    private final UserDetailsServiceImpl userDetailsService;
+
+    @Value("${kylin.security.principal-cache.ttl-seconds:300}")
+    private long ttlSeconds;
+
+    @Value("${kylin.security.principal-cache.max-size:10000}")
+    private int maxSize;
+
+    private final Map<Long, Entry> entries = new ConcurrentHashMap<>();
+
+    private final AtomicLong permissionVersion = new AtomicLong();
+
+    /**
+     * 获取用户主体，未命中或已失效时从数据库加载
+     * @param userId Token 中的用户ID（旧 Token 可能为空，此时不走缓存）
+     * @param username Token 中的用户名
+     */
+    public UserDetails get(Long userId, String username) {
+        if (userId == null) {
+            return userDetailsService.loadUserByUsername(username);
+        }
+
+        long now = System.currentTimeMillis();
+        Entry entry = entries.get(userId);
+        if (isUsable(entry, username, now)) {
+            return entry.user;
+        }
+
+        entry = entries.compute(userId, (id, current) -> {
+            if (isUsable(current, username, System.currentTimeMillis())) {
+                return current;
+            }
+            long version = permissionVersion.get();
+            SecurityUser user = (SecurityUser) userDetailsService.loadUserByUsername(username);
+            return new Entry(user, version, System.currentTimeMillis() + ttlSeconds * 1000);
+        });
+
+        if (entries.size() > maxSize) {
+            evictOverflow(now);
+        }
+        return entry.user;
+    }
+
+    /**
+     * 失效单个用户的缓存
+     */
+    public void invalidate(Long userId) {
+        if (userId != null) {
+            entries.remove(userId);
+            log.debug("用户主体缓存已失效，userId：{}", userId);
+        }
+    }
+
+    /**
+     * 失效全部用户的缓存（角色、菜单授权变更后调用）
+     */
+    public void invalidateAll() {
+        long version = permissionVersion.incrementAndGet();
+        entries.clear();
+        log.info("用户主体缓存已全部失效，权限版本：{}", version);
+    }
+
+    private boolean isUsable(Entry entry, String username, long now) {
+        return entry != null
+                && entry.version == permissionVersion.get()
+                && entry.expiresAt > now
+                && entry.user.getUsername().equals(username);
+    }
+
+    /**
+     * 超过容量上限时先清理过期条目，仍超出则整体清空
+     */
+    private void evictOverflow(long now) {
+        long version = permissionVersion.get();
+        entries.values().removeIf(e -> e.expiresAt <= now || e.version != version);
+        if (entries.size() > maxSize) {
+            entries.clear();
+        }
+    }
+
+    private static final class Entry {
+        private final SecurityUser user;
+        private final long version;
+        private final long expiresAt;
+
+        private Entry(SecurityUser user, long version, long expiresAt) {
+            this.user = user;
+            this.version = version;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
@@ -27,6 +27,7 @@ public class SysUserService extends ServiceImpl<SysUserMapper, SysUser> {
     private final SysUserRoleMapper sysUserRoleMapper;
     private final SysRoleMenuMapper sysRoleMenuMapper;
     private final SysMenuMapper sysMenuMapper;
+    private final PrincipalCache principalCache;
 
     /**
      * 用户登录
@@ -105,7 +106,10 @@ public class SysUserService extends ServiceImpl<SysUserMapper, SysUser> {
 
         System.out.println("【用户状态检查】正常");
 
-        // 6. 校验通过，生成 Token 并返回
+        // 6. 重新登录时丢弃缓存的主体，使最新的角色/权限在新会话中立即生效
+        principalCache.invalidate(user.getId());
+
+        // 7. 校验通过，生成 Token 并返回
         String token = jwtUtil.generateToken(user.getId(), user.getUsername());
         System.out.println("【Token生成成功】");
         System.out.println("【登录成功】用户ID: " + user.getId() + ", 用户名: " + user.getUsername());
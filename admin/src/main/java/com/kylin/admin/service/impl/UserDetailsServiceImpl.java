@@ -4,6 +4,7 @@ import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
 import com.kylin.admin.config.SecurityUser;
 import com.kylin.admin.entity.*;
 import com.kylin.admin.mapper.*;
+import com.kylin.admin.service.PermissionRegistry;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
@@ -28,6 +29,7 @@ public class UserDetailsServiceImpl implements UserDetailsService {
     private final SysRoleMapper sysRoleMapper;
     private final SysRoleMenuMapper sysRoleMenuMapper;
     private final SysMenuMapper sysMenuMapper;
+    private final PermissionRegistry permissionRegistry;
 
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
@@ -44,8 +46,8 @@ public class UserDetailsServiceImpl implements UserDetailsService {
         // 2. 查询用户权限列表
         List<String> permissions = getUserPermissions(user.getId());
 
-        // 3. 返回 SecurityUser
-        return new SecurityUser(user, permissions);
+        // 3. 返回 SecurityUser（同时预编译权限位图）
+        return new SecurityUser(user, permissions, permissionRegistry.maskOf(permissions));
     }
 
     /**
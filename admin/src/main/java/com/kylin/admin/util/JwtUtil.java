@@ -84,11 +84,19 @@ public class JwtUtil {
      * 验证 Token 是否有效
      */
     public Boolean validateToken(String token) {
+        return parseValidClaims(token) != null;
+    }
+
+    /**
+     * 解析并校验 Token，一次解析同时完成签名与过期校验
+     * @return 有效时返回 Claims，无效或已过期返回 null
+     */
+    public Claims parseValidClaims(String token) {
         try {
             Claims claims = getClaimsFromToken(token);
-            return !isTokenExpired(claims);
+            return isTokenExpired(claims) ? null : claims;
         } catch (Exception e) {
-            return false;
+            return null;
         }
     }
 
@@ -0,0 +1,47 @@
+package com.kylin.admin.config;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * PermissionMask 单元测试
+ */
+class PermissionMaskTest {
+
+    @Test
+    void allPermissionsGrantsAnyRequirement() {
+        PermissionMask admin = PermissionMask.of(new int[0], true);
+
+        assertThat(admin.isAll()).isTrue();
+        assertThat(admin.grantsAny(PermissionMask.of(new int[]{3}, false))).isTrue();
+        assertThat(admin.grantsAny(PermissionMask.of(new int[]{200}, false))).isTrue();
+        assertThat(admin.grantsAny(PermissionMask.EMPTY)).isTrue();
+    }
+
+    @Test
+    void grantsWhenAnyRequiredPermissionIsHeld() {
+        PermissionMask user = PermissionMask.of(new int[]{1, 5}, false);
+
+        assertThat(user.grantsAny(PermissionMask.of(new int[]{5, 9}, false))).isTrue();
+        assertThat(user.grantsAny(PermissionMask.of(new int[]{2, 9}, false))).isFalse();
+    }
+
+    @Test
+    void comparesBitsBeyondTheFirstWord() {
+        PermissionMask user = PermissionMask.of(new int[]{0, 130}, false);
+
+        assertThat(user.grantsAny(PermissionMask.of(new int[]{130}, false))).isTrue();
+        assertThat(user.grantsAny(PermissionMask.of(new int[]{66, 129}, false))).isFalse();
+        // 所需权限编号超出用户位图长度
+        assertThat(user.grantsAny(PermissionMask.of(new int[]{300}, false))).isFalse();
+        assertThat(PermissionMask.of(new int[]{63}, false).grantsAny(PermissionMask.of(new int[]{0, 63}, false)))
+                .isTrue();
+    }
+
+    @Test
+    void emptyMasksGrantNothing() {
+        assertThat(PermissionMask.EMPTY.grantsAny(PermissionMask.of(new int[]{0}, false))).isFalse();
+        assertThat(PermissionMask.of(new int[]{0}, false).grantsAny(PermissionMask.EMPTY)).isFalse();
+    }
+}
@@ -0,0 +1,101 @@
+package com.kylin.admin.service;
+
+import com.baomidou.mybatisplus.core.MybatisConfiguration;
+import com.baomidou.mybatisplus.core.metadata.TableInfoHelper;
+import com.kylin.admin.config.PermissionMask;
+import com.kylin.admin.entity.SysMenu;
+import com.kylin.admin.mapper.SysMenuMapper;
+import org.apache.ibatis.builder.MapperBuilderAssistant;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * PermissionRegistry 单元测试：权限标识编号与位图构建
+ */
+class PermissionRegistryTest {
+
+    private final SysMenuMapper sysMenuMapper = mock(SysMenuMapper.class);
+
+    private final PermissionRegistry registry = new PermissionRegistry(sysMenuMapper);
+
+    @BeforeAll
+    static void initTableInfo() {
+        // LambdaQueryWrapper 需要实体的表信息，测试中没有 MyBatis-Plus 自动配置
+        TableInfoHelper.initTableInfo(new MapperBuilderAssistant(new MybatisConfiguration(), ""), SysMenu.class);
+    }
+
+    @Test
+    void superAdminPermissionMarksAllWithoutTakingABit() {
+        PermissionMask mask = registry.maskOf(List.of("*:*:*"));
+
+        assertThat(mask.isAll()).isTrue();
+        assertThat(mask.grantsAny(registry.maskOf(List.of("system:user:list")))).isTrue();
+        // *:*:* 没有分配编号，第一个普通标识仍从 0 开始
+        assertThat(registry.maskOf(List.of("system:user:list"))
+                .grantsAny(PermissionMask.of(new int[]{0}, false))).isTrue();
+    }
+
+    @Test
+    void surroundingWhitespaceIsTrimmed() {
+        PermissionMask user = registry.maskOf(List.of(" system:user:edit "));
+
+        assertThat(user.grantsAny(registry.maskOf(List.of("system:user:edit")))).isTrue();
+        assertThat(registry.maskOf(List.of("  *:*:*\t")).isAll()).isTrue();
+    }
+
+    @Test
+    void blankAndNullPermissionsAreIgnored() {
+        PermissionMask mask = registry.maskOf(Arrays.asList(null, "", "   "));
+
+        assertThat(mask.isAll()).isFalse();
+        assertThat(mask.grantsAny(registry.maskOf(List.of("system:user:list")))).isFalse();
+    }
+
+    @Test
+    void requiredPermissionsMatchIfAnyIsHeld() {
+        PermissionMask user = registry.maskOf(List.of("finance:voucher:list", "finance:voucher:audit"));
+
+        assertThat(user.grantsAny(registry.maskOf(List.of("finance:voucher:audit", "finance:period:close"))))
+                .isTrue();
+        assertThat(user.grantsAny(registry.maskOf(List.of("finance:period:close")))).isFalse();
+    }
+
+    @Test
+    void menuPermissionsLoadedAtStartupKeepTheirIds() {
+        when(sysMenuMapper.selectList(any())).thenReturn(List.of(menu("system:user:list"), menu(" system:role:list ")));
+        registry.init();
+        verify(sysMenuMapper).selectList(any());
+
+        // 按菜单顺序编号，与之后首次使用的顺序无关
+        assertThat(registry.maskOf(List.of("system:menu:list")).grantsAny(PermissionMask.of(new int[]{2}, false)))
+                .isTrue();
+        assertThat(registry.maskOf(List.of("system:role:list")).grantsAny(PermissionMask.of(new int[]{1}, false)))
+                .isTrue();
+        assertThat(registry.maskOf(List.of("system:user:list")).grantsAny(PermissionMask.of(new int[]{0}, false)))
+                .isTrue();
+    }
+
+    @Test
+    void startupFailureFallsBackToAssigningOnFirstUse() {
+        when(sysMenuMapper.selectList(any())).thenThrow(new IllegalStateException("database unavailable"));
+        registry.init();
+
+        PermissionMask user = registry.maskOf(List.of("system:user:list"));
+        assertThat(user.grantsAny(registry.maskOf(List.of("system:user:list")))).isTrue();
+    }
+
+    private static SysMenu menu(String perms) {
+        SysMenu menu = new SysMenu();
+        menu.setPerms(perms);
+        return menu;
+    }
+}
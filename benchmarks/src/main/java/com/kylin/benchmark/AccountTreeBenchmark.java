@@ -0,0 +1,30 @@
+package com.kylin.benchmark;
+
+import com.kylin.benchmark.support.LedgerState;
+import com.kylin.finance.dto.AccountDTO;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 科目树（由科目快照构建，与分录规模无关，只随明细科目数变化）
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AccountTreeBenchmark {
+
+    @Benchmark
+    public List<AccountDTO> getAccountTree(LedgerState ledger) {
+        return ledger.getAccountService().getAccountTree();
+    }
+}
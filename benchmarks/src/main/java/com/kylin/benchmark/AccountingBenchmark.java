@@ -0,0 +1,38 @@
+package com.kylin.benchmark;
+
+import com.kylin.benchmark.support.LedgerState;
+import com.kylin.finance.dto.AccountBalanceDTO;
+import com.kylin.finance.dto.TrialBalanceDTO;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 科目余额与试算平衡表
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class AccountingBenchmark {
+
+    @Benchmark
+    public List<AccountBalanceDTO> calculateAllAccountBalances(LedgerState ledger) {
+        return ledger.getAccountingService().calculateAllAccountBalances(LocalDate.now());
+    }
+
+    @Benchmark
+    public List<TrialBalanceDTO> generateTrialBalance(LedgerState ledger) {
+        LocalDate today = LocalDate.now();
+        return ledger.getAccountingService().generateTrialBalance(today.withDayOfYear(1), today);
+    }
+}
@@ -0,0 +1,66 @@
+package com.kylin.benchmark;
+
+import com.kylin.benchmark.support.LedgerState;
+import com.kylin.finance.entity.business.Owner;
+import com.kylin.finance.entity.payment.Payment;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 客户收款 FIFO 核销
+ *
+ * 每次调用在事务内执行后回滚，待核销发票保持初始状态，各次调用的工作量相同。
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class PaymentAllocationBenchmark {
+
+    /**
+     * 收款金额占客户欠款总额的百分比，决定一次收款核销多少张发票
+     */
+    @Param({"10", "50", "100"})
+    public int coveragePercent;
+
+    private TransactionTemplate rollbackTemplate;
+    private Owner customer;
+    private BigDecimal amount;
+    private Long bankAccountId;
+
+    @Setup(Level.Trial)
+    public void setUp(LedgerState ledger) {
+        rollbackTemplate = new TransactionTemplate(ledger.getTransactionManager());
+        customer = new Owner();
+        customer.setOwnerId(ledger.getSeeder().getCustomerId());
+        bankAccountId = ledger.getSeeder().getBankAccountId();
+        amount = ledger.getPaymentService().getUnpaidAmount(customer.getOwnerId())
+                .multiply(BigDecimal.valueOf(coveragePercent))
+                .divide(BigDecimal.valueOf(100), 2, RoundingMode.DOWN);
+    }
+
+    @Benchmark
+    public Payment processCustomerPayment(LedgerState ledger) {
+        return rollbackTemplate.execute(status -> {
+            status.setRollbackOnly();
+            return ledger.getPaymentService().processCustomerPayment(customer, amount, bankAccountId);
+        });
+    }
+}
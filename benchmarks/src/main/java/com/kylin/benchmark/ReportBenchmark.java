@@ -0,0 +1,30 @@
+package com.kylin.benchmark;
+
+import com.kylin.benchmark.support.LedgerState;
+import com.kylin.finance.dto.BalanceSheetDTO;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 资产负债表
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class ReportBenchmark {
+
+    @Benchmark
+    public BalanceSheetDTO generateBalanceSheet(LedgerState ledger) {
+        return ledger.getReportService().generateBalanceSheet(LocalDate.now());
+    }
+}
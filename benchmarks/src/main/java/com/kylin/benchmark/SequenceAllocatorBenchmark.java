@@ -0,0 +1,104 @@
+package com.kylin.benchmark;
+
+import com.kylin.benchmark.support.InMemoryBlockLeaser;
+import com.kylin.finance.sequence.SequenceAllocator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 号段式序号分配器并发吞吐
+ *
+ * 号段租用替换为内存实现，只衡量分配器自身的开销；blockSize=1 相当于每次分配都租用号段。
+ * trial 结束时另起多线程分配一批序号，校验没有重复、没有空号：单个分配器不换日期时，
+ * 号段依次租用且每个号段分配完才租下一个，分配出的序号应恰好是从起始值开始的连续整数。
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SequenceAllocatorBenchmark {
+
+    private static final String KEY = "PAY20240101";
+
+    private static final int CHECK_THREADS = 8;
+
+    private static final int CHECK_PER_THREAD = 100_000;
+
+    @Param({"1", "20", "1000"})
+    public int blockSize;
+
+    private SequenceAllocator allocator;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        allocator = new SequenceAllocator(new InMemoryBlockLeaser(), blockSize);
+    }
+
+    @Benchmark
+    @Threads(8)
+    public long next() {
+        return allocator.next(KEY, () -> 1L);
+    }
+
+    @TearDown(Level.Trial)
+    public void verifyNoCollisionsOrGaps() throws InterruptedException {
+        SequenceAllocator checked = new SequenceAllocator(new InMemoryBlockLeaser(), blockSize);
+        long[][] issued = new long[CHECK_THREADS][CHECK_PER_THREAD];
+        CountDownLatch start = new CountDownLatch(1);
+        Thread[] workers = new Thread[CHECK_THREADS];
+        for (int t = 0; t < CHECK_THREADS; t++) {
+            long[] values = issued[t];
+            workers[t] = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                for (int i = 0; i < values.length; i++) {
+                    values[i] = checked.next(KEY, () -> 1L);
+                }
+            });
+            workers[t].start();
+        }
+        start.countDown();
+        for (Thread worker : workers) {
+            worker.join();
+        }
+
+        long[] all = new long[CHECK_THREADS * CHECK_PER_THREAD];
+        for (int t = 0; t < CHECK_THREADS; t++) {
+            System.arraycopy(issued[t], 0, all, t * CHECK_PER_THREAD, CHECK_PER_THREAD);
+        }
+        Arrays.sort(all);
+        if (all[0] != 1) {
+            throw new IllegalStateException("起始序号应为 1，实际为 " + all[0] + "（blockSize=" + blockSize + "）");
+        }
+        for (int i = 1; i < all.length; i++) {
+            if (all[i] == all[i - 1]) {
+                throw new IllegalStateException("序号重复：" + all[i] + "（blockSize=" + blockSize + "）");
+            }
+            if (all[i] != all[i - 1] + 1) {
+                throw new IllegalStateException("序号不连续：" + all[i - 1] + " 之后为 " + all[i] + "（blockSize=" + blockSize + "）");
+            }
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.kylin.benchmark;
+
+import com.kylin.finance.entity.FinSplit;
+import com.kylin.finance.service.impl.TransactionServiceImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 凭证借贷平衡校验（纯内存计算，不需要数据库）
+ *
+ * validateDebitCreditBalance 是私有方法，通过 MethodHandle 调用，开销在 JIT 后可忽略。
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class VoucherValidationBenchmark {
+
+    /**
+     * 单张凭证的分录数（借贷各半）
+     */
+    @Param({"2", "20", "200"})
+    public int splitsPerVoucher;
+
+    private List<FinSplit> splits;
+
+    private MethodHandle validateDebitCreditBalance;
+
+    @Setup(Level.Trial)
+    public void setUp() throws ReflectiveOperationException {
+        Random random = new Random(splitsPerVoucher);
+        splits = new ArrayList<>(splitsPerVoucher);
+        for (int i = 0; i < splitsPerVoucher / 2; i++) {
+            BigDecimal amount = BigDecimal.valueOf(100 + random.nextInt(100_000), 2);
+            splits.add(newSplit("DEBIT", amount));
+            splits.add(newSplit("CREDIT", amount));
+        }
+
+        MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(TransactionServiceImpl.class, MethodHandles.lookup());
+        validateDebitCreditBalance = lookup
+                .findVirtual(TransactionServiceImpl.class, "validateDebitCreditBalance",
+                        MethodType.methodType(void.class, List.class))
+                .bindTo(new TransactionServiceImpl());
+    }
+
+    @Benchmark
+    public void validateDebitCreditBalance() throws Throwable {
+        validateDebitCreditBalance.invokeExact(splits);
+    }
+
+    private static FinSplit newSplit(String direction, BigDecimal amount) {
+        FinSplit split = new FinSplit();
+        split.setAccountId(1L);
+        split.setDirection(direction);
+        split.setAmount(amount);
+        return split;
+    }
+}
@@ -0,0 +1,28 @@
+package com.kylin.benchmark.support;
+
+import org.mybatis.spring.annotation.MapperScan;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.FilterType;
+
+/**
+ * 基准测试用 Spring 上下文
+ *
+ * 只装配 finance/common 的服务层，排除控制器、Web 层组件（全局异常处理、SQL 统计过滤器，依赖未引入的
+ * Spring Security / Servlet API）和默认的凭证数据生成器，
+ * 测试数据由 {@link BenchmarkDataSeeder} 按配置规模生成。
+ */
+@SpringBootConfiguration
+@EnableAutoConfiguration
+@ComponentScan(
+        basePackages = {"com.kylin.common", "com.kylin.finance", "com.kylin.benchmark.support"},
+        excludeFilters = @ComponentScan.Filter(type = FilterType.REGEX, pattern = {
+                "com\\.kylin\\.finance\\.controller\\..*",
+                "com\\.kylin\\.common\\.GlobalExceptionHandler",
+                "com\\.kylin\\.common\\.SqlMetricsFilter",
+                "com\\.kylin\\.finance\\.seeder\\..*"
+        }))
+@MapperScan("com.kylin.**.mapper")
+public class BenchmarkApplication {
+}
@@ -0,0 +1,277 @@
+package com.kylin.benchmark.support;
+
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.baomidou.mybatisplus.extension.toolkit.Db;
+import com.kylin.finance.entity.FinAccount;
+import com.kylin.finance.entity.FinSplit;
+import com.kylin.finance.entity.FinTransaction;
+import com.kylin.finance.entity.business.Owner;
+import com.kylin.finance.entity.document.Invoice;
+import com.kylin.finance.mapper.FinAccountMapper;
+import com.kylin.finance.mapper.FinTransactionMapper;
+import com.kylin.finance.mapper.OwnerMapper;
+import com.kylin.finance.seeder.VoucherDataGenerator;
+import com.kylin.finance.service.IFinAccountService;
+import com.kylin.finance.service.IFinTransactionService;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * 基准测试数据生成器
+ *
+ * 复用 VoucherDataGenerator 的三种业务场景（收入、费用、工资），按配置的分录规模批量生成已审核凭证，
+ * 并为一个客户生成待核销发票。随机数种子固定，同一规模下每次生成的数据相同，便于对比结果。
+ *
+ * 配置项（kylin.benchmark.*）：
+ * splits 分录条数；days 凭证日期跨度（截至今天）；leaf-accounts 明细科目数；open-invoices 待核销发票数
+ */
+@Slf4j
+@Component
+public class BenchmarkDataSeeder implements CommandLineRunner {
+
+    private static final long RANDOM_SEED = 20240101L;
+
+    private static final int VOUCHER_BATCH_SIZE = 1000;
+
+    private static final int LOG_INTERVAL = 100_000;
+
+    private static final String ACCOUNT_CODE_RECEIVABLE = "1122"; // 应收账款
+
+    // 一级科目：代码、名称、类型
+    private static final String[][] TOP_LEVEL_ACCOUNTS = {
+        {"1001", "库存现金", "ASSET"},
+        {VoucherDataGenerator.ACCOUNT_CODE_BANK, "银行存款", "ASSET"},
+        {ACCOUNT_CODE_RECEIVABLE, "应收账款", "ASSET"},
+        {"2202", "应付账款", "LIABILITY"},
+        {VoucherDataGenerator.ACCOUNT_CODE_SALARY_PAYABLE, "应付职工薪酬", "LIABILITY"},
+        {"2221", "应交税费", "LIABILITY"},
+        {"4001", "实收资本", "EQUITY"},
+        {"4103", "本年利润", "EQUITY"},
+        {VoucherDataGenerator.ACCOUNT_CODE_REVENUE, "主营业务收入", "INCOME"},
+        {VoucherDataGenerator.ACCOUNT_CODE_SALARY_EXPENSE, "销售费用", "EXPENSE"},
+        {VoucherDataGenerator.ACCOUNT_CODE_ADMIN_EXPENSE, "管理费用", "EXPENSE"}
+    };
+
+    @Autowired
+    private FinAccountMapper accountMapper;
+
+    @Autowired
+    private FinTransactionMapper transactionMapper;
+
+    @Autowired
+    private OwnerMapper ownerMapper;
+
+    @Autowired
+    private IFinTransactionService transactionService;
+
+    @Autowired
+    private IFinAccountService accountService;
+
+    @Value("${kylin.benchmark.splits:10000}")
+    private int splits;
+
+    @Value("${kylin.benchmark.days:365}")
+    private int days;
+
+    @Value("${kylin.benchmark.leaf-accounts:200}")
+    private int leafAccounts;
+
+    @Value("${kylin.benchmark.open-invoices:1000}")
+    private int openInvoices;
+
+    /**
+     * 银行存款明细科目ID（收付款基准测试的收款科目）
+     */
+    @Getter
+    private Long bankAccountId;
+
+    /**
+     * 待核销发票所属客户ID
+     */
+    @Getter
+    private Long customerId;
+
+    private final List<Long> bankLeafIds = new ArrayList<>();
+    private final List<Long> expenseLeafIds = new ArrayList<>();
+
+    private final VoucherDataGenerator generator = new VoucherDataGenerator(new Random(RANDOM_SEED));
+
+    @Override
+    public void run(String... args) {
+        long existingCount = transactionMapper.selectCount(null);
+        if (existingCount > 0) {
+            throw new IllegalStateException("基准测试数据库已有凭证 " + existingCount + " 条，请使用空库");
+        }
+
+        long start = System.currentTimeMillis();
+        seedChartOfAccounts();
+        // 明细科目已全部写入，刷新科目快照后再生成凭证
+        accountService.refreshAccountCache();
+        seedVouchers();
+        seedOpenInvoices();
+        log.warn("基准测试数据生成完成：分录 {} 条，明细科目 {} 个，待核销发票 {} 张，耗时 {} ms",
+            splits, leafAccounts, openInvoices, System.currentTimeMillis() - start);
+    }
+
+    /**
+     * 生成科目表：标准一级科目，另在银行存款、管理费用下各挂一半明细科目
+     */
+    private void seedChartOfAccounts() {
+        for (String[] definition : TOP_LEVEL_ACCOUNTS) {
+            accountMapper.insert(newAccount(definition[0], definition[1], definition[2], null));
+        }
+
+        Long bankParentId = getAccountIdByCode(VoucherDataGenerator.ACCOUNT_CODE_BANK);
+        Long expenseParentId = getAccountIdByCode(VoucherDataGenerator.ACCOUNT_CODE_ADMIN_EXPENSE);
+        int bankLeafCount = Math.max(1, leafAccounts / 2);
+        int expenseLeafCount = Math.max(1, leafAccounts - bankLeafCount);
+
+        for (int i = 1; i <= bankLeafCount; i++) {
+            FinAccount account = newAccount(String.format("%s%04d", VoucherDataGenerator.ACCOUNT_CODE_BANK, i),
+                "银行存款-账户" + i, "ASSET", bankParentId);
+            accountMapper.insert(account);
+            bankLeafIds.add(account.getAccountId());
+        }
+        for (int i = 1; i <= expenseLeafCount; i++) {
+            FinAccount account = newAccount(String.format("%s%04d", VoucherDataGenerator.ACCOUNT_CODE_ADMIN_EXPENSE, i),
+                "管理费用-明细" + i, "EXPENSE", expenseParentId);
+            accountMapper.insert(account);
+            expenseLeafIds.add(account.getAccountId());
+        }
+        bankAccountId = bankLeafIds.get(0);
+    }
+
+    /**
+     * 按 收入:费用:工资 = 8:7:5 生成已审核凭证，每张凭证两条分录
+     */
+    private void seedVouchers() {
+        Long revenueAccountId = getAccountIdByCode(VoucherDataGenerator.ACCOUNT_CODE_REVENUE);
+        Long salaryExpenseAccountId = getAccountIdByCode(VoucherDataGenerator.ACCOUNT_CODE_SALARY_EXPENSE);
+        Long salaryPayableAccountId = getAccountIdByCode(VoucherDataGenerator.ACCOUNT_CODE_SALARY_PAYABLE);
+
+        LocalDate endDate = LocalDate.now();
+        LocalDate startDate = endDate.minusDays(Math.max(1, days) - 1L);
+        int voucherCount = Math.max(1, splits / 2);
+
+        List<FinTransaction> batch = new ArrayList<>(VOUCHER_BATCH_SIZE);
+        for (int i = 1; i <= voucherCount; i++) {
+            LocalDate transDate = generator.randomDate(startDate, endDate);
+            int scenario = generator.nextInt(20);
+            FinTransaction transaction;
+            if (scenario < 8) {
+                String description = generator.revenueDescription();
+                transaction = newVoucher(transDate, description, pick(bankLeafIds), revenueAccountId,
+                    generator.randomAmount(5000, 50000));
+            } else if (scenario < 15) {
+                String description = generator.expenseDescription();
+                transaction = newVoucher(transDate, description, pick(expenseLeafIds), pick(bankLeafIds),
+                    generator.randomAmount(100, 2000));
+            } else {
+                String description = generator.salaryDescription();
+                transaction = newVoucher(transDate, description, salaryExpenseAccountId, salaryPayableAccountId,
+                    generator.randomAmount(10000, 50000));
+            }
+            batch.add(transaction);
+
+            if (batch.size() == VOUCHER_BATCH_SIZE || i == voucherCount) {
+                transactionService.saveVouchersBatch(batch);
+                batch = new ArrayList<>(VOUCHER_BATCH_SIZE);
+            }
+            if (i % LOG_INTERVAL == 0) {
+                log.warn("已生成凭证 {} / {}", i, voucherCount);
+            }
+        }
+    }
+
+    /**
+     * 为一个客户生成待核销发票，创建时间逐张递增，保证 FIFO 核销顺序确定
+     */
+    private void seedOpenInvoices() {
+        Owner customer = new Owner();
+        customer.setName("基准测试客户");
+        customer.setCode("BENCH-C001");
+        customer.setOwnerType("CUSTOMER");
+        customer.setAccountId(getAccountIdByCode(ACCOUNT_CODE_RECEIVABLE));
+        customer.setEnabled(true);
+        ownerMapper.insert(customer);
+        customerId = customer.getOwnerId();
+
+        LocalDate startDate = LocalDate.now().minusDays(Math.max(1, days) - 1L);
+        LocalDateTime createTime = startDate.atStartOfDay();
+        List<Invoice> invoices = new ArrayList<>(openInvoices);
+        for (int i = 1; i <= openInvoices; i++) {
+            BigDecimal amount = generator.randomAmount(1000, 50000);
+            Invoice invoice = new Invoice();
+            invoice.setInvoiceNo(String.format("BINV%07d", i));
+            invoice.setInvoiceDate(startDate);
+            invoice.setDueDate(startDate.plusDays(30));
+            invoice.setCustomerId(customerId);
+            invoice.setStatus("OPEN");
+            invoice.setTotalAmount(amount);
+            invoice.setTaxAmount(BigDecimal.ZERO);
+            invoice.setNetAmount(amount);
+            invoice.setPosted(true);
+            invoice.setCreateTime(createTime.plusSeconds(i));
+            invoices.add(invoice);
+        }
+        Db.saveBatch(invoices, VOUCHER_BATCH_SIZE);
+    }
+
+    private FinAccount newAccount(String code, String name, String type, Long parentId) {
+        FinAccount account = new FinAccount();
+        account.setAccountCode(code);
+        account.setAccountName(name);
+        account.setAccountType(type);
+        account.setParentId(parentId);
+        account.setCommodityId(1L);
+        return account;
+    }
+
+    private FinTransaction newVoucher(LocalDate transDate, String description,
+                                      Long debitAccountId, Long creditAccountId, BigDecimal amount) {
+        FinTransaction transaction = new FinTransaction();
+        transaction.setVoucherNo(generator.nextVoucherNo(transDate));
+        transaction.setTransDate(transDate);
+        transaction.setEnterDate(LocalDateTime.now());
+        transaction.setDescription(description);
+        transaction.setStatus(1); // 已审核
+        transaction.setCurrencyId(1L);
+
+        List<FinSplit> voucherSplits = new ArrayList<>(2);
+        voucherSplits.add(newSplit(debitAccountId, "DEBIT", amount, description));
+        voucherSplits.add(newSplit(creditAccountId, "CREDIT", amount, description));
+        transaction.setSplits(voucherSplits);
+        return transaction;
+    }
+
+    private FinSplit newSplit(Long accountId, String direction, BigDecimal amount, String memo) {
+        FinSplit split = new FinSplit();
+        split.setAccountId(accountId);
+        split.setDirection(direction);
+        split.setAmount(amount);
+        split.setMemo(memo);
+        return split;
+    }
+
+    private Long getAccountIdByCode(String accountCode) {
+        FinAccount account = accountMapper.selectOne(new LambdaQueryWrapper<FinAccount>()
+            .eq(FinAccount::getAccountCode, accountCode)
+            .last("LIMIT 1"));
+        return account != null ? account.getAccountId() : null;
+    }
+
+    private Long pick(List<Long> accountIds) {
+        return accountIds.get(generator.nextInt(accountIds.size()));
+    }
+}
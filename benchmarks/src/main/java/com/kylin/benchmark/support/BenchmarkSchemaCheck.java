@@ -0,0 +1,93 @@
+package com.kylin.benchmark.support;
+
+import com.baomidou.mybatisplus.core.metadata.TableFieldInfo;
+import com.baomidou.mybatisplus.core.metadata.TableInfo;
+import com.baomidou.mybatisplus.core.metadata.TableInfoHelper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * 基准测试表结构校验
+ *
+ * benchmark-schema.sql 是 MySQL 建表脚本的手工 H2 副本，业务表新增字段后容易漏改。
+ * 上下文启动完成前，按 MyBatis-Plus 实体映射逐表核对：基准库中已建的表必须包含实体映射的全部字段，
+ * 缺少字段时启动失败并列出缺少的字段，而不是在基准测试运行到一半时才报 SQL 错误。
+ * 基准库中未建的表（基准测试不涉及的业务）跳过。
+ */
+@Slf4j
+@Component
+public class BenchmarkSchemaCheck implements SmartInitializingSingleton {
+
+    private final DataSource dataSource;
+
+    public BenchmarkSchemaCheck(DataSource dataSource) {
+        this.dataSource = dataSource;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        List<String> missing = new ArrayList<>();
+        int checkedTables = 0;
+        try (Connection connection = dataSource.getConnection()) {
+            DatabaseMetaData metaData = connection.getMetaData();
+            for (TableInfo tableInfo : TableInfoHelper.getTableInfos()) {
+                Set<String> columns = columnsOf(metaData, connection.getCatalog(), tableInfo.getTableName());
+                if (columns.isEmpty()) {
+                    continue;
+                }
+                checkedTables++;
+                List<String> expected = new ArrayList<>();
+                if (tableInfo.havePK()) {
+                    expected.add(tableInfo.getKeyColumn());
+                }
+                for (TableFieldInfo field : tableInfo.getFieldList()) {
+                    expected.add(field.getColumn());
+                }
+                for (String column : expected) {
+                    if (!columns.contains(normalize(column))) {
+                        missing.add(tableInfo.getTableName() + "." + column);
+                    }
+                }
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException("读取基准库表结构失败", e);
+        }
+        if (!missing.isEmpty()) {
+            throw new IllegalStateException("benchmark-schema.sql 与实体映射不一致，缺少字段：" + missing
+                + "；请按 database 下的建表脚本补齐");
+        }
+        log.info("基准库表结构校验通过：{} 张表", checkedTables);
+    }
+
+    private Set<String> columnsOf(DatabaseMetaData metaData, String catalog, String table) throws SQLException {
+        Set<String> columns = new HashSet<>();
+        // 不同数据库的标识符大小写不同（H2 DATABASE_TO_LOWER 为小写），两种写法都查
+        for (String name : new String[]{table.toLowerCase(Locale.ROOT), table.toUpperCase(Locale.ROOT)}) {
+            try (ResultSet rs = metaData.getColumns(catalog, null, name, null)) {
+                while (rs.next()) {
+                    columns.add(normalize(rs.getString("COLUMN_NAME")));
+                }
+            }
+            if (!columns.isEmpty()) {
+                break;
+            }
+        }
+        return columns;
+    }
+
+    private String normalize(String column) {
+        return column.replace("`", "").toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,22 @@
+package com.kylin.benchmark.support;
+
+import com.kylin.finance.sequence.SequenceAllocator;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * 内存号段租用器：每个序列键一个 AtomicLong，租用即 getAndAdd(blockSize)
+ */
+public class InMemoryBlockLeaser implements SequenceAllocator.BlockLeaser {
+
+    private final Map<String, AtomicLong> nextValues = new ConcurrentHashMap<>();
+
+    @Override
+    public long lease(String key, int blockSize, LongSupplier initialValue) {
+        return nextValues.computeIfAbsent(key, k -> new AtomicLong(initialValue.getAsLong()))
+                .getAndAdd(blockSize);
+    }
+}
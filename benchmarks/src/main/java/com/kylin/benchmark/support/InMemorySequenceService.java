@@ -0,0 +1,35 @@
+package com.kylin.benchmark.support;
+
+import com.kylin.finance.sequence.SequenceAllocator;
+import com.kylin.finance.service.ISequenceService;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.function.ToLongFunction;
+
+/**
+ * 基准测试用单据编号服务
+ *
+ * fin_sequence 的号段租用依赖 MySQL 的 LAST_INSERT_ID(expr)，H2 不支持，
+ * 这里改用内存号段租用器，编号格式与 SequenceServiceImpl 一致。
+ */
+@Primary
+@Service
+public class InMemorySequenceService implements ISequenceService {
+
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("yyyyMMdd");
+
+    private static final int BLOCK_SIZE = 1000;
+
+    private final SequenceAllocator allocator = new SequenceAllocator(new InMemoryBlockLeaser(), BLOCK_SIZE);
+
+    @Override
+    public String nextNo(String prefix, ToLongFunction<String> existingMaxSequence) {
+        String dateStr = LocalDate.now().format(DATE_FORMAT);
+        String key = prefix + dateStr;
+        long sequence = allocator.next(key, () -> existingMaxSequence.applyAsLong(key) + 1);
+        return String.format("%s%s%03d", prefix, dateStr, sequence);
+    }
+}
@@ -0,0 +1,91 @@
+package com.kylin.benchmark.support;
+
+import com.kylin.finance.service.IAccountingService;
+import com.kylin.finance.service.IColumnarLedgerService;
+import com.kylin.finance.service.IFinAccountService;
+import com.kylin.finance.service.IPaymentService;
+import com.kylin.finance.service.IReportService;
+import lombok.Getter;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+/**
+ * 账簿状态：每个 trial 启动一次 Spring 上下文并按 splits 规模生成数据
+ *
+ * 规模通过 JMH 参数指定，如 -p splits=10000,1000000；1000 万分录需配合 -jvmArgsAppend 调大堆，
+ * 或通过 -Dspring.datasource.url 指向文件库 / MySQL。
+ * -p columnar=false,true 对比 SQL 汇总与列式分录存储。
+ */
+@Getter
+@State(Scope.Benchmark)
+public class LedgerState {
+
+    @Param({"10000"})
+    public int splits;
+
+    @Param({"false"})
+    public boolean columnar;
+
+    private ConfigurableApplicationContext context;
+    private IAccountingService accountingService;
+    private IReportService reportService;
+    private IFinAccountService accountService;
+    private IPaymentService paymentService;
+    private PlatformTransactionManager transactionManager;
+    private BenchmarkDataSeeder seeder;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        // 以命令行参数传入，优先级高于 application.yml
+        context = new SpringApplicationBuilder(BenchmarkApplication.class)
+                .run("--kylin.benchmark.splits=" + splits, "--kylin.ledger.columnar.enabled=" + columnar,
+                        // 每次都是新库，不使用本地快照，测量全量加载
+                        "--kylin.ledger.columnar.snapshot.path=");
+        accountingService = context.getBean(IAccountingService.class);
+        reportService = context.getBean(IReportService.class);
+        accountService = context.getBean(IFinAccountService.class);
+        paymentService = context.getBean(IPaymentService.class);
+        transactionManager = context.getBean(PlatformTransactionManager.class);
+        seeder = context.getBean(BenchmarkDataSeeder.class);
+        if (columnar) {
+            awaitColumnarLedger(context.getBean(IColumnarLedgerService.class));
+        }
+    }
+
+    /**
+     * 数据生成后重新加载列式分录存储并等待完成，避免测量到回退的 SQL 路径
+     */
+    private void awaitColumnarLedger(IColumnarLedgerService columnarLedgerService) {
+        columnarLedgerService.reloadAsync();
+        long deadline = System.currentTimeMillis() + 600_000;
+        while (!columnarLedgerService.isReady()) {
+            if (System.currentTimeMillis() > deadline) {
+                throw new IllegalStateException("列式分录存储加载超时");
+            }
+            try {
+                Thread.sleep(100);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        // 内存库设置了 DB_CLOSE_DELAY=-1，关闭上下文前显式销毁，避免同一 JVM 内下一个 trial 读到旧数据
+        String url = context.getEnvironment().getProperty("spring.datasource.url", "");
+        if (url.startsWith("jdbc:h2:mem:")) {
+            context.getBean(JdbcTemplate.class).execute("SHUTDOWN");
+        }
+        context.close();
+    }
+}
@@ -0,0 +1,190 @@
+-- ==========================================
+-- 基准测试表结构（H2 MySQL 兼容模式）
+-- 说明：只包含核算、报表、收付款核销热点路径用到的表，
+--       字段与 database/kylin_finance.sql 及 database/schema 下的脚本一致，去掉了 MySQL 专有的存储选项
+--       启动时 BenchmarkSchemaCheck 按实体映射核对字段，漏改时启动失败
+-- ==========================================
+
+CREATE TABLE IF NOT EXISTS fin_account (
+    account_id BIGINT NOT NULL AUTO_INCREMENT,
+    account_code VARCHAR(50) NOT NULL,
+    account_name VARCHAR(100) NOT NULL,
+    account_type VARCHAR(20) NOT NULL,
+    parent_id BIGINT NULL,
+    commodity_id BIGINT NULL,
+    create_time DATETIME NULL,
+    update_time DATETIME NULL,
+    is_deleted INT DEFAULT 0,
+    PRIMARY KEY (account_id),
+    UNIQUE KEY uk_account_code (account_code),
+    KEY idx_parent_id (parent_id)
+);
+
+CREATE TABLE IF NOT EXISTS fin_commodity (
+    commodity_id BIGINT NOT NULL AUTO_INCREMENT,
+    commodity_code VARCHAR(10) NOT NULL,
+    commodity_name VARCHAR(50) NOT NULL,
+    commodity_type VARCHAR(20) NULL DEFAULT 'CURRENCY',
+    fraction INT NULL DEFAULT 2,
+    enabled TINYINT NULL DEFAULT 1,
+    create_time DATETIME NULL,
+    update_time DATETIME NULL,
+    is_deleted INT DEFAULT 0,
+    PRIMARY KEY (commodity_id),
+    UNIQUE KEY uk_commodity_code (commodity_code)
+);
+
+CREATE TABLE IF NOT EXISTS fin_transaction (
+    trans_id BIGINT NOT NULL AUTO_INCREMENT,
+    voucher_no VARCHAR(50) NOT NULL,
+    currency_id BIGINT NULL,
+    trans_date DATE NOT NULL,
+    enter_date DATETIME NULL,
+    description VARCHAR(500) NULL,
+    creator_id BIGINT NULL,
+    status INT DEFAULT 0,
+    PRIMARY KEY (trans_id),
+    UNIQUE KEY uk_voucher_no (voucher_no),
+    KEY idx_trans_date (trans_date),
+    KEY idx_status (status)
+);
+
+CREATE TABLE IF NOT EXISTS fin_split (
+    split_id BIGINT NOT NULL AUTO_INCREMENT,
+    trans_id BIGINT NOT NULL,
+    account_id BIGINT NOT NULL,
+    direction VARCHAR(10) NOT NULL,
+    amount DECIMAL(18, 2) NOT NULL,
+    memo VARCHAR(500) NULL,
+    owner_id BIGINT NULL,
+    owner_type VARCHAR(20) NULL,
+    create_time DATETIME NULL,
+    update_time DATETIME NULL,
+    is_deleted INT DEFAULT 0,
+    PRIMARY KEY (split_id),
+    KEY idx_split_trans_id (trans_id),
+    KEY idx_split_account_id (account_id),
+    KEY idx_split_owner (owner_id, owner_type)
+);
+
+CREATE TABLE IF NOT EXISTS fin_account_daily_balance (
+    account_id BIGINT NOT NULL,
+    balance_date DATE NOT NULL,
+    debit_amount DECIMAL(18, 2) NOT NULL DEFAULT 0.00,
+    credit_amount DECIMAL(18, 2) NOT NULL DEFAULT 0.00,
+    update_time DATETIME NULL DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (account_id, balance_date),
+    KEY idx_balance_date (balance_date)
+);
+
+CREATE TABLE IF NOT EXISTS fin_period_close (
+    close_id BIGINT NOT NULL AUTO_INCREMENT,
+    period_type VARCHAR(10) NOT NULL,
+    period_start DATE NOT NULL,
+    period_end DATE NOT NULL,
+    net_profit DECIMAL(18, 2) NOT NULL DEFAULT 0.00,
+    accumulated_profit DECIMAL(18, 2) NOT NULL DEFAULT 0.00,
+    close_time DATETIME NULL DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (close_id),
+    UNIQUE KEY uk_period_end (period_end)
+);
+
+CREATE TABLE IF NOT EXISTS fin_period_close_balance (
+    close_id BIGINT NOT NULL,
+    account_id BIGINT NOT NULL,
+    debit_amount DECIMAL(18, 2) NOT NULL DEFAULT 0.00,
+    credit_amount DECIMAL(18, 2) NOT NULL DEFAULT 0.00,
+    PRIMARY KEY (close_id, account_id)
+);
+
+CREATE TABLE IF NOT EXISTS fin_period_lock (
+    id TINYINT NOT NULL,
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE IF NOT EXISTS fin_ledger_version (
+    id TINYINT NOT NULL,
+    version BIGINT NOT NULL,
+    update_time DATETIME NULL DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE IF NOT EXISTS fin_owner (
+    owner_id BIGINT NOT NULL AUTO_INCREMENT,
+    name VARCHAR(100) NOT NULL,
+    code VARCHAR(50) NULL,
+    account_id BIGINT NULL,
+    owner_type VARCHAR(20) NOT NULL,
+    contact_name VARCHAR(50) NULL,
+    contact_phone VARCHAR(20) NULL,
+    contact_email VARCHAR(100) NULL,
+    address VARCHAR(500) NULL,
+    notes TEXT NULL,
+    enabled TINYINT DEFAULT 1,
+    create_time DATETIME NULL,
+    update_time DATETIME NULL,
+    is_deleted INT DEFAULT 0,
+    PRIMARY KEY (owner_id)
+);
+
+CREATE TABLE IF NOT EXISTS fin_invoice (
+    invoice_id BIGINT NOT NULL AUTO_INCREMENT,
+    invoice_no VARCHAR(50) NOT NULL,
+    invoice_date DATE NOT NULL,
+    due_date DATE NULL,
+    customer_id BIGINT NOT NULL,
+    status VARCHAR(20) DEFAULT 'DRAFT',
+    commodity_id BIGINT NULL,
+    total_amount DECIMAL(18, 2) NOT NULL,
+    tax_amount DECIMAL(18, 2) DEFAULT 0.00,
+    net_amount DECIMAL(18, 2) NOT NULL,
+    allocated_amount DECIMAL(18, 2) NOT NULL DEFAULT 0.00,
+    notes TEXT NULL,
+    posted TINYINT DEFAULT 0,
+    trans_id BIGINT NULL,
+    shipping_status VARCHAR(20) DEFAULT 'NOT_SENT',
+    tracking_no VARCHAR(100) NULL,
+    create_time DATETIME NULL,
+    update_time DATETIME NULL,
+    is_deleted INT DEFAULT 0,
+    PRIMARY KEY (invoice_id),
+    UNIQUE KEY uk_invoice_no (invoice_no),
+    KEY idx_customer_open (customer_id, status, create_time)
+);
+
+CREATE TABLE IF NOT EXISTS fin_payment (
+    payment_id BIGINT NOT NULL AUTO_INCREMENT,
+    payment_no VARCHAR(50) NOT NULL,
+    payment_date DATE NOT NULL,
+    payment_type VARCHAR(20) NOT NULL,
+    owner_id BIGINT NOT NULL,
+    account_id BIGINT NOT NULL,
+    commodity_id BIGINT NULL,
+    amount DECIMAL(18, 2) NOT NULL,
+    memo VARCHAR(500) NULL,
+    status VARCHAR(20) DEFAULT 'CLEARED',
+    posted TINYINT DEFAULT 0,
+    trans_id BIGINT NULL,
+    create_time DATETIME NULL,
+    update_time DATETIME NULL,
+    is_deleted INT DEFAULT 0,
+    PRIMARY KEY (payment_id),
+    UNIQUE KEY uk_payment_no (payment_no)
+);
+
+CREATE TABLE IF NOT EXISTS fin_payment_allocation (
+    allocation_id BIGINT NOT NULL AUTO_INCREMENT,
+    payment_id BIGINT NOT NULL,
+    document_type VARCHAR(20) NOT NULL,
+    document_id BIGINT NOT NULL,
+    amount DECIMAL(18, 2) NOT NULL,
+    previous_unpaid_amount DECIMAL(18, 2) NOT NULL,
+    remaining_unpaid_amount DECIMAL(18, 2) NOT NULL,
+    allocation_status VARCHAR(20) NOT NULL,
+    create_time DATETIME NULL,
+    update_time DATETIME NULL,
+    is_deleted INT DEFAULT 0,
+    PRIMARY KEY (allocation_id),
+    KEY idx_allocation_payment_id (payment_id),
+    KEY idx_allocation_document (document_type, document_id)
+);
@@ -3,12 +3,15 @@ package com.kylin.common;
 import com.baomidou.mybatisplus.annotation.DbType;
 import com.baomidou.mybatisplus.extension.plugins.MybatisPlusInterceptor;
 import com.baomidou.mybatisplus.extension.plugins.inner.PaginationInnerInterceptor;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
 /**
  * MyBatis-Plus 配置类
- * 配置分页插件，使分页功能生效
+ * 配置分页插件，使分页功能生效；注册 SQL 执行指标拦截器
  */
 @Configuration
 public class MyBatisPlusConfig {
@@ -27,5 +30,14 @@ public class MyBatisPlusConfig {
         interceptor.addInnerInterceptor(paginationInnerInterceptor);
         return interceptor;
     }
+
+    /**
+     * SQL 执行指标拦截器（耗时、行数、请求级统计）
+     * 未引入 Actuator 的场景（如基准测试）退回到 Micrometer 全局注册表
+     */
+    @Bean
+    public SqlMetricsInterceptor sqlMetricsInterceptor(ObjectProvider<MeterRegistry> meterRegistry) {
+        return new SqlMetricsInterceptor(meterRegistry.getIfAvailable(() -> Metrics.globalRegistry));
+    }
 }
 
@@ -0,0 +1,138 @@
+package com.kylin.common;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.Locale;
+
+/**
+ * 请求级 SQL 统计过滤器
+ *
+ * 1. 请求开始时绑定 SqlRequestStats，SqlMetricsInterceptor 执行的每条语句都会累加到其中
+ * 2. 响应提交前写入 Server-Timing 头：sql（语句数与累计耗时）、app（请求总耗时），浏览器开发者工具可直接查看
+ * 3. 请求结束时，同一语句执行次数达到阈值则输出告警，提示存在逐行查询（N+1）
+ *
+ * 流式导出等边处理边输出的接口，Server-Timing 只包含开始输出之前执行的语句。
+ */
+@Slf4j
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class SqlMetricsFilter extends OncePerRequestFilter {
+
+    private static final String SERVER_TIMING = "Server-Timing";
+
+    /**
+     * 同一请求中同一语句执行次数达到该值时告警
+     */
+    @Value("${kylin.sql.repeat-warn-threshold:20}")
+    private int repeatWarnThreshold;
+
+    /**
+     * 是否输出 Server-Timing 响应头
+     */
+    @Value("${kylin.sql.server-timing:true}")
+    private boolean serverTimingEnabled;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        long start = System.nanoTime();
+        SqlRequestStats stats = SqlRequestStats.begin();
+        ServerTimingResponse timingResponse = serverTimingEnabled
+                ? new ServerTimingResponse(response, stats, start) : null;
+        try {
+            filterChain.doFilter(request, timingResponse != null ? timingResponse : response);
+            if (timingResponse != null) {
+                // 没有响应体的请求（如 204、304）在这里补写
+                timingResponse.writeServerTiming();
+            }
+        } finally {
+            SqlRequestStats.end();
+            warnRepeatedStatements(request, stats);
+        }
+    }
+
+    private void warnRepeatedStatements(HttpServletRequest request, SqlRequestStats stats) {
+        if (repeatWarnThreshold <= 0 || stats.getCount() < repeatWarnThreshold) {
+            return;
+        }
+        stats.forEachRepeated(repeatWarnThreshold, (statementId, count) ->
+                log.warn("疑似 N+1 查询：{} {} 中语句 {} 执行 {} 次（本请求共 {} 条 SQL，累计 {} ms）",
+                        request.getMethod(), request.getRequestURI(), statementId, count,
+                        stats.getCount(), stats.getNanos() / 1_000_000));
+    }
+
+    /**
+     * 在响应开始输出（获取输出流/写入器、刷新缓冲、重定向、发送错误）前写入 Server-Timing 头
+     */
+    private static final class ServerTimingResponse extends HttpServletResponseWrapper {
+
+        private final SqlRequestStats stats;
+        private final long start;
+        private boolean written;
+
+        private ServerTimingResponse(HttpServletResponse response, SqlRequestStats stats, long start) {
+            super(response);
+            this.stats = stats;
+            this.start = start;
+        }
+
+        private void writeServerTiming() {
+            if (written || isCommitted()) {
+                return;
+            }
+            written = true;
+            setHeader(SERVER_TIMING, String.format(Locale.ROOT,
+                    "sql;desc=\"%d queries\";dur=%.1f, app;dur=%.1f",
+                    stats.getCount(), stats.getNanos() / 1e6, (System.nanoTime() - start) / 1e6));
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            writeServerTiming();
+            return super.getOutputStream();
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            writeServerTiming();
+            return super.getWriter();
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            writeServerTiming();
+            super.flushBuffer();
+        }
+
+        @Override
+        public void sendError(int sc, String msg) throws IOException {
+            writeServerTiming();
+            super.sendError(sc, msg);
+        }
+
+        @Override
+        public void sendError(int sc) throws IOException {
+            writeServerTiming();
+            super.sendError(sc);
+        }
+
+        @Override
+        public void sendRedirect(String location) throws IOException {
+            writeServerTiming();
+            super.sendRedirect(location);
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.kylin.common;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.apache.ibatis.cache.CacheKey;
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.plugin.Interceptor;
+import org.apache.ibatis.plugin.Intercepts;
+import org.apache.ibatis.plugin.Invocation;
+import org.apache.ibatis.plugin.Signature;
+import org.apache.ibatis.session.ResultHandler;
+import org.apache.ibatis.session.RowBounds;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * SQL 执行指标拦截器
+ *
+ * 按 MappedStatement 记录执行耗时（kylin.sql）与返回/影响行数（kylin.sql.rows），通过 Actuator /actuator/metrics 查看；
+ * 同时累加到当前请求的 SqlRequestStats，用于 Server-Timing 响应头与 N+1 告警。
+ * 标签 statement 取 MappedStatement ID（Mapper 全限定名.方法名），取值集合有限。
+ */
+@Intercepts({
+        @Signature(type = Executor.class, method = "query",
+                args = {MappedStatement.class, Object.class, RowBounds.class, ResultHandler.class}),
+        @Signature(type = Executor.class, method = "query",
+                args = {MappedStatement.class, Object.class, RowBounds.class, ResultHandler.class, CacheKey.class, BoundSql.class}),
+        @Signature(type = Executor.class, method = "queryCursor",
+                args = {MappedStatement.class, Object.class, RowBounds.class}),
+        @Signature(type = Executor.class, method = "update",
+                args = {MappedStatement.class, Object.class})
+})
+public class SqlMetricsInterceptor implements Interceptor {
+
+    private final MeterRegistry registry;
+
+    private final Map<String, StatementMeters> meters = new ConcurrentHashMap<>();
+
+    public SqlMetricsInterceptor(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Override
+    public Object intercept(Invocation invocation) throws Throwable {
+        MappedStatement ms = (MappedStatement) invocation.getArgs()[0];
+        long start = System.nanoTime();
+        Object result = null;
+        try {
+            result = invocation.proceed();
+            return result;
+        } finally {
+            long elapsed = System.nanoTime() - start;
+            StatementMeters statementMeters = meters.computeIfAbsent(ms.getId(), id -> register(id, ms));
+            statementMeters.timer.record(elapsed, TimeUnit.NANOSECONDS);
+            long rows = rowCount(result);
+            if (rows >= 0) {
+                statementMeters.rows.record(rows);
+            }
+
+            SqlRequestStats stats = SqlRequestStats.current();
+            if (stats != null) {
+                stats.record(ms.getId(), elapsed);
+            }
+        }
+    }
+
+    private StatementMeters register(String statementId, MappedStatement ms) {
+        String command = ms.getSqlCommandType().name();
+        Timer timer = Timer.builder("kylin.sql")
+                .description("SQL 执行耗时")
+                .tag("statement", statementId)
+                .tag("command", command)
+                .register(registry);
+        DistributionSummary rows = DistributionSummary.builder("kylin.sql.rows")
+                .description("SQL 返回或影响的行数")
+                .tag("statement", statementId)
+                .tag("command", command)
+                .register(registry);
+        return new StatementMeters(timer, rows);
+    }
+
+    /**
+     * 查询返回行数 / 更新影响行数；游标查询与异常时返回 -1
+     */
+    private static long rowCount(Object result) {
+        if (result instanceof List<?> list) {
+            return list.size();
+        }
+        if (result instanceof Integer affected) {
+            return affected;
+        }
+        return -1;
+    }
+
+    private static final class StatementMeters {
+        private final Timer timer;
+        private final DistributionSummary rows;
+
+        private StatementMeters(Timer timer, DistributionSummary rows) {
+            this.timer = timer;
+            this.rows = rows;
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.kylin.common;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.BiConsumer;
+
+/**
+ * 单个 HTTP 请求内的 SQL 执行统计
+ *
+ * 由 SqlMetricsFilter 在请求开始时绑定到当前线程，SqlMetricsInterceptor 每执行一条语句累加一次，
+ * 请求结束时用于输出 Server-Timing 响应头与重复语句（疑似 N+1）告警。
+ * 非请求线程（定时任务、异步刷新等）没有绑定统计对象，拦截器只记录指标。
+ */
+public final class SqlRequestStats {
+
+    private static final ThreadLocal<SqlRequestStats> CURRENT = new ThreadLocal<>();
+
+    private final Map<String, int[]> countsByStatement = new HashMap<>();
+
+    private int count;
+
+    private long nanos;
+
+    static SqlRequestStats begin() {
+        SqlRequestStats stats = new SqlRequestStats();
+        CURRENT.set(stats);
+        return stats;
+    }
+
+    static void end() {
+        CURRENT.remove();
+    }
+
+    /**
+     * 当前线程绑定的请求统计，不在请求中时返回 null
+     */
+    static SqlRequestStats current() {
+        return CURRENT.get();
+    }
+
+    void record(String statementId, long elapsedNanos) {
+        count++;
+        nanos += elapsedNanos;
+        countsByStatement.computeIfAbsent(statementId, k -> new int[1])[0]++;
+    }
+
+    /**
+     * 本次请求执行的语句总数
+     */
+    public int getCount() {
+        return count;
+    }
+
+    /**
+     * 本次请求 SQL 累计耗时（纳秒）
+     */
+    public long getNanos() {
+        return nanos;
+    }
+
+    /**
+     * 遍历执行次数达到阈值的语句
+     */
+    void forEachRepeated(int threshold, BiConsumer<String, Integer> action) {
+        countsByStatement.forEach((statementId, counter) -> {
+            if (counter[0] >= threshold) {
+                action.accept(statementId, counter[0]);
+            }
+        });
+    }
+}
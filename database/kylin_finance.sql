@@ -1069,6 +1069,8 @@ INSERT INTO `sys_menu` VALUES (9, '财务报表', 0, 3, '/reports', NULL, 'Trend
 INSERT INTO `sys_menu` VALUES (10, '试算平衡表', 9, 1, '/reports/trial-balance', 'finance:report:trial-balance', NULL, 'C', '2025-12-24 17:26:08', '2025-12-24 17:26:08', 0);
 INSERT INTO `sys_menu` VALUES (11, '资产负债表', 9, 2, '/reports/balance-sheet', 'finance:report:balance-sheet', NULL, 'C', '2025-12-24 17:26:08', '2025-12-24 17:26:08', 0);
 INSERT INTO `sys_menu` VALUES (12, '现金流量表', 9, 3, '/reports/cash-flow', 'finance:report:cash-flow', NULL, 'C', '2025-12-24 17:26:08', '2025-12-24 17:26:08', 0);
+INSERT INTO `sys_menu` VALUES (13, '系统管理', 0, 4, '/system', NULL, 'Setting', 'M', '2025-12-24 17:26:08', '2025-12-24 17:26:08', 0);
+INSERT INTO `sys_menu` VALUES (14, '刷新权限缓存', 13, 1, NULL, 'system:permission:refresh', NULL, 'F', '2025-12-24 17:26:08', '2025-12-24 17:26:08', 0);
 
 -- ----------------------------
 -- Table structure for sys_role
@@ -1127,6 +1129,8 @@ INSERT INTO `sys_role_menu` VALUES (9, 1, 9, '2025-12-24 17:26:08', '2025-12-24
 INSERT INTO `sys_role_menu` VALUES (10, 1, 10, '2025-12-24 17:26:08', '2025-12-24 17:26:08', 0);
 INSERT INTO `sys_role_menu` VALUES (11, 1, 11, '2025-12-24 17:26:08', '2025-12-24 17:26:08', 0);
 INSERT INTO `sys_role_menu` VALUES (12, 1, 12, '2025-12-24 17:26:08', '2025-12-24 17:26:08', 0);
+INSERT INTO `sys_role_menu` VALUES (13, 1, 13, '2025-12-24 17:26:08', '2025-12-24 17:26:08', 0);
+INSERT INTO `sys_role_menu` VALUES (14, 1, 14, '2025-12-24 17:26:08', '2025-12-24 17:26:08', 0);
 
 -- ----------------------------
 -- Table structure for sys_user
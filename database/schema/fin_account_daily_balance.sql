@@ -0,0 +1,46 @@
+-- ==========================================
+-- 核算模块-科目日余额快照表结构
+-- 说明：按 (科目, 日期) 汇总已审核凭证的借贷发生额，
+--       由凭证审核/过账等操作在同一事务内增量维护，
+--       余额查询直接汇总该表，不再扫描全部 fin_split 历史
+-- ==========================================
+
+USE kylin_finance;
+
+-- ==========================================
+-- 1. 科目日余额快照表 (fin_account_daily_balance)
+-- ==========================================
+CREATE TABLE IF NOT EXISTS `fin_account_daily_balance` (
+    `account_id` BIGINT NOT NULL COMMENT '科目ID（外键 -> fin_account.account_id）',
+    `balance_date` DATE NOT NULL COMMENT '日期（对应 fin_transaction.trans_date）',
+    `debit_amount` DECIMAL(18, 2) NOT NULL DEFAULT 0.00 COMMENT '当日借方发生额合计',
+    `credit_amount` DECIMAL(18, 2) NOT NULL DEFAULT 0.00 COMMENT '当日贷方发生额合计',
+    `update_time` DATETIME NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP COMMENT '更新时间',
+    PRIMARY KEY (`account_id`, `balance_date`),
+    KEY `idx_balance_date` (`balance_date`),
+    CONSTRAINT `fk_daily_balance_account` FOREIGN KEY (`account_id`) REFERENCES `fin_account` (`account_id`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci COMMENT='科目日余额快照表';
+
+-- ==========================================
+-- 2. 从现有分录初始化快照（幂等：先清空再重建）
+-- ==========================================
+DELETE FROM `fin_account_daily_balance`;
+
+INSERT INTO `fin_account_daily_balance` (`account_id`, `balance_date`, `debit_amount`, `credit_amount`)
+SELECT
+    s.account_id,
+    t.trans_date,
+    COALESCE(SUM(CASE WHEN s.direction = 'DEBIT' THEN s.amount ELSE 0 END), 0),
+    COALESCE(SUM(CASE WHEN s.direction = 'CREDIT' THEN s.amount ELSE 0 END), 0)
+FROM fin_split s
+INNER JOIN fin_transaction t ON s.trans_id = t.trans_id
+WHERE s.is_deleted = 0
+  AND t.status = 1
+GROUP BY s.account_id, t.trans_date;
+
+-- ==========================================
+-- 表结构说明
+-- ==========================================
+-- 1. 只统计已审核（status = 1）且未删除的分录，口径与 FinSplitMapper.selectBalanceByAccountIds 一致
+-- 2. 截至某日余额 = SUM(balance_date <= 该日)，期间发生额 = SUM(balance_date BETWEEN 开始 AND 结束)
+-- 3. 应用启动时若快照为空会自动重建；也可调用 POST /finance/accounting/daily-balance/rebuild 手动重建
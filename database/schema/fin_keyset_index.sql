@@ -0,0 +1,132 @@
+-- ==========================================
+-- 列表游标分页索引
+-- 说明：凭证、发票、账单、报销单列表支持按 (日期, 单号) 倒序的游标分页，
+--       以下复合索引使 "WHERE (日期, 单号) < (游标) ORDER BY 日期 DESC, 单号 DESC LIMIT n"
+--       直接沿索引回扫，翻页代价与页码无关
+-- ==========================================
+
+USE kylin_finance;
+
+-- ==========================================
+-- 1. fin_transaction：凭证列表（不过滤状态）
+-- ==========================================
+SET @index_exists = (
+    SELECT COUNT(*)
+    FROM INFORMATION_SCHEMA.STATISTICS
+    WHERE TABLE_SCHEMA = DATABASE()
+      AND TABLE_NAME = 'fin_transaction'
+      AND INDEX_NAME = 'idx_trans_date_voucher_no'
+);
+
+SET @sql = IF(@index_exists = 0,
+    'ALTER TABLE `fin_transaction` ADD KEY `idx_trans_date_voucher_no` (`trans_date`, `voucher_no`)',
+    'SELECT "Index idx_trans_date_voucher_no already exists in fin_transaction" as message'
+);
+PREPARE stmt FROM @sql;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+-- ==========================================
+-- 2. fin_transaction：凭证列表（按状态过滤）
+-- ==========================================
+SET @index_exists = (
+    SELECT COUNT(*)
+    FROM INFORMATION_SCHEMA.STATISTICS
+    WHERE TABLE_SCHEMA = DATABASE()
+      AND TABLE_NAME = 'fin_transaction'
+      AND INDEX_NAME = 'idx_status_date_voucher_no'
+);
+
+SET @sql = IF(@index_exists = 0,
+    'ALTER TABLE `fin_transaction` ADD KEY `idx_status_date_voucher_no` (`status`, `trans_date`, `voucher_no`)',
+    'SELECT "Index idx_status_date_voucher_no already exists in fin_transaction" as message'
+);
+PREPARE stmt FROM @sql;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+-- ==========================================
+-- 3. fin_invoice：发票列表
+-- ==========================================
+SET @index_exists = (
+    SELECT COUNT(*)
+    FROM INFORMATION_SCHEMA.STATISTICS
+    WHERE TABLE_SCHEMA = DATABASE()
+      AND TABLE_NAME = 'fin_invoice'
+      AND INDEX_NAME = 'idx_invoice_date_no'
+);
+
+SET @sql = IF(@index_exists = 0,
+    'ALTER TABLE `fin_invoice` ADD KEY `idx_invoice_date_no` (`invoice_date`, `invoice_no`)',
+    'SELECT "Index idx_invoice_date_no already exists in fin_invoice" as message'
+);
+PREPARE stmt FROM @sql;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+-- ==========================================
+-- 4. fin_bill：账单列表
+-- ==========================================
+SET @index_exists = (
+    SELECT COUNT(*)
+    FROM INFORMATION_SCHEMA.STATISTICS
+    WHERE TABLE_SCHEMA = DATABASE()
+      AND TABLE_NAME = 'fin_bill'
+      AND INDEX_NAME = 'idx_bill_date_no'
+);
+
+SET @sql = IF(@index_exists = 0,
+    'ALTER TABLE `fin_bill` ADD KEY `idx_bill_date_no` (`bill_date`, `bill_no`)',
+    'SELECT "Index idx_bill_date_no already exists in fin_bill" as message'
+);
+PREPARE stmt FROM @sql;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+-- ==========================================
+-- 5. biz_expense_claim：报销单列表（不过滤状态）
+-- ==========================================
+SET @index_exists = (
+    SELECT COUNT(*)
+    FROM INFORMATION_SCHEMA.STATISTICS
+    WHERE TABLE_SCHEMA = DATABASE()
+      AND TABLE_NAME = 'biz_expense_claim'
+      AND INDEX_NAME = 'idx_claim_date_no'
+);
+
+SET @sql = IF(@index_exists = 0,
+    'ALTER TABLE `biz_expense_claim` ADD KEY `idx_claim_date_no` (`claim_date`, `claim_no`)',
+    'SELECT "Index idx_claim_date_no already exists in biz_expense_claim" as message'
+);
+PREPARE stmt FROM @sql;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+-- ==========================================
+-- 6. biz_expense_claim：报销单列表（按状态过滤）
+-- ==========================================
+SET @index_exists = (
+    SELECT COUNT(*)
+    FROM INFORMATION_SCHEMA.STATISTICS
+    WHERE TABLE_SCHEMA = DATABASE()
+      AND TABLE_NAME = 'biz_expense_claim'
+      AND INDEX_NAME = 'idx_status_claim_date_no'
+);
+
+SET @sql = IF(@index_exists = 0,
+    'ALTER TABLE `biz_expense_claim` ADD KEY `idx_status_claim_date_no` (`status`, `claim_date`, `claim_no`)',
+    'SELECT "Index idx_status_claim_date_no already exists in biz_expense_claim" as message'
+);
+PREPARE stmt FROM @sql;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+-- ==========================================
+-- 说明
+-- ==========================================
+-- 【游标】
+-- - 游标为上一页最后一行的 (日期, 单号)，单号唯一，保证翻页不重不漏
+-- - 原 pageNum/pageSize 分页接口保留，/cursor 接口为新增
+--
+-- 【总数】
+-- - 游标分页默认不统计总数；includeTotal=true 时总数走短期缓存，过期后先返回旧值再异步刷新
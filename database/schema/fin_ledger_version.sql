@@ -0,0 +1,31 @@
+-- ==========================================
+-- 账簿版本号表结构
+-- 说明：报表结果缓存与 ETag 以账簿版本号区分新旧数据，
+--       版本号保存在数据库中，多个应用实例共用同一计数
+-- ==========================================
+
+USE kylin_finance;
+
+-- ==========================================
+-- 1. 账簿版本号表 (fin_ledger_version)
+-- ==========================================
+CREATE TABLE IF NOT EXISTS `fin_ledger_version` (
+    `id` TINYINT NOT NULL COMMENT '固定为 1（单行表）',
+    `version` BIGINT NOT NULL COMMENT '账簿版本号',
+    `update_time` DATETIME NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP COMMENT '更新时间',
+    PRIMARY KEY (`id`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci COMMENT='账簿版本号表';
+
+-- ==========================================
+-- 表结构说明
+-- ==========================================
+--
+-- 【递增时机】
+-- 任何可能改变报表结果的写操作，在业务事务提交前执行
+-- UPDATE fin_ledger_version SET version = version + 1 WHERE id = 1
+-- 新版本号与业务数据在同一事务中提交，读到新版本号时一定能读到对应的数据；
+-- 行锁只在提交前的这一条语句到提交之间持有，不会拉长业务事务的锁等待
+--
+-- 【初始化】
+-- 应用首次读取或递增时自动插入唯一一行，初始值取当前时间戳（毫秒），
+-- 重建表后的版本号不会与客户端持有的旧 ETag 重合
@@ -0,0 +1,110 @@
+-- ==========================================
+-- 往来核销-单据已核销金额
+-- 说明：在发票/账单上维护已核销金额，随收付款分配写入同步增减，
+--       先进先出核销与未结清金额汇总改为一次按索引的有序查询，不再逐张单据汇总分配记录
+-- ==========================================
+
+USE kylin_finance;
+
+-- ==========================================
+-- 1. fin_invoice 添加已核销金额字段及客户未结清发票索引
+-- ==========================================
+SET @column_exists = (
+    SELECT COUNT(*)
+    FROM INFORMATION_SCHEMA.COLUMNS
+    WHERE TABLE_SCHEMA = DATABASE()
+      AND TABLE_NAME = 'fin_invoice'
+      AND COLUMN_NAME = 'allocated_amount'
+);
+
+SET @sql = IF(@column_exists = 0,
+    'ALTER TABLE `fin_invoice` ADD COLUMN `allocated_amount` DECIMAL(18, 2) NOT NULL DEFAULT 0.00 COMMENT ''已核销金额（未结清金额 = total_amount - allocated_amount）'' AFTER `net_amount`',
+    'SELECT "Column allocated_amount already exists in fin_invoice" as message'
+);
+PREPARE stmt FROM @sql;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+SET @index_exists = (
+    SELECT COUNT(*)
+    FROM INFORMATION_SCHEMA.STATISTICS
+    WHERE TABLE_SCHEMA = DATABASE()
+      AND TABLE_NAME = 'fin_invoice'
+      AND INDEX_NAME = 'idx_customer_open'
+);
+
+SET @sql = IF(@index_exists = 0,
+    'ALTER TABLE `fin_invoice` ADD KEY `idx_customer_open` (`customer_id`, `status`, `create_time`)',
+    'SELECT "Index idx_customer_open already exists in fin_invoice" as message'
+);
+PREPARE stmt FROM @sql;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+-- ==========================================
+-- 2. fin_bill 添加已核销金额字段及供应商未结清账单索引
+-- ==========================================
+SET @column_exists = (
+    SELECT COUNT(*)
+    FROM INFORMATION_SCHEMA.COLUMNS
+    WHERE TABLE_SCHEMA = DATABASE()
+      AND TABLE_NAME = 'fin_bill'
+      AND COLUMN_NAME = 'allocated_amount'
+);
+
+SET @sql = IF(@column_exists = 0,
+    'ALTER TABLE `fin_bill` ADD COLUMN `allocated_amount` DECIMAL(18, 2) NOT NULL DEFAULT 0.00 COMMENT ''已核销金额（未结清金额 = total_amount - allocated_amount）'' AFTER `net_amount`',
+    'SELECT "Column allocated_amount already exists in fin_bill" as message'
+);
+PREPARE stmt FROM @sql;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+SET @index_exists = (
+    SELECT COUNT(*)
+    FROM INFORMATION_SCHEMA.STATISTICS
+    WHERE TABLE_SCHEMA = DATABASE()
+      AND TABLE_NAME = 'fin_bill'
+      AND INDEX_NAME = 'idx_vendor_open'
+);
+
+SET @sql = IF(@index_exists = 0,
+    'ALTER TABLE `fin_bill` ADD KEY `idx_vendor_open` (`vendor_id`, `status`, `create_time`)',
+    'SELECT "Index idx_vendor_open already exists in fin_bill" as message'
+);
+PREPARE stmt FROM @sql;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+-- ==========================================
+-- 3. 按已有分配记录回填已核销金额（可重复执行）
+-- ==========================================
+UPDATE `fin_invoice` i
+LEFT JOIN (
+    SELECT `document_id`, SUM(`amount`) AS `allocated`
+    FROM `fin_payment_allocation`
+    WHERE `document_type` = 'INVOICE' AND `is_deleted` = 0
+    GROUP BY `document_id`
+) a ON a.`document_id` = i.`invoice_id`
+SET i.`allocated_amount` = COALESCE(a.`allocated`, 0);
+
+UPDATE `fin_bill` b
+LEFT JOIN (
+    SELECT `document_id`, SUM(`amount`) AS `allocated`
+    FROM `fin_payment_allocation`
+    WHERE `document_type` = 'BILL' AND `is_deleted` = 0
+    GROUP BY `document_id`
+) a ON a.`document_id` = b.`bill_id`
+SET b.`allocated_amount` = COALESCE(a.`allocated`, 0);
+
+-- ==========================================
+-- 表结构说明
+-- ==========================================
+--
+-- 【已核销金额 (allocated_amount)】
+-- - 等于该单据未删除的 fin_payment_allocation 分配金额之和
+-- - 收付款核销时与分配记录在同一事务内累加，撤销支付时扣减
+-- - 应用代码中 updateById 不会覆盖该字段，只能通过 addAllocatedAmount 增减
+--
+-- 【索引】
+-- - idx_customer_open / idx_vendor_open：按往来单位 + 状态定位 OPEN/PARTIAL 单据，并按创建时间先进先出排序
@@ -0,0 +1,66 @@
+-- ==========================================
+-- 核算模块-期末结账表结构
+-- 说明：月结/年结时冻结每个科目的期末累计借贷发生额，
+--       已结账期间禁止新增、修改、审核、删除凭证；
+--       余额查询以最近一次结账为起点，只汇总结账日之后的日余额快照
+-- ==========================================
+
+USE kylin_finance;
+
+-- ==========================================
+-- 1. 期末结账表 (fin_period_close)
+-- ==========================================
+CREATE TABLE IF NOT EXISTS `fin_period_close` (
+    `close_id` BIGINT NOT NULL AUTO_INCREMENT COMMENT '结账ID（主键）',
+    `period_type` VARCHAR(10) NOT NULL COMMENT '期间类型：MONTH(月结), YEAR(年结)',
+    `period_start` DATE NOT NULL COMMENT '期间开始日期（上次结账日的次日）',
+    `period_end` DATE NOT NULL COMMENT '期间结束日期（结账日）',
+    `net_profit` DECIMAL(18, 2) NOT NULL DEFAULT 0.00 COMMENT '本期净利润（收入 - 费用）',
+    `accumulated_profit` DECIMAL(18, 2) NOT NULL DEFAULT 0.00 COMMENT '截至结账日累计净利润（资产负债表"本年利润"列示金额）',
+    `close_time` DATETIME NULL DEFAULT CURRENT_TIMESTAMP COMMENT '结账时间',
+    PRIMARY KEY (`close_id`),
+    UNIQUE KEY `uk_period_end` (`period_end`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci COMMENT='期末结账表';
+
+-- ==========================================
+-- 2. 结账科目余额表 (fin_period_close_balance)
+-- ==========================================
+CREATE TABLE IF NOT EXISTS `fin_period_close_balance` (
+    `close_id` BIGINT NOT NULL COMMENT '结账ID（外键 -> fin_period_close.close_id）',
+    `account_id` BIGINT NOT NULL COMMENT '科目ID（外键 -> fin_account.account_id）',
+    `debit_amount` DECIMAL(18, 2) NOT NULL DEFAULT 0.00 COMMENT '截至结账日借方累计发生额',
+    `credit_amount` DECIMAL(18, 2) NOT NULL DEFAULT 0.00 COMMENT '截至结账日贷方累计发生额',
+    PRIMARY KEY (`close_id`, `account_id`),
+    CONSTRAINT `fk_close_balance_close` FOREIGN KEY (`close_id`) REFERENCES `fin_period_close` (`close_id`) ON DELETE CASCADE,
+    CONSTRAINT `fk_close_balance_account` FOREIGN KEY (`account_id`) REFERENCES `fin_account` (`account_id`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci COMMENT='结账科目余额表';
+
+-- ==========================================
+-- 3. 结账锁表 (fin_period_lock)
+-- ==========================================
+CREATE TABLE IF NOT EXISTS `fin_period_lock` (
+    `id` TINYINT NOT NULL COMMENT '固定为 1（单行表）',
+    PRIMARY KEY (`id`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci COMMENT='结账锁表';
+
+INSERT IGNORE INTO `fin_period_lock` (`id`) VALUES (1);
+
+-- ==========================================
+-- 表结构说明
+-- ==========================================
+--
+-- 【期末结账表 (fin_period_close)】
+-- - 结账必须按时间顺序进行，period_start 为上一次结账日的次日（首次结账为期间自然起始日）
+-- - 只能反结账最近一次结账，反结账删除结账记录及其科目余额（级联删除）
+-- - 交易日期 <= 最近一次结账日的凭证视为已结账期间凭证，不能新增、修改、审核或删除
+--
+-- 【结账科目余额表 (fin_period_close_balance)】
+-- - 只保存借贷累计发生额不为零的科目，未保存的科目视为零
+-- - 余额口径与 fin_account_daily_balance 一致：已审核凭证的未删除分录
+--
+-- 【结账锁表 (fin_period_lock)】
+-- - 只有一行，用于串行化结账与凭证写入，不保存业务数据
+-- - 结账、反结账在事务开始时 SELECT ... FOR UPDATE 独占该行，同一时刻只有一个结账在进行
+-- - 凭证新增、修改、审核、删除、导入在校验期间时 SELECT ... LOCK IN SHARE MODE 共享该行，
+--   并持有到凭证事务提交；结账因此会等待已通过校验的凭证事务提交后才开始统计，
+--   已通过校验的凭证不会在结账过程中写入被结账的期间
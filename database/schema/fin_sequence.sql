@@ -0,0 +1,38 @@
+-- ==========================================
+-- 单据编号序列表结构
+-- 说明：凭证号、报销单号、收付款单号、支付编号按 (前缀 + 日期) 分别计数，
+--       应用每次原子地租用一段号码（号段），在内存中逐个分配，
+--       不再每张单据查询一次当天最大编号
+-- ==========================================
+
+USE kylin_finance;
+
+-- ==========================================
+-- 1. 单据编号序列表 (fin_sequence)
+-- ==========================================
+CREATE TABLE IF NOT EXISTS `fin_sequence` (
+    `seq_key` VARCHAR(64) NOT NULL COMMENT '序列键：前缀 + 日期(yyyyMMdd)，如 V20241201',
+    `next_value` BIGINT NOT NULL DEFAULT 1 COMMENT '下一个未租用的序号',
+    `update_time` DATETIME NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP COMMENT '更新时间',
+    PRIMARY KEY (`seq_key`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci COMMENT='单据编号序列表';
+
+-- ==========================================
+-- 表结构说明
+-- ==========================================
+--
+-- 【号段租用】
+-- UPDATE fin_sequence SET next_value = LAST_INSERT_ID(next_value + 号段大小) WHERE seq_key = ?
+-- 单条 UPDATE 原子地推进序号，返回值减去号段大小即为本次号段起点，
+-- 多个应用实例并发租用时各自得到互不重叠的号段，因此编号不会重复
+--
+-- 【编号连续性】
+-- 编号保证唯一、同一实例内递增，但不保证连续：
+-- - 应用重启时未用完的号段作废
+-- - 业务事务回滚时已分配的号码不回收
+-- - 多实例部署时不同实例的号码交错
+-- 号段大小由 kylin.sequence.block-size 配置（默认 20），设为 1 时每个号码租用一次
+--
+-- 【初始化】
+-- 某个序列键第一次使用时，按业务表中当天已有的最大编号初始化 next_value，
+-- 上线前已生成的编号不会被重复分配
@@ -111,7 +111,9 @@ VALUES
 (9, '财务报表', 0, 3, '/reports', NULL, 'TrendCharts', 'M'),
 (10, '试算平衡表', 9, 1, '/reports/trial-balance', 'finance:report:trial-balance', NULL, 'C'),
 (11, '资产负债表', 9, 2, '/reports/balance-sheet', 'finance:report:balance-sheet', NULL, 'C'),
-(12, '现金流量表', 9, 3, '/reports/cash-flow', 'finance:report:cash-flow', NULL, 'C')
+(12, '现金流量表', 9, 3, '/reports/cash-flow', 'finance:report:cash-flow', NULL, 'C'),
+(13, '系统管理', 0, 4, '/system', NULL, 'Setting', 'M'),
+(14, '刷新权限缓存', 13, 1, NULL, 'system:permission:refresh', NULL, 'F')
 ON DUPLICATE KEY UPDATE `menu_name`=`menu_name`;
 
 -- 关联管理员用户和角色
@@ -124,6 +126,7 @@ INSERT INTO `sys_role_menu` (`id`, `role_id`, `menu_id`)
 VALUES 
 (1, 1, 1), (2, 1, 2), (3, 1, 3), (4, 1, 4),
 (5, 1, 5), (6, 1, 6), (7, 1, 7), (8, 1, 8),
-(9, 1, 9), (10, 1, 10), (11, 1, 11), (12, 1, 12)
+(9, 1, 9), (10, 1, 10), (11, 1, 11), (12, 1, 12),
+(13, 1, 13), (14, 1, 14)
 ON DUPLICATE KEY UPDATE `role_id`=`role_id`;
 
@@ -0,0 +1,123 @@
+package com.kylin.finance.balance;
+
+import java.util.Arrays;
+
+/**
+ * 单个科目的逐日累计借贷发生额索引
+ *
+ * 以日期（epoch day）为下标，借、贷方各一棵树状数组（Fenwick tree），金额以分为单位存为 long；
+ * 按日累加发生额、查询截至某日（含）的累计发生额均为 O(log 天数)。
+ * 日期超出当前范围时按需向前/向后扩容并以 O(天数) 重建。
+ *
+ * 本类不是线程安全的，由调用方加锁；不依赖 Spring 和数据库。
+ */
+public class CumulativeAmountIndex {
+
+    /**
+     * 扩容时额外预留的天数，避免逐日录入时频繁重建
+     */
+    private static final int GROWTH_MARGIN_DAYS = 366;
+
+    private long baseDay;
+    private long[] debitTree;
+    private long[] creditTree;
+
+    /**
+     * @param firstDay 初始覆盖的第一天（epoch day）
+     * @param lastDay 初始覆盖的最后一天（epoch day）
+     */
+    public CumulativeAmountIndex(long firstDay, long lastDay) {
+        this.baseDay = firstDay;
+        int capacity = (int) Math.max(1, lastDay - firstDay + 1) + GROWTH_MARGIN_DAYS;
+        this.debitTree = new long[capacity + 1];
+        this.creditTree = new long[capacity + 1];
+    }
+
+    /**
+     * 累加某日的借贷发生额（冲回时传负数）
+     */
+    public void add(long epochDay, long debitCents, long creditCents) {
+        ensureCovered(epochDay);
+        int n = capacity();
+        for (int i = (int) (epochDay - baseDay) + 1; i <= n; i += i & -i) {
+            debitTree[i] += debitCents;
+            creditTree[i] += creditCents;
+        }
+    }
+
+    /**
+     * 截至某日（含）的累计借方发生额，单位：分
+     */
+    public long debitThrough(long epochDay) {
+        return prefixSum(debitTree, epochDay);
+    }
+
+    /**
+     * 截至某日（含）的累计贷方发生额，单位：分
+     */
+    public long creditThrough(long epochDay) {
+        return prefixSum(creditTree, epochDay);
+    }
+
+    private long prefixSum(long[] tree, long epochDay) {
+        if (epochDay < baseDay) {
+            return 0L;
+        }
+        long sum = 0L;
+        for (int i = (int) Math.min(epochDay - baseDay + 1, capacity()); i > 0; i -= i & -i) {
+            sum += tree[i];
+        }
+        return sum;
+    }
+
+    private int capacity() {
+        return debitTree.length - 1;
+    }
+
+    /**
+     * 扩容使索引覆盖指定日期：取出逐日发生额，换新的起点和容量后重建
+     */
+    private void ensureCovered(long epochDay) {
+        long lastDay = baseDay + capacity() - 1;
+        if (epochDay >= baseDay && epochDay <= lastDay) {
+            return;
+        }
+        long newBase = epochDay < baseDay ? epochDay - GROWTH_MARGIN_DAYS : baseDay;
+        long newLast = epochDay > lastDay ? epochDay + GROWTH_MARGIN_DAYS : lastDay;
+        int newCapacity = Math.toIntExact(newLast - newBase + 1);
+        int offset = (int) (baseDay - newBase);
+
+        debitTree = rebuild(toDaily(debitTree), offset, newCapacity);
+        creditTree = rebuild(toDaily(creditTree), offset, newCapacity);
+        baseDay = newBase;
+    }
+
+    /**
+     * 树状数组还原为逐日发生额（下标从 1 开始）
+     */
+    private static long[] toDaily(long[] tree) {
+        long[] daily = Arrays.copyOf(tree, tree.length);
+        for (int i = daily.length - 1; i > 0; i--) {
+            int parent = i + (i & -i);
+            if (parent < daily.length) {
+                daily[parent] -= tree[i];
+            }
+        }
+        return daily;
+    }
+
+    /**
+     * 逐日发生额平移 offset 天后以 O(n) 构建树状数组
+     */
+    private static long[] rebuild(long[] daily, int offset, int capacity) {
+        long[] tree = new long[capacity + 1];
+        System.arraycopy(daily, 1, tree, 1 + offset, daily.length - 1);
+        for (int i = 1; i <= capacity; i++) {
+            int parent = i + (i & -i);
+            if (parent <= capacity) {
+                tree[parent] += tree[i];
+            }
+        }
+        return tree;
+    }
+}
@@ -0,0 +1,162 @@
+package com.kylin.finance.balance;
+
+import java.util.Arrays;
+
+/**
+ * 列式分录存储
+ *
+ * 每条已审核分录按列存放在基本类型数组中：科目序号（int）、记账日期（epoch day，int）、
+ * 金额（long，按科目币种的最小单位，冲回时为负数）、借贷方向（byte）、往来单位ID（long，无往来单位时为 0）。
+ * 汇总查询是对数组的顺序扫描，不创建对象，也不需要索引；分录按追加顺序存放，补录以前日期的凭证直接追加。
+ * 每条分录约占 25 字节，一千万条分录约 250MB。
+ *
+ * 本类不是线程安全的，由调用方加锁；不依赖 Spring 和数据库。
+ * 追加只写入已有分录之后的位置、扩容时换用新数组，readOnlyView() 返回的视图在之后的追加中保持不变，可在锁外读取。
+ */
+public class LedgerColumns {
+
+    public static final byte DEBIT = 0;
+    public static final byte CREDIT = 1;
+
+    private static final int INITIAL_CAPACITY = 1 << 16;
+
+    private final boolean readOnly;
+    private int size;
+    private int[] accounts;
+    private int[] days;
+    private long[] amounts;
+    private byte[] directions;
+    private long[] owners;
+
+    public LedgerColumns() {
+        this(INITIAL_CAPACITY);
+    }
+
+    public LedgerColumns(int initialCapacity) {
+        int capacity = Math.max(16, initialCapacity);
+        this.accounts = new int[capacity];
+        this.days = new int[capacity];
+        this.amounts = new long[capacity];
+        this.directions = new byte[capacity];
+        this.owners = new long[capacity];
+        this.readOnly = false;
+    }
+
+    private LedgerColumns(LedgerColumns source) {
+        this.size = source.size;
+        this.accounts = source.accounts;
+        this.days = source.days;
+        this.amounts = source.amounts;
+        this.directions = source.directions;
+        this.owners = source.owners;
+        this.readOnly = true;
+    }
+
+    /**
+     * 追加一条分录
+     * @param account 科目序号（从 0 开始）
+     * @param epochDay 记账日期
+     * @param amount 金额（最小单位，冲回时为负数）
+     * @param direction DEBIT 或 CREDIT
+     * @param ownerId 往来单位ID，无往来单位时为 0
+     */
+    public void append(int account, int epochDay, long amount, byte direction, long ownerId) {
+        if (readOnly) {
+            throw new IllegalStateException("只读视图不能追加分录");
+        }
+        if (size == accounts.length) {
+            int capacity = accounts.length * 2;
+            accounts = Arrays.copyOf(accounts, capacity);
+            days = Arrays.copyOf(days, capacity);
+            amounts = Arrays.copyOf(amounts, capacity);
+            directions = Arrays.copyOf(directions, capacity);
+            owners = Arrays.copyOf(owners, capacity);
+        }
+        accounts[size] = account;
+        days[size] = epochDay;
+        amounts[size] = amount;
+        directions[size] = direction;
+        owners[size] = ownerId;
+        size++;
+    }
+
+    /**
+     * 分录条数
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * 数组占用的堆内存（字节，按已分配容量计算）
+     */
+    public long capacityBytes() {
+        return (long) accounts.length * (4 + 4 + 8 + 1 + 8);
+    }
+
+    /**
+     * 汇总日期范围 [fromDay, toDay] 内各科目的借贷发生额
+     * 结果累加到 debit / credit（下标为科目序号），有发生额的科目在 touched 中标记为 true
+     */
+    public void sumByAccount(int fromDay, int toDay, long[] debit, long[] credit, boolean[] touched) {
+        for (int i = 0; i < size; i++) {
+            int day = days[i];
+            if (day < fromDay || day > toDay) {
+                continue;
+            }
+            int account = accounts[i];
+            if (directions[i] == CREDIT) {
+                credit[account] += amounts[i];
+            } else {
+                debit[account] += amounts[i];
+            }
+            touched[account] = true;
+        }
+    }
+
+    /**
+     * 按 (科目, 分组) 汇总日期范围 [fromDay, fromDay + bucketOfDay.length) 内的借贷发生额
+     * bucketOfDay[d] 为第 fromDay + d 天所属分组；结果下标为 科目序号 * bucketCount + 分组
+     */
+    public void sumByAccountAndBucket(int fromDay, int[] bucketOfDay, int bucketCount,
+                                      long[] debit, long[] credit, boolean[] touched) {
+        int span = bucketOfDay.length;
+        for (int i = 0; i < size; i++) {
+            int offset = days[i] - fromDay;
+            if (offset < 0 || offset >= span) {
+                continue;
+            }
+            int cell = accounts[i] * bucketCount + bucketOfDay[offset];
+            if (directions[i] == CREDIT) {
+                credit[cell] += amounts[i];
+            } else {
+                debit[cell] += amounts[i];
+            }
+            touched[cell] = true;
+        }
+    }
+
+    /**
+     * 当前已有分录的只读视图，与本对象共享数组（调用时需持有锁，之后读取视图不需要锁）
+     */
+    public LedgerColumns readOnlyView() {
+        return new LedgerColumns(this);
+    }
+
+    /**
+     * 按追加顺序逐条访问分录
+     */
+    public void forEach(RowVisitor visitor) {
+        for (int i = 0; i < size; i++) {
+            visitor.visit(accounts[i], days[i], amounts[i], directions[i], owners[i]);
+        }
+    }
+
+    /**
+     * 分录访问器
+     */
+    @FunctionalInterface
+    public interface RowVisitor {
+        void visit(int account, int epochDay, long amount, byte direction, long ownerId);
+    }
+}
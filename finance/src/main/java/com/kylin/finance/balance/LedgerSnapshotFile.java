@@ -0,0 +1,251 @@
+package com.kylin.finance.balance;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * 列式分录存储的本地快照文件
+ *
+ * 保存按 (科目, 日期) 汇总的借贷发生额与高水位分录ID，重启时映射文件恢复存储，只需从数据库补读高水位之后的分录。
+ * 汇总后不再保留往来单位，行数约等于科目日余额快照的行数，远小于分录数。
+ *
+ * 文件格式（大端）：
+ * <pre>
+ * 头部    magic(8) 格式版本(4) 高水位分录ID(8) 写入时间毫秒(8) 科目数(4) 行数(4)
+ * 科目表  科目数 × [科目ID(8) 币种小数位(4)]
+ * 数据行  行数 × [科目序号(4) 记账日期 epoch day(4) 借方发生额(8) 贷方发生额(8)]，按 (科目序号, 日期) 排序
+ * 校验    之前全部字节的 CRC32(8)
+ * </pre>
+ * 金额为按币种小数位换算的最小单位。写入先写临时文件再原子替换，读取时校验失败抛出 IOException。
+ * 不依赖 Spring 和数据库。
+ */
+public final class LedgerSnapshotFile {
+
+    /**
+     * "KYLNLEDG"
+     */
+    private static final long MAGIC = 0x4B594C4E4C454447L;
+    private static final int FORMAT_VERSION = 1;
+
+    private static final int HEADER_BYTES = 8 + 4 + 8 + 8 + 4 + 4;
+    private static final int ACCOUNT_BYTES = 8 + 4;
+    private static final int ROW_BYTES = 4 + 4 + 8 + 8;
+    private static final int CHECKSUM_BYTES = 8;
+
+    private final long highWaterSplitId;
+    private final long createdAt;
+    private final long[] accountIds;
+    private final int[] fractions;
+    private final int[] rowAccounts;
+    private final int[] rowDays;
+    private final long[] rowDebits;
+    private final long[] rowCredits;
+
+    private LedgerSnapshotFile(long highWaterSplitId, long createdAt, long[] accountIds, int[] fractions,
+                               int[] rowAccounts, int[] rowDays, long[] rowDebits, long[] rowCredits) {
+        this.highWaterSplitId = highWaterSplitId;
+        this.createdAt = createdAt;
+        this.accountIds = accountIds;
+        this.fractions = fractions;
+        this.rowAccounts = rowAccounts;
+        this.rowDays = rowDays;
+        this.rowDebits = rowDebits;
+        this.rowCredits = rowCredits;
+    }
+
+    /**
+     * 按 (科目, 日期) 汇总分录列
+     * @param columns 分录列（通常为只读视图）
+     * @param accountIds 科目序号 -> 科目ID
+     * @param fractions 科目序号 -> 币种小数位
+     * @param accountCount 科目数
+     * @param highWaterSplitId 分录列已包含的最大分录ID
+     */
+    public static LedgerSnapshotFile aggregate(LedgerColumns columns, long[] accountIds, int[] fractions,
+                                               int accountCount, long highWaterSplitId) {
+        // 键：科目序号(高 32 位) + epoch day(低 32 位)；值：[借方, 贷方]
+        Map<Long, long[]> cells = new HashMap<>();
+        columns.forEach((account, epochDay, amount, direction, ownerId) -> {
+            long[] cell = cells.computeIfAbsent(((long) account << 32) | (epochDay & 0xFFFFFFFFL), key -> new long[2]);
+            cell[direction == LedgerColumns.CREDIT ? 1 : 0] += amount;
+        });
+        long[] keys = cells.keySet().stream().mapToLong(Long::longValue).sorted().toArray();
+        int[] rowAccounts = new int[keys.length];
+        int[] rowDays = new int[keys.length];
+        long[] rowDebits = new long[keys.length];
+        long[] rowCredits = new long[keys.length];
+        for (int i = 0; i < keys.length; i++) {
+            long[] cell = cells.get(keys[i]);
+            rowAccounts[i] = (int) (keys[i] >>> 32);
+            rowDays[i] = (int) keys[i];
+            rowDebits[i] = cell[0];
+            rowCredits[i] = cell[1];
+        }
+        return new LedgerSnapshotFile(highWaterSplitId, System.currentTimeMillis(),
+            Arrays.copyOf(accountIds, accountCount), Arrays.copyOf(fractions, accountCount),
+            rowAccounts, rowDays, rowDebits, rowCredits);
+    }
+
+    /**
+     * 写入快照：先写同目录下的临时文件，再原子替换目标文件
+     */
+    public void write(Path path) throws IOException {
+        Path parent = path.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+        CRC32 crc = new CRC32();
+        try (OutputStream file = Files.newOutputStream(temp);
+             CheckedOutputStream checked = new CheckedOutputStream(new BufferedOutputStream(file, 1 << 16), crc);
+             DataOutputStream out = new DataOutputStream(checked)) {
+            out.writeLong(MAGIC);
+            out.writeInt(FORMAT_VERSION);
+            out.writeLong(highWaterSplitId);
+            out.writeLong(createdAt);
+            out.writeInt(accountIds.length);
+            out.writeInt(rowAccounts.length);
+            for (int i = 0; i < accountIds.length; i++) {
+                out.writeLong(accountIds[i]);
+                out.writeInt(fractions[i]);
+            }
+            for (int i = 0; i < rowAccounts.length; i++) {
+                out.writeInt(rowAccounts[i]);
+                out.writeInt(rowDays[i]);
+                out.writeLong(rowDebits[i]);
+                out.writeLong(rowCredits[i]);
+            }
+            out.flush();
+            // 校验值本身不计入 CRC
+            new DataOutputStream(file).writeLong(crc.getValue());
+        }
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+            channel.force(true);
+        }
+        Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * 映射并读取快照
+     * @return 文件不存在时返回 null
+     * @throws IOException 读取失败、格式版本不符或校验失败
+     */
+    public static LedgerSnapshotFile read(Path path) throws IOException {
+        if (!Files.isRegularFile(path)) {
+            return null;
+        }
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long fileSize = channel.size();
+            if (fileSize < HEADER_BYTES + CHECKSUM_BYTES || fileSize > Integer.MAX_VALUE) {
+                throw new IOException("快照文件大小异常：" + fileSize);
+            }
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, fileSize);
+            int bodySize = (int) fileSize - CHECKSUM_BYTES;
+            CRC32 crc = new CRC32();
+            crc.update(buffer.duplicate().limit(bodySize));
+            if (crc.getValue() != buffer.getLong(bodySize)) {
+                throw new IOException("快照文件校验失败");
+            }
+
+            if (buffer.getLong() != MAGIC) {
+                throw new IOException("不是列式分录快照文件");
+            }
+            int formatVersion = buffer.getInt();
+            if (formatVersion != FORMAT_VERSION) {
+                throw new IOException("快照格式版本不符：" + formatVersion);
+            }
+            long highWaterSplitId = buffer.getLong();
+            long createdAt = buffer.getLong();
+            int accountCount = buffer.getInt();
+            int rowCount = buffer.getInt();
+            if (accountCount < 0 || rowCount < 0
+                    || HEADER_BYTES + (long) accountCount * ACCOUNT_BYTES + (long) rowCount * ROW_BYTES != bodySize) {
+                throw new IOException("快照文件长度与头部不符");
+            }
+
+            long[] accountIds = new long[accountCount];
+            int[] fractions = new int[accountCount];
+            for (int i = 0; i < accountCount; i++) {
+                accountIds[i] = buffer.getLong();
+                fractions[i] = buffer.getInt();
+            }
+            int[] rowAccounts = new int[rowCount];
+            int[] rowDays = new int[rowCount];
+            long[] rowDebits = new long[rowCount];
+            long[] rowCredits = new long[rowCount];
+            ByteBuffer rows = buffer.slice();
+            for (int i = 0; i < rowCount; i++) {
+                rowAccounts[i] = rows.getInt();
+                if (rowAccounts[i] < 0 || rowAccounts[i] >= accountCount) {
+                    throw new IOException("快照数据行科目序号越界：" + rowAccounts[i]);
+                }
+                rowDays[i] = rows.getInt();
+                rowDebits[i] = rows.getLong();
+                rowCredits[i] = rows.getLong();
+            }
+            return new LedgerSnapshotFile(highWaterSplitId, createdAt, accountIds, fractions,
+                rowAccounts, rowDays, rowDebits, rowCredits);
+        }
+    }
+
+    /**
+     * 快照包含的最大分录ID，恢复后从该ID之后补读
+     */
+    public long getHighWaterSplitId() {
+        return highWaterSplitId;
+    }
+
+    /**
+     * 写入时间（毫秒）
+     */
+    public long getCreatedAt() {
+        return createdAt;
+    }
+
+    public int getAccountCount() {
+        return accountIds.length;
+    }
+
+    public long getAccountId(int account) {
+        return accountIds[account];
+    }
+
+    public int getFraction(int account) {
+        return fractions[account];
+    }
+
+    public int getRowCount() {
+        return rowAccounts.length;
+    }
+
+    /**
+     * 按 (科目序号, 日期) 顺序逐行访问汇总发生额
+     */
+    public void forEachRow(RowVisitor visitor) {
+        for (int i = 0; i < rowAccounts.length; i++) {
+            visitor.visit(rowAccounts[i], rowDays[i], rowDebits[i], rowCredits[i]);
+        }
+    }
+
+    /**
+     * 汇总行访问器
+     */
+    @FunctionalInterface
+    public interface RowVisitor {
+        void visit(int account, int epochDay, long debit, long credit);
+    }
+}
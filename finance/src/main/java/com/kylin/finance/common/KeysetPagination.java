@@ -0,0 +1,110 @@
+package com.kylin.finance.common;
+
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.baomidou.mybatisplus.core.toolkit.support.SFunction;
+import com.kylin.common.BusinessException;
+import com.kylin.finance.dto.CursorPage;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * 键集（seek）分页工具
+ *
+ * 列表统一按 (日期 DESC, 单据号 DESC) 排序，单据号唯一，二者构成全序。
+ * 下一页条件为 日期 &lt;= d AND (日期 &lt; d OR 单据号 &lt; n)，配合 (日期, 单据号) 复合索引，
+ * 每页都是一次索引范围扫描，翻到第 N 页与第 1 页代价相同。
+ * 游标为 Base64URL 编码的 (日期, 单据号)，对调用方不透明。
+ */
+public final class KeysetPagination {
+
+    public static final int DEFAULT_SIZE = 20;
+
+    public static final int MAX_SIZE = 200;
+
+    private static final String CURSOR_VERSION = "1";
+
+    private static final char SEPARATOR = '\u001F';
+
+    private KeysetPagination() {
+    }
+
+    /**
+     * 规范化每页大小
+     */
+    public static int normalizeSize(Integer size) {
+        if (size == null || size <= 0) {
+            return DEFAULT_SIZE;
+        }
+        return Math.min(size, MAX_SIZE);
+    }
+
+    /**
+     * 追加游标条件、排序与 LIMIT（多取一条用于判断是否还有下一页）
+     *
+     * @param wrapper 已设置好筛选条件的查询
+     * @param dateColumn 日期列
+     * @param keyColumn 单据号列（唯一）
+     * @param cursor 上一页返回的游标，首页为空
+     * @param size 每页大小（已规范化）
+     */
+    public static <T> void apply(LambdaQueryWrapper<T> wrapper, SFunction<T, LocalDate> dateColumn,
+                                 SFunction<T, String> keyColumn, String cursor, int size) {
+        if (cursor != null && !cursor.isEmpty()) {
+            String[] position = decode(cursor);
+            LocalDate date = LocalDate.parse(position[0]);
+            String key = position[1];
+            wrapper.le(dateColumn, date)
+                   .and(w -> w.lt(dateColumn, date).or().lt(keyColumn, key));
+        }
+        wrapper.orderByDesc(dateColumn);
+        wrapper.orderByDesc(keyColumn);
+        wrapper.last("LIMIT " + (size + 1));
+    }
+
+    /**
+     * 由查询结果（最多 size + 1 条）组装分页结果
+     */
+    public static <T> CursorPage<T> toPage(List<T> rows, int size, Function<T, LocalDate> dateOf,
+                                           Function<T, String> keyOf) {
+        CursorPage<T> page = new CursorPage<>();
+        page.setSize(size);
+        boolean hasMore = rows.size() > size;
+        List<T> records = hasMore ? new ArrayList<>(rows.subList(0, size)) : rows;
+        page.setRecords(records);
+        page.setHasMore(hasMore);
+        if (hasMore) {
+            T last = records.get(records.size() - 1);
+            page.setNextCursor(encode(dateOf.apply(last), keyOf.apply(last)));
+        }
+        return page;
+    }
+
+    private static String encode(LocalDate date, String key) {
+        String raw = CURSOR_VERSION + SEPARATOR + date + SEPARATOR + key;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * 解析游标
+     * @return [日期, 单据号]
+     */
+    private static String[] decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split(String.valueOf(SEPARATOR), 3);
+            if (parts.length != 3 || !CURSOR_VERSION.equals(parts[0])) {
+                throw new BusinessException("分页游标无效");
+            }
+            LocalDate.parse(parts[1]);
+            return new String[]{parts[1], parts[2]};
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new BusinessException("分页游标无效");
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.kylin.finance.common;
+
+import com.kylin.finance.mapper.FinLedgerVersionMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * 账簿版本号
+ *
+ * 单调递增，任何可能改变报表结果的写操作（凭证增删改审、过账/撤销过账、日余额快照重建、科目变更、结账/反结账）
+ * 都递增一次；报表结果缓存与 ETag 以该版本号区分新旧数据。
+ *
+ * 版本号保存在 fin_ledger_version 表中，多实例部署时各实例读到同一版本号，
+ * 任一实例的写操作都会使所有实例的缓存条目与 ETag 失效。
+ * 递增在业务事务提交前、同一事务内执行，新版本号与业务数据一起提交：读到新版本号时一定能读到对应的数据，
+ * 回滚时版本号不变。版本号行的行锁只从提交前的这条 UPDATE 持有到提交，不拉长业务事务的锁等待。
+ */
+@Component
+public class LedgerVersion {
+
+    private static final String BUMP_REGISTERED_KEY = LedgerVersion.class.getName() + ".BUMP_REGISTERED";
+
+    @Autowired
+    private FinLedgerVersionMapper ledgerVersionMapper;
+
+    /**
+     * 当前版本号（读取数据库中已提交的值）
+     */
+    public long current() {
+        Long version = ledgerVersionMapper.selectVersion();
+        if (version != null) {
+            return version;
+        }
+        initialize();
+        return ledgerVersionMapper.selectVersion();
+    }
+
+    /**
+     * 在当前事务提交前递增版本号（同一事务内多次调用只递增一次），回滚时不变；不在事务中时立即递增
+     */
+    public void bumpOnCommit() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            increment();
+            return;
+        }
+        if (TransactionSynchronizationManager.hasResource(BUMP_REGISTERED_KEY)) {
+            return;
+        }
+        TransactionSynchronizationManager.bindResource(BUMP_REGISTERED_KEY, Boolean.TRUE);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                increment();
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(BUMP_REGISTERED_KEY);
+            }
+        });
+    }
+
+    private void increment() {
+        if (ledgerVersionMapper.increment() == 0) {
+            initialize();
+            ledgerVersionMapper.increment();
+        }
+    }
+
+    /**
+     * 首次使用时插入版本号行，初始值取当前时间，重建表后的版本号不会与客户端持有的旧 ETag 重合
+     */
+    private void initialize() {
+        ledgerVersionMapper.insertIfAbsent(System.currentTimeMillis());
+    }
+}
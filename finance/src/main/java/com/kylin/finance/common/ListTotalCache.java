@@ -0,0 +1,140 @@
+package com.kylin.finance.common;
+
+import com.kylin.finance.dto.CursorPage;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.LongSupplier;
+
+/**
+ * 列表总数缓存
+ *
+ * 游标分页本身不需要总数，前端需要展示总数时才统计，并按查询条件缓存：
+ * 缓存未过期直接返回；过期不久时先返回旧值、后台异步重新统计；无缓存或过期太久才同步统计。
+ * 本次统计或缓存未过期时总数视为精确；返回过期的旧值时总数是近似的，由 CursorPage.totalExact 标明。
+ */
+@Slf4j
+@Component
+public class ListTotalCache {
+
+    /**
+     * 缓存有效期
+     */
+    private static final long FRESH_MILLIS = 30_000L;
+
+    /**
+     * 过期后仍可先返回旧值的时长
+     */
+    private static final long STALE_MILLIS = 300_000L;
+
+    /**
+     * 最多缓存的查询条件数，超出时整体清空
+     */
+    private static final int MAX_ENTRIES = 1000;
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    private final ExecutorService refresher = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "list-total-refresher");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private static final class Entry {
+        private final long total;
+        private final long countedAt;
+        private final AtomicBoolean refreshing = new AtomicBoolean(false);
+
+        private Entry(long total, long countedAt) {
+            this.total = total;
+            this.countedAt = countedAt;
+        }
+    }
+
+    /**
+     * 统计结果
+     */
+    public static final class Total {
+        private final long value;
+        private final boolean exact;
+
+        private Total(long value, boolean exact) {
+            this.value = value;
+            this.exact = exact;
+        }
+
+        public long getValue() {
+            return value;
+        }
+
+        /**
+         * 是否为精确值（本次统计或缓存未过期；false 表示过期的旧值）
+         */
+        public boolean isExact() {
+            return exact;
+        }
+    }
+
+    /**
+     * 获取总数
+     *
+     * @param key 查询条件标识（列表名 + 筛选条件）
+     * @param counter 实际的 COUNT 查询
+     */
+    public Total get(String key, LongSupplier counter) {
+        long now = System.currentTimeMillis();
+        Entry entry = entries.get(key);
+        if (entry != null) {
+            long age = now - entry.countedAt;
+            if (age <= FRESH_MILLIS) {
+                return new Total(entry.total, true);
+            }
+            if (age <= STALE_MILLIS) {
+                if (entry.refreshing.compareAndSet(false, true)) {
+                    refresher.execute(() -> refresh(key, counter, entry));
+                }
+                return new Total(entry.total, false);
+            }
+        }
+
+        long total = counter.getAsLong();
+        put(key, total);
+        return new Total(total, true);
+    }
+
+    /**
+     * 获取总数并填入游标分页结果
+     */
+    public void fill(CursorPage<?> page, String key, LongSupplier counter) {
+        Total total = get(key, counter);
+        page.setTotal(total.getValue());
+        page.setTotalExact(total.isExact());
+    }
+
+    private void refresh(String key, LongSupplier counter, Entry stale) {
+        try {
+            put(key, counter.getAsLong());
+        } catch (Exception e) {
+            stale.refreshing.set(false);
+            log.warn("后台统计列表总数失败：{}", key, e);
+        }
+    }
+
+    private void put(String key, long total) {
+        if (entries.size() >= MAX_ENTRIES) {
+            entries.clear();
+        }
+        entries.put(key, new Entry(total, System.currentTimeMillis()));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        refresher.shutdownNow();
+    }
+}
@@ -0,0 +1,82 @@
+package com.kylin.finance.common;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * 报表结果缓存
+ *
+ * 以 (报表, 参数, 账簿版本号) 为键缓存余额表、试算平衡表、资产负债表等汇总结果，账簿未变化时重复查看不再汇总；
+ * 账簿变化后版本号递增，旧条目不再命中，按最近最少使用淘汰。
+ * 同一组 (报表, 参数, 版本号) 生成的 ETag 相同，控制器据此响应 If-None-Match（304）。
+ * 版本号保存在数据库中（LedgerVersion），多实例部署时各实例的缓存与 ETag 随任一实例的写操作一同失效。
+ * 每个请求只调用一次 version() 读取版本号，再传给 etag 与 get，ETag 与响应内容对应同一版本号。
+ *
+ * 缓存的结果对象在请求间共享，调用方只读不改。
+ */
+@Component
+public class ReportResultCache {
+
+    /**
+     * 最多缓存的结果数
+     */
+    private static final int MAX_ENTRIES = 256;
+
+    @Autowired
+    private LedgerVersion ledgerVersion;
+
+    private final Map<String, Object> entries = new LinkedHashMap<>(64, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Object> eldest) {
+            return size() > MAX_ENTRIES;
+        }
+    };
+
+    /**
+     * 读取当前账簿版本号（一次数据库查询），同一请求内的 etag 与 get 共用该值
+     */
+    public long version() {
+        return ledgerVersion.current();
+    }
+
+    /**
+     * 报表结果的 ETag（强校验），包含账簿版本号与参数摘要
+     * @param report 报表名称
+     * @param params 报表参数（已规范化，如解析后的日期）
+     * @param version 本次请求读取的账簿版本号
+     */
+    public String etag(String report, String params, long version) {
+        return "\"" + report + "-" + Long.toString(version, 36)
+                + "-" + Integer.toHexString(params.hashCode()) + "\"";
+    }
+
+    /**
+     * 读取指定账簿版本下的报表结果，未命中时生成并缓存
+     * 多个请求同时未命中时各自生成，结果相同，后写入者覆盖
+     * @param report 报表名称
+     * @param params 报表参数（已规范化，如解析后的日期）
+     * @param version 本次请求读取的账簿版本号
+     * @param loader 报表生成逻辑
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T get(String report, String params, long version, Supplier<T> loader) {
+        String key = report + "|" + params + "|" + version;
+        synchronized (entries) {
+            Object cached = entries.get(key);
+            if (cached != null) {
+                return (T) cached;
+            }
+        }
+        T result = loader.get();
+        if (result != null) {
+            synchronized (entries) {
+                entries.put(key, result);
+            }
+        }
+        return result;
+    }
+}
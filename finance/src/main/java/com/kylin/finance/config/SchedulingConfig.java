@@ -0,0 +1,13 @@
+package com.kylin.finance.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * 定时任务配置
+ * 启用 @Scheduled 注解（科目日余额快照夜间校验等）
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -7,8 +7,12 @@ import com.kylin.common.R;
 import com.kylin.finance.entity.business.Owner;
 import com.kylin.finance.entity.document.Invoice;
 import com.kylin.finance.common.DocumentStatus;
+import com.kylin.finance.common.KeysetPagination;
+import com.kylin.finance.common.ListTotalCache;
+import com.kylin.finance.dto.CursorPage;
 import com.kylin.finance.entity.FinAccount;
-import com.kylin.finance.mapper.FinAccountMapper;
+import com.kylin.finance.loader.EntityLoaders;
+import com.kylin.finance.loader.OwnerDirectory;
 import com.kylin.finance.mapper.InvoiceMapper;
 import com.kylin.finance.mapper.OwnerMapper;
 import com.kylin.finance.service.IDocumentStatusService;
@@ -43,10 +47,16 @@ public class DocumentController {
     private IOwnerService ownerService;
     
     @Autowired
-    private FinAccountMapper accountMapper;
+    private IDocumentStatusService documentStatusService;
     
     @Autowired
-    private IDocumentStatusService documentStatusService;
+    private EntityLoaders entityLoaders;
+    
+    @Autowired
+    private OwnerDirectory ownerDirectory;
+    
+    @Autowired
+    private ListTotalCache listTotalCache;
 
     @Autowired
     private com.kylin.finance.mapper.BillMapper billMapper;
@@ -72,20 +82,14 @@ public class DocumentController {
             } else {
                 // 查询所有类型，但需要填充科目名称
                 owners = ownerService.list();
-                // 批量查询科目信息并填充（优化性能）
+                // 批量查询科目信息并填充（一次批量查询）
                 java.util.Set<Long> accountIds = owners.stream()
                     .map(Owner::getAccountId)
                     .filter(java.util.Objects::nonNull)
                     .collect(java.util.stream.Collectors.toSet());
                 
                 if (!accountIds.isEmpty()) {
-                    java.util.Map<Long, FinAccount> accountMap = new java.util.HashMap<>();
-                    for (Long accountId : accountIds) {
-                        FinAccount account = accountMapper.selectById(accountId);
-                        if (account != null) {
-                            accountMap.put(accountId, account);
-                        }
-                    }
+                    java.util.Map<Long, FinAccount> accountMap = entityLoaders.accounts().loadMany(accountIds);
                     
                     // 填充科目名称
                     for (Owner owner : owners) {
@@ -180,16 +184,7 @@ public class DocumentController {
             IPage<Invoice> result = invoiceMapper.selectPage(page, null);
             
             // 填充客户名称
-            if (result.getRecords() != null && !result.getRecords().isEmpty()) {
-                for (Invoice invoice : result.getRecords()) {
-                    if (invoice.getCustomerId() != null) {
-                        Owner owner = ownerMapper.selectById(invoice.getCustomerId());
-                        if (owner != null) {
-                            invoice.setCustomerName(owner.getName());
-                        }
-                    }
-                }
-            }
+            fillCustomerNames(result.getRecords());
             
             return R.ok(result);
         } catch (Exception e) {
@@ -198,6 +193,35 @@ public class DocumentController {
         }
     }
     
+    /**
+     * 获取发票列表（游标分页，按开票日期、发票号倒序）
+     * 首页不传 cursor，之后传上一页返回的 nextCursor；includeTotal 为 true 时返回总数
+     */
+    @GetMapping("/invoice/list/cursor")
+    public R<CursorPage<Invoice>> getInvoiceListByCursor(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") Integer pageSize,
+            @RequestParam(defaultValue = "false") Boolean includeTotal) {
+        try {
+            int size = KeysetPagination.normalizeSize(pageSize);
+            LambdaQueryWrapper<Invoice> wrapper = new LambdaQueryWrapper<>();
+            KeysetPagination.apply(wrapper, Invoice::getInvoiceDate, Invoice::getInvoiceNo, cursor, size);
+            CursorPage<Invoice> page = KeysetPagination.toPage(invoiceMapper.selectList(wrapper), size,
+                Invoice::getInvoiceDate, Invoice::getInvoiceNo);
+            
+            // 填充客户名称
+            fillCustomerNames(page.getRecords());
+            
+            if (Boolean.TRUE.equals(includeTotal)) {
+                listTotalCache.fill(page, "invoice", () -> invoiceMapper.selectCount(null));
+            }
+            return R.ok(page);
+        } catch (Exception e) {
+            log.error("查询发票列表失败", e);
+            return R.error("查询发票列表失败：" + e.getMessage());
+        }
+    }
+    
     /**
      * 创建发票
      */
@@ -339,12 +363,7 @@ public class DocumentController {
                 
                 Invoice updated = invoiceMapper.selectById(invoice.getInvoiceId());
                 // 填充客户名称
-                if (updated.getCustomerId() != null) {
-                    Owner customer = ownerMapper.selectById(updated.getCustomerId());
-                    if (customer != null) {
-                        updated.setCustomerName(customer.getName());
-                    }
-                }
+                updated.setCustomerName(ownerDirectory.nameOf(updated.getCustomerId()));
                 
                 // 填充明细项
                 com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper<com.kylin.finance.entity.document.InvoiceItem> itemWrapper = 
@@ -410,12 +429,7 @@ public class DocumentController {
             }
             
             // 填充客户名称
-            if (invoice.getCustomerId() != null) {
-                Owner customer = ownerMapper.selectById(invoice.getCustomerId());
-                if (customer != null) {
-                    invoice.setCustomerName(customer.getName());
-                }
-            }
+            invoice.setCustomerName(ownerDirectory.nameOf(invoice.getCustomerId()));
             
             // 查询发票明细项
             com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper<com.kylin.finance.entity.document.InvoiceItem> itemWrapper = 
@@ -515,14 +529,7 @@ public class DocumentController {
         List<Invoice> invoices = invoiceMapper.selectList(wrapper);
         
         // 填充客户名称
-        for (Invoice invoice : invoices) {
-            if (invoice.getCustomerId() != null) {
-                Owner owner = ownerMapper.selectById(invoice.getCustomerId());
-                if (owner != null) {
-                    invoice.setCustomerName(owner.getName());
-                }
-            }
-        }
+        fillCustomerNames(invoices);
         
         return R.ok(invoices);
     }
@@ -542,16 +549,7 @@ public class DocumentController {
             IPage<com.kylin.finance.entity.document.Bill> result = billMapper.selectPage(page, null);
             
             // 填充供应商名称
-            if (result.getRecords() != null && !result.getRecords().isEmpty()) {
-                for (com.kylin.finance.entity.document.Bill bill : result.getRecords()) {
-                    if (bill.getVendorId() != null) {
-                        Owner vendor = ownerMapper.selectById(bill.getVendorId());
-                        if (vendor != null) {
-                            bill.setVendorName(vendor.getName());
-                        }
-                    }
-                }
-            }
+            fillVendorNames(result.getRecords());
             
             return R.ok(result);
         } catch (Exception e) {
@@ -560,6 +558,37 @@ public class DocumentController {
         }
     }
     
+    /**
+     * 获取账单列表（游标分页，按账单日期、账单号倒序）
+     * 首页不传 cursor，之后传上一页返回的 nextCursor；includeTotal 为 true 时返回总数
+     */
+    @GetMapping("/bill/list/cursor")
+    public R<CursorPage<com.kylin.finance.entity.document.Bill>> getBillListByCursor(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") Integer pageSize,
+            @RequestParam(defaultValue = "false") Boolean includeTotal) {
+        try {
+            int size = KeysetPagination.normalizeSize(pageSize);
+            LambdaQueryWrapper<com.kylin.finance.entity.document.Bill> wrapper = new LambdaQueryWrapper<>();
+            KeysetPagination.apply(wrapper, com.kylin.finance.entity.document.Bill::getBillDate,
+                com.kylin.finance.entity.document.Bill::getBillNo, cursor, size);
+            CursorPage<com.kylin.finance.entity.document.Bill> page = KeysetPagination.toPage(
+                billMapper.selectList(wrapper), size,
+                com.kylin.finance.entity.document.Bill::getBillDate, com.kylin.finance.entity.document.Bill::getBillNo);
+            
+            // 填充供应商名称
+            fillVendorNames(page.getRecords());
+            
+            if (Boolean.TRUE.equals(includeTotal)) {
+                listTotalCache.fill(page, "bill", () -> billMapper.selectCount(null));
+            }
+            return R.ok(page);
+        } catch (Exception e) {
+            log.error("查询账单列表失败", e);
+            return R.error("查询账单列表失败：" + e.getMessage());
+        }
+    }
+    
     /**
      * 创建账单
      */
@@ -701,12 +730,7 @@ public class DocumentController {
                 
                 com.kylin.finance.entity.document.Bill updated = billMapper.selectById(bill.getBillId());
                 // 填充供应商名称
-                if (updated.getVendorId() != null) {
-                    Owner vendor = ownerMapper.selectById(updated.getVendorId());
-                    if (vendor != null) {
-                        updated.setVendorName(vendor.getName());
-                    }
-                }
+                updated.setVendorName(ownerDirectory.nameOf(updated.getVendorId()));
                 
                 // 填充明细项
                 com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper<com.kylin.finance.entity.document.BillItem> itemWrapper = 
@@ -772,12 +796,7 @@ public class DocumentController {
             }
             
             // 填充供应商名称
-            if (bill.getVendorId() != null) {
-                Owner vendor = ownerMapper.selectById(bill.getVendorId());
-                if (vendor != null) {
-                    bill.setVendorName(vendor.getName());
-                }
-            }
+            bill.setVendorName(ownerDirectory.nameOf(bill.getVendorId()));
             
             // 查询账单明细项
             com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper<com.kylin.finance.entity.document.BillItem> itemWrapper = 
@@ -879,14 +898,7 @@ public class DocumentController {
             List<com.kylin.finance.entity.document.Bill> bills = billMapper.selectList(wrapper);
             
             // 填充供应商名称
-            for (com.kylin.finance.entity.document.Bill bill : bills) {
-                if (bill.getVendorId() != null) {
-                    Owner vendor = ownerMapper.selectById(bill.getVendorId());
-                    if (vendor != null) {
-                        bill.setVendorName(vendor.getName());
-                    }
-                }
-            }
+            fillVendorNames(bills);
             
             return R.ok(bills);
         } catch (Exception e) {
@@ -894,4 +906,32 @@ public class DocumentController {
             return R.error("查询供应商未结清账单失败：" + e.getMessage());
         }
     }
+
+    /**
+     * 批量填充发票客户名称（名称取自业务实体目录，未命中部分一次批量查询）
+     */
+    private void fillCustomerNames(List<Invoice> invoices) {
+        if (invoices == null || invoices.isEmpty()) {
+            return;
+        }
+        java.util.Map<Long, String> names = ownerDirectory.namesOf(
+            invoices.stream().map(Invoice::getCustomerId).collect(Collectors.toList()));
+        for (Invoice invoice : invoices) {
+            invoice.setCustomerName(names.get(invoice.getCustomerId()));
+        }
+    }
+
+    /**
+     * 批量填充账单供应商名称（名称取自业务实体目录，未命中部分一次批量查询）
+     */
+    private void fillVendorNames(List<com.kylin.finance.entity.document.Bill> bills) {
+        if (bills == null || bills.isEmpty()) {
+            return;
+        }
+        java.util.Map<Long, String> names = ownerDirectory.namesOf(
+            bills.stream().map(com.kylin.finance.entity.document.Bill::getVendorId).collect(Collectors.toList()));
+        for (com.kylin.finance.entity.document.Bill bill : bills) {
+            bill.setVendorName(names.get(bill.getVendorId()));
+        }
+    }
 }
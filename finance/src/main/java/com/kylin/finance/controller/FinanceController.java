@@ -2,20 +2,28 @@ package com.kylin.finance.controller;
 
 import com.baomidou.mybatisplus.core.metadata.IPage;
 import com.kylin.common.AjaxResult;
+import com.kylin.common.BusinessException;
 import com.kylin.common.R;
+import com.kylin.finance.common.ReportResultCache;
 import com.kylin.finance.dto.*;
 import com.kylin.finance.entity.FinAccount;
+import com.kylin.finance.entity.FinAccountDailyBalance;
+import com.kylin.finance.entity.FinPeriodClose;
 import com.kylin.finance.entity.FinTransaction;
+import com.kylin.finance.service.IAccountDailyBalanceService;
 import com.kylin.finance.service.IAccountingService;
 import com.kylin.finance.service.IFinAccountService;
 import com.kylin.finance.service.IFinTransactionService;
 import com.kylin.finance.service.IPostService;
 import com.kylin.finance.service.IPaymentService;
+import com.kylin.finance.service.IPeriodCloseService;
 import com.kylin.finance.service.IShippingService;
 import com.kylin.finance.service.IExpenseClaimService;
 import com.kylin.finance.service.IReportService;
+import com.kylin.finance.service.IStatementService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import jakarta.servlet.http.HttpServletResponse;
 import java.io.IOException;
@@ -28,6 +36,9 @@ import java.util.List;
 import com.alibaba.excel.EasyExcel;
 import com.kylin.finance.dto.BalanceSheetExportRow;
 import com.kylin.finance.dto.CashFlowExportRow;
+import com.kylin.finance.dto.ComparativeReportDTO;
+import com.kylin.finance.dto.IncomeStatementDTO;
+import com.kylin.finance.dto.IncomeStatementExportRow;
 import com.kylin.finance.dto.TrialBalanceExportRow;
 
 /**
@@ -45,10 +56,22 @@ public class FinanceController {
     
     @Autowired
     private IAccountingService accountingService;
+
+    @Autowired
+    private IAccountDailyBalanceService dailyBalanceService;
+
+    @Autowired
+    private IPeriodCloseService periodCloseService;
     
     @Autowired
     private IReportService reportService;
 
+    @Autowired
+    private IStatementService statementService;
+    
+    @Autowired
+    private ReportResultCache reportResultCache;
+
     @Autowired
     private IPostService postService;
 
@@ -123,6 +146,15 @@ public class FinanceController {
         return R.ok(page);
     }
     
+    /**
+     * 查询凭证（游标分页）
+     * 首页不传 cursor，之后传上一页返回的 nextCursor；includeTotal 为 true 时返回总数
+     */
+    @PostMapping("/voucher/query/cursor")
+    public R<CursorPage<FinTransaction>> queryVouchersByCursor(@RequestBody VoucherQueryDTO queryDTO) {
+        return R.ok(transactionService.queryVouchersByCursor(queryDTO));
+    }
+    
     /**
      * 根据ID查询凭证详情
      */
@@ -132,6 +164,15 @@ public class FinanceController {
         return R.ok(transaction);
     }
     
+    /**
+     * 批量导入凭证
+     */
+    @PostMapping("/voucher/import")
+    public R<VoucherImportResultDTO> importVouchers(@RequestBody List<FinTransaction> transactions) {
+        VoucherImportResultDTO result = transactionService.importVouchers(transactions);
+        return R.ok(result);
+    }
+    
     /**
      * 生成凭证号
      */
@@ -239,26 +280,65 @@ public class FinanceController {
     }
     
     /**
-     * 计算所有科目余额
+     * 科目明细账（NDJSON 流式输出，可下载数十万行）
+     * 第一行为期初余额，随后每条已审核分录一行（凭证号、日期、对方科目、逐笔余额），最后一行为本期合计与期末余额
+     */
+    @GetMapping("/accounting/ledger/{accountId}")
+    public void streamAccountLedger(
+            @PathVariable Long accountId,
+            @RequestParam String startDate,
+            @RequestParam String endDate,
+            HttpServletResponse response) throws IOException {
+        LocalDate start = LocalDate.parse(startDate);
+        LocalDate end = LocalDate.parse(endDate);
+        // 开始输出之前校验，出错时仍按 JSON 返回错误信息
+        if (start.isAfter(end)) {
+            throw new BusinessException("开始日期不能晚于结束日期");
+        }
+        if (accountService.getById(accountId) == null) {
+            throw new BusinessException("科目不存在");
+        }
+        
+        response.setContentType("application/x-ndjson");
+        response.setCharacterEncoding("utf-8");
+        accountingService.streamAccountLedger(accountId, start, end, response.getOutputStream());
+    }
+    
+    /**
+     * 计算所有科目余额（按账簿版本缓存，支持 ETag）
      */
     @GetMapping("/accounting/balance/all")
     public R<List<AccountBalanceDTO>> calculateAllAccountBalances(
-            @RequestParam(required = false) String date) {
+            @RequestParam(required = false) String date,
+            WebRequest webRequest) {
         LocalDate localDate = date != null ? LocalDate.parse(date) : LocalDate.now();
-        List<AccountBalanceDTO> balances = accountingService.calculateAllAccountBalances(localDate);
+        String params = localDate.toString();
+        long version = reportResultCache.version();
+        if (webRequest.checkNotModified(reportResultCache.etag("balanceAll", params, version))) {
+            return null;
+        }
+        List<AccountBalanceDTO> balances = reportResultCache.get("balanceAll", params, version,
+            () -> accountingService.calculateAllAccountBalances(localDate));
         return R.ok(balances);
     }
     
     /**
-     * 生成试算平衡表
+     * 生成试算平衡表（按账簿版本缓存，支持 ETag）
      */
     @GetMapping("/accounting/trialBalance")
     public R<List<TrialBalanceDTO>> generateTrialBalance(
             @RequestParam String startDate,
-            @RequestParam String endDate) {
-        List<TrialBalanceDTO> trialBalance = accountingService.generateTrialBalance(
-            LocalDate.parse(startDate), 
-            LocalDate.parse(endDate));
+            @RequestParam String endDate,
+            WebRequest webRequest) {
+        LocalDate start = LocalDate.parse(startDate);
+        LocalDate end = LocalDate.parse(endDate);
+        String params = start + "~" + end;
+        long version = reportResultCache.version();
+        if (webRequest.checkNotModified(reportResultCache.etag("trialBalance", params, version))) {
+            return null;
+        }
+        List<TrialBalanceDTO> trialBalance = reportResultCache.get("trialBalance", params, version,
+            () -> accountingService.generateTrialBalance(start, end));
         return R.ok(trialBalance);
     }
     
@@ -272,31 +352,115 @@ public class FinanceController {
         return R.ok(isBalanced);
     }
 
+    /**
+     * 从分录全量重建科目日余额快照
+     */
+    @PostMapping("/accounting/daily-balance/rebuild")
+    public R<Integer> rebuildDailyBalance() {
+        int rows = dailyBalanceService.rebuild();
+        return R.ok(rows);
+    }
+
+    /**
+     * 校验科目日余额快照与分录是否一致（返回空列表表示一致）
+     */
+    @GetMapping("/accounting/daily-balance/verify")
+    public R<List<FinAccountDailyBalance>> verifyDailyBalance() {
+        return R.ok(dailyBalanceService.verify());
+    }
+
+    // ==================== 期末结账 ====================
+
+    /**
+     * 期末结账
+     * @param periodType 期间类型：MONTH(月结), YEAR(年结)
+     * @param period 期间：月结为 yyyy-MM，年结为 yyyy
+     */
+    @PostMapping("/period/close")
+    public R<FinPeriodClose> closePeriod(
+            @RequestParam String periodType,
+            @RequestParam String period) {
+        FinPeriodClose close = periodCloseService.closePeriod(periodType, period);
+        return R.ok(close);
+    }
+
+    /**
+     * 反结账（只能反结账最近一次结账）
+     */
+    @PostMapping("/period/{closeId}/reopen")
+    public R<String> reopenPeriod(@PathVariable Long closeId) {
+        periodCloseService.reopenPeriod(closeId);
+        return R.ok("反结账成功");
+    }
+
+    /**
+     * 查询结账记录
+     */
+    @GetMapping("/period/closed")
+    public R<List<FinPeriodClose>> listClosedPeriods() {
+        return R.ok(periodCloseService.listClosedPeriods());
+    }
+
     // ==================== 报表功能 ====================
     
     /**
      * 生成资产负债表
+     * 结果按账簿版本缓存，响应带 ETag，账簿未变化时 If-None-Match 返回 304
      */
     @GetMapping("/report/balanceSheet")
-    public R<BalanceSheetDTO> generateBalanceSheet(@RequestParam(required = false) String date) {
+    public R<BalanceSheetDTO> generateBalanceSheet(@RequestParam(required = false) String date,
+                                                   WebRequest webRequest) {
         LocalDate reportDate = date != null ? LocalDate.parse(date) : LocalDate.now();
-        BalanceSheetDTO balanceSheet = reportService.generateBalanceSheet(reportDate);
+        String params = reportDate.toString();
+        long version = reportResultCache.version();
+        if (webRequest.checkNotModified(reportResultCache.etag("balanceSheet", params, version))) {
+            return null;
+        }
+        BalanceSheetDTO balanceSheet = reportResultCache.get("balanceSheet", params, version,
+            () -> reportService.generateBalanceSheet(reportDate));
         return R.ok(balanceSheet);
     }
     
     /**
-     * 生成现金流量表
+     * 生成现金流量表（按账簿版本缓存，支持 ETag）
      */
     @GetMapping("/report/cashFlow")
     public R<CashFlowDTO> generateCashFlowStatement(
             @RequestParam String startDate,
-            @RequestParam String endDate) {
-        CashFlowDTO cashFlow = reportService.generateCashFlowStatement(
-            LocalDate.parse(startDate),
-            LocalDate.parse(endDate));
+            @RequestParam String endDate,
+            WebRequest webRequest) {
+        LocalDate start = LocalDate.parse(startDate);
+        LocalDate end = LocalDate.parse(endDate);
+        String params = start + "~" + end;
+        long version = reportResultCache.version();
+        if (webRequest.checkNotModified(reportResultCache.etag("cashFlow", params, version))) {
+            return null;
+        }
+        CashFlowDTO cashFlow = reportResultCache.get("cashFlow", params, version,
+            () -> reportService.generateCashFlowStatement(start, end));
         return R.ok(cashFlow);
     }
     
+    /**
+     * 生成利润表（本期与本年累计，按账簿版本缓存，支持 ETag）
+     */
+    @GetMapping("/report/incomeStatement")
+    public R<IncomeStatementDTO> generateIncomeStatement(
+            @RequestParam String startDate,
+            @RequestParam String endDate,
+            WebRequest webRequest) {
+        LocalDate start = LocalDate.parse(startDate);
+        LocalDate end = LocalDate.parse(endDate);
+        String params = start + "~" + end;
+        long version = reportResultCache.version();
+        if (webRequest.checkNotModified(reportResultCache.etag("incomeStatement", params, version))) {
+            return null;
+        }
+        IncomeStatementDTO incomeStatement = reportResultCache.get("incomeStatement", params, version,
+            () -> reportService.generateIncomeStatement(start, end));
+        return R.ok(incomeStatement);
+    }
+    
     /**
      * 导出资产负债表到Excel
      */
@@ -353,6 +517,62 @@ public class FinanceController {
             .doWrite(exportData);
     }
     
+    /**
+     * 流式导出总账明细（凭证分录）到Excel
+     * 分录逐行读取、分批写入，可导出全年分录
+     */
+    @GetMapping("/report/general-ledger/export")
+    public void exportGeneralLedger(
+            @RequestParam String startDate,
+            @RequestParam String endDate,
+            @RequestParam(required = false) Long accountId,
+            @RequestParam(required = false) Integer status,
+            HttpServletResponse response) throws IOException {
+        LocalDate start = LocalDate.parse(startDate);
+        LocalDate end = LocalDate.parse(endDate);
+        
+        // 设置响应头
+        response.setContentType("application/vnd.ms-excel");
+        response.setCharacterEncoding("utf-8");
+        
+        // 文件名使用URL编码，避免中文乱码
+        String fileName = URLEncoder.encode("general_ledger_" + startDate + "_" + endDate, StandardCharsets.UTF_8)
+            .replaceAll("\\+", "%20");
+        response.setHeader("Content-Disposition", "attachment;filename=" + fileName + ".xlsx");
+        
+        // 流式写入Excel
+        reportService.exportGeneralLedger(start, end, accountId, status, response.getOutputStream());
+    }
+    
+    /**
+     * 导出利润表到Excel
+     */
+    @GetMapping("/report/income-statement/export")
+    public void exportIncomeStatement(
+            @RequestParam String startDate,
+            @RequestParam String endDate,
+            HttpServletResponse response) throws IOException {
+        LocalDate start = LocalDate.parse(startDate);
+        LocalDate end = LocalDate.parse(endDate);
+        
+        // 生成导出数据
+        List<IncomeStatementExportRow> exportData = reportService.generateIncomeStatementExportData(start, end);
+        
+        // 设置响应头
+        response.setContentType("application/vnd.ms-excel");
+        response.setCharacterEncoding("utf-8");
+        
+        // 文件名使用URL编码，避免中文乱码
+        String fileName = URLEncoder.encode("income_statement_" + startDate + "_" + endDate, StandardCharsets.UTF_8)
+            .replaceAll("\\+", "%20");
+        response.setHeader("Content-Disposition", "attachment;filename=" + fileName + ".xlsx");
+        
+        // 使用EasyExcel写入Excel
+        EasyExcel.write(response.getOutputStream(), IncomeStatementExportRow.class)
+            .sheet("利润表")
+            .doWrite(exportData);
+    }
+    
     /**
      * 导出现金流量表到Excel
      */
@@ -383,6 +603,193 @@ public class FinanceController {
             .doWrite(exportData);
     }
 
+    /**
+     * 多期间对比试算平衡表（每个期间一列，按账簿版本缓存，支持 ETag）
+     * @param periodType 期间类型：MONTH(月，默认), QUARTER(季), YEAR(年)
+     */
+    @GetMapping("/report/comparative/trialBalance")
+    public R<ComparativeReportDTO> generateComparativeTrialBalance(
+            @RequestParam String startDate,
+            @RequestParam String endDate,
+            @RequestParam(defaultValue = "MONTH") String periodType,
+            WebRequest webRequest) {
+        LocalDate start = LocalDate.parse(startDate);
+        LocalDate end = LocalDate.parse(endDate);
+        String params = start + "~" + end + "~" + periodType;
+        long version = reportResultCache.version();
+        if (webRequest.checkNotModified(reportResultCache.etag("comparativeTrialBalance", params, version))) {
+            return null;
+        }
+        ComparativeReportDTO report = reportResultCache.get("comparativeTrialBalance", params, version,
+            () -> accountingService.generateComparativeTrialBalance(start, end, periodType));
+        return R.ok(report);
+    }
+    
+    /**
+     * 多期间对比资产负债表（每个期间一列期末数，按账簿版本缓存，支持 ETag）
+     * @param periodType 期间类型：MONTH(月，默认), QUARTER(季), YEAR(年)
+     */
+    @GetMapping("/report/comparative/balanceSheet")
+    public R<ComparativeReportDTO> generateComparativeBalanceSheet(
+            @RequestParam String startDate,
+            @RequestParam String endDate,
+            @RequestParam(defaultValue = "MONTH") String periodType,
+            WebRequest webRequest) {
+        LocalDate start = LocalDate.parse(startDate);
+        LocalDate end = LocalDate.parse(endDate);
+        String params = start + "~" + end + "~" + periodType;
+        long version = reportResultCache.version();
+        if (webRequest.checkNotModified(reportResultCache.etag("comparativeBalanceSheet", params, version))) {
+            return null;
+        }
+        ComparativeReportDTO report = reportResultCache.get("comparativeBalanceSheet", params, version,
+            () -> reportService.generateComparativeBalanceSheet(start, end, periodType));
+        return R.ok(report);
+    }
+    
+    /**
+     * 导出多期间对比试算平衡表到Excel
+     */
+    @GetMapping("/report/comparative/trial-balance/export")
+    public void exportComparativeTrialBalance(
+            @RequestParam String startDate,
+            @RequestParam String endDate,
+            @RequestParam(defaultValue = "MONTH") String periodType,
+            HttpServletResponse response) throws IOException {
+        LocalDate start = LocalDate.parse(startDate);
+        LocalDate end = LocalDate.parse(endDate);
+        
+        // 与查询接口共用缓存，先生成数据再输出，参数错误时仍可返回错误信息
+        ComparativeReportDTO report = reportResultCache.get("comparativeTrialBalance", start + "~" + end + "~" + periodType,
+            reportResultCache.version(),
+            () -> accountingService.generateComparativeTrialBalance(start, end, periodType));
+        
+        // 设置响应头
+        response.setContentType("application/vnd.ms-excel");
+        response.setCharacterEncoding("utf-8");
+        
+        // 文件名使用URL编码，避免中文乱码
+        String fileName = URLEncoder.encode("comparative_trial_balance_" + startDate + "_" + endDate, StandardCharsets.UTF_8)
+            .replaceAll("\\+", "%20");
+        response.setHeader("Content-Disposition", "attachment;filename=" + fileName + ".xlsx");
+        
+        reportService.exportComparativeTrialBalance(report, response.getOutputStream());
+    }
+    
+    /**
+     * 导出多期间对比资产负债表到Excel
+     */
+    @GetMapping("/report/comparative/balance-sheet/export")
+    public void exportComparativeBalanceSheet(
+            @RequestParam String startDate,
+            @RequestParam String endDate,
+            @RequestParam(defaultValue = "MONTH") String periodType,
+            HttpServletResponse response) throws IOException {
+        LocalDate start = LocalDate.parse(startDate);
+        LocalDate end = LocalDate.parse(endDate);
+        
+        // 与查询接口共用缓存，先生成数据再输出，参数错误时仍可返回错误信息
+        ComparativeReportDTO report = reportResultCache.get("comparativeBalanceSheet", start + "~" + end + "~" + periodType,
+            reportResultCache.version(),
+            () -> reportService.generateComparativeBalanceSheet(start, end, periodType));
+        
+        // 设置响应头
+        response.setContentType("application/vnd.ms-excel");
+        response.setCharacterEncoding("utf-8");
+        
+        // 文件名使用URL编码，避免中文乱码
+        String fileName = URLEncoder.encode("comparative_balance_sheet_" + startDate + "_" + endDate, StandardCharsets.UTF_8)
+            .replaceAll("\\+", "%20");
+        response.setHeader("Content-Disposition", "attachment;filename=" + fileName + ".xlsx");
+        
+        reportService.exportComparativeBalanceSheet(report, response.getOutputStream());
+    }
+    
+    /**
+     * 往来账龄分析表（应收按客户、应付按供应商）
+     * @param ownerType 往来类型：CUSTOMER(应收，默认), VENDOR(应付)
+     * @param asOfDate 统计日期（默认今天）
+     */
+    @GetMapping("/report/aging")
+    public R<AgingReportDTO> generateAgingReport(
+            @RequestParam(defaultValue = "CUSTOMER") String ownerType,
+            @RequestParam(required = false) String asOfDate) {
+        LocalDate date = asOfDate != null ? LocalDate.parse(asOfDate) : LocalDate.now();
+        return R.ok(reportService.generateAgingReport(ownerType, date));
+    }
+    
+    /**
+     * 往来账龄明细（单个往来单位的未结清单据）
+     */
+    @GetMapping("/report/aging/{ownerId}/items")
+    public R<List<AgingItemDTO>> getAgingItems(
+            @PathVariable Long ownerId,
+            @RequestParam(defaultValue = "CUSTOMER") String ownerType,
+            @RequestParam(required = false) String asOfDate) {
+        LocalDate date = asOfDate != null ? LocalDate.parse(asOfDate) : LocalDate.now();
+        return R.ok(reportService.getAgingItems(ownerType, ownerId, date));
+    }
+    
+    /**
+     * 导出往来账龄分析表到Excel
+     */
+    @GetMapping("/report/aging/export")
+    public void exportAgingReport(
+            @RequestParam(defaultValue = "CUSTOMER") String ownerType,
+            @RequestParam(required = false) String asOfDate,
+            HttpServletResponse response) throws IOException {
+        LocalDate date = asOfDate != null ? LocalDate.parse(asOfDate) : LocalDate.now();
+        
+        // 先生成数据再输出，参数错误时仍可返回错误信息
+        AgingReportDTO report = reportService.generateAgingReport(ownerType, date);
+        
+        // 设置响应头
+        response.setContentType("application/vnd.ms-excel");
+        response.setCharacterEncoding("utf-8");
+        
+        // 文件名使用URL编码，避免中文乱码
+        String fileName = URLEncoder.encode("aging_" + ownerType.toLowerCase() + "_" + date, StandardCharsets.UTF_8)
+            .replaceAll("\\+", "%20");
+        response.setHeader("Content-Disposition", "attachment;filename=" + fileName + ".xlsx");
+        
+        reportService.exportAgingReport(report, response.getOutputStream());
+    }
+
+    // ==================== 客户对账单 ====================
+
+    /**
+     * 批量生成客户对账单（后台执行，返回批次进度）
+     * 已有对账单文件或无发生额标记的客户跳过，中断后以相同期间重新调用即可续跑
+     * @param startDate 对账期间开始日期
+     * @param endDate 对账期间结束日期
+     * @param format 文件格式：xlsx(默认), csv
+     * @param overwrite 是否重新生成已有文件的客户
+     */
+    @PostMapping("/statement/batch")
+    public R<StatementBatchDTO> startStatementBatch(
+            @RequestParam String startDate,
+            @RequestParam String endDate,
+            @RequestParam(defaultValue = "xlsx") String format,
+            @RequestParam(defaultValue = "false") boolean overwrite) {
+        return R.ok(statementService.startBatch(LocalDate.parse(startDate), LocalDate.parse(endDate), format, overwrite));
+    }
+
+    /**
+     * 查询对账单批次进度
+     */
+    @GetMapping("/statement/batch/{batchId}")
+    public R<StatementBatchDTO> getStatementBatch(@PathVariable String batchId) {
+        return R.ok(statementService.getBatch(batchId));
+    }
+
+    /**
+     * 最近的对账单批次
+     */
+    @GetMapping("/statement/batch")
+    public R<List<StatementBatchDTO>> listStatementBatches() {
+        return R.ok(statementService.listBatches());
+    }
+
     // ==================== 单据管理 ====================
 
     /**
@@ -394,6 +801,15 @@ public class FinanceController {
         return R.ok("发票过账成功");
     }
 
+    /**
+     * 批量发票过账
+     */
+    @PostMapping("/invoice/post/batch")
+    public R<List<DocumentPostResultDTO>> postInvoices(@RequestBody List<Long> invoiceIds) {
+        List<DocumentPostResultDTO> results = postService.postInvoicesToLedger(invoiceIds);
+        return R.ok(results);
+    }
+
     /**
      * 账单过账
      */
@@ -403,6 +819,15 @@ public class FinanceController {
         return R.ok("账单过账成功");
     }
 
+    /**
+     * 批量账单过账
+     */
+    @PostMapping("/bill/post/batch")
+    public R<List<DocumentPostResultDTO>> postBills(@RequestBody List<Long> billIds) {
+        List<DocumentPostResultDTO> results = postService.postBillsToLedger(billIds);
+        return R.ok(results);
+    }
+
     /**
      * 冲销单据过账
      */
@@ -672,6 +1097,28 @@ public class FinanceController {
         return R.ok(result);
     }
 
+    /**
+     * 游标分页查询报销单列表
+     * 首页不传 cursor，之后传上一页返回的 nextCursor；includeTotal 为 true 时返回总数
+     */
+    @PostMapping("/biz-expense-claim/list/cursor")
+    public R<CursorPage<com.kylin.finance.entity.biz.BizExpenseClaim>> getBizExpenseClaimListByCursor(
+            @RequestBody java.util.Map<String, Object> params) {
+        Integer pageSize = params.get("pageSize") != null ? 
+            (params.get("pageSize") instanceof Integer ? (Integer) params.get("pageSize") : 
+             Integer.parseInt(params.get("pageSize").toString())) : null;
+        String cursor = params.get("cursor") != null ? params.get("cursor").toString() : null;
+        Boolean includeTotal = params.get("includeTotal") != null && Boolean.parseBoolean(params.get("includeTotal").toString());
+        
+        String claimNo = params.get("claimNo") != null ? params.get("claimNo").toString() : null;
+        String startDate = params.get("startDate") != null ? params.get("startDate").toString() : null;
+        String endDate = params.get("endDate") != null ? params.get("endDate").toString() : null;
+        String status = params.get("status") != null ? params.get("status").toString() : null;
+        
+        return R.ok(bizExpenseClaimService.getClaimListByCursor(claimNo, startDate, endDate, status,
+            cursor, pageSize, includeTotal));
+    }
+
     // ==================== 收付款单（BizReceiptPayment）====================
 
     /**
@@ -0,0 +1,72 @@
+package com.kylin.finance.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * 科目明细账行
+ * 第一行为期初余额（OPENING），随后每条分录一行（SPLIT），最后一行为本期合计与期末余额（CLOSING）
+ */
+@Data
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class AccountLedgerLineDTO {
+    /**
+     * 行类型：OPENING(期初余额), SPLIT(分录), CLOSING(本期合计)
+     */
+    private String lineType;
+    
+    /**
+     * 科目ID、编码、名称（仅期初余额行）
+     */
+    private Long accountId;
+    private String accountCode;
+    private String accountName;
+    
+    /**
+     * 凭证ID
+     */
+    private Long transId;
+    
+    /**
+     * 日期（期初余额行为开始日期，本期合计行为结束日期）
+     */
+    private LocalDate transDate;
+    
+    /**
+     * 凭证号
+     */
+    private String voucherNo;
+    
+    /**
+     * 摘要
+     */
+    private String description;
+    
+    /**
+     * 分录备注
+     */
+    private String memo;
+    
+    /**
+     * 对方科目编码（同一凭证中的其他科目，逗号分隔）
+     */
+    private String counterAccountCodes;
+    
+    /**
+     * 借方金额（本期合计行为借方合计）
+     */
+    private BigDecimal debitAmount;
+    
+    /**
+     * 贷方金额（本期合计行为贷方合计）
+     */
+    private BigDecimal creditAmount;
+    
+    /**
+     * 余额（按科目类型计算，逐笔累计）
+     */
+    private BigDecimal balance;
+}
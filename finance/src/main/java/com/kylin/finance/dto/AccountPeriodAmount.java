@@ -0,0 +1,35 @@
+package com.kylin.finance.dto;
+
+import lombok.Data;
+import java.math.BigDecimal;
+
+/**
+ * 科目按月汇总发生额（用于多期间对比报表的单次分组查询结果）
+ */
+@Data
+public class AccountPeriodAmount {
+    /**
+     * 科目ID
+     */
+    private Long accountId;
+    
+    /**
+     * 年份
+     */
+    private Integer periodYear;
+    
+    /**
+     * 月份（1-12）
+     */
+    private Integer periodMonth;
+    
+    /**
+     * 借方金额合计
+     */
+    private BigDecimal debitAmount;
+    
+    /**
+     * 贷方金额合计
+     */
+    private BigDecimal creditAmount;
+}
@@ -0,0 +1,108 @@
+package com.kylin.finance.dto;
+
+import com.alibaba.excel.annotation.ExcelProperty;
+import com.alibaba.excel.annotation.write.style.ColumnWidth;
+import com.alibaba.excel.annotation.format.NumberFormat;
+import lombok.Data;
+
+import java.math.BigDecimal;
+
+/**
+ * 往来账龄分析表Excel导出行数据模型
+ */
+@Data
+public class AgingExportRow {
+    
+    /**
+     * 往来单位编码（合计行为空）
+     */
+    @ExcelProperty(value = "往来单位编码", index = 0)
+    @ColumnWidth(15)
+    private String ownerCode;
+    
+    /**
+     * 往来单位名称（合计行为“合计”）
+     */
+    @ExcelProperty(value = "往来单位名称", index = 1)
+    @ColumnWidth(25)
+    private String ownerName;
+    
+    /**
+     * 未结清单据数
+     */
+    @ExcelProperty(value = "单据数", index = 2)
+    @ColumnWidth(10)
+    private Integer itemCount;
+    
+    /**
+     * 未到期金额
+     */
+    @ExcelProperty(value = "未到期", index = 3)
+    @ColumnWidth(16)
+    @NumberFormat("#,##0.00")
+    private BigDecimal currentAmount;
+    
+    /**
+     * 逾期 1-30 天
+     */
+    @ExcelProperty(value = "1-30天", index = 4)
+    @ColumnWidth(16)
+    @NumberFormat("#,##0.00")
+    private BigDecimal overdue1To30;
+    
+    /**
+     * 逾期 31-60 天
+     */
+    @ExcelProperty(value = "31-60天", index = 5)
+    @ColumnWidth(16)
+    @NumberFormat("#,##0.00")
+    private BigDecimal overdue31To60;
+    
+    /**
+     * 逾期 61-90 天
+     */
+    @ExcelProperty(value = "61-90天", index = 6)
+    @ColumnWidth(16)
+    @NumberFormat("#,##0.00")
+    private BigDecimal overdue61To90;
+    
+    /**
+     * 逾期 91-120 天
+     */
+    @ExcelProperty(value = "91-120天", index = 7)
+    @ColumnWidth(16)
+    @NumberFormat("#,##0.00")
+    private BigDecimal overdue91To120;
+    
+    /**
+     * 逾期 120 天以上
+     */
+    @ExcelProperty(value = "120天以上", index = 8)
+    @ColumnWidth(16)
+    @NumberFormat("#,##0.00")
+    private BigDecimal overdueOver120;
+    
+    /**
+     * 未结清合计
+     */
+    @ExcelProperty(value = "未结清合计", index = 9)
+    @ColumnWidth(18)
+    @NumberFormat("#,##0.00")
+    private BigDecimal openAmount;
+    
+    /**
+     * 往来明细账余额（已审核分录）
+     */
+    @ExcelProperty(value = "明细账余额", index = 10)
+    @ColumnWidth(18)
+    @NumberFormat("#,##0.00")
+    private BigDecimal ledgerBalance;
+    
+    /**
+     * 差异（明细账余额 - 未结清合计）
+     */
+    @ExcelProperty(value = "差异", index = 11)
+    @ColumnWidth(16)
+    @NumberFormat("#,##0.00")
+    private BigDecimal difference;
+}
@@ -0,0 +1,22 @@
+package com.kylin.finance.dto;
+
+import lombok.Data;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * 往来账龄明细DTO（单个往来单位的未结清单据）
+ */
+@Data
+public class AgingItemDTO {
+    private String documentType;       // 单据类型：INVOICE(发票), BILL(账单)
+    private Long documentId;
+    private String documentNo;
+    private LocalDate documentDate;    // 单据日期
+    private LocalDate dueDate;         // 到期日期（为空时按单据日期计算账龄）
+    private BigDecimal totalAmount;    // 单据金额
+    private BigDecimal allocatedAmount; // 已核销金额
+    private BigDecimal openAmount;     // 未结清金额
+    private Long overdueDays;          // 逾期天数（未到期为 0）
+    private String agingBucket;        // 账龄分段：CURRENT, 1-30, 31-60, 61-90, 91-120, 120+
+}
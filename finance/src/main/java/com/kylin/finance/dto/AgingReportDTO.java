@@ -0,0 +1,41 @@
+package com.kylin.finance.dto;
+
+import lombok.Data;
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * 往来账龄分析表DTO（应收按客户、应付按供应商，每个往来单位一行）
+ * 账龄按单据到期日（无到期日时取单据日期）距统计日期的天数分段
+ */
+@Data
+public class AgingReportDTO {
+    private String ownerType; // 往来类型：CUSTOMER(应收), VENDOR(应付)
+    private String asOfDate;  // 统计日期
+    
+    // 行：按往来单位编码排列
+    private List<RowDTO> rows;
+    
+    // 合计行（ownerId 为空）
+    private RowDTO total;
+    
+    /**
+     * 往来单位账龄行
+     */
+    @Data
+    public static class RowDTO {
+        private Long ownerId;
+        private String ownerCode;
+        private String ownerName;
+        private Integer itemCount;           // 未结清单据数
+        private BigDecimal currentAmount;    // 未到期
+        private BigDecimal overdue1To30;     // 逾期 1-30 天
+        private BigDecimal overdue31To60;    // 逾期 31-60 天
+        private BigDecimal overdue61To90;    // 逾期 61-90 天
+        private BigDecimal overdue91To120;   // 逾期 91-120 天
+        private BigDecimal overdueOver120;   // 逾期 120 天以上
+        private BigDecimal openAmount;       // 未结清合计
+        private BigDecimal ledgerBalance;    // 往来明细账余额（截至统计日期已审核分录）
+        private BigDecimal difference;       // 明细账余额 - 未结清合计（未核销的预收/预付款、未审核的过账凭证等）
+    }
+}
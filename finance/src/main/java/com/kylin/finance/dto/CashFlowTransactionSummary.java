@@ -0,0 +1,27 @@
+package com.kylin.finance.dto;
+
+import lombok.Data;
+
+import java.math.BigDecimal;
+
+/**
+ * 现金流量交易汇总DTO（用于现金流量表批量查询结果）
+ * 每条记录对应一张涉及现金科目的已审核凭证
+ */
+@Data
+public class CashFlowTransactionSummary {
+    /**
+     * 凭证ID
+     */
+    private Long transId;
+
+    /**
+     * 凭证摘要
+     */
+    private String description;
+
+    /**
+     * 现金科目净额（借方 - 贷方），正数为流入，负数为流出
+     */
+    private BigDecimal cashAmount;
+}
@@ -0,0 +1,56 @@
+package com.kylin.finance.dto;
+
+import lombok.Data;
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * 多期间对比报表DTO（行为科目/报表项目，列为期间）
+ */
+@Data
+public class ComparativeReportDTO {
+    private String periodType; // 期间类型：MONTH(月), QUARTER(季), YEAR(年)
+    private String startDate;  // 开始日期
+    private String endDate;    // 结束日期
+    
+    // 列：按时间顺序排列的期间
+    private List<PeriodDTO> periods;
+    
+    // 行：与 periods 一一对应的各期间数值
+    private List<RowDTO> rows;
+    
+    /**
+     * 报表期间（首末期间按开始、结束日期截取）
+     */
+    @Data
+    public static class PeriodDTO {
+        private String label;     // 期间名称：2024-01 / 2024Q1 / 2024
+        private String startDate;
+        private String endDate;
+    }
+    
+    /**
+     * 报表行
+     * 试算平衡表：每个科目一行，cells 含本期借方、贷方发生额与期末余额
+     * 资产负债表：每个项目或合计一行，cells 只有期末余额（accountId 为空表示合计行）
+     */
+    @Data
+    public static class RowDTO {
+        private Long accountId;
+        private String accountCode;
+        private String accountName;
+        private String accountType;
+        private BigDecimal openingBalance; // 第一个期间的期初余额
+        private List<CellDTO> cells;
+    }
+    
+    /**
+     * 单个期间的数值
+     */
+    @Data
+    public static class CellDTO {
+        private BigDecimal debit;   // 本期借方发生
+        private BigDecimal credit;  // 本期贷方发生
+        private BigDecimal balance; // 期末余额（按科目类型确定方向）
+    }
+}
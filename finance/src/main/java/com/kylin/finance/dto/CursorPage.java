@@ -0,0 +1,42 @@
+package com.kylin.finance.dto;
+
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * 游标分页结果DTO
+ * 翻页时把 nextCursor 原样传回即可取下一页，不需要也不应解析游标内容
+ */
+@Data
+public class CursorPage<T> {
+    /**
+     * 当前页记录
+     */
+    private List<T> records;
+
+    /**
+     * 每页大小
+     */
+    private int size;
+
+    /**
+     * 是否还有下一页
+     */
+    private boolean hasMore;
+
+    /**
+     * 下一页游标（没有下一页时为 null）
+     */
+    private String nextCursor;
+
+    /**
+     * 总记录数（仅在请求时返回，可能来自缓存）
+     */
+    private Long total;
+
+    /**
+     * 总记录数是否为精确值（本次统计或缓存未过期；false 表示取自过期缓存的近似值）
+     */
+    private Boolean totalExact;
+}
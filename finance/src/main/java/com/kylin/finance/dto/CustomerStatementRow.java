@@ -0,0 +1,67 @@
+package com.kylin.finance.dto;
+
+import com.alibaba.excel.annotation.ExcelProperty;
+import com.alibaba.excel.annotation.write.style.ColumnWidth;
+import com.alibaba.excel.annotation.format.NumberFormat;
+import lombok.Data;
+
+import java.math.BigDecimal;
+
+/**
+ * 客户对账单导出行数据模型（期初余额行、单据行、期末余额行）
+ */
+@Data
+public class CustomerStatementRow {
+    
+    /**
+     * 单据日期（期初、期末行为期间起止日）
+     */
+    @ExcelProperty(value = "日期", index = 0)
+    @ColumnWidth(12)
+    private String date;
+    
+    /**
+     * 单据类型：发票、收款、冲销（期初、期末行为空）
+     */
+    @ExcelProperty(value = "单据类型", index = 1)
+    @ColumnWidth(10)
+    private String documentType;
+    
+    /**
+     * 单据编号
+     */
+    @ExcelProperty(value = "单据编号", index = 2)
+    @ColumnWidth(20)
+    private String documentNo;
+    
+    /**
+     * 摘要（收款行列出核销的发票编号）
+     */
+    @ExcelProperty(value = "摘要", index = 3)
+    @ColumnWidth(40)
+    private String description;
+    
+    /**
+     * 应收金额（发票）
+     */
+    @ExcelProperty(value = "应收金额", index = 4)
+    @ColumnWidth(16)
+    @NumberFormat("#,##0.00")
+    private BigDecimal debitAmount;
+    
+    /**
+     * 收款/冲销金额
+     */
+    @ExcelProperty(value = "收款/冲销金额", index = 5)
+    @ColumnWidth(16)
+    @NumberFormat("#,##0.00")
+    private BigDecimal creditAmount;
+    
+    /**
+     * 余额（客户欠款）
+     */
+    @ExcelProperty(value = "余额", index = 6)
+    @ColumnWidth(16)
+    @NumberFormat("#,##0.00")
+    private BigDecimal balance;
+}
@@ -0,0 +1,39 @@
+package com.kylin.finance.dto;
+
+import lombok.Data;
+
+/**
+ * 单据批量过账结果DTO（每张单据一条）
+ */
+@Data
+public class DocumentPostResultDTO {
+    /**
+     * 单据ID（发票ID/账单ID）
+     */
+    private Long documentId;
+
+    /**
+     * 单据编号
+     */
+    private String documentNo;
+
+    /**
+     * 是否过账成功
+     */
+    private boolean success;
+
+    /**
+     * 生成的交易ID
+     */
+    private Long transId;
+
+    /**
+     * 生成的凭证号
+     */
+    private String voucherNo;
+
+    /**
+     * 失败原因
+     */
+    private String message;
+}
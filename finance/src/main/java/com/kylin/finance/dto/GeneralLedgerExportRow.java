@@ -0,0 +1,81 @@
+package com.kylin.finance.dto;
+
+import com.alibaba.excel.annotation.ExcelProperty;
+import com.alibaba.excel.annotation.write.style.ColumnWidth;
+import com.alibaba.excel.annotation.format.NumberFormat;
+import lombok.Data;
+
+import java.math.BigDecimal;
+
+/**
+ * 总账明细（凭证分录）Excel导出行数据模型
+ * 每行对应一条 fin_split 分录
+ */
+@Data
+public class GeneralLedgerExportRow {
+
+    /**
+     * 交易日期（yyyy-MM-dd）
+     */
+    @ExcelProperty(value = "日期", index = 0)
+    @ColumnWidth(12)
+    private String transDate;
+
+    /**
+     * 凭证号
+     */
+    @ExcelProperty(value = "凭证号", index = 1)
+    @ColumnWidth(18)
+    private String voucherNo;
+
+    /**
+     * 凭证摘要
+     */
+    @ExcelProperty(value = "摘要", index = 2)
+    @ColumnWidth(30)
+    private String description;
+
+    /**
+     * 科目编码
+     */
+    @ExcelProperty(value = "科目编码", index = 3)
+    @ColumnWidth(12)
+    private String accountCode;
+
+    /**
+     * 科目名称
+     */
+    @ExcelProperty(value = "科目名称", index = 4)
+    @ColumnWidth(20)
+    private String accountName;
+
+    /**
+     * 借方金额
+     */
+    @ExcelProperty(value = "借方金额", index = 5)
+    @ColumnWidth(18)
+    @NumberFormat("#,##0.00")
+    private BigDecimal debitAmount;
+
+    /**
+     * 贷方金额
+     */
+    @ExcelProperty(value = "贷方金额", index = 6)
+    @ColumnWidth(18)
+    @NumberFormat("#,##0.00")
+    private BigDecimal creditAmount;
+
+    /**
+     * 分录备注
+     */
+    @ExcelProperty(value = "分录备注", index = 7)
+    @ColumnWidth(25)
+    private String memo;
+
+    /**
+     * 凭证状态（草稿/已审核）
+     */
+    @ExcelProperty(value = "状态", index = 8)
+    @ColumnWidth(10)
+    private String statusName;
+}
@@ -0,0 +1,35 @@
+package com.kylin.finance.dto;
+
+import lombok.Data;
+import java.math.BigDecimal;
+
+/**
+ * 损益类科目本期与本年累计发生额（利润表单次汇总查询结果）
+ */
+@Data
+public class IncomeStatementAmount {
+    /**
+     * 科目ID
+     */
+    private Long accountId;
+    
+    /**
+     * 本期借方发生额
+     */
+    private BigDecimal periodDebit;
+    
+    /**
+     * 本期贷方发生额
+     */
+    private BigDecimal periodCredit;
+    
+    /**
+     * 本年累计借方发生额
+     */
+    private BigDecimal yearDebit;
+    
+    /**
+     * 本年累计贷方发生额
+     */
+    private BigDecimal yearCredit;
+}
@@ -0,0 +1,42 @@
+package com.kylin.finance.dto;
+
+import lombok.Data;
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * 利润表DTO
+ */
+@Data
+public class IncomeStatementDTO {
+    private String startDate; // 本期开始日期
+    private String endDate;   // 本期结束日期（本年累计截止日期）
+    
+    // 收入部分（按科目树汇总）
+    private List<IncomeStatementItemDTO> incomes;
+    private BigDecimal totalIncome;         // 收入合计（本期）
+    private BigDecimal totalIncomeYearToDate; // 收入合计（本年累计）
+    
+    // 费用部分（按科目树汇总）
+    private List<IncomeStatementItemDTO> expenses;
+    private BigDecimal totalExpense;         // 费用合计（本期）
+    private BigDecimal totalExpenseYearToDate; // 费用合计（本年累计）
+    
+    // 净利润 = 收入 - 费用
+    private BigDecimal netProfit;
+    private BigDecimal netProfitYearToDate;
+    
+    /**
+     * 利润表项目（父科目金额包含全部下级科目）
+     */
+    @Data
+    public static class IncomeStatementItemDTO {
+        private Long accountId;
+        private String accountCode;
+        private String accountName;
+        private Integer level;               // 层级，一级科目为 1
+        private BigDecimal amount;           // 本期金额
+        private BigDecimal yearToDateAmount; // 本年累计金额
+        private List<IncomeStatementItemDTO> children; // 下级科目
+    }
+}
@@ -0,0 +1,47 @@
+package com.kylin.finance.dto;
+
+import com.alibaba.excel.annotation.ExcelProperty;
+import com.alibaba.excel.annotation.write.style.ColumnWidth;
+import com.alibaba.excel.annotation.format.NumberFormat;
+import lombok.Data;
+
+import java.math.BigDecimal;
+
+/**
+ * 利润表Excel导出行数据模型
+ */
+@Data
+public class IncomeStatementExportRow {
+    
+    /**
+     * 项目名称（下级科目按层级缩进）
+     */
+    @ExcelProperty(value = "项目", index = 0)
+    @ColumnWidth(40)
+    private String itemName;
+    
+    /**
+     * 本期金额
+     */
+    @ExcelProperty(value = "本期金额", index = 1)
+    @ColumnWidth(20)
+    @NumberFormat("#,##0.00")
+    private BigDecimal amount;
+    
+    /**
+     * 本年累计金额
+     */
+    @ExcelProperty(value = "本年累计金额", index = 2)
+    @ColumnWidth(20)
+    @NumberFormat("#,##0.00")
+    private BigDecimal yearToDateAmount;
+    
+    public IncomeStatementExportRow() {
+    }
+    
+    public IncomeStatementExportRow(String itemName, BigDecimal amount, BigDecimal yearToDateAmount) {
+        this.itemName = itemName;
+        this.amount = amount;
+        this.yearToDateAmount = yearToDateAmount;
+    }
+}
@@ -0,0 +1,41 @@
+package com.kylin.finance.dto;
+
+import lombok.Data;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * 已审核分录（加载列式分录存储用，只包含汇总所需字段）
+ */
+@Data
+public class LedgerSplitRow {
+    /**
+     * 分录ID
+     */
+    private Long splitId;
+    
+    /**
+     * 科目ID
+     */
+    private Long accountId;
+    
+    /**
+     * 记账日期（凭证日期）
+     */
+    private LocalDate transDate;
+    
+    /**
+     * 借贷方向：DEBIT / CREDIT
+     */
+    private String direction;
+    
+    /**
+     * 金额
+     */
+    private BigDecimal amount;
+    
+    /**
+     * 往来单位ID（可为空）
+     */
+    private Long ownerId;
+}
@@ -0,0 +1,37 @@
+package com.kylin.finance.dto;
+
+import lombok.Data;
+
+import java.math.BigDecimal;
+
+/**
+ * 往来单位明细账借贷发生额汇总（按分录 owner_id 分组）
+ */
+@Data
+public class OwnerLedgerBalance {
+    
+    /**
+     * 往来单位ID
+     */
+    private Long ownerId;
+    
+    /**
+     * 往来单位编码
+     */
+    private String ownerCode;
+    
+    /**
+     * 往来单位名称
+     */
+    private String ownerName;
+    
+    /**
+     * 借方发生额合计
+     */
+    private BigDecimal debitAmount;
+    
+    /**
+     * 贷方发生额合计
+     */
+    private BigDecimal creditAmount;
+}
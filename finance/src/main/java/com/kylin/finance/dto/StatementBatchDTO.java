@@ -0,0 +1,94 @@
+package com.kylin.finance.dto;
+
+import lombok.Data;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 客户对账单批量生成任务进度
+ */
+@Data
+public class StatementBatchDTO {
+    
+    /**
+     * 批次ID
+     */
+    private String batchId;
+    
+    /**
+     * 对账期间开始日期
+     */
+    private LocalDate startDate;
+    
+    /**
+     * 对账期间结束日期
+     */
+    private LocalDate endDate;
+    
+    /**
+     * 文件格式：xlsx、csv
+     */
+    private String format;
+    
+    /**
+     * 输出目录
+     */
+    private String outputDir;
+    
+    /**
+     * 状态：RUNNING(生成中), COMPLETED(已完成), FAILED(失败)
+     */
+    private String status;
+    
+    /**
+     * 客户总数
+     */
+    private Integer totalOwners;
+    
+    /**
+     * 本批次需生成的分区数（已有对账单文件的客户不参与分区）
+     */
+    private Integer totalPartitions;
+    
+    /**
+     * 已完成的分区数
+     */
+    private Integer completedPartitions;
+    
+    /**
+     * 已生成的对账单数
+     */
+    private Integer generatedCount;
+    
+    /**
+     * 已有对账单文件或无发生额标记而跳过的客户数（断点续跑）
+     */
+    private Integer skippedCount;
+    
+    /**
+     * 期初无余额且期间无单据、不生成对账单的客户数
+     */
+    private Integer emptyCount;
+    
+    /**
+     * 生成失败的客户数
+     */
+    private Integer failedCount;
+    
+    /**
+     * 失败原因（最多保留前 100 条）
+     */
+    private List<String> failures;
+    
+    /**
+     * 开始时间
+     */
+    private LocalDateTime startTime;
+    
+    /**
+     * 结束时间
+     */
+    private LocalDateTime finishTime;
+}
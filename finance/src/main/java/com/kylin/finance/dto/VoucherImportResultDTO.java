@@ -0,0 +1,68 @@
+package com.kylin.finance.dto;
+
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 凭证批量导入结果DTO
+ */
+@Data
+public class VoucherImportResultDTO {
+    /**
+     * 提交的凭证总数
+     */
+    private int total;
+
+    /**
+     * 导入成功数
+     */
+    private int successCount;
+
+    /**
+     * 导入失败数
+     */
+    private int failedCount;
+
+    /**
+     * 失败明细（按提交顺序）
+     */
+    private List<ImportError> errors = new ArrayList<>();
+
+    /**
+     * 记录一张凭证的失败原因
+     * @param index 凭证在提交列表中的下标（从0开始）
+     * @param voucherNo 凭证号
+     * @param message 失败原因
+     */
+    public void addError(int index, String voucherNo, String message) {
+        ImportError error = new ImportError();
+        error.setIndex(index);
+        error.setVoucherNo(voucherNo);
+        error.setMessage(message);
+        errors.add(error);
+        failedCount++;
+    }
+
+    /**
+     * 单张凭证的导入失败信息
+     */
+    @Data
+    public static class ImportError {
+        /**
+         * 凭证在提交列表中的下标（从0开始）
+         */
+        private int index;
+
+        /**
+         * 凭证号
+         */
+        private String voucherNo;
+
+        /**
+         * 失败原因
+         */
+        private String message;
+    }
+}
@@ -15,4 +15,6 @@ public class VoucherQueryDTO {
     private Integer status;        // 状态：0-草稿，1-已审核
     private Integer pageNum = 1;   // 页码
     private Integer pageSize = 10; // 每页大小
+    private String cursor;         // 游标分页：上一页返回的 nextCursor，首页为空
+    private Boolean includeTotal;  // 游标分页：是否返回总记录数
 }
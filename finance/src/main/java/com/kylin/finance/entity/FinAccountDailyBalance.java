@@ -0,0 +1,40 @@
+package com.kylin.finance.entity;
+
+import com.baomidou.mybatisplus.annotation.TableName;
+import lombok.Data;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * 科目日余额快照实体
+ * 对应数据库表：fin_account_daily_balance
+ * 主键为 (account_id, balance_date)，记录某科目某日已审核分录的借贷发生额合计
+ */
+@Data
+@TableName("fin_account_daily_balance")
+public class FinAccountDailyBalance implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 科目ID
+     */
+    private Long accountId;
+
+    /**
+     * 日期（凭证的交易日期）
+     */
+    private LocalDate balanceDate;
+
+    /**
+     * 当日借方发生额合计
+     */
+    private BigDecimal debitAmount;
+
+    /**
+     * 当日贷方发生额合计
+     */
+    private BigDecimal creditAmount;
+}
@@ -0,0 +1,55 @@
+package com.kylin.finance.entity;
+
+import com.baomidou.mybatisplus.annotation.IdType;
+import com.baomidou.mybatisplus.annotation.TableId;
+import com.baomidou.mybatisplus.annotation.TableName;
+import lombok.Data;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * 期末结账实体
+ * 对应 fin_period_close 表，记录每次月结/年结的期间及净利润
+ */
+@Data
+@TableName("fin_period_close")
+public class FinPeriodClose implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    @TableId(value = "close_id", type = IdType.AUTO)
+    private Long closeId;
+
+    /**
+     * 期间类型：MONTH(月结), YEAR(年结)
+     */
+    private String periodType;
+
+    /**
+     * 期间开始日期（上次结账日的次日）
+     */
+    private LocalDate periodStart;
+
+    /**
+     * 期间结束日期（结账日）
+     */
+    private LocalDate periodEnd;
+
+    /**
+     * 本期净利润（收入 - 费用）
+     */
+    private BigDecimal netProfit;
+
+    /**
+     * 截至结账日累计净利润（资产负债表"本年利润"列示金额）
+     */
+    private BigDecimal accumulatedProfit;
+
+    /**
+     * 结账时间
+     */
+    private LocalDateTime closeTime;
+}
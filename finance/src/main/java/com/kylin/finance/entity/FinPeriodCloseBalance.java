@@ -0,0 +1,32 @@
+package com.kylin.finance.entity;
+
+import com.baomidou.mybatisplus.annotation.TableName;
+import lombok.Data;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+
+/**
+ * 结账科目余额实体
+ * 对应 fin_period_close_balance 表，冻结结账日各科目的借贷累计发生额
+ */
+@Data
+@TableName("fin_period_close_balance")
+public class FinPeriodCloseBalance implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private Long closeId;
+
+    private Long accountId;
+
+    /**
+     * 截至结账日借方累计发生额
+     */
+    private BigDecimal debitAmount;
+
+    /**
+     * 截至结账日贷方累计发生额
+     */
+    private BigDecimal creditAmount;
+}
@@ -1,5 +1,6 @@
 package com.kylin.finance.entity.document;
 
+import com.baomidou.mybatisplus.annotation.FieldStrategy;
 import com.baomidou.mybatisplus.annotation.IdType;
 import com.baomidou.mybatisplus.annotation.TableField;
 import com.baomidou.mybatisplus.annotation.TableId;
@@ -78,6 +79,13 @@ public class Bill extends BaseEntity {
      */
     private BigDecimal netAmount;
 
+    /**
+     * 已核销金额（未结清金额 = totalAmount - allocatedAmount）
+     * 随收付款分配增减，只通过 BillMapper.addAllocatedAmount 更新，updateById 不会覆盖
+     */
+    @TableField(updateStrategy = FieldStrategy.NEVER)
+    private BigDecimal allocatedAmount;
+
     /**
      * 备注
      */
@@ -0,0 +1,133 @@
+package com.kylin.finance.export;
+
+import com.alibaba.excel.EasyExcel;
+import com.alibaba.excel.ExcelWriter;
+import com.alibaba.excel.write.metadata.WriteSheet;
+import org.apache.ibatis.session.ResultContext;
+import org.apache.ibatis.session.ResultHandler;
+
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Excel 流式写入器
+ *
+ * 作为 MyBatis ResultHandler 逐行接收查询结果，每累计 chunkSize 行写入一次 EasyExcel，
+ * 写入后立即清空缓冲区，因此内存占用只与 chunkSize 有关，与导出总行数无关。
+ * EasyExcel 写 xlsx 时底层使用 SXSSF，已写入的行会刷到临时文件，不驻留堆内存。
+ * 单个工作表超过 maxRowsPerSheet 行时自动切换到新工作表（Excel 单表上限 1048576 行）。
+ *
+ * 使用方式：
+ * <pre>
+ * try (ExcelStreamWriter&lt;Row&gt; writer = new ExcelStreamWriter&lt;&gt;(out, Row.class, "明细")) {
+ *     mapper.streamRows(..., writer);
+ * }
+ * </pre>
+ *
+ * @param <T> 导出行数据模型（带 @ExcelProperty 注解；动态表头时为单元格值列表）
+ */
+public class ExcelStreamWriter<T> implements ResultHandler<T>, AutoCloseable {
+
+    /**
+     * 默认每批写入行数
+     */
+    public static final int DEFAULT_CHUNK_SIZE = 1000;
+
+    /**
+     * 默认单个工作表最大数据行数（预留表头行）
+     */
+    public static final int DEFAULT_MAX_ROWS_PER_SHEET = 1_000_000;
+
+    private final ExcelWriter excelWriter;
+    private final String sheetName;
+    private final int chunkSize;
+    private final int maxRowsPerSheet;
+    private final List<T> buffer;
+
+    private WriteSheet currentSheet;
+    private int sheetNo = 0;
+    private int rowsInSheet = 0;
+    private long totalRows = 0;
+
+    public ExcelStreamWriter(OutputStream out, Class<T> rowClass, String sheetName) {
+        this(out, rowClass, sheetName, DEFAULT_CHUNK_SIZE, DEFAULT_MAX_ROWS_PER_SHEET);
+    }
+
+    public ExcelStreamWriter(OutputStream out, Class<T> rowClass, String sheetName,
+                             int chunkSize, int maxRowsPerSheet) {
+        this(EasyExcel.write(out, rowClass).build(), sheetName, chunkSize, maxRowsPerSheet);
+    }
+
+    private ExcelStreamWriter(ExcelWriter excelWriter, String sheetName, int chunkSize, int maxRowsPerSheet) {
+        this.excelWriter = excelWriter;
+        this.sheetName = sheetName;
+        this.chunkSize = chunkSize;
+        this.maxRowsPerSheet = maxRowsPerSheet;
+        this.buffer = new ArrayList<>(chunkSize);
+        this.currentSheet = EasyExcel.writerSheet(sheetNo, sheetName).build();
+    }
+
+    /**
+     * 动态表头写入器：列数在运行时确定（如多期间对比报表每个期间一列），
+     * 每行为与表头顺序一致的单元格值列表
+     * @param head 表头，每列一个 List（多个元素表示多行表头）
+     */
+    public static ExcelStreamWriter<List<Object>> withHead(OutputStream out, List<List<String>> head, String sheetName) {
+        return new ExcelStreamWriter<>(EasyExcel.write(out).head(head).build(), sheetName,
+                DEFAULT_CHUNK_SIZE, DEFAULT_MAX_ROWS_PER_SHEET);
+    }
+
+    @Override
+    public void handleResult(ResultContext<? extends T> context) {
+        write(context.getResultObject());
+    }
+
+    /**
+     * 写入一行（先进入缓冲区，满一批后写出）
+     */
+    public void write(T row) {
+        if (rowsInSheet + buffer.size() >= maxRowsPerSheet) {
+            flush();
+            sheetNo++;
+            rowsInSheet = 0;
+            currentSheet = EasyExcel.writerSheet(sheetNo, sheetName + "_" + (sheetNo + 1)).build();
+        }
+        buffer.add(row);
+        totalRows++;
+        if (buffer.size() >= chunkSize) {
+            flush();
+        }
+    }
+
+    /**
+     * 将缓冲区中的行写入当前工作表
+     */
+    public void flush() {
+        if (buffer.isEmpty()) {
+            return;
+        }
+        excelWriter.write(buffer, currentSheet);
+        rowsInSheet += buffer.size();
+        buffer.clear();
+    }
+
+    /**
+     * 已写入的总行数
+     */
+    public long getTotalRows() {
+        return totalRows;
+    }
+
+    /**
+     * 写出剩余数据并结束文件（无数据时也会输出只有表头的工作表）
+     */
+    @Override
+    public void close() {
+        if (totalRows == 0) {
+            excelWriter.write(new ArrayList<T>(), currentSheet);
+        }
+        flush();
+        excelWriter.finish();
+    }
+}
@@ -0,0 +1,63 @@
+package com.kylin.finance.export;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+
+/**
+ * NDJSON 流式写入器
+ *
+ * 每个对象序列化为一行 JSON（以换行结尾），经缓冲区写出，缓冲区满时发送给客户端；
+ * 响应不设 Content-Length，由容器分块传输，内存占用与总行数无关。
+ * 客户端断开等写出失败时抛出 UncheckedIOException，中止查询回调。
+ * close() 只写出缓冲区，不关闭底层输出流。
+ */
+public class NdjsonStreamWriter implements AutoCloseable {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final OutputStream out;
+    private final ObjectWriter objectWriter;
+    private long totalRows = 0;
+
+    public NdjsonStreamWriter(OutputStream out, ObjectMapper objectMapper) {
+        this.out = new BufferedOutputStream(out, BUFFER_SIZE);
+        this.objectWriter = objectMapper.writer();
+    }
+
+    /**
+     * 写入一行
+     */
+    public void write(Object row) {
+        try {
+            out.write(objectWriter.writeValueAsBytes(row));
+            out.write('\n');
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("NDJSON 序列化失败", e);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        totalRows++;
+    }
+
+    /**
+     * 已写入的总行数
+     */
+    public long getTotalRows() {
+        return totalRows;
+    }
+
+    @Override
+    public void close() {
+        try {
+            out.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
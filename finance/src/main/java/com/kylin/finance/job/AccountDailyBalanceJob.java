@@ -0,0 +1,54 @@
+package com.kylin.finance.job;
+
+import com.kylin.finance.entity.FinAccountDailyBalance;
+import com.kylin.finance.mapper.FinAccountDailyBalanceMapper;
+import com.kylin.finance.service.IAccountDailyBalanceService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * 科目日余额快照维护任务
+ *
+ * 1. 启动时若快照表为空（首次上线或手工清空），从分录全量重建
+ *    优先级最高，保证在 VoucherDataSeeder 等生成数据的组件之前执行
+ * 2. 每天凌晨校验快照与分录是否一致，不一致时输出错误日志，
+ *    可调用 POST /finance/accounting/daily-balance/rebuild 重建
+ */
+@Slf4j
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class AccountDailyBalanceJob implements CommandLineRunner {
+
+    @Autowired
+    private FinAccountDailyBalanceMapper dailyBalanceMapper;
+
+    @Autowired
+    private IAccountDailyBalanceService dailyBalanceService;
+
+    @Override
+    public void run(String... args) {
+        if (dailyBalanceMapper.countAll() > 0) {
+            return;
+        }
+        log.info("科目日余额快照为空，开始从分录重建");
+        dailyBalanceService.rebuild();
+    }
+
+    /**
+     * 夜间校验快照与分录一致性
+     */
+    @Scheduled(cron = "0 30 2 * * ?")
+    public void nightlyVerify() {
+        List<FinAccountDailyBalance> discrepancies = dailyBalanceService.verify();
+        if (!discrepancies.isEmpty()) {
+            log.error("科目日余额快照与分录不一致，共 {} 处，请执行重建", discrepancies.size());
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.kylin.finance.job;
+
+import com.kylin.finance.service.IColumnarLedgerService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * 列式分录存储加载任务（kylin.ledger.columnar.enabled=true 时生效）
+ *
+ * 1. 启动后在后台加载，不阻塞启动；加载完成前查询使用 SQL
+ *    在科目日余额快照重建（AccountDailyBalanceJob）之后执行
+ * 2. 加载未完成（如加载期间持续有凭证提交）时每 10 分钟重试
+ * 3. 按 kylin.ledger.columnar.snapshot.interval-ms 定期写入本地快照，供重启时恢复
+ */
+@Slf4j
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+public class ColumnarLedgerJob implements CommandLineRunner {
+
+    @Value("${kylin.ledger.columnar.enabled:false}")
+    private boolean enabled;
+
+    @Autowired
+    private IColumnarLedgerService columnarLedgerService;
+
+    @Override
+    public void run(String... args) {
+        if (!enabled) {
+            return;
+        }
+        log.info("开始在后台加载列式分录存储");
+        columnarLedgerService.reloadAsync();
+    }
+
+    /**
+     * 未加载完成时重试
+     */
+    @Scheduled(fixedDelay = 600_000, initialDelay = 600_000)
+    public void retryLoad() {
+        if (enabled && !columnarLedgerService.isReady()) {
+            columnarLedgerService.reloadAsync();
+        }
+    }
+
+    /**
+     * 定期写入本地快照
+     */
+    @Scheduled(fixedDelayString = "${kylin.ledger.columnar.snapshot.interval-ms:1800000}",
+            initialDelayString = "${kylin.ledger.columnar.snapshot.interval-ms:1800000}")
+    public void writeSnapshot() {
+        if (enabled) {
+            columnarLedgerService.writeSnapshot();
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.kylin.finance.job;
+
+import com.kylin.common.BusinessException;
+import com.kylin.finance.dto.StatementBatchDTO;
+import com.kylin.finance.service.IStatementService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+
+/**
+ * 月度客户对账单任务
+ *
+ * 按 kylin.statement.cron 生成上一个月的客户对账单（默认不启用），文件格式为 xlsx；
+ * 上次运行中断时，再次运行跳过已生成的客户
+ */
+@Slf4j
+@Component
+public class CustomerStatementJob {
+
+    @Autowired
+    private IStatementService statementService;
+
+    @Scheduled(cron = "${kylin.statement.cron:-}")
+    public void generateMonthlyStatements() {
+        YearMonth lastMonth = YearMonth.from(LocalDate.now()).minusMonths(1);
+        try {
+            StatementBatchDTO batch = statementService.startBatch(lastMonth.atDay(1), lastMonth.atEndOfMonth(), "xlsx", false);
+            log.info("已启动 {} 客户对账单批次 {}", lastMonth, batch.getBatchId());
+        } catch (BusinessException e) {
+            log.warn("{} 客户对账单未启动：{}", lastMonth, e.getMessage());
+        }
+    }
+}
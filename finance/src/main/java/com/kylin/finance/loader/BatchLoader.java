@@ -0,0 +1,99 @@
+package com.kylin.finance.loader;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * 批量加载器（DataLoader 风格）
+ *
+ * 调用方先通过 prime 登记即将用到的键，首次 load 时把所有已登记、尚未加载的键合并为一次批量查询；
+ * 结果（包括不存在的键）在加载器生命周期内缓存，同一键不会重复查询。
+ * 生命周期由 EntityLoaders 绑定到当前事务或请求。本类不是线程安全的。
+ *
+ * @param <K> 键类型
+ * @param <V> 值类型
+ */
+public class BatchLoader<K, V> {
+
+    /**
+     * 单次批量查询的最大键数，避免 IN 列表过长
+     */
+    private static final int MAX_BATCH_SIZE = 1000;
+
+    private final Function<Collection<K>, Map<K, V>> batchFunction;
+    private final Map<K, V> cache = new HashMap<>();
+    private final Set<K> pending = new LinkedHashSet<>();
+
+    /**
+     * @param batchFunction 批量查询函数，返回键到值的映射，不存在的键不出现在结果中
+     */
+    public BatchLoader(Function<Collection<K>, Map<K, V>> batchFunction) {
+        this.batchFunction = batchFunction;
+    }
+
+    /**
+     * 登记即将用到的键，推迟到下一次 load 时一并查询
+     */
+    public BatchLoader<K, V> prime(Collection<? extends K> keys) {
+        for (K key : keys) {
+            if (key != null && !cache.containsKey(key)) {
+                pending.add(key);
+            }
+        }
+        return this;
+    }
+
+    /**
+     * 加载单个键，未缓存时连同已登记的键一起批量查询
+     * @return 值，不存在时返回 null
+     */
+    public V load(K key) {
+        if (key == null) {
+            return null;
+        }
+        if (!cache.containsKey(key)) {
+            pending.add(key);
+            dispatch();
+        }
+        return cache.get(key);
+    }
+
+    /**
+     * 批量加载
+     * @return 键到值的映射（按传入顺序），不存在的键不出现在结果中
+     */
+    public Map<K, V> loadMany(Collection<? extends K> keys) {
+        prime(keys);
+        dispatch();
+        Map<K, V> result = new LinkedHashMap<>();
+        for (K key : keys) {
+            V value = key != null ? cache.get(key) : null;
+            if (value != null) {
+                result.put(key, value);
+            }
+        }
+        return result;
+    }
+
+    private void dispatch() {
+        if (pending.isEmpty()) {
+            return;
+        }
+        List<K> keys = new ArrayList<>(pending);
+        pending.clear();
+        for (int from = 0; from < keys.size(); from += MAX_BATCH_SIZE) {
+            List<K> batch = keys.subList(from, Math.min(from + MAX_BATCH_SIZE, keys.size()));
+            Map<K, V> loaded = batchFunction.apply(batch);
+            for (K key : batch) {
+                cache.put(key, loaded.get(key));
+            }
+        }
+    }
+}
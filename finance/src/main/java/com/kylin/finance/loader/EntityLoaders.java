@@ -0,0 +1,89 @@
+package com.kylin.finance.loader;
+
+import com.kylin.finance.entity.FinAccount;
+import com.kylin.finance.entity.business.Owner;
+import com.kylin.finance.mapper.FinAccountMapper;
+import com.kylin.finance.mapper.OwnerMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * 科目、业务实体批量加载器
+ *
+ * 加载器按以下优先级绑定作用域，同一作用域内共享查询结果：
+ * 1. 当前事务：事务结束时释放，凭证保存时各项校验共用一次科目/实体查询
+ * 2. 当前 HTTP 请求：请求结束时释放
+ * 3. 都没有时每次返回新的加载器，由调用方在方法内复用
+ */
+@Component
+public class EntityLoaders {
+
+    private static final String ACCOUNT_LOADER_KEY = EntityLoaders.class.getName() + ".ACCOUNTS";
+    private static final String OWNER_LOADER_KEY = EntityLoaders.class.getName() + ".OWNERS";
+
+    @Autowired
+    private FinAccountMapper accountMapper;
+
+    @Autowired
+    private OwnerMapper ownerMapper;
+
+    /**
+     * 科目加载器（按科目ID）
+     */
+    public BatchLoader<Long, FinAccount> accounts() {
+        return scoped(ACCOUNT_LOADER_KEY, () -> new BatchLoader<Long, FinAccount>(ids ->
+            toMap(accountMapper.selectBatchIds(ids), FinAccount::getAccountId)));
+    }
+
+    /**
+     * 业务实体加载器（按 fin_owner 主键）
+     */
+    public BatchLoader<Long, Owner> owners() {
+        return scoped(OWNER_LOADER_KEY, () -> new BatchLoader<Long, Owner>(ids ->
+            toMap(ownerMapper.selectBatchIds(ids), Owner::getOwnerId)));
+    }
+
+    @SuppressWarnings("unchecked")
+    private <K, V> BatchLoader<K, V> scoped(String key, Supplier<BatchLoader<K, V>> factory) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            Object loader = TransactionSynchronizationManager.getResource(key);
+            if (loader == null) {
+                loader = factory.get();
+                TransactionSynchronizationManager.bindResource(key, loader);
+                TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                    @Override
+                    public void afterCompletion(int status) {
+                        TransactionSynchronizationManager.unbindResourceIfPossible(key);
+                    }
+                });
+            }
+            return (BatchLoader<K, V>) loader;
+        }
+
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes != null) {
+            Object loader = attributes.getAttribute(key, RequestAttributes.SCOPE_REQUEST);
+            if (loader == null) {
+                loader = factory.get();
+                attributes.setAttribute(key, loader, RequestAttributes.SCOPE_REQUEST);
+            }
+            return (BatchLoader<K, V>) loader;
+        }
+
+        return factory.get();
+    }
+
+    private static <K, V> Map<K, V> toMap(List<V> values, Function<V, K> keyMapper) {
+        return values.stream().collect(Collectors.toMap(keyMapper, Function.identity(), (a, b) -> a));
+    }
+}
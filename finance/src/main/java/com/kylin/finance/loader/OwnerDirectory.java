@@ -0,0 +1,141 @@
+package com.kylin.finance.loader;
+
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.kylin.finance.entity.business.Owner;
+import com.kylin.finance.mapper.OwnerMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 业务实体名称目录（ownerId -> name）
+ *
+ * 单据列表、详情填充客户/供应商名称时使用，未命中的ID一次批量查询后缓存。
+ * 业务实体的新增、修改、删除均经过 OwnerServiceImpl，由其在事务提交后调用 evictAfterCommit 失效对应条目。
+ *
+ * 并发说明：失效时先递增版本号再删除条目；加载方在查询前记录版本号，写入缓存后若版本号已变化则撤回本次写入，
+ * 避免在修改事务提交前读到的旧名称在失效之后被写回缓存。
+ */
+@Slf4j
+@Component
+public class OwnerDirectory {
+
+    /**
+     * 单次 IN 查询的最大ID数
+     */
+    private static final int BATCH_SIZE = 1000;
+
+    /**
+     * 缓存条目上限，超过后整体清空重新按需加载
+     */
+    private static final int MAX_ENTRIES = 50_000;
+
+    @Autowired
+    private OwnerMapper ownerMapper;
+
+    private final Map<Long, String> names = new ConcurrentHashMap<>();
+
+    private final AtomicLong version = new AtomicLong();
+
+    /**
+     * 查询单个业务实体名称
+     * @param ownerId 业务实体ID（可为空）
+     * @return 名称，实体不存在时返回 null
+     */
+    public String nameOf(Long ownerId) {
+        if (ownerId == null) {
+            return null;
+        }
+        return namesOf(List.of(ownerId)).get(ownerId);
+    }
+
+    /**
+     * 批量查询业务实体名称，未命中的ID合并为一次查询
+     * @param ownerIds 业务实体ID（可包含 null 与重复值）
+     * @return ownerId -> 名称，不存在的实体不在结果中
+     */
+    public Map<Long, String> namesOf(Collection<Long> ownerIds) {
+        Map<Long, String> result = new HashMap<>();
+        Set<Long> misses = new LinkedHashSet<>();
+        for (Long ownerId : ownerIds) {
+            if (ownerId == null) {
+                continue;
+            }
+            String name = names.get(ownerId);
+            if (name != null) {
+                result.put(ownerId, name);
+            } else {
+                misses.add(ownerId);
+            }
+        }
+        if (!misses.isEmpty()) {
+            result.putAll(load(misses));
+        }
+        return result;
+    }
+
+    /**
+     * 失效单个业务实体的名称缓存
+     * 处于事务中时延迟到提交后执行，保证失效之后的加载能读到已提交的新名称
+     */
+    public void evictAfterCommit(Long ownerId) {
+        if (ownerId == null) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evict(ownerId);
+                }
+            });
+        } else {
+            evict(ownerId);
+        }
+    }
+
+    private void evict(Long ownerId) {
+        version.incrementAndGet();
+        names.remove(ownerId);
+        log.debug("业务实体名称缓存已失效，ownerId：{}", ownerId);
+    }
+
+    private Map<Long, String> load(Set<Long> ownerIds) {
+        long startVersion = version.get();
+        Map<Long, String> loaded = new HashMap<>();
+        List<Long> ids = new ArrayList<>(ownerIds);
+        for (int from = 0; from < ids.size(); from += BATCH_SIZE) {
+            List<Long> chunk = ids.subList(from, Math.min(from + BATCH_SIZE, ids.size()));
+            LambdaQueryWrapper<Owner> wrapper = new LambdaQueryWrapper<>();
+            wrapper.select(Owner::getOwnerId, Owner::getName)
+                   .in(Owner::getOwnerId, chunk);
+            for (Owner owner : ownerMapper.selectList(wrapper)) {
+                if (owner.getName() != null) {
+                    loaded.put(owner.getOwnerId(), owner.getName());
+                }
+            }
+        }
+
+        if (names.size() + loaded.size() > MAX_ENTRIES) {
+            names.clear();
+        }
+        names.putAll(loaded);
+        if (version.get() != startVersion) {
+            // 加载期间有实体被修改，撤回本次写入，下次访问重新加载
+            loaded.keySet().forEach(names::remove);
+        }
+        return loaded;
+    }
+}
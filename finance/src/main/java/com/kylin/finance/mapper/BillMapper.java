@@ -1,12 +1,84 @@
 package com.kylin.finance.mapper;
 
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import com.kylin.finance.dto.AgingItemDTO;
+import com.kylin.finance.dto.AgingReportDTO;
 import com.kylin.finance.entity.document.Bill;
 import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Select;
+import org.apache.ibatis.annotations.Update;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
 
 /**
  * 账单表数据库访问层
  */
 @Mapper
 public interface BillMapper extends BaseMapper<Bill> {
+
+    /**
+     * 按先进先出顺序查询供应商的未结清账单（OPEN/PARTIAL 且仍有未核销金额），走 idx_vendor_open 索引
+     * 对返回的单据加行锁，须在事务内调用，避免并发核销重复分配同一单据
+     * @param vendorId 供应商ID（fin_owner.owner_id）
+     */
+    @Select("SELECT * FROM fin_bill " +
+            "WHERE vendor_id = #{vendorId} AND status IN ('OPEN', 'PARTIAL') AND is_deleted = 0 " +
+            "AND total_amount > allocated_amount " +
+            "ORDER BY create_time, bill_id FOR UPDATE")
+    List<Bill> selectOpenItems(@Param("vendorId") Long vendorId);
+
+    /**
+     * 汇总供应商未支付（状态不为 PAID）账单的未结清金额
+     * @param vendorId 供应商ID（fin_owner.owner_id）
+     */
+    @Select("SELECT COALESCE(SUM(total_amount - allocated_amount), 0) FROM fin_bill " +
+            "WHERE vendor_id = #{vendorId} AND status <> 'PAID' AND is_deleted = 0")
+    BigDecimal sumUnpaidAmount(@Param("vendorId") Long vendorId);
+
+    /**
+     * 累加账单已核销金额并更新状态（amount 为负数时表示撤销核销）
+     * @param billId 账单ID
+     * @param amount 本次核销金额
+     * @param status 核销后的账单状态
+     */
+    @Update("UPDATE fin_bill SET allocated_amount = allocated_amount + #{amount}, status = #{status}, update_time = NOW() " +
+            "WHERE bill_id = #{billId}")
+    int addAllocatedAmount(@Param("billId") Long billId, @Param("amount") BigDecimal amount, @Param("status") String status);
+
+    /**
+     * 撤销核销：扣减账单已核销金额，并在同一条语句中按剩余核销金额恢复状态
+     * 已无核销金额恢复为 OPEN，仍有核销金额为 PARTIAL；非核销状态（PAID/PARTIAL 以外）保持不变。
+     * status 先于 allocated_amount 赋值，两者都基于更新前的已核销金额计算
+     * @param billId 账单ID
+     * @param amount 撤销的核销金额（正数）
+     */
+    @Update("UPDATE fin_bill SET " +
+            "status = CASE WHEN status NOT IN ('PAID', 'PARTIAL') THEN status " +
+            "WHEN allocated_amount - #{amount} > 0 THEN 'PARTIAL' ELSE 'OPEN' END, " +
+            "allocated_amount = allocated_amount - #{amount}, update_time = NOW() " +
+            "WHERE bill_id = #{billId}")
+    int reverseAllocatedAmount(@Param("billId") Long billId, @Param("amount") BigDecimal amount);
+
+    /**
+     * 按供应商汇总已过账、未结清账单的账龄（一次分组查询）
+     * 账龄按到期日（无到期日时取单据日期）分段，overdueN 为统计日期前 N 天，到期日早于该日即逾期超过 N 天
+     * @param asOfDate 统计日期（只统计单据日期不晚于该日的账单）
+     */
+    List<AgingReportDTO.RowDTO> selectAgingByOwner(
+        @Param("asOfDate") LocalDate asOfDate,
+        @Param("overdue30") LocalDate overdue30,
+        @Param("overdue60") LocalDate overdue60,
+        @Param("overdue90") LocalDate overdue90,
+        @Param("overdue120") LocalDate overdue120
+    );
+
+    /**
+     * 查询供应商已过账、未结清的账单（账龄明细），按到期日排列
+     * @param ownerId 供应商ID（fin_owner.owner_id）
+     * @param asOfDate 统计日期
+     */
+    List<AgingItemDTO> selectAgingItems(@Param("ownerId") Long ownerId, @Param("asOfDate") LocalDate asOfDate);
 }
@@ -20,5 +20,14 @@ public interface BizReceiptPaymentMapper extends BaseMapper<BizReceiptPayment> {
      */
     @Select("SELECT * FROM biz_receipt_payment WHERE id = #{id}")
     BizReceiptPayment selectBizReceiptPaymentById(@Param("id") Long id);
-}
 
+    /**
+     * 查询以 keyPrefix 开头的收付款单编号中最大的数字序号（无则返回 0），用于初始化当天的编号序列
+     * 按数值而不是按字符串取最大值，序号超过补零宽度（如 999 之后的 1000）时仍然正确；
+     * 包含已逻辑删除的记录，它们的编号同样占用唯一索引
+     * @param keyPrefix 前缀 + 日期(yyyyMMdd)
+     */
+    @Select("SELECT COALESCE(MAX(CAST(SUBSTRING(code, CHAR_LENGTH(#{keyPrefix}) + 1) AS UNSIGNED)), 0) FROM biz_receipt_payment " +
+            "WHERE code LIKE CONCAT(#{keyPrefix}, '%') AND SUBSTRING(code, CHAR_LENGTH(#{keyPrefix}) + 1) REGEXP '^[0-9]+$'")
+    long selectMaxCodeSequence(@Param("keyPrefix") String keyPrefix);
+}
@@ -0,0 +1,128 @@
+package com.kylin.finance.mapper;
+
+import com.kylin.finance.dto.AccountBalanceSummary;
+import com.kylin.finance.dto.AccountPeriodAmount;
+import com.kylin.finance.dto.IncomeStatementAmount;
+import com.kylin.finance.entity.FinAccountDailyBalance;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.session.ResultHandler;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * 科目日余额快照表数据库访问层
+ * 负责 fin_account_daily_balance 表的增量维护、汇总查询与重建校验
+ */
+@Mapper
+public interface FinAccountDailyBalanceMapper {
+
+    /**
+     * 按 (科目, 日期) 累加发生额，不存在则插入
+     * 使用 INSERT ... ON DUPLICATE KEY UPDATE，保证并发写入时的原子性
+     *
+     * @param deltas 发生额增量列表（冲回时金额为负数）
+     * @return 影响行数
+     */
+    int upsertDeltas(@Param("deltas") List<FinAccountDailyBalance> deltas);
+
+    /**
+     * 批量查询科目余额（指定日期之前，包含该日期）
+     * 口径与 FinSplitMapper.selectBalanceByAccountIds 一致
+     *
+     * @param accountIds 科目ID列表（可为空，为空则查询所有科目）
+     * @param endDate 截止日期（包含该日期）
+     * @return 科目余额汇总列表
+     */
+    List<AccountBalanceSummary> selectBalanceByAccountIds(
+        @Param("accountIds") List<Long> accountIds,
+        @Param("endDate") LocalDate endDate
+    );
+
+    /**
+     * 批量查询科目期间发生额（指定日期范围内）
+     * 口径与 FinSplitMapper.selectPeriodAmountByAccountIds 一致
+     *
+     * @param accountIds 科目ID列表（可为空，为空则查询所有科目）
+     * @param startDate 开始日期（包含）
+     * @param endDate 结束日期（包含）
+     * @return 科目发生额汇总列表
+     */
+    List<AccountBalanceSummary> selectPeriodAmountByAccountIds(
+        @Param("accountIds") List<Long> accountIds,
+        @Param("startDate") LocalDate startDate,
+        @Param("endDate") LocalDate endDate
+    );
+
+    /**
+     * 按 (科目, 年, 月) 分组查询期间发生额（指定日期范围内）
+     * 多期间对比报表一次查询整个范围，季度、年度在内存中由月份合并
+     *
+     * @param accountIds 科目ID列表（可为空，为空则查询所有科目）
+     * @param startDate 开始日期（包含）
+     * @param endDate 结束日期（包含）
+     * @return 科目各月发生额汇总列表
+     */
+    List<AccountPeriodAmount> selectMonthlyAmountByAccountIds(
+        @Param("accountIds") List<Long> accountIds,
+        @Param("startDate") LocalDate startDate,
+        @Param("endDate") LocalDate endDate
+    );
+
+    /**
+     * 一次查询科目的本期发生额与本年累计发生额（利润表）
+     * 扫描范围为 [min(本年初, 本期开始), 本期结束]，按日期条件分别汇总两组金额
+     *
+     * @param accountIds 科目ID列表（可为空，为空则查询所有科目）
+     * @param yearStart 本年累计开始日期（包含）
+     * @param startDate 本期开始日期（包含）
+     * @param endDate 截止日期（包含）
+     * @return 科目本期、本年累计发生额列表
+     */
+    List<IncomeStatementAmount> selectPeriodAndYearAmountByAccountIds(
+        @Param("accountIds") List<Long> accountIds,
+        @Param("yearStart") LocalDate yearStart,
+        @Param("startDate") LocalDate startDate,
+        @Param("endDate") LocalDate endDate
+    );
+
+    /**
+     * 查询单个科目的全部日余额快照（用于构建内存累计余额索引）
+     *
+     * @param accountId 科目ID
+     * @return 该科目各日的借贷发生额
+     */
+    List<FinAccountDailyBalance> selectByAccountId(@Param("accountId") Long accountId);
+
+    /**
+     * 快照记录数
+     */
+    long countAll();
+
+    /**
+     * 清空快照
+     */
+    int deleteAll();
+
+    /**
+     * 从 fin_split 全量重建快照
+     *
+     * @return 插入行数
+     */
+    int rebuildFromSplits();
+
+    /**
+     * 校验快照与分录是否一致
+     * 返回不一致的 (科目, 日期) 及差额（快照 - 分录），一致时返回空列表
+     */
+    List<FinAccountDailyBalance> selectDiscrepancies();
+
+    /**
+     * 流式查询全部 (科目, 日期) 的借贷发生额，逐行回调 handler
+     * 用于从本地快照恢复列式分录存储后逐科目、逐日核对
+     *
+     * @param handler 逐行结果处理器
+     */
+    void streamDailyAmounts(ResultHandler<FinAccountDailyBalance> handler);
+}
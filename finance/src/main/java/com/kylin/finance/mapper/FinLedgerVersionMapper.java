@@ -0,0 +1,39 @@
+package com.kylin.finance.mapper;
+
+import org.apache.ibatis.annotations.Insert;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Select;
+import org.apache.ibatis.annotations.Update;
+
+/**
+ * 账簿版本号表 Mapper 接口
+ */
+@Mapper
+public interface FinLedgerVersionMapper {
+
+    /**
+     * 读取当前账簿版本号
+     *
+     * @return 版本号，尚未初始化时返回 null
+     */
+    @Select("SELECT version FROM fin_ledger_version WHERE id = 1")
+    Long selectVersion();
+
+    /**
+     * 递增账簿版本号
+     *
+     * @return 影响行数，0 表示尚未初始化
+     */
+    @Update("UPDATE fin_ledger_version SET version = version + 1 WHERE id = 1")
+    int increment();
+
+    /**
+     * 初始化账簿版本号，已存在时忽略（并发初始化安全）
+     *
+     * @param version 初始版本号
+     * @return 影响行数
+     */
+    @Insert("INSERT IGNORE INTO fin_ledger_version (id, version) VALUES (1, #{version})")
+    int insertIfAbsent(@Param("version") long version);
+}
@@ -0,0 +1,35 @@
+package com.kylin.finance.mapper;
+
+import com.kylin.finance.dto.AccountBalanceSummary;
+import com.kylin.finance.entity.FinPeriodCloseBalance;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import java.util.List;
+
+/**
+ * 结账科目余额表数据库访问层
+ */
+@Mapper
+public interface FinPeriodCloseBalanceMapper {
+
+    /**
+     * 批量写入结账科目余额
+     *
+     * @param balances 结账科目余额列表
+     * @return 影响行数
+     */
+    int insertBatch(@Param("balances") List<FinPeriodCloseBalance> balances);
+
+    /**
+     * 查询某次结账冻结的科目累计借贷发生额
+     *
+     * @param closeId 结账ID
+     * @param accountIds 科目ID列表（可为空，为空则查询所有科目）
+     * @return 科目余额汇总列表（未冻结的科目视为零，不返回）
+     */
+    List<AccountBalanceSummary> selectSummaryByCloseId(
+        @Param("closeId") Long closeId,
+        @Param("accountIds") List<Long> accountIds
+    );
+}
@@ -0,0 +1,8 @@
+package com.kylin.finance.mapper;
+
+import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import com.kylin.finance.entity.FinPeriodClose;
+import org.apache.ibatis.annotations.Mapper;
+
+@Mapper
+public interface FinPeriodCloseMapper extends BaseMapper<FinPeriodClose> {}
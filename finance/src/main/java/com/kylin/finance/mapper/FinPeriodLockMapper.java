@@ -0,0 +1,36 @@
+package com.kylin.finance.mapper;
+
+import org.apache.ibatis.annotations.Insert;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Select;
+
+/**
+ * 结账锁表 Mapper 接口
+ */
+@Mapper
+public interface FinPeriodLockMapper {
+
+    /**
+     * 独占锁定结账锁行（结账、反结账），持有到事务结束
+     *
+     * @return 锁行ID，尚未初始化时返回 null
+     */
+    @Select("SELECT id FROM fin_period_lock WHERE id = 1 FOR UPDATE")
+    Integer lockExclusive();
+
+    /**
+     * 共享锁定结账锁行（凭证写入），持有到事务结束
+     *
+     * @return 锁行ID，尚未初始化时返回 null
+     */
+    @Select("SELECT id FROM fin_period_lock WHERE id = 1 LOCK IN SHARE MODE")
+    Integer lockShared();
+
+    /**
+     * 初始化结账锁行，已存在时忽略（并发初始化安全）
+     *
+     * @return 影响行数
+     */
+    @Insert("INSERT IGNORE INTO fin_period_lock (id) VALUES (1)")
+    int insertIfAbsent();
+}
@@ -2,9 +2,15 @@ package com.kylin.finance.mapper;
 
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
 import com.kylin.finance.dto.AccountBalanceSummary;
+import com.kylin.finance.dto.AccountLedgerLineDTO;
+import com.kylin.finance.dto.CashFlowTransactionSummary;
+import com.kylin.finance.dto.GeneralLedgerExportRow;
+import com.kylin.finance.dto.LedgerSplitRow;
+import com.kylin.finance.dto.OwnerLedgerBalance;
 import com.kylin.finance.entity.FinSplit;
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.session.ResultHandler;
 
 import java.time.LocalDate;
 import java.util.List;
@@ -42,4 +48,75 @@ public interface FinSplitMapper extends BaseMapper<FinSplit> {
         @Param("startDate") LocalDate startDate,
         @Param("endDate") LocalDate endDate
     );
-}
\ No newline at end of file
+    
+    /**
+     * 批量查询期间内涉及现金科目的已审核凭证
+     * 一次性按凭证聚合现金科目净额，避免逐张凭证查询分录
+     * 
+     * @param cashAccountIds 现金科目ID列表（不能为空）
+     * @param startDate 开始日期（包含）
+     * @param endDate 结束日期（包含）
+     * @return 按凭证ID排序的现金流量交易汇总列表
+     */
+    List<CashFlowTransactionSummary> selectCashFlowTransactions(
+        @Param("cashAccountIds") List<Long> cashAccountIds,
+        @Param("startDate") LocalDate startDate,
+        @Param("endDate") LocalDate endDate
+    );
+    
+    /**
+     * 流式查询总账明细（凭证分录），逐行回调 handler，不在内存中汇集结果
+     * 使用 MySQL 流式结果集（fetchSize = Integer.MIN_VALUE），适用于全年分录导出
+     * 
+     * @param startDate 开始日期（包含）
+     * @param endDate 结束日期（包含）
+     * @param accountId 科目ID（可为空，为空则导出所有科目）
+     * @param status 凭证状态（可为空，为空则导出所有状态）
+     * @param handler 逐行结果处理器
+     */
+    void streamGeneralLedger(
+        @Param("startDate") LocalDate startDate,
+        @Param("endDate") LocalDate endDate,
+        @Param("accountId") Long accountId,
+        @Param("status") Integer status,
+        ResultHandler<GeneralLedgerExportRow> handler
+    );
+
+    /**
+     * 流式查询科目明细账：单个科目在日期范围内的已审核分录（含凭证号、摘要、对方科目），逐行回调 handler
+     * 按日期、凭证号、分录顺序输出，余额由调用方逐笔累计
+     *
+     * @param accountId 科目ID
+     * @param startDate 开始日期（包含）
+     * @param endDate 结束日期（包含）
+     * @param handler 逐行结果处理器
+     */
+    void streamAccountLedger(
+        @Param("accountId") Long accountId,
+        @Param("startDate") LocalDate startDate,
+        @Param("endDate") LocalDate endDate,
+        ResultHandler<AccountLedgerLineDTO> handler
+    );
+
+    /**
+     * 按往来单位汇总已审核分录的借贷发生额（往来明细账），一次分组查询
+     *
+     * @param ownerType 往来类型：CUSTOMER, VENDOR, EMPLOYEE
+     * @param ownerId 往来单位ID（可为空，为空则汇总该类型全部往来单位）
+     * @param asOfDate 截止日期（包含）
+     */
+    List<OwnerLedgerBalance> selectOwnerLedgerBalances(
+        @Param("ownerType") String ownerType,
+        @Param("ownerId") Long ownerId,
+        @Param("asOfDate") LocalDate asOfDate
+    );
+
+    /**
+     * 流式查询已审核凭证的未删除分录（口径与科目日余额快照一致），逐行回调 handler
+     * 用于启动时加载列式分录存储；从本地快照恢复时只查询快照高水位之后的分录
+     *
+     * @param afterSplitId 只查询分录ID大于该值的分录（可为空，为空则查询全部）
+     * @param handler 逐行结果处理器
+     */
+    void streamAuditedSplits(@Param("afterSplitId") Long afterSplitId, ResultHandler<LedgerSplitRow> handler);
+}
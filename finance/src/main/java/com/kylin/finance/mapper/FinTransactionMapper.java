@@ -2,6 +2,19 @@ package com.kylin.finance.mapper;
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
 import com.kylin.finance.entity.FinTransaction;
 import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Select;
 
 @Mapper
-public interface FinTransactionMapper extends BaseMapper<FinTransaction> {}
+public interface FinTransactionMapper extends BaseMapper<FinTransaction> {
+
+    /**
+     * 查询以 keyPrefix 开头的凭证编号中最大的数字序号（无则返回 0），用于初始化当天的编号序列
+     * 按数值而不是按字符串取最大值，序号超过补零宽度（如 999 之后的 1000）时仍然正确；
+     * 包含已逻辑删除的记录，它们的编号同样占用唯一索引
+     * @param keyPrefix 前缀 + 日期(yyyyMMdd)
+     */
+    @Select("SELECT COALESCE(MAX(CAST(SUBSTRING(voucher_no, CHAR_LENGTH(#{keyPrefix}) + 1) AS UNSIGNED)), 0) FROM fin_transaction " +
+            "WHERE voucher_no LIKE CONCAT(#{keyPrefix}, '%') AND SUBSTRING(voucher_no, CHAR_LENGTH(#{keyPrefix}) + 1) REGEXP '^[0-9]+$'")
+    long selectMaxVoucherSequence(@Param("keyPrefix") String keyPrefix);
+}
@@ -0,0 +1,124 @@
+package com.kylin.finance.seeder;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * 凭证测试数据生成工具
+ * VoucherDataSeeder 与基准测试数据生成器共用：三种业务场景（收入、费用、工资）涉及的科目代码和摘要，
+ * 以及凭证号、随机日期、随机金额的生成。传入固定种子的 Random 时生成的数据可重复。
+ *
+ * 本类不是线程安全的，不依赖 Spring 和数据库。
+ */
+public class VoucherDataGenerator {
+
+    // 科目代码常量
+    public static final String ACCOUNT_CODE_BANK = "1002"; // 银行存款
+    public static final String ACCOUNT_CODE_REVENUE = "6001"; // 主营业务收入
+    public static final String ACCOUNT_CODE_ADMIN_EXPENSE = "6602"; // 管理费用
+    public static final String ACCOUNT_CODE_SALARY_EXPENSE = "6601"; // 销售费用（用于工资）
+    public static final String ACCOUNT_CODE_SALARY_PAYABLE = "2211"; // 应付职工薪酬
+
+    // 场景描述
+    private static final String[] REVENUE_DESCRIPTIONS = {
+        "收到客户货款",
+        "收到销售回款",
+        "收到项目款",
+        "收到服务费",
+        "收到预收款"
+    };
+
+    private static final String[] EXPENSE_DESCRIPTIONS = {
+        "支付办公用品费",
+        "支付水电费",
+        "支付差旅费",
+        "支付通讯费",
+        "支付租赁费",
+        "支付维修费",
+        "支付咨询费"
+    };
+
+    private static final String[] SALARY_DESCRIPTIONS = {
+        "计提员工工资",
+        "计提管理人员工资",
+        "计提销售人员工资",
+        "计提技术人员工资"
+    };
+
+    private final Random random;
+
+    // 用于跟踪每天生成的凭证序号
+    private final Map<String, Integer> dailySequenceMap = new HashMap<>();
+
+    /**
+     * @param random 随机数生成器（传入固定种子以生成可重复的数据）
+     */
+    public VoucherDataGenerator(Random random) {
+        this.random = random;
+    }
+
+    /**
+     * 随机选取一条收入场景摘要
+     */
+    public String revenueDescription() {
+        return REVENUE_DESCRIPTIONS[random.nextInt(REVENUE_DESCRIPTIONS.length)];
+    }
+
+    /**
+     * 随机选取一条费用场景摘要
+     */
+    public String expenseDescription() {
+        return EXPENSE_DESCRIPTIONS[random.nextInt(EXPENSE_DESCRIPTIONS.length)];
+    }
+
+    /**
+     * 随机选取一条工资场景摘要
+     */
+    public String salaryDescription() {
+        return SALARY_DESCRIPTIONS[random.nextInt(SALARY_DESCRIPTIONS.length)];
+    }
+
+    /**
+     * 生成凭证号
+     * 格式：V + yyyyMMdd + 3位序号（同一天自动递增）
+     */
+    public String nextVoucherNo(LocalDate date) {
+        String dateStr = date.format(DateTimeFormatter.ofPattern("yyyyMMdd"));
+        
+        // 获取当天已生成的序号
+        int sequence = dailySequenceMap.getOrDefault(dateStr, 0) + 1;
+        dailySequenceMap.put(dateStr, sequence);
+        
+        return String.format("V%s%03d", dateStr, sequence);
+    }
+
+    /**
+     * 生成随机日期（包含起止日期）
+     */
+    public LocalDate randomDate(LocalDate startDate, LocalDate endDate) {
+        long startEpochDay = startDate.toEpochDay();
+        long endEpochDay = endDate.toEpochDay();
+        long randomEpochDay = startEpochDay + random.nextInt((int) (endEpochDay - startEpochDay + 1));
+        return LocalDate.ofEpochDay(randomEpochDay);
+    }
+
+    /**
+     * 生成随机金额（指定范围）
+     */
+    public BigDecimal randomAmount(int min, int max) {
+        int amount = min + random.nextInt(max - min + 1);
+        return BigDecimal.valueOf(amount).setScale(2, RoundingMode.HALF_UP);
+    }
+
+    /**
+     * 随机整数 [0, bound)
+     */
+    public int nextInt(int bound) {
+        return random.nextInt(bound);
+    }
+}
@@ -14,14 +14,10 @@ import org.springframework.boot.CommandLineRunner;
 import org.springframework.stereotype.Component;
 
 import java.math.BigDecimal;
-import java.math.RoundingMode;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 import java.util.Random;
 
 /**
@@ -49,43 +45,7 @@ public class VoucherDataSeeder implements CommandLineRunner {
     @Autowired
     private IFinTransactionService transactionService;
 
-    private final Random random = new Random();
-    
-    // 用于跟踪每天生成的凭证序号
-    private final Map<String, Integer> dailySequenceMap = new HashMap<>();
-
-    // 科目代码常量
-    private static final String ACCOUNT_CODE_BANK = "1002"; // 银行存款
-    private static final String ACCOUNT_CODE_REVENUE = "6001"; // 主营业务收入
-    private static final String ACCOUNT_CODE_ADMIN_EXPENSE = "6602"; // 管理费用
-    private static final String ACCOUNT_CODE_SALARY_EXPENSE = "6601"; // 销售费用（用于工资）
-    private static final String ACCOUNT_CODE_SALARY_PAYABLE = "2211"; // 应付职工薪酬
-
-    // 场景描述
-    private static final String[] REVENUE_DESCRIPTIONS = {
-        "收到客户货款",
-        "收到销售回款",
-        "收到项目款",
-        "收到服务费",
-        "收到预收款"
-    };
-
-    private static final String[] EXPENSE_DESCRIPTIONS = {
-        "支付办公用品费",
-        "支付水电费",
-        "支付差旅费",
-        "支付通讯费",
-        "支付租赁费",
-        "支付维修费",
-        "支付咨询费"
-    };
-
-    private static final String[] SALARY_DESCRIPTIONS = {
-        "计提员工工资",
-        "计提管理人员工资",
-        "计提销售人员工资",
-        "计提技术人员工资"
-    };
+    private final VoucherDataGenerator generator = new VoucherDataGenerator(new Random());
 
     @Override
     public void run(String... args) {
@@ -100,11 +60,11 @@ public class VoucherDataSeeder implements CommandLineRunner {
 
         try {
             // 获取科目ID
-            Long bankAccountId = getAccountIdByCode(ACCOUNT_CODE_BANK);
-            Long revenueAccountId = getAccountIdByCode(ACCOUNT_CODE_REVENUE);
-            Long adminExpenseAccountId = getAccountIdByCode(ACCOUNT_CODE_ADMIN_EXPENSE);
-            Long salaryExpenseAccountId = getAccountIdByCode(ACCOUNT_CODE_SALARY_EXPENSE);
-            Long salaryPayableAccountId = getAccountIdByCode(ACCOUNT_CODE_SALARY_PAYABLE);
+            Long bankAccountId = getAccountIdByCode(VoucherDataGenerator.ACCOUNT_CODE_BANK);
+            Long revenueAccountId = getAccountIdByCode(VoucherDataGenerator.ACCOUNT_CODE_REVENUE);
+            Long adminExpenseAccountId = getAccountIdByCode(VoucherDataGenerator.ACCOUNT_CODE_ADMIN_EXPENSE);
+            Long salaryExpenseAccountId = getAccountIdByCode(VoucherDataGenerator.ACCOUNT_CODE_SALARY_EXPENSE);
+            Long salaryPayableAccountId = getAccountIdByCode(VoucherDataGenerator.ACCOUNT_CODE_SALARY_PAYABLE);
 
             // 验证科目是否存在
             if (bankAccountId == null || revenueAccountId == null || adminExpenseAccountId == null 
@@ -127,27 +87,27 @@ public class VoucherDataSeeder implements CommandLineRunner {
 
             // 生成收入凭证
             for (int i = 0; i < revenueCount; i++) {
-                LocalDate transDate = generateRandomDate(startDate, endDate);
-                BigDecimal amount = generateRandomAmount(5000, 50000);
-                String description = REVENUE_DESCRIPTIONS[random.nextInt(REVENUE_DESCRIPTIONS.length)];
+                LocalDate transDate = generator.randomDate(startDate, endDate);
+                BigDecimal amount = generator.randomAmount(5000, 50000);
+                String description = generator.revenueDescription();
                 
                 createRevenueVoucher(voucherIndex++, transDate, bankAccountId, revenueAccountId, amount, description);
             }
 
             // 生成费用凭证
             for (int i = 0; i < expenseCount; i++) {
-                LocalDate transDate = generateRandomDate(startDate, endDate);
-                BigDecimal amount = generateRandomAmount(100, 2000);
-                String description = EXPENSE_DESCRIPTIONS[random.nextInt(EXPENSE_DESCRIPTIONS.length)];
+                LocalDate transDate = generator.randomDate(startDate, endDate);
+                BigDecimal amount = generator.randomAmount(100, 2000);
+                String description = generator.expenseDescription();
                 
                 createExpenseVoucher(voucherIndex++, transDate, adminExpenseAccountId, bankAccountId, amount, description);
             }
 
             // 生成工资凭证
             for (int i = 0; i < salaryCount; i++) {
-                LocalDate transDate = generateRandomDate(startDate, endDate);
-                BigDecimal amount = generateRandomAmount(10000, 50000);
-                String description = SALARY_DESCRIPTIONS[random.nextInt(SALARY_DESCRIPTIONS.length)];
+                LocalDate transDate = generator.randomDate(startDate, endDate);
+                BigDecimal amount = generator.randomAmount(10000, 50000);
+                String description = generator.salaryDescription();
                 
                 createSalaryVoucher(voucherIndex++, transDate, salaryExpenseAccountId, salaryPayableAccountId, amount, description);
             }
@@ -166,7 +126,7 @@ public class VoucherDataSeeder implements CommandLineRunner {
     private void createRevenueVoucher(int index, LocalDate transDate, Long bankAccountId, 
                                      Long revenueAccountId, BigDecimal amount, String description) {
         FinTransaction transaction = new FinTransaction();
-        transaction.setVoucherNo(generateVoucherNo(transDate, index));
+        transaction.setVoucherNo(generator.nextVoucherNo(transDate));
         transaction.setTransDate(transDate);
         transaction.setEnterDate(LocalDateTime.now());
         transaction.setDescription(description);
@@ -205,7 +165,7 @@ public class VoucherDataSeeder implements CommandLineRunner {
     private void createExpenseVoucher(int index, LocalDate transDate, Long expenseAccountId,
                                      Long bankAccountId, BigDecimal amount, String description) {
         FinTransaction transaction = new FinTransaction();
-        transaction.setVoucherNo(generateVoucherNo(transDate, index));
+        transaction.setVoucherNo(generator.nextVoucherNo(transDate));
         transaction.setTransDate(transDate);
         transaction.setEnterDate(LocalDateTime.now());
         transaction.setDescription(description);
@@ -243,7 +203,7 @@ public class VoucherDataSeeder implements CommandLineRunner {
     private void createSalaryVoucher(int index, LocalDate transDate, Long salaryExpenseAccountId,
                                     Long salaryPayableAccountId, BigDecimal amount, String description) {
         FinTransaction transaction = new FinTransaction();
-        transaction.setVoucherNo(generateVoucherNo(transDate, index));
+        transaction.setVoucherNo(generator.nextVoucherNo(transDate));
         transaction.setTransDate(transDate);
         transaction.setEnterDate(LocalDateTime.now());
         transaction.setDescription(description);
@@ -284,37 +244,4 @@ public class VoucherDataSeeder implements CommandLineRunner {
         FinAccount account = accountMapper.selectOne(wrapper);
         return account != null ? account.getAccountId() : null;
     }
-
-    /**
-     * 生成凭证号
-     * 格式：V + yyyyMMdd + 3位序号（同一天自动递增）
-     */
-    private String generateVoucherNo(LocalDate date, int baseSequence) {
-        String dateStr = date.format(DateTimeFormatter.ofPattern("yyyyMMdd"));
-        
-        // 获取当天已生成的序号
-        int sequence = dailySequenceMap.getOrDefault(dateStr, 0) + 1;
-        dailySequenceMap.put(dateStr, sequence);
-        
-        return String.format("V%s%03d", dateStr, sequence);
-    }
-
-    /**
-     * 生成随机日期（在过去90天内）
-     */
-    private LocalDate generateRandomDate(LocalDate startDate, LocalDate endDate) {
-        long startEpochDay = startDate.toEpochDay();
-        long endEpochDay = endDate.toEpochDay();
-        long randomEpochDay = startEpochDay + random.nextInt((int) (endEpochDay - startEpochDay + 1));
-        return LocalDate.ofEpochDay(randomEpochDay);
-    }
-
-    /**
-     * 生成随机金额（指定范围）
-     */
-    private BigDecimal generateRandomAmount(int min, int max) {
-        int amount = min + random.nextInt(max - min + 1);
-        return BigDecimal.valueOf(amount).setScale(2, RoundingMode.HALF_UP);
-    }
 }
-
@@ -0,0 +1,103 @@
+package com.kylin.finance.sequence;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+import java.util.function.Predicate;
+
+/**
+ * 号段式序号分配器
+ *
+ * 每个序列键持有一个号段 [start, end)，分配时对号段游标做一次 getAndIncrement，无锁；
+ * 号段用完时才加锁（仅锁该序列键），通过 BlockLeaser 原子地租用下一个号段。
+ * 只要 BlockLeaser 租出的号段互不重叠，分配出的序号就不会重复；未用完的号段作废会产生空号。
+ *
+ * 本类不依赖 Spring 和数据库，便于基准测试时替换 BlockLeaser。
+ */
+public class SequenceAllocator {
+
+    /**
+     * 号段租用接口
+     */
+    @FunctionalInterface
+    public interface BlockLeaser {
+
+        /**
+         * 原子地租用一个号段
+         *
+         * @param key 序列键
+         * @param blockSize 号段大小
+         * @param initialValue 序列键不存在时的起始序号
+         * @return 号段起点，本次租得 [起点, 起点 + blockSize)
+         */
+        long lease(String key, int blockSize, LongSupplier initialValue);
+    }
+
+    /**
+     * 号段，游标越过 end 即视为用完
+     */
+    private static final class Block {
+        private final long end;
+        private final AtomicLong cursor;
+
+        private Block(long start, long end) {
+            this.end = end;
+            this.cursor = new AtomicLong(start);
+        }
+    }
+
+    /**
+     * 序列键状态，同时作为租用号段时的锁对象
+     */
+    private static final class KeyState {
+        private volatile Block current = new Block(0, 0);
+    }
+
+    private final BlockLeaser leaser;
+    private final int blockSize;
+    private final Map<String, KeyState> states = new ConcurrentHashMap<>();
+
+    public SequenceAllocator(BlockLeaser leaser, int blockSize) {
+        if (blockSize < 1) {
+            throw new IllegalArgumentException("blockSize must be >= 1");
+        }
+        this.leaser = leaser;
+        this.blockSize = blockSize;
+    }
+
+    /**
+     * 分配下一个序号
+     *
+     * @param key 序列键
+     * @param initialValue 序列键首次使用时的起始序号（仅在租用号段且序列不存在时调用）
+     */
+    public long next(String key, LongSupplier initialValue) {
+        KeyState state = states.computeIfAbsent(key, k -> new KeyState());
+        while (true) {
+            Block block = state.current;
+            long value = block.cursor.getAndIncrement();
+            if (value < block.end) {
+                return value;
+            }
+            synchronized (state) {
+                // 其他线程已换上新号段时直接重试
+                if (state.current == block) {
+                    long start = leaser.lease(key, blockSize, initialValue);
+                    state.current = new Block(start, start + blockSize);
+                }
+            }
+        }
+    }
+
+    /**
+     * 移除满足条件的序列键（如已过期的日期键），其未用完的号段作废
+     */
+    public void evict(Predicate<String> keyFilter) {
+        states.keySet().removeIf(keyFilter);
+    }
+
+    public int getBlockSize() {
+        return blockSize;
+    }
+}
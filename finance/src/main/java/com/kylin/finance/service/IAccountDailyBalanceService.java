@@ -0,0 +1,40 @@
+package com.kylin.finance.service;
+
+import com.kylin.finance.entity.FinAccountDailyBalance;
+import com.kylin.finance.entity.FinSplit;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * 科目日余额快照服务接口
+ * 在凭证审核、过账、撤销等操作的同一事务内增量维护 fin_account_daily_balance
+ */
+public interface IAccountDailyBalanceService {
+
+    /**
+     * 已审核凭证入账：将分录发生额累加到快照
+     * @param transDate 凭证交易日期
+     * @param splits 凭证分录
+     */
+    void recordSplits(LocalDate transDate, List<FinSplit> splits);
+
+    /**
+     * 已审核凭证冲回：从快照中扣减分录发生额（用于撤销过账等删除已审核凭证的场景）
+     * @param transDate 凭证交易日期
+     * @param splits 凭证分录
+     */
+    void reverseSplits(LocalDate transDate, List<FinSplit> splits);
+
+    /**
+     * 从 fin_split 全量重建快照
+     * @return 重建后的快照记录数
+     */
+    int rebuild();
+
+    /**
+     * 校验快照与分录是否一致
+     * @return 不一致的 (科目, 日期) 及差额（快照 - 分录），一致时返回空列表
+     */
+    List<FinAccountDailyBalance> verify();
+}
@@ -0,0 +1,35 @@
+package com.kylin.finance.service;
+
+import com.kylin.finance.dto.AccountBalanceSummary;
+import com.kylin.finance.entity.FinAccountDailyBalance;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * 科目累计余额索引服务接口
+ * 在内存中按科目维护逐日累计发生额（以 fin_account_daily_balance 为数据源），
+ * 查询科目截至某日的累计借贷发生额无需访问数据库；快照变更在事务提交后同步到索引
+ */
+public interface IAccountRunningBalanceService {
+
+    /**
+     * 查询科目截至指定日期（含）的累计借贷发生额
+     * 口径与 IAccountingService.calculateAccountBalance 一致：已审核凭证的未删除分录
+     * @param accountId 科目ID
+     * @param date 截止日期
+     * @return 累计借贷发生额，无发生额时借贷均为 0
+     */
+    AccountBalanceSummary getCumulativeAmount(Long accountId, LocalDate date);
+
+    /**
+     * 登记日余额快照增量，当前事务提交后应用到索引（无事务时立即应用）
+     * @param deltas 日余额增量（冲回时金额为负数）
+     */
+    void applyAfterCommit(List<FinAccountDailyBalance> deltas);
+
+    /**
+     * 快照整体重建后使全部科目的索引失效，当前事务提交后生效（无事务时立即生效）
+     */
+    void invalidateAllAfterCommit();
+}
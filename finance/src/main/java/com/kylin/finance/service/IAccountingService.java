@@ -1,8 +1,11 @@
 package com.kylin.finance.service;
 
 import com.kylin.finance.dto.AccountBalanceDTO;
+import com.kylin.finance.dto.ComparativeReportDTO;
 import com.kylin.finance.dto.TrialBalanceDTO;
 
+import java.io.OutputStream;
+import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.List;
 
@@ -16,11 +19,27 @@ public interface IAccountingService {
      */
     AccountBalanceDTO calculateAccountBalance(Long accountId, LocalDate date);
     
+    /**
+     * 以 NDJSON 流式输出科目明细账（每行一个 AccountLedgerLineDTO）
+     * 期初余额由汇总一次算出，分录逐行读取并累计余额后写出，不在内存中汇集全部分录
+     * @param accountId 科目ID
+     * @param startDate 开始日期
+     * @param endDate 结束日期
+     * @param out 输出流（不关闭）
+     * @return 输出的分录行数
+     */
+    long streamAccountLedger(Long accountId, LocalDate startDate, LocalDate endDate, OutputStream out);
+    
     /**
      * 计算所有科目余额（指定日期）
      */
     List<AccountBalanceDTO> calculateAllAccountBalances(LocalDate date);
     
+    /**
+     * 批量计算指定科目余额（指定日期）
+     */
+    List<AccountBalanceDTO> calculateAccountBalances(List<Long> accountIds, LocalDate date);
+    
     /**
      * 生成试算平衡表
      * @param startDate 开始日期
@@ -28,8 +47,23 @@ public interface IAccountingService {
      */
     List<TrialBalanceDTO> generateTrialBalance(LocalDate startDate, LocalDate endDate);
     
+    /**
+     * 生成多期间对比试算平衡表（每个期间一列）
+     * 整个范围只做一次按 (科目, 月) 分组的汇总查询，在内存中逐期间累加出各期末余额
+     * @param startDate 开始日期
+     * @param endDate 结束日期
+     * @param periodType 期间类型：MONTH(月), QUARTER(季), YEAR(年)
+     */
+    ComparativeReportDTO generateComparativeTrialBalance(LocalDate startDate, LocalDate endDate, String periodType);
+    
     /**
      * 验证试算平衡（借贷是否相等）
      */
     boolean verifyTrialBalance(LocalDate date);
+    
+    /**
+     * 计算截至指定日期的累计净利润（收入 - 费用）
+     * 已结账期间取结账时冻结的累计净利润，只计算结账日之后的损益
+     */
+    BigDecimal calculateNetProfit(LocalDate date);
 }
@@ -2,6 +2,7 @@ package com.kylin.finance.service;
 
 import com.baomidou.mybatisplus.core.metadata.IPage;
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
+import com.kylin.finance.dto.CursorPage;
 import com.kylin.finance.entity.FinTransaction;
 import com.kylin.finance.entity.biz.BizExpenseClaim;
 import com.kylin.finance.entity.biz.BizExpenseClaimDetail;
@@ -33,6 +34,21 @@ public interface IBizExpenseClaimService {
      */
     IPage<BizExpenseClaim> getClaimList(Page<BizExpenseClaim> page, String claimNo, String startDate, String endDate, String status);
 
+    /**
+     * 游标分页查询报销单列表（按报销日期、报销单号倒序），翻页代价与页码无关
+     * 
+     * @param claimNo 报销单号（可选）
+     * @param startDate 开始日期（可选）
+     * @param endDate 结束日期（可选）
+     * @param status 状态（可选）
+     * @param cursor 上一页返回的游标，首页为空
+     * @param pageSize 每页大小
+     * @param includeTotal 是否返回总记录数
+     * @return 游标分页结果
+     */
+    CursorPage<BizExpenseClaim> getClaimListByCursor(String claimNo, String startDate, String endDate, String status,
+                                                     String cursor, Integer pageSize, Boolean includeTotal);
+
     /**
      * 根据报销单ID查询明细列表
      * 
@@ -0,0 +1,70 @@
+package com.kylin.finance.service;
+
+import com.kylin.finance.dto.AccountBalanceSummary;
+import com.kylin.finance.dto.AccountPeriodAmount;
+import com.kylin.finance.dto.IncomeStatementAmount;
+import com.kylin.finance.entity.FinSplit;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * 列式分录存储服务接口
+ * 可选的进程内分析存储（kylin.ledger.columnar.enabled），启动时从已审核分录加载，凭证入账/冲回在事务提交后追加；
+ * 汇总方法与 FinAccountDailyBalanceMapper 的同名查询口径、返回结构一致，isReady() 为 false 时调用方应回退到 SQL
+ */
+public interface IColumnarLedgerService {
+
+    /**
+     * 存储已启用且加载完成、没有处于提交窗口的凭证，可以代替 SQL 汇总
+     */
+    boolean isReady();
+
+    /**
+     * 批量查询科目余额（指定日期之前，包含该日期）
+     * @param accountIds 科目ID列表（可为空，为空则查询所有科目）
+     */
+    List<AccountBalanceSummary> selectBalanceByAccountIds(List<Long> accountIds, LocalDate endDate);
+
+    /**
+     * 批量查询科目期间发生额（指定日期范围内）
+     * @param accountIds 科目ID列表（可为空，为空则查询所有科目）
+     */
+    List<AccountBalanceSummary> selectPeriodAmountByAccountIds(List<Long> accountIds, LocalDate startDate, LocalDate endDate);
+
+    /**
+     * 按 (科目, 年, 月) 汇总期间发生额（指定日期范围内）
+     * @param accountIds 科目ID列表（可为空，为空则查询所有科目）
+     */
+    List<AccountPeriodAmount> selectMonthlyAmountByAccountIds(List<Long> accountIds, LocalDate startDate, LocalDate endDate);
+
+    /**
+     * 一次扫描汇总科目的本期发生额与本年累计发生额
+     * @param accountIds 科目ID列表（可为空，为空则查询所有科目）
+     */
+    List<IncomeStatementAmount> selectPeriodAndYearAmountByAccountIds(List<Long> accountIds, LocalDate yearStart,
+                                                                      LocalDate startDate, LocalDate endDate);
+
+    /**
+     * 登记已审核凭证的分录，当前事务提交后追加到存储（无事务时立即追加）
+     * @param transDate 凭证日期
+     * @param splits 分录
+     * @param reverse 是否冲回（撤销审核、删除已审核凭证）
+     */
+    void applyAfterCommit(LocalDate transDate, List<FinSplit> splits, boolean reverse);
+
+    /**
+     * 在后台重新加载（存储未启用时忽略）；加载完成前仍使用原有数据或回退到 SQL
+     */
+    void reloadAsync();
+
+    /**
+     * 当前事务结束后在后台重新加载（无事务时立即开始）
+     */
+    void reloadAfterCommit();
+
+    /**
+     * 把当前存储写入本地快照文件（未启用、未配置快照路径或未加载完成时忽略）
+     */
+    void writeSnapshot();
+}
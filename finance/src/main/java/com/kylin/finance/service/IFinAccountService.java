@@ -41,6 +41,11 @@ public interface IFinAccountService extends IService<FinAccount> {
      */
     boolean isLeafAccount(Long accountId);
     
+    /**
+     * 从科目表快照中按ID获取科目（不查询数据库），科目不存在时返回 null
+     */
+    FinAccount getCachedAccount(Long accountId);
+    
     /**
      * 获取所有末级科目列表（用于凭证录入）
      */
@@ -50,4 +55,9 @@ public interface IFinAccountService extends IService<FinAccount> {
      * 获取科目的层级路径
      */
     String getAccountPath(Long accountId);
+    
+    /**
+     * 重新加载科目表快照（直接修改 fin_account 表后调用）
+     */
+    void refreshAccountCache();
 }
@@ -3,6 +3,8 @@ package com.kylin.finance.service;
 import com.baomidou.mybatisplus.core.metadata.IPage;
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import com.baomidou.mybatisplus.extension.service.IService;
+import com.kylin.finance.dto.CursorPage;
+import com.kylin.finance.dto.VoucherImportResultDTO;
 import com.kylin.finance.dto.VoucherQueryDTO;
 import com.kylin.finance.entity.FinTransaction;
 
@@ -44,12 +46,35 @@ public interface IFinTransactionService extends IService<FinTransaction> {
      */
     IPage<FinTransaction> queryVouchers(VoucherQueryDTO queryDTO);
     
+    /**
+     * 查询凭证（游标分页，按 交易日期、凭证号 倒序）
+     * 使用 queryDTO 的 cursor、pageSize、includeTotal，忽略 pageNum；翻页代价与页码无关
+     * @param queryDTO 查询条件
+     */
+    CursorPage<FinTransaction> queryVouchersByCursor(VoucherQueryDTO queryDTO);
+    
     /**
      * 根据ID查询凭证（包含分录）
      * @param transId 凭证ID
      */
     FinTransaction getVoucherById(Long transId);
     
+    /**
+     * 批量导入凭证（用于期初迁移等大批量场景）
+     * 逐张校验，校验或写入失败的凭证记录在结果中，不影响其余凭证导入
+     * @param transactions 凭证列表（包含 splits 分录列表）
+     * @return 导入结果
+     */
+    VoucherImportResultDTO importVouchers(List<FinTransaction> transactions);
+    
+    /**
+     * 批量写入凭证及分录（JDBC 批量插入，加入调用方事务）
+     * 只负责落库，不做凭证校验，调用方须先完成校验；凭证号、状态、录入时间为空时自动补全，
+     * 已审核凭证同步更新科目日余额快照
+     * @param transactions 凭证列表（包含 splits 分录列表）
+     */
+    void saveVouchersBatch(List<FinTransaction> transactions);
+    
     /**
      * 生成凭证号
      */
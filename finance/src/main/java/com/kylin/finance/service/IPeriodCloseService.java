@@ -0,0 +1,44 @@
+package com.kylin.finance.service;
+
+import com.kylin.finance.entity.FinPeriodClose;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * 期末结账服务接口
+ * 月结/年结时冻结各科目期末累计余额，并锁定已结账期间的凭证
+ */
+public interface IPeriodCloseService {
+
+    /**
+     * 期末结账
+     * @param periodType 期间类型：MONTH(月结), YEAR(年结)
+     * @param period 期间：月结为 yyyy-MM，年结为 yyyy
+     * @return 结账记录
+     */
+    FinPeriodClose closePeriod(String periodType, String period);
+
+    /**
+     * 反结账（只能反结账最近一次结账）
+     * @param closeId 结账ID
+     */
+    void reopenPeriod(Long closeId);
+
+    /**
+     * 查询结账记录（按结账日倒序）
+     */
+    List<FinPeriodClose> listClosedPeriods();
+
+    /**
+     * 最近一次结账日，未结账时返回 null
+     */
+    LocalDate getLastClosedDate();
+
+    /**
+     * 校验日期所在期间未结账，已结账则抛出业务异常
+     * 在事务中调用时共享锁定结账锁行并持有到事务结束，结账须等待该事务提交
+     * @param date 凭证交易日期
+     */
+    void assertPeriodOpen(LocalDate date);
+}
@@ -1,10 +1,13 @@
 package com.kylin.finance.service;
 
+import com.kylin.finance.dto.DocumentPostResultDTO;
 import com.kylin.finance.entity.document.Invoice;
 import com.kylin.finance.entity.document.Bill;
 import com.kylin.finance.entity.document.CreditNote;
 import com.kylin.finance.entity.FinTransaction;
 
+import java.util.List;
+
 /**
  * 过账服务接口（参考 GnuCash Post Service）
  * 负责将商业单据（发票/账单）过账到会计账目中
@@ -19,6 +22,14 @@ public interface IPostService {
      */
     FinTransaction postInvoiceToLedger(Invoice invoice);
 
+    /**
+     * 批量将发票过账到账目中
+     * 预加载发票、客户、条目和科目后在内存中生成凭证，并批量写入；单张发票失败不影响其余发票
+     * @param invoiceIds 发票ID列表
+     * @return 每张发票的过账结果（按请求顺序）
+     */
+    List<DocumentPostResultDTO> postInvoicesToLedger(List<Long> invoiceIds);
+
     /**
      * 将账单过账到账目中
      * 生成凭证：借：费用/资产科目，贷：应付账款（关联供应商）
@@ -27,6 +38,14 @@ public interface IPostService {
      */
     FinTransaction postBillToLedger(Bill bill);
 
+    /**
+     * 批量将账单过账到账目中
+     * 预加载账单、供应商、条目和科目后在内存中生成凭证，并批量写入；单张账单失败不影响其余账单
+     * @param billIds 账单ID列表
+     * @return 每张账单的过账结果（按请求顺序）
+     */
+    List<DocumentPostResultDTO> postBillsToLedger(List<Long> billIds);
+
     /**
      * 将冲销单据过账到账目中
      * 生成反向凭证，用于更正已过账的单据
@@ -1,11 +1,17 @@
 package com.kylin.finance.service;
 
+import com.kylin.finance.dto.AgingItemDTO;
+import com.kylin.finance.dto.AgingReportDTO;
 import com.kylin.finance.dto.BalanceSheetDTO;
 import com.kylin.finance.dto.BalanceSheetExportRow;
 import com.kylin.finance.dto.CashFlowDTO;
 import com.kylin.finance.dto.CashFlowExportRow;
+import com.kylin.finance.dto.ComparativeReportDTO;
+import com.kylin.finance.dto.IncomeStatementDTO;
+import com.kylin.finance.dto.IncomeStatementExportRow;
 import com.kylin.finance.dto.TrialBalanceExportRow;
 
+import java.io.OutputStream;
 import java.time.LocalDate;
 import java.util.List;
 
@@ -27,6 +33,23 @@ public interface IReportService {
      */
     CashFlowDTO generateCashFlowStatement(LocalDate startDate, LocalDate endDate);
     
+    /**
+     * 生成利润表
+     * 只查询期间内损益类科目的发生额，本期与本年累计（截止日期所在年度年初至截止日期）一次查询，
+     * 并沿科目树自下而上汇总
+     * @param startDate 开始日期
+     * @param endDate 结束日期
+     */
+    IncomeStatementDTO generateIncomeStatement(LocalDate startDate, LocalDate endDate);
+    
+    /**
+     * 生成利润表导出数据（Excel格式）
+     * @param startDate 开始日期
+     * @param endDate 结束日期
+     * @return Excel导出行数据列表
+     */
+    List<IncomeStatementExportRow> generateIncomeStatementExportData(LocalDate startDate, LocalDate endDate);
+    
     /**
      * 生成资产负债表导出数据（Excel格式）
      * @param reportDate 报表日期
@@ -49,4 +72,65 @@ public interface IReportService {
      * @return Excel导出行数据列表
      */
     List<CashFlowExportRow> generateCashFlowExportData(LocalDate startDate, LocalDate endDate);
+    
+    /**
+     * 流式导出总账明细（凭证分录）到Excel
+     * 分录逐行从数据库读取并分批写入，内存占用与导出行数无关
+     * @param startDate 开始日期
+     * @param endDate 结束日期
+     * @param accountId 科目ID（可为空）
+     * @param status 凭证状态（可为空）
+     * @param out 输出流
+     * @return 导出行数
+     */
+    long exportGeneralLedger(LocalDate startDate, LocalDate endDate, Long accountId, Integer status, OutputStream out);
+    
+    /**
+     * 生成多期间对比资产负债表（每个期间一列，列值为期末数）
+     * 各期末科目余额取自对比试算平衡表，整个范围只做一次汇总查询
+     * @param startDate 开始日期
+     * @param endDate 结束日期
+     * @param periodType 期间类型：MONTH(月), QUARTER(季), YEAR(年)
+     */
+    ComparativeReportDTO generateComparativeBalanceSheet(LocalDate startDate, LocalDate endDate, String periodType);
+    
+    /**
+     * 导出多期间对比试算平衡表到Excel（动态列，分批写入）
+     * @param report 对比试算平衡表
+     * @param out 输出流
+     * @return 导出行数
+     */
+    long exportComparativeTrialBalance(ComparativeReportDTO report, OutputStream out);
+    
+    /**
+     * 导出多期间对比资产负债表到Excel（动态列，分批写入）
+     * @param report 对比资产负债表
+     * @param out 输出流
+     * @return 导出行数
+     */
+    long exportComparativeBalanceSheet(ComparativeReportDTO report, OutputStream out);
+    
+    /**
+     * 生成往来账龄分析表（应收按客户、应付按供应商）
+     * 未结清单据与往来明细账余额各做一次按往来单位分组的汇总查询，不逐个往来单位查询
+     * @param ownerType 往来类型：CUSTOMER(应收), VENDOR(应付)
+     * @param asOfDate 统计日期
+     */
+    AgingReportDTO generateAgingReport(String ownerType, LocalDate asOfDate);
+    
+    /**
+     * 查询单个往来单位的账龄明细（未结清单据及逾期天数）
+     * @param ownerType 往来类型：CUSTOMER(应收), VENDOR(应付)
+     * @param ownerId 往来单位ID
+     * @param asOfDate 统计日期
+     */
+    List<AgingItemDTO> getAgingItems(String ownerType, Long ownerId, LocalDate asOfDate);
+    
+    /**
+     * 导出往来账龄分析表到Excel（分批写入，末行为合计）
+     * @param report 往来账龄分析表
+     * @param out 输出流
+     * @return 导出行数
+     */
+    long exportAgingReport(AgingReportDTO report, OutputStream out);
 }
@@ -0,0 +1,21 @@
+package com.kylin.finance.service;
+
+import java.util.function.ToLongFunction;
+
+/**
+ * 单据编号服务接口
+ * 按 (前缀, 当天日期) 生成编号：前缀 + yyyyMMdd + 至少3位序号，如 V20241201001
+ */
+public interface ISequenceService {
+
+    /**
+     * 生成下一个单据编号
+     * 编号保证唯一，同一实例内递增，但不保证连续（号段作废、事务回滚会产生空号）
+     *
+     * @param prefix 编号前缀，如 V、EXP、RP、PAY
+     * @param existingMaxSequence 序列首次使用时查询业务表中已有的最大序号，
+     *                            入参为 前缀 + 日期（如 V20241201），无已有编号时返回 0
+     * @return 单据编号
+     */
+    String nextNo(String prefix, ToLongFunction<String> existingMaxSequence);
+}
@@ -0,0 +1,35 @@
+package com.kylin.finance.service;
+
+import com.kylin.finance.dto.StatementBatchDTO;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * 客户对账单服务接口
+ */
+public interface IStatementService {
+
+    /**
+     * 启动客户对账单批量生成（后台执行，立即返回批次进度）
+     * 客户按分区并行生成，每个客户一个文件：{输出目录}/{开始日期}_{结束日期}/{客户编码}_{客户ID}.xlsx|csv；
+     * 已有对账单文件或无发生额标记的客户视为已完成并跳过，中断后以相同期间重新启动即可续跑
+     * @param startDate 对账期间开始日期
+     * @param endDate 对账期间结束日期
+     * @param format 文件格式：xlsx(默认), csv
+     * @param overwrite 是否重新生成已有文件的客户
+     * @return 批次进度
+     */
+    StatementBatchDTO startBatch(LocalDate startDate, LocalDate endDate, String format, boolean overwrite);
+
+    /**
+     * 查询批次进度
+     * @param batchId 批次ID
+     */
+    StatementBatchDTO getBatch(String batchId);
+
+    /**
+     * 最近的批次（最新在前）
+     */
+    List<StatementBatchDTO> listBatches();
+}
@@ -0,0 +1,200 @@
+package com.kylin.finance.service.impl;
+
+import com.kylin.finance.balance.CumulativeAmountIndex;
+import com.kylin.finance.dto.AccountBalanceSummary;
+import com.kylin.finance.entity.FinAccountDailyBalance;
+import com.kylin.finance.mapper.FinAccountDailyBalanceMapper;
+import com.kylin.finance.service.IAccountRunningBalanceService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 科目累计余额索引服务实现
+ *
+ * 每个科目的索引在首次查询时从日余额快照加载，之后由已审核凭证入账/冲回在事务提交后增量维护。
+ * 加载与提交并发时以版本号判定：加载期间若有涉及该科目的事务进入提交阶段，本次加载结果只用于当次查询、
+ * 不放入缓存，保证缓存中的索引既不漏记也不重复计入任何一笔已提交的发生额。
+ */
+@Slf4j
+@Service
+public class AccountRunningBalanceServiceImpl implements IAccountRunningBalanceService {
+
+    private final FinAccountDailyBalanceMapper dailyBalanceMapper;
+    private final TransactionTemplate loadTransaction;
+    private final Map<Long, AccountState> states = new ConcurrentHashMap<>();
+
+    public AccountRunningBalanceServiceImpl(FinAccountDailyBalanceMapper dailyBalanceMapper,
+                                            PlatformTransactionManager transactionManager) {
+        this.dailyBalanceMapper = dailyBalanceMapper;
+        // 在独立的只读事务中加载，读到的是最新已提交数据，而不是调用方事务开始时的快照
+        this.loadTransaction = new TransactionTemplate(transactionManager);
+        this.loadTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.loadTransaction.setReadOnly(true);
+    }
+
+    /**
+     * 科目索引状态，同时作为锁对象
+     * version 在每次提交开始和结束时递增；inFlight 为正在提交、尚未应用到索引的事务数
+     */
+    private static final class AccountState {
+        private CumulativeAmountIndex index;
+        private long version;
+        private int inFlight;
+    }
+
+    @Override
+    public AccountBalanceSummary getCumulativeAmount(Long accountId, LocalDate date) {
+        long day = date.toEpochDay();
+        AccountState state = states.computeIfAbsent(accountId, id -> new AccountState());
+        long version;
+        synchronized (state) {
+            if (state.index != null) {
+                return toSummary(accountId, state.index, day);
+            }
+            version = state.version;
+        }
+
+        CumulativeAmountIndex loaded = load(accountId);
+        synchronized (state) {
+            if (state.index == null && state.version == version && state.inFlight == 0) {
+                state.index = loaded;
+            }
+        }
+        return toSummary(accountId, loaded, day);
+    }
+
+    @Override
+    public void applyAfterCommit(List<FinAccountDailyBalance> deltas) {
+        if (deltas == null || deltas.isEmpty()) {
+            return;
+        }
+        List<FinAccountDailyBalance> pending = new ArrayList<>(deltas);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            pending.forEach(delta -> apply(states.computeIfAbsent(delta.getAccountId(), id -> new AccountState()), delta));
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            private boolean committing;
+
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                // 数据库提交前登记，使提交窗口内开始的加载不会被缓存
+                for (FinAccountDailyBalance delta : pending) {
+                    AccountState state = states.computeIfAbsent(delta.getAccountId(), id -> new AccountState());
+                    synchronized (state) {
+                        state.version++;
+                        state.inFlight++;
+                    }
+                }
+                committing = true;
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                if (!committing) {
+                    return;
+                }
+                for (FinAccountDailyBalance delta : pending) {
+                    AccountState state = states.get(delta.getAccountId());
+                    synchronized (state) {
+                        state.inFlight--;
+                        if (status == STATUS_COMMITTED) {
+                            apply(state, delta);
+                        } else {
+                            state.version++;
+                        }
+                    }
+                }
+            }
+        });
+    }
+
+    @Override
+    public void invalidateAllAfterCommit() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            invalidateAll();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                invalidateAll();
+            }
+        });
+    }
+
+    private void invalidateAll() {
+        for (AccountState state : states.values()) {
+            synchronized (state) {
+                state.index = null;
+                state.version++;
+            }
+        }
+        log.info("科目累计余额索引已全部失效");
+    }
+
+    private void apply(AccountState state, FinAccountDailyBalance delta) {
+        synchronized (state) {
+            state.version++;
+            if (state.index != null) {
+                state.index.add(delta.getBalanceDate().toEpochDay(),
+                    toCents(delta.getDebitAmount()), toCents(delta.getCreditAmount()));
+            }
+        }
+    }
+
+    /**
+     * 从日余额快照加载单个科目的索引
+     */
+    private CumulativeAmountIndex load(Long accountId) {
+        List<FinAccountDailyBalance> rows = loadTransaction.execute(status ->
+            dailyBalanceMapper.selectByAccountId(accountId));
+
+        long firstDay = LocalDate.now().toEpochDay();
+        long lastDay = firstDay;
+        for (FinAccountDailyBalance row : rows) {
+            long day = row.getBalanceDate().toEpochDay();
+            firstDay = Math.min(firstDay, day);
+            lastDay = Math.max(lastDay, day);
+        }
+
+        CumulativeAmountIndex index = new CumulativeAmountIndex(firstDay, lastDay);
+        for (FinAccountDailyBalance row : rows) {
+            index.add(row.getBalanceDate().toEpochDay(), toCents(row.getDebitAmount()), toCents(row.getCreditAmount()));
+        }
+        log.debug("加载科目累计余额索引：科目ID={}，快照 {} 天", accountId, rows.size());
+        return index;
+    }
+
+    private static AccountBalanceSummary toSummary(Long accountId, CumulativeAmountIndex index, long day) {
+        AccountBalanceSummary summary = new AccountBalanceSummary();
+        summary.setAccountId(accountId);
+        summary.setDebitAmount(BigDecimal.valueOf(index.debitThrough(day), 2));
+        summary.setCreditAmount(BigDecimal.valueOf(index.creditThrough(day), 2));
+        return summary;
+    }
+
+    /**
+     * 金额转换为分（DECIMAL(18,2)，不会溢出 long）
+     */
+    private static long toCents(BigDecimal amount) {
+        if (amount == null) {
+            return 0L;
+        }
+        return amount.setScale(2, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+}
@@ -0,0 +1,178 @@
+package com.kylin.finance.service.impl;
+
+import com.kylin.finance.dto.AccountDTO;
+import com.kylin.finance.entity.FinAccount;
+import org.springframework.beans.BeanUtils;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 科目表不可变快照
+ *
+ * 一次性加载全部科目后在 O(n) 内构建：id -> 科目、父 -> 子列表、层级路径。
+ * 构建完成后不再修改，可被多个线程无锁并发读取；科目变更时整体替换为新快照。
+ * 对外返回的 FinAccount / AccountDTO 均为副本，调用方修改不会影响快照。
+ */
+final class AccountTreeSnapshot {
+
+    private static final String PATH_SEPARATOR = " > ";
+
+    /**
+     * 科目ID -> 科目（保持数据库返回顺序）
+     */
+    private final Map<Long, FinAccount> accountsById;
+
+    /**
+     * 父科目ID -> 子科目列表（一级科目的父ID为 null）
+     */
+    private final Map<Long, List<FinAccount>> childrenByParentId;
+
+    /**
+     * 科目ID -> 层级路径，如：资产 > 货币资金 > 银行存款
+     */
+    private final Map<Long, String> pathsById;
+
+    AccountTreeSnapshot(List<FinAccount> accounts) {
+        Map<Long, FinAccount> byId = new LinkedHashMap<>();
+        for (FinAccount account : accounts) {
+            if (account != null && account.getAccountId() != null) {
+                byId.put(account.getAccountId(), account);
+            }
+        }
+
+        Map<Long, List<FinAccount>> children = new HashMap<>();
+        for (FinAccount account : byId.values()) {
+            children.computeIfAbsent(account.getParentId(), key -> new ArrayList<>()).add(account);
+        }
+        children.replaceAll((parentId, list) -> Collections.unmodifiableList(list));
+
+        Map<Long, String> paths = new HashMap<>(byId.size() * 2);
+        for (FinAccount account : byId.values()) {
+            resolvePath(account, byId, paths);
+        }
+
+        this.accountsById = Collections.unmodifiableMap(byId);
+        this.childrenByParentId = Collections.unmodifiableMap(children);
+        this.pathsById = Collections.unmodifiableMap(paths);
+    }
+
+    /**
+     * 计算科目路径，已计算的祖先路径直接复用，整体 O(n)
+     * 父科目不存在时路径从当前科目开始；父子关系成环时在环上截断，避免死循环
+     */
+    private static String resolvePath(FinAccount account, Map<Long, FinAccount> byId, Map<Long, String> paths) {
+        // 向上收集尚未计算路径的祖先链
+        List<FinAccount> chain = new ArrayList<>();
+        FinAccount current = account;
+        String prefix = null;
+        while (current != null) {
+            String known = paths.get(current.getAccountId());
+            if (known != null) {
+                prefix = known;
+                break;
+            }
+            if (chain.contains(current)) {
+                break;
+            }
+            chain.add(current);
+            current = current.getParentId() != null ? byId.get(current.getParentId()) : null;
+        }
+
+        // 自顶向下依次拼接路径
+        for (int i = chain.size() - 1; i >= 0; i--) {
+            FinAccount node = chain.get(i);
+            String name = node.getAccountName() != null ? node.getAccountName() : "";
+            prefix = prefix == null ? name : prefix + PATH_SEPARATOR + name;
+            paths.put(node.getAccountId(), prefix);
+        }
+        return paths.get(account.getAccountId());
+    }
+
+    int size() {
+        return accountsById.size();
+    }
+
+    /**
+     * 没有子科目即为末级科目（科目不存在时同样视为末级，与原数据库查询口径一致）
+     */
+    boolean isLeaf(Long accountId) {
+        return !childrenByParentId.containsKey(accountId);
+    }
+
+    /**
+     * 按ID获取科目副本，科目不存在时返回 null
+     */
+    FinAccount getAccount(Long accountId) {
+        FinAccount account = accountsById.get(accountId);
+        return account != null ? copyAccount(account) : null;
+    }
+
+    List<FinAccount> getChildren(Long parentId) {
+        List<FinAccount> children = childrenByParentId.getOrDefault(parentId, Collections.emptyList());
+        List<FinAccount> result = new ArrayList<>(children.size());
+        for (FinAccount child : children) {
+            result.add(copyAccount(child));
+        }
+        return result;
+    }
+
+    /**
+     * 科目层级路径，科目不存在时返回空字符串
+     */
+    String getPath(Long accountId) {
+        return pathsById.getOrDefault(accountId, "");
+    }
+
+    /**
+     * 构建科目树（从一级科目开始，父科目不存在的孤立科目不在树中）
+     */
+    List<AccountDTO> buildTree() {
+        return buildChildren(null);
+    }
+
+    private List<AccountDTO> buildChildren(Long parentId) {
+        List<FinAccount> children = childrenByParentId.getOrDefault(parentId, Collections.emptyList());
+        List<AccountDTO> result = new ArrayList<>(children.size());
+        for (FinAccount child : children) {
+            AccountDTO dto = toDTO(child);
+            List<AccountDTO> grandChildren = buildChildren(child.getAccountId());
+            dto.setChildren(grandChildren);
+            dto.setIsLeaf(grandChildren.isEmpty());
+            result.add(dto);
+        }
+        return result;
+    }
+
+    /**
+     * 所有末级科目（保持数据库返回顺序）
+     */
+    List<AccountDTO> getLeafAccounts() {
+        List<AccountDTO> result = new ArrayList<>();
+        for (FinAccount account : accountsById.values()) {
+            if (isLeaf(account.getAccountId())) {
+                AccountDTO dto = toDTO(account);
+                dto.setIsLeaf(true);
+                result.add(dto);
+            }
+        }
+        return result;
+    }
+
+    private AccountDTO toDTO(FinAccount account) {
+        AccountDTO dto = new AccountDTO();
+        BeanUtils.copyProperties(account, dto);
+        dto.setPath(getPath(account.getAccountId()));
+        return dto;
+    }
+
+    private static FinAccount copyAccount(FinAccount account) {
+        FinAccount copy = new FinAccount();
+        BeanUtils.copyProperties(account, copy);
+        return copy;
+    }
+}
@@ -1,18 +1,32 @@
 package com.kylin.finance.service.impl;
 
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.kylin.common.BusinessException;
 import com.kylin.finance.dto.AccountBalanceDTO;
 import com.kylin.finance.dto.AccountBalanceSummary;
+import com.kylin.finance.dto.AccountLedgerLineDTO;
+import com.kylin.finance.dto.AccountPeriodAmount;
+import com.kylin.finance.dto.ComparativeReportDTO;
 import com.kylin.finance.dto.TrialBalanceDTO;
 import com.kylin.finance.entity.FinAccount;
+import com.kylin.finance.entity.FinPeriodClose;
+import com.kylin.finance.export.NdjsonStreamWriter;
+import com.kylin.finance.mapper.FinAccountDailyBalanceMapper;
 import com.kylin.finance.mapper.FinAccountMapper;
+import com.kylin.finance.mapper.FinPeriodCloseBalanceMapper;
+import com.kylin.finance.mapper.FinPeriodCloseMapper;
 import com.kylin.finance.mapper.FinSplitMapper;
 import com.kylin.finance.service.IAccountingService;
+import com.kylin.finance.service.IColumnarLedgerService;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.OutputStream;
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.time.YearMonth;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
@@ -23,16 +37,43 @@ import java.util.stream.Collectors;
 /**
  * 核算服务实现
  * 重构后使用批量查询，避免 N+1 查询问题
+ * 余额与发生额从科目日余额快照（fin_account_daily_balance）汇总，不再扫描全部分录
+ * 累计余额以最近一次期末结账冻结的科目余额为起点，只汇总结账日之后的日余额快照
+ * 启用列式分录存储（kylin.ledger.columnar.enabled）且加载完成后，余额与发生额改为扫描内存中的分录列，不访问数据库
  */
 @Service
 public class AccountingServiceImpl implements IAccountingService {
     
+    private static final String PERIOD_TYPE_MONTH = "MONTH";
+    private static final String PERIOD_TYPE_QUARTER = "QUARTER";
+    private static final String PERIOD_TYPE_YEAR = "YEAR";
+    
+    /**
+     * 对比报表最多期间数（按月为 10 年）
+     */
+    private static final int MAX_COMPARATIVE_PERIODS = 120;
+    
     @Autowired
     private FinAccountMapper accountMapper;
     
+    @Autowired
+    private FinAccountDailyBalanceMapper dailyBalanceMapper;
+    
+    @Autowired
+    private FinPeriodCloseMapper periodCloseMapper;
+    
+    @Autowired
+    private FinPeriodCloseBalanceMapper closeBalanceMapper;
+    
+    @Autowired
+    private IColumnarLedgerService columnarLedgerService;
+    
     @Autowired
     private FinSplitMapper splitMapper;
     
+    @Autowired
+    private ObjectMapper objectMapper;
+    
     @Override
     @Transactional(readOnly = true)
     public AccountBalanceDTO calculateAccountBalance(Long accountId, LocalDate date) {
@@ -43,7 +84,7 @@ public class AccountingServiceImpl implements IAccountingService {
         
         // 使用批量查询方法，传入单个科目ID列表
         List<Long> accountIds = Collections.singletonList(accountId);
-        List<AccountBalanceSummary> summaries = splitMapper.selectBalanceByAccountIds(accountIds, date);
+        Map<Long, AccountBalanceSummary> summaryMap = selectCumulativeSummaries(accountIds, date);
         
         AccountBalanceDTO dto = new AccountBalanceDTO();
         dto.setAccountId(account.getAccountId());
@@ -55,8 +96,8 @@ public class AccountingServiceImpl implements IAccountingService {
         BigDecimal debitAmount = BigDecimal.ZERO;
         BigDecimal creditAmount = BigDecimal.ZERO;
         
-        if (!summaries.isEmpty()) {
-            AccountBalanceSummary summary = summaries.get(0);
+        AccountBalanceSummary summary = summaryMap.get(accountId);
+        if (summary != null) {
             debitAmount = summary.getDebitAmount() != null ? summary.getDebitAmount() : BigDecimal.ZERO;
             creditAmount = summary.getCreditAmount() != null ? summary.getCreditAmount() : BigDecimal.ZERO;
         }
@@ -71,11 +112,85 @@ public class AccountingServiceImpl implements IAccountingService {
         return dto;
     }
     
+    @Override
+    @Transactional(readOnly = true)
+    public long streamAccountLedger(Long accountId, LocalDate startDate, LocalDate endDate, OutputStream out) {
+        if (startDate.isAfter(endDate)) {
+            throw new BusinessException("开始日期不能晚于结束日期");
+        }
+        FinAccount account = accountMapper.selectById(accountId);
+        if (account == null) {
+            throw new BusinessException("科目不存在");
+        }
+        String accountType = account.getAccountType();
+        
+        // 期初余额由汇总（日余额快照与结账检查点）一次算出，不回放开始日期之前的分录；
+        // 不使用列式分录存储：进程内存储不在本事务的数据库快照中，期初余额可能与下面读取的分录不一致
+        AccountBalanceSummary opening = selectCumulativeSummariesFromDatabase(
+            Collections.singletonList(accountId), startDate.minusDays(1)).get(accountId);
+        BigDecimal openingBalance = opening != null
+            ? calculateBalanceByType(accountType, nvl(opening.getDebitAmount()), nvl(opening.getCreditAmount()))
+            : BigDecimal.ZERO;
+        
+        AccountLedgerLineDTO openingLine = new AccountLedgerLineDTO();
+        openingLine.setLineType("OPENING");
+        openingLine.setAccountId(accountId);
+        openingLine.setAccountCode(account.getAccountCode());
+        openingLine.setAccountName(account.getAccountName());
+        openingLine.setTransDate(startDate);
+        openingLine.setDescription("期初余额");
+        openingLine.setBalance(openingBalance);
+        
+        // 同一只读事务内读取期初余额与分录，逐笔余额与期初口径一致
+        BigDecimal[] balance = {openingBalance};
+        BigDecimal[] totals = {BigDecimal.ZERO, BigDecimal.ZERO};
+        try (NdjsonStreamWriter writer = new NdjsonStreamWriter(out, objectMapper)) {
+            writer.write(openingLine);
+            splitMapper.streamAccountLedger(accountId, startDate, endDate, context -> {
+                AccountLedgerLineDTO line = context.getResultObject();
+                BigDecimal debit = nvl(line.getDebitAmount());
+                BigDecimal credit = nvl(line.getCreditAmount());
+                balance[0] = balance[0].add(calculateBalanceByType(accountType, debit, credit));
+                totals[0] = totals[0].add(debit);
+                totals[1] = totals[1].add(credit);
+                line.setLineType("SPLIT");
+                line.setBalance(balance[0]);
+                writer.write(line);
+            });
+            
+            AccountLedgerLineDTO closingLine = new AccountLedgerLineDTO();
+            closingLine.setLineType("CLOSING");
+            closingLine.setTransDate(endDate);
+            closingLine.setDescription("本期合计");
+            closingLine.setDebitAmount(totals[0]);
+            closingLine.setCreditAmount(totals[1]);
+            closingLine.setBalance(balance[0]);
+            writer.write(closingLine);
+            // 不含期初余额行与本期合计行
+            return writer.getTotalRows() - 2;
+        }
+    }
+    
     @Override
     @Transactional(readOnly = true)
     public List<AccountBalanceDTO> calculateAllAccountBalances(LocalDate date) {
         // 查询所有科目
-        List<FinAccount> accounts = accountMapper.selectList(null);
+        return buildAccountBalances(accountMapper.selectList(null), date);
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
+    public List<AccountBalanceDTO> calculateAccountBalances(List<Long> accountIds, LocalDate date) {
+        if (accountIds == null || accountIds.isEmpty()) {
+            return new ArrayList<>();
+        }
+        return buildAccountBalances(accountMapper.selectBatchIds(accountIds), date);
+    }
+    
+    /**
+     * 批量计算指定科目的余额
+     */
+    private List<AccountBalanceDTO> buildAccountBalances(List<FinAccount> accounts, LocalDate date) {
         if (accounts.isEmpty()) {
             return new ArrayList<>();
         }
@@ -86,15 +201,7 @@ public class AccountingServiceImpl implements IAccountingService {
                 .collect(Collectors.toList());
         
         // 批量查询所有科目的余额（一次性查询，避免 N+1）
-        List<AccountBalanceSummary> summaries = splitMapper.selectBalanceByAccountIds(accountIds, date);
-        
-        // 将批量查询结果转换为 Map，便于快速查找
-        Map<Long, AccountBalanceSummary> summaryMap = summaries.stream()
-                .collect(Collectors.toMap(
-                        AccountBalanceSummary::getAccountId,
-                        summary -> summary,
-                        (existing, replacement) -> existing
-                ));
+        Map<Long, AccountBalanceSummary> summaryMap = selectCumulativeSummaries(accountIds, date);
         
         // 组装结果
         List<AccountBalanceDTO> result = new ArrayList<>();
@@ -141,25 +248,13 @@ public class AccountingServiceImpl implements IAccountingService {
                 .map(FinAccount::getAccountId)
                 .collect(Collectors.toList());
         
-        // 批量查询期初余额（startDate之前）- 一次性查询所有科目
+        // 批量查询期初余额（startDate之前）- 以最近一次结账为起点，一次性查询所有科目
         LocalDate beginDate = startDate.minusDays(1);
-        List<AccountBalanceSummary> beginSummaries = splitMapper.selectBalanceByAccountIds(accountIds, beginDate);
-        Map<Long, AccountBalanceSummary> beginSummaryMap = beginSummaries.stream()
-                .collect(Collectors.toMap(
-                        AccountBalanceSummary::getAccountId,
-                        summary -> summary,
-                        (existing, replacement) -> existing
-                ));
+        Map<Long, AccountBalanceSummary> beginSummaryMap = selectCumulativeSummaries(accountIds, beginDate);
         
         // 批量查询本期发生额（startDate到endDate之间）- 一次性查询所有科目
-        List<AccountBalanceSummary> periodSummaries = splitMapper.selectPeriodAmountByAccountIds(
-                accountIds, startDate, endDate);
-        Map<Long, AccountBalanceSummary> periodSummaryMap = periodSummaries.stream()
-                .collect(Collectors.toMap(
-                        AccountBalanceSummary::getAccountId,
-                        summary -> summary,
-                        (existing, replacement) -> existing
-                ));
+        Map<Long, AccountBalanceSummary> periodSummaryMap = toSummaryMap(
+                selectPeriodAmounts(accountIds, startDate, endDate));
         
         // 构建试算平衡表
         List<TrialBalanceDTO> result = new ArrayList<>();
@@ -229,6 +324,87 @@ public class AccountingServiceImpl implements IAccountingService {
         return result;
     }
     
+    @Override
+    @Transactional(readOnly = true)
+    public ComparativeReportDTO generateComparativeTrialBalance(LocalDate startDate, LocalDate endDate, String periodType) {
+        if (startDate.isAfter(endDate)) {
+            throw new BusinessException("开始日期不能晚于结束日期");
+        }
+        int monthSpan = monthIndex(endDate) - monthIndex(startDate) + 1;
+        int[] monthToPeriod = new int[monthSpan];
+        List<ComparativeReportDTO.PeriodDTO> periods = buildPeriods(startDate, endDate, periodType, monthToPeriod);
+        
+        ComparativeReportDTO report = new ComparativeReportDTO();
+        report.setPeriodType(periodType);
+        report.setStartDate(startDate.toString());
+        report.setEndDate(endDate.toString());
+        report.setPeriods(periods);
+        report.setRows(new ArrayList<>());
+        
+        List<FinAccount> accounts = accountMapper.selectList(null);
+        if (accounts.isEmpty()) {
+            return report;
+        }
+        List<Long> accountIds = accounts.stream()
+                .map(FinAccount::getAccountId)
+                .collect(Collectors.toList());
+        Map<Long, Integer> accountIndex = new HashMap<>(accounts.size() * 2);
+        for (int i = 0; i < accounts.size(); i++) {
+            accountIndex.put(accounts.get(i).getAccountId(), i);
+        }
+        
+        // 期初余额：开始日期前一天的累计发生额（以最近一次结账为起点）
+        Map<Long, AccountBalanceSummary> beginSummaryMap = selectCumulativeSummaries(accountIds, startDate.minusDays(1));
+        
+        // 整个范围只查询一次，按 (科目, 年, 月) 分组，再归并到各期间
+        int periodCount = periods.size();
+        BigDecimal[][] debits = new BigDecimal[accounts.size()][periodCount];
+        BigDecimal[][] credits = new BigDecimal[accounts.size()][periodCount];
+        int startMonth = monthIndex(startDate);
+        for (AccountPeriodAmount amount : selectMonthlyAmounts(accountIds, startDate, endDate)) {
+            Integer row = accountIndex.get(amount.getAccountId());
+            if (row == null) {
+                continue;
+            }
+            int period = monthToPeriod[amount.getPeriodYear() * 12 + amount.getPeriodMonth() - 1 - startMonth];
+            debits[row][period] = nvl(debits[row][period]).add(nvl(amount.getDebitAmount()));
+            credits[row][period] = nvl(credits[row][period]).add(nvl(amount.getCreditAmount()));
+        }
+        
+        // 逐期间累加得到各期末余额
+        for (int i = 0; i < accounts.size(); i++) {
+            FinAccount account = accounts.get(i);
+            AccountBalanceSummary beginSummary = beginSummaryMap.get(account.getAccountId());
+            BigDecimal cumulativeDebit = beginSummary != null ? nvl(beginSummary.getDebitAmount()) : BigDecimal.ZERO;
+            BigDecimal cumulativeCredit = beginSummary != null ? nvl(beginSummary.getCreditAmount()) : BigDecimal.ZERO;
+            
+            ComparativeReportDTO.RowDTO row = new ComparativeReportDTO.RowDTO();
+            row.setAccountId(account.getAccountId());
+            row.setAccountCode(account.getAccountCode());
+            row.setAccountName(account.getAccountName());
+            row.setAccountType(account.getAccountType());
+            row.setOpeningBalance(calculateBalanceByType(account.getAccountType(), cumulativeDebit, cumulativeCredit));
+            
+            List<ComparativeReportDTO.CellDTO> cells = new ArrayList<>(periodCount);
+            for (int p = 0; p < periodCount; p++) {
+                BigDecimal debit = nvl(debits[i][p]);
+                BigDecimal credit = nvl(credits[i][p]);
+                cumulativeDebit = cumulativeDebit.add(debit);
+                cumulativeCredit = cumulativeCredit.add(credit);
+                
+                ComparativeReportDTO.CellDTO cell = new ComparativeReportDTO.CellDTO();
+                cell.setDebit(debit);
+                cell.setCredit(credit);
+                cell.setBalance(calculateBalanceByType(account.getAccountType(), cumulativeDebit, cumulativeCredit));
+                cells.add(cell);
+            }
+            row.setCells(cells);
+            report.getRows().add(row);
+        }
+        
+        return report;
+    }
+    
     @Override
     @Transactional(readOnly = true)
     public boolean verifyTrialBalance(LocalDate date) {
@@ -245,6 +421,197 @@ public class AccountingServiceImpl implements IAccountingService {
         return totalDebit.compareTo(totalCredit) == 0;
     }
     
+    @Override
+    @Transactional(readOnly = true)
+    public BigDecimal calculateNetProfit(LocalDate date) {
+        // 收入类、费用类科目
+        LambdaQueryWrapper<FinAccount> wrapper = new LambdaQueryWrapper<>();
+        wrapper.in(FinAccount::getAccountType, "INCOME", "EXPENSE");
+        List<FinAccount> accounts = accountMapper.selectList(wrapper);
+        
+        // 已结账部分直接取结账时冻结的累计净利润，只计算结账日之后的损益
+        FinPeriodClose checkpoint = selectLatestClose(date);
+        BigDecimal netProfit = checkpoint != null && checkpoint.getAccumulatedProfit() != null
+                ? checkpoint.getAccumulatedProfit() : BigDecimal.ZERO;
+        if (accounts.isEmpty() || (checkpoint != null && !checkpoint.getPeriodEnd().isBefore(date))) {
+            return netProfit;
+        }
+        
+        List<Long> accountIds = accounts.stream()
+                .map(FinAccount::getAccountId)
+                .collect(Collectors.toList());
+        List<AccountBalanceSummary> summaries = checkpoint != null
+                ? selectPeriodAmounts(accountIds, checkpoint.getPeriodEnd().plusDays(1), date)
+                : selectBalanceAmounts(accountIds, date);
+        Map<Long, AccountBalanceSummary> summaryMap = toSummaryMap(summaries);
+        
+        // 净利润 = 收入余额（贷方 - 借方） - 费用余额（借方 - 贷方）
+        for (FinAccount account : accounts) {
+            AccountBalanceSummary summary = summaryMap.get(account.getAccountId());
+            if (summary == null) {
+                continue;
+            }
+            BigDecimal debit = summary.getDebitAmount() != null ? summary.getDebitAmount() : BigDecimal.ZERO;
+            BigDecimal credit = summary.getCreditAmount() != null ? summary.getCreditAmount() : BigDecimal.ZERO;
+            BigDecimal balance = calculateBalanceByType(account.getAccountType(), debit, credit);
+            netProfit = "INCOME".equals(account.getAccountType()) ? netProfit.add(balance) : netProfit.subtract(balance);
+        }
+        
+        return netProfit;
+    }
+    
+    /**
+     * 将日期范围按期间类型切分（首末期间按开始、结束日期截取），并填充月份到期间下标的映射
+     * @param monthToPeriod 长度为范围内月份数，下标为相对开始月份的偏移
+     */
+    private List<ComparativeReportDTO.PeriodDTO> buildPeriods(LocalDate startDate, LocalDate endDate,
+                                                              String periodType, int[] monthToPeriod) {
+        int monthsPerPeriod;
+        if (PERIOD_TYPE_MONTH.equals(periodType)) {
+            monthsPerPeriod = 1;
+        } else if (PERIOD_TYPE_QUARTER.equals(periodType)) {
+            monthsPerPeriod = 3;
+        } else if (PERIOD_TYPE_YEAR.equals(periodType)) {
+            monthsPerPeriod = 12;
+        } else {
+            throw new BusinessException("期间类型必须为 MONTH、QUARTER 或 YEAR");
+        }
+        
+        List<ComparativeReportDTO.PeriodDTO> periods = new ArrayList<>();
+        int startMonth = monthIndex(startDate);
+        LocalDate periodStart = startDate;
+        while (!periodStart.isAfter(endDate)) {
+            if (periods.size() >= MAX_COMPARATIVE_PERIODS) {
+                throw new BusinessException("对比期间过多，最多 " + MAX_COMPARATIVE_PERIODS + " 个期间");
+            }
+            // 自然期间的第一个月：月 = 当月，季 = 季首月，年 = 1 月
+            int firstMonth = (periodStart.getMonthValue() - 1) / monthsPerPeriod * monthsPerPeriod + 1;
+            LocalDate naturalStart = LocalDate.of(periodStart.getYear(), firstMonth, 1);
+            LocalDate naturalEnd = naturalStart.plusMonths(monthsPerPeriod).minusDays(1);
+            LocalDate periodEnd = naturalEnd.isAfter(endDate) ? endDate : naturalEnd;
+            
+            ComparativeReportDTO.PeriodDTO period = new ComparativeReportDTO.PeriodDTO();
+            period.setLabel(periodLabel(naturalStart, periodType));
+            period.setStartDate(periodStart.toString());
+            period.setEndDate(periodEnd.toString());
+            for (int month = monthIndex(periodStart); month <= monthIndex(periodEnd); month++) {
+                monthToPeriod[month - startMonth] = periods.size();
+            }
+            periods.add(period);
+            periodStart = periodEnd.plusDays(1);
+        }
+        return periods;
+    }
+    
+    private String periodLabel(LocalDate naturalStart, String periodType) {
+        if (PERIOD_TYPE_MONTH.equals(periodType)) {
+            return YearMonth.from(naturalStart).toString();
+        } else if (PERIOD_TYPE_QUARTER.equals(periodType)) {
+            return naturalStart.getYear() + "Q" + ((naturalStart.getMonthValue() - 1) / 3 + 1);
+        }
+        return String.valueOf(naturalStart.getYear());
+    }
+    
+    /**
+     * 月份序号（年 * 12 + 月 - 1），用于计算月份间隔
+     */
+    private int monthIndex(LocalDate date) {
+        return date.getYear() * 12 + date.getMonthValue() - 1;
+    }
+    
+    /**
+     * 查询截至指定日期（含）的科目累计借贷发生额
+     * 以该日期之前最近一次结账冻结的科目余额为起点，只汇总结账日之后的日余额快照
+     */
+    private Map<Long, AccountBalanceSummary> selectCumulativeSummaries(List<Long> accountIds, LocalDate date) {
+        // 列式分录存储保存全部历史分录，直接汇总，无需结账起点
+        if (columnarLedgerService.isReady()) {
+            return toSummaryMap(columnarLedgerService.selectBalanceByAccountIds(accountIds, date));
+        }
+        return selectCumulativeSummariesFromDatabase(accountIds, date);
+    }
+    
+    /**
+     * 从数据库查询截至指定日期（含）的科目累计借贷发生额（结账检查点 + 日余额快照），
+     * 在事务内调用时与同一事务读取的其他数据处于同一快照
+     */
+    private Map<Long, AccountBalanceSummary> selectCumulativeSummariesFromDatabase(List<Long> accountIds, LocalDate date) {
+        FinPeriodClose checkpoint = selectLatestClose(date);
+        if (checkpoint == null) {
+            return toSummaryMap(dailyBalanceMapper.selectBalanceByAccountIds(accountIds, date));
+        }
+        
+        Map<Long, AccountBalanceSummary> summaryMap = toSummaryMap(
+                closeBalanceMapper.selectSummaryByCloseId(checkpoint.getCloseId(), accountIds));
+        if (checkpoint.getPeriodEnd().isBefore(date)) {
+            List<AccountBalanceSummary> deltas = dailyBalanceMapper.selectPeriodAmountByAccountIds(
+                    accountIds, checkpoint.getPeriodEnd().plusDays(1), date);
+            for (AccountBalanceSummary delta : deltas) {
+                summaryMap.merge(delta.getAccountId(), delta, this::addSummary);
+            }
+        }
+        return summaryMap;
+    }
+    
+    /**
+     * 截至指定日期（含）的科目累计发生额：列式分录存储可用时扫描内存，否则查询日余额快照
+     */
+    private List<AccountBalanceSummary> selectBalanceAmounts(List<Long> accountIds, LocalDate date) {
+        return columnarLedgerService.isReady()
+                ? columnarLedgerService.selectBalanceByAccountIds(accountIds, date)
+                : dailyBalanceMapper.selectBalanceByAccountIds(accountIds, date);
+    }
+    
+    /**
+     * 科目期间发生额：列式分录存储可用时扫描内存，否则查询日余额快照
+     */
+    private List<AccountBalanceSummary> selectPeriodAmounts(List<Long> accountIds, LocalDate startDate, LocalDate endDate) {
+        return columnarLedgerService.isReady()
+                ? columnarLedgerService.selectPeriodAmountByAccountIds(accountIds, startDate, endDate)
+                : dailyBalanceMapper.selectPeriodAmountByAccountIds(accountIds, startDate, endDate);
+    }
+    
+    /**
+     * 科目按月发生额：列式分录存储可用时扫描内存，否则查询日余额快照
+     */
+    private List<AccountPeriodAmount> selectMonthlyAmounts(List<Long> accountIds, LocalDate startDate, LocalDate endDate) {
+        return columnarLedgerService.isReady()
+                ? columnarLedgerService.selectMonthlyAmountByAccountIds(accountIds, startDate, endDate)
+                : dailyBalanceMapper.selectMonthlyAmountByAccountIds(accountIds, startDate, endDate);
+    }
+    
+    /**
+     * 查询指定日期（含）之前最近一次结账
+     */
+    private FinPeriodClose selectLatestClose(LocalDate date) {
+        LambdaQueryWrapper<FinPeriodClose> wrapper = new LambdaQueryWrapper<>();
+        wrapper.le(FinPeriodClose::getPeriodEnd, date);
+        wrapper.orderByDesc(FinPeriodClose::getPeriodEnd);
+        wrapper.last("LIMIT 1");
+        return periodCloseMapper.selectOne(wrapper);
+    }
+    
+    private Map<Long, AccountBalanceSummary> toSummaryMap(List<AccountBalanceSummary> summaries) {
+        return summaries.stream()
+                .collect(Collectors.toMap(
+                        AccountBalanceSummary::getAccountId,
+                        summary -> summary,
+                        (existing, replacement) -> existing
+                ));
+    }
+    
+    private AccountBalanceSummary addSummary(AccountBalanceSummary a, AccountBalanceSummary b) {
+        AccountBalanceSummary sum = new AccountBalanceSummary();
+        sum.setAccountId(a.getAccountId());
+        sum.setDebitAmount(nvl(a.getDebitAmount()).add(nvl(b.getDebitAmount())));
+        sum.setCreditAmount(nvl(a.getCreditAmount()).add(nvl(b.getCreditAmount())));
+        return sum;
+    }
+    
+    private BigDecimal nvl(BigDecimal value) {
+        return value != null ? value : BigDecimal.ZERO;
+    }
+    
     /**
      * 根据科目类型计算余额
      * 资产类、费用类：余额 = 借方 - 贷方
@@ -4,6 +4,9 @@ import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
 import com.baomidou.mybatisplus.core.metadata.IPage;
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import com.kylin.common.BusinessException;
+import com.kylin.finance.common.KeysetPagination;
+import com.kylin.finance.common.ListTotalCache;
+import com.kylin.finance.dto.CursorPage;
 import com.kylin.finance.entity.FinAccount;
 import com.kylin.finance.entity.FinSplit;
 import com.kylin.finance.entity.FinTransaction;
@@ -14,6 +17,7 @@ import com.kylin.finance.mapper.BizExpenseClaimMapper;
 import com.kylin.finance.service.IBizExpenseClaimService;
 import com.kylin.finance.service.IFinAccountService;
 import com.kylin.finance.service.IFinTransactionService;
+import com.kylin.finance.service.ISequenceService;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
@@ -22,7 +26,6 @@ import org.springframework.transaction.annotation.Transactional;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -42,9 +45,15 @@ public class BizExpenseClaimServiceImpl implements IBizExpenseClaimService {
     @Autowired
     private IFinTransactionService transactionService;
 
+    @Autowired
+    private ISequenceService sequenceService;
+
     @Autowired
     private IFinAccountService accountService;
 
+    @Autowired
+    private ListTotalCache listTotalCache;
+
     /**
      * 根据ID查询报销单
      */
@@ -61,6 +70,42 @@ public class BizExpenseClaimServiceImpl implements IBizExpenseClaimService {
         log.info("查询报销单列表 - pageNum: {}, pageSize: {}, claimNo: {}, startDate: {}, endDate: {}, status: {}", 
             page.getCurrent(), page.getSize(), claimNo, startDate, endDate, status);
         
+        LambdaQueryWrapper<BizExpenseClaim> wrapper = buildClaimFilter(claimNo, startDate, endDate, status);
+        
+        // 排序：按日期倒序，再按报销单号倒序
+        wrapper.orderByDesc(BizExpenseClaim::getClaimDate);
+        wrapper.orderByDesc(BizExpenseClaim::getClaimNo);
+        
+        IPage<BizExpenseClaim> result = claimMapper.selectPage(page, wrapper);
+        log.info("查询报销单列表结果 - 总数: {}, 当前页记录数: {}", result.getTotal(), result.getRecords().size());
+        
+        return result;
+    }
+
+    /**
+     * 游标分页查询报销单列表
+     */
+    @Override
+    public CursorPage<BizExpenseClaim> getClaimListByCursor(String claimNo, String startDate, String endDate, String status,
+                                                            String cursor, Integer pageSize, Boolean includeTotal) {
+        int size = KeysetPagination.normalizeSize(pageSize);
+        LambdaQueryWrapper<BizExpenseClaim> wrapper = buildClaimFilter(claimNo, startDate, endDate, status);
+        KeysetPagination.apply(wrapper, BizExpenseClaim::getClaimDate, BizExpenseClaim::getClaimNo, cursor, size);
+
+        CursorPage<BizExpenseClaim> page = KeysetPagination.toPage(claimMapper.selectList(wrapper), size,
+            BizExpenseClaim::getClaimDate, BizExpenseClaim::getClaimNo);
+        if (Boolean.TRUE.equals(includeTotal)) {
+            String totalKey = String.format("claim|%s|%s|%s|%s", claimNo, startDate, endDate, status);
+            listTotalCache.fill(page, totalKey,
+                () -> claimMapper.selectCount(buildClaimFilter(claimNo, startDate, endDate, status)));
+        }
+        return page;
+    }
+
+    /**
+     * 报销单列表筛选条件（分页与游标分页共用）
+     */
+    private LambdaQueryWrapper<BizExpenseClaim> buildClaimFilter(String claimNo, String startDate, String endDate, String status) {
         LambdaQueryWrapper<BizExpenseClaim> wrapper = new LambdaQueryWrapper<>();
         
         // 报销单号模糊查询
@@ -92,14 +137,7 @@ public class BizExpenseClaimServiceImpl implements IBizExpenseClaimService {
             wrapper.eq(BizExpenseClaim::getStatus, status.trim());
         }
         
-        // 排序：按日期倒序，再按报销单号倒序
-        wrapper.orderByDesc(BizExpenseClaim::getClaimDate);
-        wrapper.orderByDesc(BizExpenseClaim::getClaimNo);
-        
-        IPage<BizExpenseClaim> result = claimMapper.selectPage(page, wrapper);
-        log.info("查询报销单列表结果 - 总数: {}, 当前页记录数: {}", result.getTotal(), result.getRecords().size());
-        
-        return result;
+        return wrapper;
     }
 
     /**
@@ -413,28 +451,15 @@ public class BizExpenseClaimServiceImpl implements IBizExpenseClaimService {
      * 例如：EXP20241201001
      */
     private String generateClaimNo() {
-        String dateStr = LocalDate.now().format(DateTimeFormatter.ofPattern("yyyyMMdd"));
-        
-        // 查询当天最大序号
-        LambdaQueryWrapper<BizExpenseClaim> wrapper = new LambdaQueryWrapper<>();
-        wrapper.like(BizExpenseClaim::getClaimNo, "EXP" + dateStr);
-        wrapper.orderByDesc(BizExpenseClaim::getClaimNo);
-        wrapper.last("LIMIT 1");
-        BizExpenseClaim last = claimMapper.selectOne(wrapper);
-        
-        int sequence = 1;
-        if (last != null && last.getClaimNo() != null) {
-            String lastNo = last.getClaimNo();
-            if (lastNo.length() >= 12 && lastNo.startsWith("EXP" + dateStr)) {
-                try {
-                    sequence = Integer.parseInt(lastNo.substring(11)) + 1;
-                } catch (NumberFormatException e) {
-                    sequence = 1;
-                }
-            }
-        }
-        
-        return String.format("EXP%s%03d", dateStr, sequence);
+        return sequenceService.nextNo("EXP", this::findMaxClaimSequence);
+    }
+
+    /**
+     * 查询当天已有报销单的最大序号（仅在当天序列首次使用时调用）
+     * @param keyPrefix EXP + 日期(yyyyMMdd)
+     */
+    private long findMaxClaimSequence(String keyPrefix) {
+        return claimMapper.selectMaxClaimSequence(keyPrefix);
     }
 
     /**
@@ -12,15 +12,14 @@ import com.kylin.finance.mapper.BizReceiptPaymentMapper;
 import com.kylin.finance.service.IBizReceiptPaymentService;
 import com.kylin.finance.service.IFinAccountService;
 import com.kylin.finance.service.IFinTransactionService;
+import com.kylin.finance.service.ISequenceService;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
-import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -40,6 +39,9 @@ public class BizReceiptPaymentServiceImpl implements IBizReceiptPaymentService {
     @Autowired
     private IFinTransactionService transactionService;
 
+    @Autowired
+    private ISequenceService sequenceService;
+
     /**
      * 保存收付款单（新增或更新）
      */
@@ -162,28 +164,15 @@ public class BizReceiptPaymentServiceImpl implements IBizReceiptPaymentService {
      * 例如：RP20241201001
      */
     private String generatePaymentNo() {
-        String dateStr = LocalDate.now().format(DateTimeFormatter.ofPattern("yyyyMMdd"));
-        
-        // 查询当天最大序号
-        LambdaQueryWrapper<BizReceiptPayment> wrapper = new LambdaQueryWrapper<>();
-        wrapper.like(BizReceiptPayment::getCode, "RP" + dateStr);
-        wrapper.orderByDesc(BizReceiptPayment::getCode);
-        wrapper.last("LIMIT 1");
-        BizReceiptPayment last = paymentMapper.selectOne(wrapper);
-        
-        int sequence = 1;
-        if (last != null && last.getCode() != null) {
-            String lastNo = last.getCode();
-            if (lastNo.length() >= 12 && lastNo.startsWith("RP" + dateStr)) {
-                try {
-                    sequence = Integer.parseInt(lastNo.substring(10)) + 1;
-                } catch (NumberFormatException e) {
-                    sequence = 1;
-                }
-            }
-        }
-        
-        return String.format("RP%s%03d", dateStr, sequence);
+        return sequenceService.nextNo("RP", this::findMaxPaymentSequence);
+    }
+
+    /**
+     * 查询当天已有收付款单的最大序号（仅在当天序列首次使用时调用）
+     * @param keyPrefix RP + 日期(yyyyMMdd)
+     */
+    private long findMaxPaymentSequence(String keyPrefix) {
+        return paymentMapper.selectMaxCodeSequence(keyPrefix);
     }
 
     /**
@@ -0,0 +1,796 @@
+package com.kylin.finance.service.impl;
+
+import com.kylin.finance.balance.LedgerColumns;
+import com.kylin.finance.balance.LedgerSnapshotFile;
+import com.kylin.finance.dto.AccountBalanceSummary;
+import com.kylin.finance.dto.AccountPeriodAmount;
+import com.kylin.finance.dto.IncomeStatementAmount;
+import com.kylin.finance.dto.LedgerSplitRow;
+import com.kylin.finance.entity.Commodity;
+import com.kylin.finance.entity.FinAccountDailyBalance;
+import com.kylin.finance.entity.FinAccount;
+import com.kylin.finance.entity.FinSplit;
+import com.kylin.finance.mapper.CommodityMapper;
+import com.kylin.finance.mapper.FinAccountDailyBalanceMapper;
+import com.kylin.finance.mapper.FinAccountMapper;
+import com.kylin.finance.mapper.FinSplitMapper;
+import com.kylin.finance.service.IColumnarLedgerService;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 列式分录存储服务实现
+ *
+ * 已审核分录以列的形式保存在 LedgerColumns 中，金额按科目币种小数位（Commodity.fraction）换算为 long，
+ * 余额、发生额汇总是对基本类型数组的顺序扫描，不访问数据库。
+ *
+ * 一致性：
+ * 1. 凭证入账/冲回在事务内换算金额，提交后追加到存储；提交前登记到追加完成之间 isReady() 为 false，
+ *    此时已能读到新的账簿版本号（LedgerVersion 与业务数据一起提交），汇总回退到 SQL，报表缓存不会把旧数据记在新版本号下
+ * 2. 加载在独立的只读事务中流式读取分录；加载期间若有凭证进入提交阶段，无法判断该凭证是否已被读到，丢弃本次结果重试
+ * 3. 金额无法按币种小数位精确换算时停用存储并回退到 SQL，不返回近似结果
+ *
+ * 本地快照（kylin.ledger.columnar.snapshot.path）：
+ * 定期、全量加载完成后及停机时把存储按 (科目, 日期) 汇总写入快照文件，记录已包含的最大分录ID（高水位）。
+ * 启动时映射快照恢复，只从数据库补读高水位之后的已审核分录；高水位之前的分录在快照之后被审核、撤销审核或删除，
+ * 或提交顺序与分录ID顺序不一致时，补读无法覆盖，因此在同一只读事务内与科目日余额快照逐科目、逐日核对借贷发生额，
+ * 不一致（或快照损坏、币种小数位变更）时改为全量加载。
+ *
+ * 科目更换币种后，已加载分录仍按原小数位保存，需重启或重建日余额快照（会触发重新加载）。
+ */
+@Slf4j
+@Service
+public class ColumnarLedgerServiceImpl implements IColumnarLedgerService {
+
+    private static final int DEFAULT_FRACTION = 2;
+
+    /**
+     * 加载期间持续有凭证提交时的最大尝试次数
+     */
+    private static final int MAX_LOAD_ATTEMPTS = 5;
+
+    @Value("${kylin.ledger.columnar.enabled:false}")
+    private boolean enabled;
+
+    /**
+     * 本地快照文件路径，为空时不使用快照
+     */
+    @Value("${kylin.ledger.columnar.snapshot.path:}")
+    private String snapshotPath;
+
+    private final FinSplitMapper splitMapper;
+    private final FinAccountDailyBalanceMapper dailyBalanceMapper;
+    private final FinAccountMapper accountMapper;
+    private final CommodityMapper commodityMapper;
+    private final TransactionTemplate loadTransaction;
+
+    /**
+     * 科目ID -> 币种小数位（事务内换算金额用，避免提交后访问数据库）
+     */
+    private final Map<Long, Integer> fractionByAccount = new ConcurrentHashMap<>();
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final AtomicBoolean loading = new AtomicBoolean();
+    private final ExecutorService loader = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "columnar-ledger-loader");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // 以下字段由 lock 保护
+    private Ledger ledger = new Ledger();
+    private long commitVersion;
+    private int inFlight;
+
+    private volatile boolean ready;
+
+    public ColumnarLedgerServiceImpl(FinSplitMapper splitMapper, FinAccountDailyBalanceMapper dailyBalanceMapper,
+                                     FinAccountMapper accountMapper, CommodityMapper commodityMapper,
+                                     PlatformTransactionManager transactionManager) {
+        this.splitMapper = splitMapper;
+        this.dailyBalanceMapper = dailyBalanceMapper;
+        this.accountMapper = accountMapper;
+        this.commodityMapper = commodityMapper;
+        // 在独立的只读事务中加载，读到的是最新已提交数据
+        this.loadTransaction = new TransactionTemplate(transactionManager);
+        this.loadTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.loadTransaction.setReadOnly(true);
+    }
+
+    /**
+     * 科目序号表与分录列
+     */
+    private static final class Ledger {
+        private final LedgerColumns columns = new LedgerColumns();
+        private final Map<Long, Integer> indexByAccount = new HashMap<>();
+        private long[] accountIds = new long[64];
+        private int[] fractions = new int[64];
+        private int accountCount;
+        /**
+         * 已包含的最大分录ID（快照高水位）
+         */
+        private long highWaterSplitId;
+
+        private int indexOf(long accountId, int fraction) {
+            Integer index = indexByAccount.get(accountId);
+            if (index != null) {
+                return index;
+            }
+            if (accountCount == accountIds.length) {
+                accountIds = Arrays.copyOf(accountIds, accountCount * 2);
+                fractions = Arrays.copyOf(fractions, accountCount * 2);
+            }
+            accountIds[accountCount] = accountId;
+            fractions[accountCount] = fraction;
+            indexByAccount.put(accountId, accountCount);
+            return accountCount++;
+        }
+
+        private void append(long splitId, long accountId, int fraction, int epochDay, long amount, byte direction,
+                            long ownerId) {
+            columns.append(indexOf(accountId, fraction), epochDay, amount, direction, ownerId);
+            highWaterSplitId = Math.max(highWaterSplitId, splitId);
+        }
+    }
+
+    /**
+     * 已换算、待提交后追加的分录
+     */
+    private record PendingSplit(long splitId, long accountId, int fraction, int epochDay, long amount, byte direction,
+                                long ownerId) {
+    }
+
+    @Override
+    public boolean isReady() {
+        if (!ready) {
+            return false;
+        }
+        // 有凭证处于提交窗口时存储落后于数据库，回退到 SQL
+        lock.readLock().lock();
+        try {
+            return inFlight == 0;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public List<AccountBalanceSummary> selectBalanceByAccountIds(List<Long> accountIds, LocalDate endDate) {
+        return sumByAccount(accountIds, Integer.MIN_VALUE, toDay(endDate));
+    }
+
+    @Override
+    public List<AccountBalanceSummary> selectPeriodAmountByAccountIds(List<Long> accountIds, LocalDate startDate,
+                                                                      LocalDate endDate) {
+        return sumByAccount(accountIds, toDay(startDate), toDay(endDate));
+    }
+
+    @Override
+    public List<AccountPeriodAmount> selectMonthlyAmountByAccountIds(List<Long> accountIds, LocalDate startDate,
+                                                                     LocalDate endDate) {
+        if (startDate.isAfter(endDate)) {
+            return new ArrayList<>();
+        }
+        int startMonth = monthIndex(startDate);
+        int monthCount = monthIndex(endDate) - startMonth + 1;
+        int[] bucketOfDay = new int[toDay(endDate) - toDay(startDate) + 1];
+        for (int d = 0; d < bucketOfDay.length; d++) {
+            bucketOfDay[d] = monthIndex(startDate.plusDays(d)) - startMonth;
+        }
+
+        List<AccountPeriodAmount> result = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            Ledger current = ledger;
+            int cells = current.accountCount * monthCount;
+            long[] debit = new long[cells];
+            long[] credit = new long[cells];
+            boolean[] touched = new boolean[cells];
+            current.columns.sumByAccountAndBucket(toDay(startDate), bucketOfDay, monthCount, debit, credit, touched);
+            for (int account : selectIndexes(current, accountIds)) {
+                for (int month = 0; month < monthCount; month++) {
+                    int cell = account * monthCount + month;
+                    if (!touched[cell]) {
+                        continue;
+                    }
+                    int fraction = current.fractions[account];
+                    AccountPeriodAmount amount = new AccountPeriodAmount();
+                    amount.setAccountId(current.accountIds[account]);
+                    amount.setPeriodYear((startMonth + month) / 12);
+                    amount.setPeriodMonth((startMonth + month) % 12 + 1);
+                    amount.setDebitAmount(BigDecimal.valueOf(debit[cell], fraction));
+                    amount.setCreditAmount(BigDecimal.valueOf(credit[cell], fraction));
+                    result.add(amount);
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return result;
+    }
+
+    @Override
+    public List<IncomeStatementAmount> selectPeriodAndYearAmountByAccountIds(List<Long> accountIds, LocalDate yearStart,
+                                                                             LocalDate startDate, LocalDate endDate) {
+        // 两个范围结束日相同，按较晚的开始日切成两段：[较早开始日, 较晚开始日) 与 [较晚开始日, 结束日]，一次扫描
+        LocalDate from = startDate.isBefore(yearStart) ? startDate : yearStart;
+        LocalDate split = startDate.isBefore(yearStart) ? yearStart : startDate;
+        boolean periodIncludesFirst = startDate.isBefore(yearStart);
+        if (from.isAfter(endDate)) {
+            return new ArrayList<>();
+        }
+        int[] bucketOfDay = new int[toDay(endDate) - toDay(from) + 1];
+        Arrays.fill(bucketOfDay, toDay(split) - toDay(from), bucketOfDay.length, 1);
+
+        List<IncomeStatementAmount> result = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            Ledger current = ledger;
+            int cells = current.accountCount * 2;
+            long[] debit = new long[cells];
+            long[] credit = new long[cells];
+            boolean[] touched = new boolean[cells];
+            current.columns.sumByAccountAndBucket(toDay(from), bucketOfDay, 2, debit, credit, touched);
+            for (int account : selectIndexes(current, accountIds)) {
+                int first = account * 2;
+                int second = first + 1;
+                if (!touched[first] && !touched[second]) {
+                    continue;
+                }
+                int fraction = current.fractions[account];
+                long bothDebit = debit[first] + debit[second];
+                long bothCredit = credit[first] + credit[second];
+                IncomeStatementAmount amount = new IncomeStatementAmount();
+                amount.setAccountId(current.accountIds[account]);
+                amount.setPeriodDebit(BigDecimal.valueOf(periodIncludesFirst ? bothDebit : debit[second], fraction));
+                amount.setPeriodCredit(BigDecimal.valueOf(periodIncludesFirst ? bothCredit : credit[second], fraction));
+                amount.setYearDebit(BigDecimal.valueOf(periodIncludesFirst ? debit[second] : bothDebit, fraction));
+                amount.setYearCredit(BigDecimal.valueOf(periodIncludesFirst ? credit[second] : bothCredit, fraction));
+                result.add(amount);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return result;
+    }
+
+    @Override
+    public void applyAfterCommit(LocalDate transDate, List<FinSplit> splits, boolean reverse) {
+        if (!enabled || transDate == null || splits == null || splits.isEmpty()) {
+            return;
+        }
+        // 在事务内换算金额（需要时查询科目币种），提交后只做数组追加
+        List<PendingSplit> pending = new ArrayList<>(splits.size());
+        for (FinSplit split : splits) {
+            if (split.getAccountId() == null || split.getAmount() == null) {
+                continue;
+            }
+            byte direction;
+            if ("DEBIT".equals(split.getDirection())) {
+                direction = LedgerColumns.DEBIT;
+            } else if ("CREDIT".equals(split.getDirection())) {
+                direction = LedgerColumns.CREDIT;
+            } else {
+                continue;
+            }
+            int fraction = fractionOf(split.getAccountId());
+            long amount;
+            try {
+                amount = toMinorUnits(split.getAmount(), fraction);
+            } catch (ArithmeticException e) {
+                disable("科目ID=" + split.getAccountId() + " 金额 " + split.getAmount() + " 无法按 " + fraction + " 位小数换算");
+                return;
+            }
+            pending.add(new PendingSplit(split.getSplitId() != null ? split.getSplitId() : 0L, split.getAccountId(),
+                fraction, toDay(transDate), reverse ? -amount : amount, direction,
+                split.getOwnerId() != null ? split.getOwnerId() : 0L));
+        }
+        if (pending.isEmpty()) {
+            return;
+        }
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            lock.writeLock().lock();
+            try {
+                commitVersion++;
+                append(pending);
+            } finally {
+                lock.writeLock().unlock();
+            }
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            private boolean committing;
+
+            @Override
+            public int getOrder() {
+                // 先于账簿版本号递增（LedgerVersion）登记，新版本号提交时 isReady() 已为 false
+                return Ordered.HIGHEST_PRECEDENCE;
+            }
+
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                // 数据库提交前登记，使提交窗口内进行的加载作废重试
+                lock.writeLock().lock();
+                try {
+                    commitVersion++;
+                    inFlight++;
+                } finally {
+                    lock.writeLock().unlock();
+                }
+                committing = true;
+            }
+
+            @Override
+            public void afterCommit() {
+                lock.writeLock().lock();
+                try {
+                    committing = false;
+                    inFlight--;
+                    commitVersion++;
+                    append(pending);
+                } finally {
+                    lock.writeLock().unlock();
+                }
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                if (!committing) {
+                    return;
+                }
+                // 提交失败或回滚
+                lock.writeLock().lock();
+                try {
+                    inFlight--;
+                    commitVersion++;
+                } finally {
+                    lock.writeLock().unlock();
+                }
+            }
+        });
+    }
+
+    @Override
+    public void reloadAsync() {
+        if (!enabled) {
+            return;
+        }
+        loader.execute(this::reload);
+    }
+
+    @Override
+    public void reloadAfterCommit() {
+        if (!enabled) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            reloadAsync();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                reloadAsync();
+            }
+        });
+    }
+
+    @Override
+    public synchronized void writeSnapshot() {
+        Path path = snapshotPath();
+        if (!enabled || path == null || !ready) {
+            return;
+        }
+        LedgerColumns view;
+        long[] accountIds;
+        int[] fractions;
+        int accountCount;
+        long highWaterSplitId;
+        lock.readLock().lock();
+        try {
+            if (!ready) {
+                return;
+            }
+            // 只在锁内取只读视图，汇总和写文件不阻塞凭证提交
+            view = ledger.columns.readOnlyView();
+            accountIds = ledger.accountIds;
+            fractions = ledger.fractions;
+            accountCount = ledger.accountCount;
+            highWaterSplitId = ledger.highWaterSplitId;
+        } finally {
+            lock.readLock().unlock();
+        }
+        long start = System.currentTimeMillis();
+        try {
+            LedgerSnapshotFile snapshot = LedgerSnapshotFile.aggregate(view, accountIds, fractions, accountCount,
+                highWaterSplitId);
+            snapshot.write(path);
+            log.info("列式分录快照已写入 {}：{} 条分录汇总为 {} 行，高水位分录ID={}，耗时 {} ms",
+                path, view.size(), snapshot.getRowCount(), highWaterSplitId, System.currentTimeMillis() - start);
+        } catch (IOException e) {
+            log.warn("列式分录快照写入失败：{}", path, e);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        loader.shutdownNow();
+        // 停机时写入快照，滚动发布后新进程只需补读停机期间的分录
+        writeSnapshot();
+    }
+
+    /**
+     * 加载：未加载过时先尝试从本地快照恢复，否则全量加载；
+     * 加载期间有凭证提交则重试，重试用尽时保持原状态（未加载过则继续使用 SQL）
+     */
+    private void reload() {
+        if (!loading.compareAndSet(false, true)) {
+            return;
+        }
+        // 已加载后的重新加载（如日余额快照重建）说明数据可能不一致，不使用快照
+        boolean tryWarmStart = !ready;
+        try {
+            for (int attempt = 1; attempt <= MAX_LOAD_ATTEMPTS; attempt++) {
+                long version;
+                lock.readLock().lock();
+                try {
+                    version = inFlight == 0 ? commitVersion : -1;
+                } finally {
+                    lock.readLock().unlock();
+                }
+                if (version >= 0) {
+                    long start = System.currentTimeMillis();
+                    Ledger loaded = tryWarmStart ? warmStart() : null;
+                    boolean warm = loaded != null;
+                    // 快照不可用时不再重复尝试
+                    tryWarmStart = warm;
+                    if (!warm) {
+                        loaded = load();
+                    }
+                    if (loaded == null) {
+                        return;
+                    }
+                    boolean swapped = false;
+                    lock.writeLock().lock();
+                    try {
+                        if (commitVersion == version && inFlight == 0) {
+                            ledger = loaded;
+                            ready = true;
+                            swapped = true;
+                            log.info("列式分录存储{}完成：{} 条分录，{} 个科目，约 {} MB，耗时 {} ms",
+                                warm ? "从本地快照恢复" : "加载", loaded.columns.size(), loaded.accountCount,
+                                loaded.columns.capacityBytes() >> 20, System.currentTimeMillis() - start);
+                        }
+                    } finally {
+                        lock.writeLock().unlock();
+                    }
+                    if (swapped) {
+                        if (!warm) {
+                            writeSnapshot();
+                        }
+                        return;
+                    }
+                }
+                log.debug("列式分录存储加载期间有凭证提交，第 {} 次重试", attempt);
+                Thread.sleep(200L * attempt);
+            }
+            log.warn("列式分录存储加载期间持续有凭证提交，本次未完成加载，{}", ready ? "继续使用原有数据" : "查询继续使用 SQL");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (RuntimeException e) {
+            log.error("列式分录存储加载失败，查询继续使用 SQL", e);
+        } finally {
+            loading.set(false);
+        }
+    }
+
+    /**
+     * 从数据库流式读取全部已审核分录；存在无法换算的金额时返回 null 并停用
+     */
+    private Ledger load() {
+        Map<Long, Integer> fractions = loadFractions();
+        Ledger loaded = new Ledger();
+        String failure = loadTransaction.execute(status -> streamSplits(loaded, fractions, null));
+        if (failure != null) {
+            disable(failure);
+            return null;
+        }
+        return loaded;
+    }
+
+    /**
+     * 从本地快照恢复并补读高水位之后的分录，与日余额快照核对一致后返回；快照不存在或不可用时返回 null
+     */
+    private Ledger warmStart() {
+        Path path = snapshotPath();
+        if (path == null) {
+            return null;
+        }
+        LedgerSnapshotFile snapshot;
+        try {
+            snapshot = LedgerSnapshotFile.read(path);
+        } catch (IOException e) {
+            log.warn("列式分录快照 {} 无法读取，改为全量加载：{}", path, e.getMessage());
+            return null;
+        }
+        if (snapshot == null) {
+            return null;
+        }
+
+        Map<Long, Integer> fractions = loadFractions();
+        Ledger restored = new Ledger();
+        for (int account = 0; account < snapshot.getAccountCount(); account++) {
+            long accountId = snapshot.getAccountId(account);
+            int fraction = snapshot.getFraction(account);
+            if (fractions.getOrDefault(accountId, DEFAULT_FRACTION) != fraction) {
+                log.info("科目ID={} 的币种小数位在快照之后已变更，改为全量加载", accountId);
+                return null;
+            }
+            if (restored.indexOf(accountId, fraction) != account) {
+                log.warn("列式分录快照 {} 科目表重复（科目ID={}），改为全量加载", path, accountId);
+                return null;
+            }
+        }
+        snapshot.forEachRow((account, epochDay, debit, credit) -> {
+            // 借贷均为 0 的行仍保留一条，使该科目在汇总结果中出现，与全量加载一致
+            if (debit != 0 || credit == 0) {
+                restored.columns.append(account, epochDay, debit, LedgerColumns.DEBIT, 0L);
+            }
+            if (credit != 0) {
+                restored.columns.append(account, epochDay, credit, LedgerColumns.CREDIT, 0L);
+            }
+        });
+        restored.highWaterSplitId = snapshot.getHighWaterSplitId();
+
+        // 补读与核对在同一只读事务内，读到同一份已提交数据
+        String failure = loadTransaction.execute(status -> {
+            String streamFailure = streamSplits(restored, fractions, snapshot.getHighWaterSplitId());
+            if (streamFailure != null) {
+                return streamFailure;
+            }
+            return verifyWithDailyBalance(restored);
+        });
+        if (failure != null) {
+            log.info("列式分录快照 {}（高水位分录ID={}）不可用，改为全量加载：{}",
+                path, snapshot.getHighWaterSplitId(), failure);
+            return null;
+        }
+        return restored;
+    }
+
+    /**
+     * 流式读取已审核分录追加到 target（需在事务内调用）
+     * @param afterSplitId 只读取分录ID大于该值的分录，为空时读取全部
+     * @return 存在无法换算的金额时返回原因，否则返回 null
+     */
+    private String streamSplits(Ledger target, Map<Long, Integer> fractions, Long afterSplitId) {
+        String[] failure = new String[1];
+        splitMapper.streamAuditedSplits(afterSplitId, context -> {
+            LedgerSplitRow row = context.getResultObject();
+            if (failure[0] != null || row.getAccountId() == null || row.getAmount() == null || row.getTransDate() == null) {
+                return;
+            }
+            byte direction;
+            if ("DEBIT".equals(row.getDirection())) {
+                direction = LedgerColumns.DEBIT;
+            } else if ("CREDIT".equals(row.getDirection())) {
+                direction = LedgerColumns.CREDIT;
+            } else {
+                return;
+            }
+            int fraction = fractions.getOrDefault(row.getAccountId(), DEFAULT_FRACTION);
+            try {
+                target.append(row.getSplitId() != null ? row.getSplitId() : 0L, row.getAccountId(), fraction,
+                    toDay(row.getTransDate()), toMinorUnits(row.getAmount(), fraction), direction,
+                    row.getOwnerId() != null ? row.getOwnerId() : 0L);
+            } catch (ArithmeticException e) {
+                failure[0] = "科目ID=" + row.getAccountId() + " 金额 " + row.getAmount() + " 无法按 " + fraction + " 位小数换算";
+                context.stop();
+            }
+        });
+        return failure[0];
+    }
+
+    /**
+     * 逐科目、逐日核对借贷发生额与科目日余额快照（需在事务内调用）
+     * 存储按任意日期回答余额与发生额，快照之后凭证改了日期（即使仍在同月内）也会改变某些日期的结果，
+     * 因此按 (科目, 日期) 核对，任何一天不一致都改为全量加载
+     * @return 不一致时返回原因，一致时返回 null
+     */
+    private String verifyWithDailyBalance(Ledger restored) {
+        // 键为 科目序号 << 32 | 日期序号，值为 {借方, 贷方}
+        Map<Long, long[]> daily = new HashMap<>();
+        restored.columns.forEach((account, epochDay, amount, direction, ownerId) -> {
+            long[] sums = daily.computeIfAbsent(dayKey(account, epochDay), key -> new long[2]);
+            sums[direction == LedgerColumns.CREDIT ? 1 : 0] += amount;
+        });
+
+        String[] failure = new String[1];
+        dailyBalanceMapper.streamDailyAmounts(context -> {
+            FinAccountDailyBalance expected = context.getResultObject();
+            if (failure[0] != null || expected.getAccountId() == null || expected.getBalanceDate() == null) {
+                return;
+            }
+            BigDecimal expectedDebit = expected.getDebitAmount() != null ? expected.getDebitAmount() : BigDecimal.ZERO;
+            BigDecimal expectedCredit = expected.getCreditAmount() != null ? expected.getCreditAmount() : BigDecimal.ZERO;
+            Integer index = restored.indexByAccount.get(expected.getAccountId());
+            if (index == null) {
+                if (expectedDebit.signum() != 0 || expectedCredit.signum() != 0) {
+                    failure[0] = "科目ID=" + expected.getAccountId() + " " + expected.getBalanceDate()
+                        + " 在日余额快照中有发生额，恢复结果中没有";
+                    context.stop();
+                }
+                return;
+            }
+            long[] sums = daily.remove(dayKey(index, toDay(expected.getBalanceDate())));
+            int fraction = restored.fractions[index];
+            BigDecimal actualDebit = BigDecimal.valueOf(sums != null ? sums[0] : 0L, fraction);
+            BigDecimal actualCredit = BigDecimal.valueOf(sums != null ? sums[1] : 0L, fraction);
+            if (actualDebit.compareTo(expectedDebit) != 0 || actualCredit.compareTo(expectedCredit) != 0) {
+                failure[0] = "科目ID=" + expected.getAccountId() + " " + expected.getBalanceDate()
+                    + " 借贷发生额 " + actualDebit + "/" + actualCredit
+                    + "，日余额快照为 " + expectedDebit + "/" + expectedCredit;
+                context.stop();
+            }
+        });
+        if (failure[0] != null) {
+            return failure[0];
+        }
+        for (Map.Entry<Long, long[]> remaining : daily.entrySet()) {
+            long[] sums = remaining.getValue();
+            if (sums[0] != 0 || sums[1] != 0) {
+                long key = remaining.getKey();
+                int account = (int) (key >>> 32);
+                int epochDay = (int) key;
+                return "科目ID=" + restored.accountIds[account] + " " + LocalDate.ofEpochDay(epochDay)
+                    + " 在日余额快照中没有发生额";
+            }
+        }
+        return null;
+    }
+
+    private static long dayKey(int account, int epochDay) {
+        return ((long) account << 32) | (epochDay & 0xFFFFFFFFL);
+    }
+
+    private Path snapshotPath() {
+        return snapshotPath == null || snapshotPath.isBlank() ? null : Path.of(snapshotPath.trim());
+    }
+
+    /**
+     * 全部科目的币种小数位
+     */
+    private Map<Long, Integer> loadFractions() {
+        Map<Long, Integer> commodityFractions = new HashMap<>();
+        for (Commodity commodity : commodityMapper.selectList(null)) {
+            if (commodity.getFraction() != null) {
+                commodityFractions.put(commodity.getCommodityId(), commodity.getFraction());
+            }
+        }
+        Map<Long, Integer> fractions = new HashMap<>();
+        for (FinAccount account : accountMapper.selectList(null)) {
+            fractions.put(account.getAccountId(),
+                commodityFractions.getOrDefault(account.getCommodityId(), DEFAULT_FRACTION));
+        }
+        fractionByAccount.putAll(fractions);
+        return fractions;
+    }
+
+    private int fractionOf(Long accountId) {
+        return fractionByAccount.computeIfAbsent(accountId, id -> {
+            FinAccount account = accountMapper.selectById(id);
+            if (account == null || account.getCommodityId() == null) {
+                return DEFAULT_FRACTION;
+            }
+            Commodity commodity = commodityMapper.selectById(account.getCommodityId());
+            return commodity != null && commodity.getFraction() != null ? commodity.getFraction() : DEFAULT_FRACTION;
+        });
+    }
+
+    private void disable(String reason) {
+        lock.writeLock().lock();
+        try {
+            ready = false;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.error("列式分录存储已停用，查询回退到 SQL：{}", reason);
+    }
+
+    /**
+     * 提交后追加（调用方持有写锁）；未加载时忽略，由加载结果包含
+     */
+    private void append(List<PendingSplit> pending) {
+        if (!ready) {
+            return;
+        }
+        for (PendingSplit split : pending) {
+            ledger.append(split.splitId(), split.accountId(), split.fraction(), split.epochDay(), split.amount(),
+                split.direction(), split.ownerId());
+        }
+    }
+
+    private List<AccountBalanceSummary> sumByAccount(List<Long> accountIds, int fromDay, int toDay) {
+        List<AccountBalanceSummary> result = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            Ledger current = ledger;
+            long[] debit = new long[current.accountCount];
+            long[] credit = new long[current.accountCount];
+            boolean[] touched = new boolean[current.accountCount];
+            current.columns.sumByAccount(fromDay, toDay, debit, credit, touched);
+            for (int account : selectIndexes(current, accountIds)) {
+                if (!touched[account]) {
+                    continue;
+                }
+                int fraction = current.fractions[account];
+                AccountBalanceSummary summary = new AccountBalanceSummary();
+                summary.setAccountId(current.accountIds[account]);
+                summary.setDebitAmount(BigDecimal.valueOf(debit[account], fraction));
+                summary.setCreditAmount(BigDecimal.valueOf(credit[account], fraction));
+                result.add(summary);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return result;
+    }
+
+    /**
+     * 查询范围内科目的序号（为空时返回全部科目；没有分录的科目不在存储中）
+     */
+    private int[] selectIndexes(Ledger current, List<Long> accountIds) {
+        if (accountIds == null || accountIds.isEmpty()) {
+            int[] all = new int[current.accountCount];
+            Arrays.setAll(all, i -> i);
+            return all;
+        }
+        return accountIds.stream()
+            .map(current.indexByAccount::get)
+            .filter(Objects::nonNull)
+            .distinct()
+            .mapToInt(Integer::intValue)
+            .toArray();
+    }
+
+    /**
+     * 金额换算为最小单位（不能精确换算时抛出 ArithmeticException）
+     */
+    private static long toMinorUnits(BigDecimal amount, int fraction) {
+        return amount.movePointRight(fraction).longValueExact();
+    }
+
+    private static int toDay(LocalDate date) {
+        return Math.toIntExact(date.toEpochDay());
+    }
+
+    private static int monthIndex(LocalDate date) {
+        return date.getYear() * 12 + date.getMonthValue() - 1;
+    }
+}
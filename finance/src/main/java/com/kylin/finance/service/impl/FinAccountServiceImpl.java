@@ -3,151 +3,49 @@ package com.kylin.finance.service.impl;
 import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
 import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
 import com.kylin.common.BusinessException;
+import com.kylin.finance.common.LedgerVersion;
 import com.kylin.finance.dto.AccountDTO;
 import com.kylin.finance.entity.FinAccount;
 import com.kylin.finance.mapper.FinAccountMapper;
 import com.kylin.finance.mapper.FinSplitMapper;
 import com.kylin.finance.service.IFinAccountService;
-import org.springframework.beans.BeanUtils;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
-import java.util.ArrayList;
 import java.util.List;
-import java.util.stream.Collectors;
 
 /**
  * 科目管理服务实现
+ * 科目树、末级判断、层级路径、子科目查询均由内存中的不可变科目表快照（AccountTreeSnapshot）提供，
+ * 科目增删改的事务提交后整体替换快照
  */
+@Slf4j
 @Service
 public class FinAccountServiceImpl extends ServiceImpl<FinAccountMapper, FinAccount> implements IFinAccountService {
     
     @Autowired
     private FinSplitMapper splitMapper;
     
-    @Override
-    public List<AccountDTO> getAccountTree() {
-        // 查询所有科目
-        List<FinAccount> allAccounts = this.list();
-        
-        // 如果列表为空，返回空列表而不是null
-        if (allAccounts == null || allAccounts.isEmpty()) {
-            return new ArrayList<>();
-        }
-        
-        // 转换为DTO，过滤掉null值
-        List<AccountDTO> accountDTOs = allAccounts.stream()
-            .filter(account -> account != null)
-            .map(account -> {
-                AccountDTO dto = new AccountDTO();
-                BeanUtils.copyProperties(account, dto);
-                // 确保关键字段不为null
-                if (dto.getAccountId() == null) {
-                    return null;
-                }
-                // 初始化children为空列表
-                if (dto.getChildren() == null) {
-                    dto.setChildren(new ArrayList<>());
-                }
-                return dto;
-            })
-            .filter(dto -> dto != null)
-            .collect(Collectors.toList());
-        
-        // 构建树形结构
-        List<AccountDTO> tree = buildTree(accountDTOs, null);
-        
-        // 设置isLeaf和path
-        setTreeProperties(tree, accountDTOs, "");
-        
-        return tree != null ? tree : new ArrayList<>();
-    }
+    @Autowired
+    private LedgerVersion ledgerVersion;
     
     /**
-     * 递归构建树形结构
+     * 科目表快照，启动后首次访问时加载，科目增删改提交后整体替换
      */
-    private List<AccountDTO> buildTree(List<AccountDTO> allAccounts, Long parentId) {
-        List<AccountDTO> result = new ArrayList<>();
-        
-        if (allAccounts == null || allAccounts.isEmpty()) {
-            return result;
-        }
-        
-        for (AccountDTO account : allAccounts) {
-            if (account == null) {
-                continue;
-            }
-            
-            // 安全地比较parentId
-            boolean isMatch = false;
-            if (parentId == null) {
-                isMatch = (account.getParentId() == null);
-            } else {
-                isMatch = parentId.equals(account.getParentId());
-            }
-            
-            if (isMatch) {
-                // 确保children字段不为null
-                if (account.getChildren() == null) {
-                    account.setChildren(new ArrayList<>());
-                }
-                
-                // 递归查找子节点
-                List<AccountDTO> children = buildTree(allAccounts, account.getAccountId());
-                if (children != null && !children.isEmpty()) {
-                    account.setChildren(children);
-                } else {
-                    account.setChildren(new ArrayList<>());
-                }
-                
-                result.add(account);
-            }
-        }
-        
-        return result;
-    }
+    private volatile AccountTreeSnapshot snapshot;
     
-    /**
-     * 设置树形结构的isLeaf和path属性
-     */
-    private void setTreeProperties(List<AccountDTO> tree, List<AccountDTO> allAccounts, String parentPath) {
-        if (tree == null || tree.isEmpty()) {
-            return;
-        }
-        
-        for (AccountDTO account : tree) {
-            if (account == null) {
-                continue;
-            }
-            
-            // 安全地获取账户名称
-            String accountName = account.getAccountName();
-            if (accountName == null) {
-                accountName = "";
-            }
-            
-            String currentPath = parentPath == null || parentPath.isEmpty() 
-                ? accountName 
-                : parentPath + " > " + accountName;
-            account.setPath(currentPath);
-            
-            // 安全地检查children
-            List<AccountDTO> children = account.getChildren();
-            if (children == null || children.isEmpty()) {
-                account.setIsLeaf(true);
-            } else {
-                account.setIsLeaf(false);
-                setTreeProperties(children, allAccounts, currentPath);
-            }
-        }
+    @Override
+    public List<AccountDTO> getAccountTree() {
+        return getSnapshot().buildTree();
     }
     
     @Override
     public List<FinAccount> getChildrenByParentId(Long parentId) {
-        LambdaQueryWrapper<FinAccount> wrapper = new LambdaQueryWrapper<>();
-        wrapper.eq(FinAccount::getParentId, parentId);
-        return this.list(wrapper);
+        return getSnapshot().getChildren(parentId);
     }
     
     @Override
@@ -161,6 +59,8 @@ public class FinAccountServiceImpl extends ServiceImpl<FinAccountMapper, FinAcco
         }
         
         this.save(account);
+        refreshSnapshotAfterCommit();
+        ledgerVersion.bumpOnCommit();
     }
     
     @Override
@@ -175,14 +75,17 @@ public class FinAccountServiceImpl extends ServiceImpl<FinAccountMapper, FinAcco
         }
         
         this.updateById(account);
+        refreshSnapshotAfterCommit();
+        ledgerVersion.bumpOnCommit();
     }
     
     @Override
     @Transactional(rollbackFor = Exception.class)
     public void deleteAccount(Long accountId) {
-        // 检查是否有子科目
-        List<FinAccount> children = getChildrenByParentId(accountId);
-        if (!children.isEmpty()) {
+        // 检查是否有子科目（写操作直接查库，不依赖快照）
+        LambdaQueryWrapper<FinAccount> childWrapper = new LambdaQueryWrapper<>();
+        childWrapper.eq(FinAccount::getParentId, accountId);
+        if (this.count(childWrapper) > 0) {
             throw new BusinessException("该科目下存在子科目，无法删除");
         }
         
@@ -196,61 +99,68 @@ public class FinAccountServiceImpl extends ServiceImpl<FinAccountMapper, FinAcco
         }
         
         this.removeById(accountId);
+        refreshSnapshotAfterCommit();
+        ledgerVersion.bumpOnCommit();
     }
     
     @Override
     public boolean isLeafAccount(Long accountId) {
-        List<FinAccount> children = getChildrenByParentId(accountId);
-        return children.isEmpty();
+        return getSnapshot().isLeaf(accountId);
+    }
+    
+    @Override
+    public FinAccount getCachedAccount(Long accountId) {
+        return getSnapshot().getAccount(accountId);
     }
     
     @Override
     public List<AccountDTO> getLeafAccounts() {
-        // 查询所有科目
-        List<FinAccount> allAccounts = this.list();
-        
-        // 转换为DTO并过滤出末级科目
-        List<AccountDTO> leafAccounts = allAccounts.stream()
-            .filter(account -> {
-                // 检查是否有子科目
-                List<FinAccount> children = getChildrenByParentId(account.getAccountId());
-                return children.isEmpty();
-            })
-            .map(account -> {
-                AccountDTO dto = new AccountDTO();
-                BeanUtils.copyProperties(account, dto);
-                dto.setIsLeaf(true);
-                // 设置路径
-                dto.setPath(getAccountPath(account.getAccountId()));
-                return dto;
-            })
-            .collect(Collectors.toList());
-        
-        return leafAccounts;
+        return getSnapshot().getLeafAccounts();
     }
     
     @Override
     public String getAccountPath(Long accountId) {
-        List<String> pathNames = new ArrayList<>();
-        FinAccount account = this.getById(accountId);
-        
-        if (account == null) {
-            return "";
-        }
-        
-        // 递归向上查找父节点
-        Long currentParentId = account.getParentId();
-        pathNames.add(0, account.getAccountName());
-        
-        while (currentParentId != null) {
-            FinAccount parent = this.getById(currentParentId);
-            if (parent == null) {
-                break;
+        return getSnapshot().getPath(accountId);
+    }
+    
+    /**
+     * 串行重建，避免并发提交时较旧的快照覆盖较新的快照
+     */
+    @Override
+    public synchronized void refreshAccountCache() {
+        AccountTreeSnapshot fresh = new AccountTreeSnapshot(this.list());
+        snapshot = fresh;
+        log.info("科目表快照已刷新，共 {} 个科目", fresh.size());
+    }
+    
+    private AccountTreeSnapshot getSnapshot() {
+        AccountTreeSnapshot current = snapshot;
+        if (current == null) {
+            synchronized (this) {
+                current = snapshot;
+                if (current == null) {
+                    current = new AccountTreeSnapshot(this.list());
+                    snapshot = current;
+                }
             }
-            pathNames.add(0, parent.getAccountName());
-            currentParentId = parent.getParentId();
         }
-        
-        return String.join(" > ", pathNames);
+        return current;
+    }
+    
+    /**
+     * 事务提交后重建快照；回滚时保持原快照不变
+     * 不在事务中调用时立即重建
+     */
+    private void refreshSnapshotAfterCommit() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            refreshAccountCache();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                refreshAccountCache();
+            }
+        });
     }
 }
@@ -5,6 +5,8 @@ import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
 import com.kylin.common.BusinessException;
 import com.kylin.finance.entity.FinAccount;
 import com.kylin.finance.entity.business.Owner;
+import com.kylin.finance.loader.EntityLoaders;
+import com.kylin.finance.loader.OwnerDirectory;
 import com.kylin.finance.mapper.FinAccountMapper;
 import com.kylin.finance.mapper.OwnerMapper;
 import com.kylin.finance.service.IOwnerService;
@@ -14,6 +16,8 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
 
 /**
  * 业务实体（客户/供应商/员工）服务实现类
@@ -25,6 +29,12 @@ public class OwnerServiceImpl extends ServiceImpl<OwnerMapper, Owner> implements
     @Autowired
     private FinAccountMapper accountMapper;
     
+    @Autowired
+    private EntityLoaders entityLoaders;
+    
+    @Autowired
+    private OwnerDirectory ownerDirectory;
+    
     @Override
     @Transactional(rollbackFor = Exception.class)
     public Owner createOwner(Owner owner) {
@@ -70,6 +80,7 @@ public class OwnerServiceImpl extends ServiceImpl<OwnerMapper, Owner> implements
             }
             
             log.info("业务实体创建成功，ID：{}", owner.getOwnerId());
+            ownerDirectory.evictAfterCommit(owner.getOwnerId());
             
             // 返回包含关联科目名称的实体
             return getOwnerById(owner.getOwnerId());
@@ -131,6 +142,7 @@ public class OwnerServiceImpl extends ServiceImpl<OwnerMapper, Owner> implements
             }
             
             log.info("业务实体更新成功，ID：{}", owner.getOwnerId());
+            ownerDirectory.evictAfterCommit(owner.getOwnerId());
             
             // 返回包含关联科目名称的实体
             return getOwnerById(owner.getOwnerId());
@@ -167,6 +179,7 @@ public class OwnerServiceImpl extends ServiceImpl<OwnerMapper, Owner> implements
             }
             
             log.info("业务实体删除成功，ID：{}", ownerId);
+            ownerDirectory.evictAfterCommit(ownerId);
             
         } catch (BusinessException e) {
             log.error("删除业务实体失败：{}", e.getMessage());
@@ -188,10 +201,12 @@ public class OwnerServiceImpl extends ServiceImpl<OwnerMapper, Owner> implements
             
             List<Owner> owners = this.list(wrapper);
             
-            // 填充关联的科目名称
+            // 填充关联的科目名称（一次批量查询）
+            Map<Long, FinAccount> accounts = entityLoaders.accounts().loadMany(
+                owners.stream().map(Owner::getAccountId).collect(Collectors.toList()));
             for (Owner owner : owners) {
                 if (owner.getAccountId() != null) {
-                    FinAccount account = accountMapper.selectById(owner.getAccountId());
+                    FinAccount account = accounts.get(owner.getAccountId());
                     if (account != null) {
                         owner.setAccountName(account.getAccountCode() + " " + account.getAccountName());
                     }
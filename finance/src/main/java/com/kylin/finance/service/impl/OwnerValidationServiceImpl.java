@@ -3,13 +3,14 @@ package com.kylin.finance.service.impl;
 import com.kylin.common.BusinessException;
 import com.kylin.finance.entity.FinSplit;
 import com.kylin.finance.entity.business.Owner;
-import com.kylin.finance.mapper.OwnerMapper;
+import com.kylin.finance.loader.EntityLoaders;
 import com.kylin.finance.service.IOwnerValidationService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
 import java.util.List;
+import java.util.stream.Collectors;
 
 /**
  * 业务实体校验服务实现
@@ -18,7 +19,7 @@ import java.util.List;
 public class OwnerValidationServiceImpl implements IOwnerValidationService {
     
     @Autowired
-    private OwnerMapper ownerMapper;
+    private EntityLoaders entityLoaders;
     
     @Override
     public void validateOwnerAssociation(List<FinSplit> splits) {
@@ -26,6 +27,12 @@ public class OwnerValidationServiceImpl implements IOwnerValidationService {
             return;
         }
         
+        // 登记全部分录的业务实体，首次查找时一次批量加载
+        entityLoaders.owners().prime(splits.stream()
+            .filter(split -> split != null && split.getOwnerType() != null)
+            .map(FinSplit::getOwnerId)
+            .collect(Collectors.toList()));
+        
         for (FinSplit split : splits) {
             validateSplitOwnerAssociation(split);
         }
@@ -64,8 +71,8 @@ public class OwnerValidationServiceImpl implements IOwnerValidationService {
             return null;
         }
         
-        // 直接查询 fin_owner 表，因为 ownerId 就是 fin_owner 表的主键
-        Owner owner = ownerMapper.selectById(ownerId);
+        // 直接查询 fin_owner 表，因为 ownerId 就是 fin_owner 表的主键（经批量加载器，同一事务内只查询一次）
+        Owner owner = entityLoaders.owners().load(ownerId);
         
         // 验证类型是否匹配
         if (owner != null && !ownerType.equalsIgnoreCase(owner.getOwnerType())) {
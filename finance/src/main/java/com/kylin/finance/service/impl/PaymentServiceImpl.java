@@ -14,6 +14,7 @@ import com.kylin.finance.entity.payment.PaymentAllocation;
 import com.kylin.finance.mapper.*;
 import com.kylin.finance.service.IPaymentService;
 import com.kylin.finance.service.IFinTransactionService;
+import com.kylin.finance.service.ISequenceService;
 import com.kylin.finance.entity.FinTransaction;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
@@ -55,6 +56,9 @@ public class PaymentServiceImpl implements IPaymentService {
     @Autowired
     private IFinTransactionService transactionService;
 
+    @Autowired
+    private ISequenceService sequenceService;
+
     @Autowired
     private FinSplitMapper splitMapper;
 
@@ -66,12 +70,8 @@ public class PaymentServiceImpl implements IPaymentService {
         }
 
         // 查询该客户所有未结清的发票（OPEN 或 PARTIAL 状态），按创建时间升序排列
-        LambdaQueryWrapper<Invoice> invoiceWrapper = new LambdaQueryWrapper<>();
-        invoiceWrapper.eq(Invoice::getCustomerId, owner.getOwnerId())
-                     .in(Invoice::getStatus, "OPEN", "PARTIAL")
-                     .orderByAsc(Invoice::getCreateTime);
-
-        List<Invoice> unpaidInvoices = invoiceMapper.selectList(invoiceWrapper);
+        // 未结清金额由单据上维护的已核销金额直接得出，无需逐张汇总分配记录
+        List<Invoice> unpaidInvoices = invoiceMapper.selectOpenItems(owner.getOwnerId());
 
         if (unpaidInvoices.isEmpty()) {
             throw new BusinessException("该客户没有未结清的发票");
@@ -134,13 +134,13 @@ public class PaymentServiceImpl implements IPaymentService {
             // 注意：贷方分录（应收账款的贷方，资产减少）将在 postPaymentToLedger 时创建
             // 这里只创建分配记录，不创建分录
 
-            // 更新发票状态
+            // 累加发票已核销金额并更新状态
             if (allocation.getRemainingUnpaidAmount().compareTo(BigDecimal.ZERO) == 0) {
                 invoice.setStatus("PAID");
             } else {
                 invoice.setStatus("PARTIAL");
             }
-            invoiceMapper.updateById(invoice);
+            invoiceMapper.addAllocatedAmount(invoice.getInvoiceId(), allocationAmount, invoice.getStatus());
 
             remainingAmount = remainingAmount.subtract(allocationAmount);
         }
@@ -170,12 +170,8 @@ public class PaymentServiceImpl implements IPaymentService {
         }
 
         // 查询该供应商所有未结清的账单（OPEN 或 PARTIAL 状态），按创建时间升序排列
-        LambdaQueryWrapper<Bill> billWrapper = new LambdaQueryWrapper<>();
-        billWrapper.eq(Bill::getVendorId, vendorOwner.getOwnerId())
-                   .in(Bill::getStatus, "OPEN", "PARTIAL")
-                   .orderByAsc(Bill::getCreateTime);
-
-        List<Bill> unpaidBills = billMapper.selectList(billWrapper);
+        // 未结清金额由单据上维护的已核销金额直接得出，无需逐张汇总分配记录
+        List<Bill> unpaidBills = billMapper.selectOpenItems(vendorOwner.getOwnerId());
 
         if (unpaidBills.isEmpty()) {
             throw new BusinessException("该供应商没有未结清的账单");
@@ -238,13 +234,13 @@ public class PaymentServiceImpl implements IPaymentService {
             // 注意：借方分录（应付账款的借方，负债减少）将在 postPaymentToLedger 时创建
             // 这里只创建分配记录，不创建分录
 
-            // 更新账单状态
+            // 累加账单已核销金额并更新状态
             if (allocation.getRemainingUnpaidAmount().compareTo(BigDecimal.ZERO) == 0) {
                 bill.setStatus("PAID");
             } else {
                 bill.setStatus("PARTIAL");
             }
-            billMapper.updateById(bill);
+            billMapper.addAllocatedAmount(bill.getBillId(), allocationAmount, bill.getStatus());
 
             remainingAmount = remainingAmount.subtract(allocationAmount);
         }
@@ -283,36 +279,40 @@ public class PaymentServiceImpl implements IPaymentService {
     }
 
     /**
-     * 计算单据的未结清金额
+     * 计算单据的未结清金额（单据总额 - 已核销金额）
      */
     private BigDecimal calculateUnpaidAmount(Object document) {
-        BigDecimal totalAmount = BigDecimal.ZERO;
-        Long documentId = null;
+        BigDecimal totalAmount = null;
+        BigDecimal allocatedAmount = null;
 
         if (document instanceof Invoice) {
             Invoice invoice = (Invoice) document;
             totalAmount = invoice.getTotalAmount();
-            documentId = invoice.getInvoiceId();
+            allocatedAmount = invoice.getAllocatedAmount();
         } else if (document instanceof Bill) {
             Bill bill = (Bill) document;
             totalAmount = bill.getTotalAmount();
-            documentId = bill.getBillId();
+            allocatedAmount = bill.getAllocatedAmount();
         }
 
-        if (documentId == null) {
+        if (totalAmount == null) {
             return BigDecimal.ZERO;
         }
+        return allocatedAmount != null ? totalAmount.subtract(allocatedAmount) : totalAmount;
+    }
 
-        // 计算已分配的支付金额
-        LambdaQueryWrapper<PaymentAllocation> allocationWrapper = new LambdaQueryWrapper<>();
-        allocationWrapper.eq(PaymentAllocation::getDocumentId, documentId);
-
-        List<PaymentAllocation> allocations = allocationMapper.selectList(allocationWrapper);
-        BigDecimal allocatedAmount = allocations.stream()
-            .map(PaymentAllocation::getAmount)
-            .reduce(BigDecimal.ZERO, BigDecimal::add);
-
-        return totalAmount.subtract(allocatedAmount);
+    /**
+     * 撤销分配记录对单据已核销金额的累加，并按剩余核销金额恢复单据状态
+     * 金额与状态在同一条 UPDATE 中基于行内最新值计算，不受并发核销影响
+     */
+    private void reverseAllocations(List<PaymentAllocation> allocations) {
+        for (PaymentAllocation allocation : allocations) {
+            if ("INVOICE".equals(allocation.getDocumentType())) {
+                invoiceMapper.reverseAllocatedAmount(allocation.getDocumentId(), allocation.getAmount());
+            } else if ("BILL".equals(allocation.getDocumentType())) {
+                billMapper.reverseAllocatedAmount(allocation.getDocumentId(), allocation.getAmount());
+            }
+        }
     }
 
     /**
@@ -488,14 +488,16 @@ public class PaymentServiceImpl implements IPaymentService {
             transactionService.deleteVoucher(payment.getTransId());
         }
 
+        // 扣减单据已核销金额并恢复单据状态
+        LambdaQueryWrapper<PaymentAllocation> allocationQuery = new LambdaQueryWrapper<>();
+        allocationQuery.eq(PaymentAllocation::getPaymentId, paymentId);
+        reverseAllocations(allocationMapper.selectList(allocationQuery));
+
         // 删除支付分配记录
         LambdaUpdateWrapper<PaymentAllocation> allocationWrapper = new LambdaUpdateWrapper<>();
         allocationWrapper.eq(PaymentAllocation::getPaymentId, paymentId);
         allocationMapper.delete(allocationWrapper);
 
-        // 重置单据状态（这里简化处理，实际应该重新计算）
-        // TODO: 实现更复杂的状态重置逻辑
-
         // 更新支付状态
         payment.setPosted(false);
         payment.setTransId(null);
@@ -508,28 +510,11 @@ public class PaymentServiceImpl implements IPaymentService {
             return BigDecimal.ZERO;
         }
 
-        BigDecimal totalInvoiceAmount = BigDecimal.ZERO;
-        BigDecimal totalBillAmount = BigDecimal.ZERO;
-
         // 计算发票未结清金额
-        LambdaQueryWrapper<Invoice> invoiceWrapper = new LambdaQueryWrapper<>();
-        invoiceWrapper.eq(Invoice::getCustomerId, ownerId)
-                     .ne(Invoice::getStatus, "PAID");
-
-        List<Invoice> invoices = invoiceMapper.selectList(invoiceWrapper);
-        for (Invoice invoice : invoices) {
-            totalInvoiceAmount = totalInvoiceAmount.add(calculateUnpaidAmount(invoice));
-        }
+        BigDecimal totalInvoiceAmount = invoiceMapper.sumUnpaidAmount(ownerId);
 
         // 计算账单未结清金额
-        LambdaQueryWrapper<Bill> billWrapper = new LambdaQueryWrapper<>();
-        billWrapper.eq(Bill::getVendorId, ownerId)
-                  .ne(Bill::getStatus, "PAID");
-
-        List<Bill> bills = billMapper.selectList(billWrapper);
-        for (Bill bill : bills) {
-            totalBillAmount = totalBillAmount.add(calculateUnpaidAmount(bill));
-        }
+        BigDecimal totalBillAmount = billMapper.sumUnpaidAmount(ownerId);
 
         // 对于客户，返回应收金额；对于供应商，返回应付金额
         return totalInvoiceAmount.add(totalBillAmount);
@@ -539,8 +524,16 @@ public class PaymentServiceImpl implements IPaymentService {
      * 生成支付编号
      */
     private String generatePaymentNo() {
-        // 简化实现，实际应该考虑并发和格式化
-        return "PAY-" + System.currentTimeMillis();
+        // 格式：PAY + 日期(yyyyMMdd) + 序号(3位)，如 PAY20241201001
+        return sequenceService.nextNo("PAY", this::findMaxPaymentSequence);
+    }
+
+    /**
+     * 查询当天已有支付记录的最大序号（仅在当天序列首次使用时调用）
+     * @param keyPrefix PAY + 日期(yyyyMMdd)
+     */
+    private long findMaxPaymentSequence(String keyPrefix) {
+        return paymentMapper.selectMaxPaymentSequence(keyPrefix);
     }
 
     @Override
@@ -0,0 +1,242 @@
+package com.kylin.finance.service.impl;
+
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.kylin.common.BusinessException;
+import com.kylin.finance.common.LedgerVersion;
+import com.kylin.finance.dto.AccountBalanceDTO;
+import com.kylin.finance.entity.FinPeriodClose;
+import com.kylin.finance.entity.FinPeriodCloseBalance;
+import com.kylin.finance.entity.FinTransaction;
+import com.kylin.finance.mapper.FinPeriodCloseBalanceMapper;
+import com.kylin.finance.mapper.FinPeriodCloseMapper;
+import com.kylin.finance.mapper.FinPeriodLockMapper;
+import com.kylin.finance.mapper.FinTransactionMapper;
+import com.kylin.finance.service.IAccountingService;
+import com.kylin.finance.service.IPeriodCloseService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.Year;
+import java.time.YearMonth;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 期末结账服务实现
+ *
+ * 结账时以 IAccountingService 计算结账日各科目累计借贷发生额并冻结到 fin_period_close_balance，
+ * 同时计算本期及累计净利润（资产负债表"本年利润"列示金额）保存到 fin_period_close。
+ * 交易日期不晚于最近一次结账日的凭证不能再新增、修改、审核或删除，冻结余额因此始终有效。
+ * 结账、反结账独占 fin_period_lock 锁行，凭证写入在期间校验时共享该行并持有到事务提交，
+ * 结账因此不会与已通过校验、尚未提交的凭证交错执行。
+ */
+@Slf4j
+@Service
+public class PeriodCloseServiceImpl implements IPeriodCloseService {
+
+    private static final String PERIOD_TYPE_MONTH = "MONTH";
+    private static final String PERIOD_TYPE_YEAR = "YEAR";
+
+    @Autowired
+    private FinPeriodCloseMapper periodCloseMapper;
+
+    @Autowired
+    private FinPeriodCloseBalanceMapper closeBalanceMapper;
+
+    @Autowired
+    private FinPeriodLockMapper periodLockMapper;
+
+    @Autowired
+    private FinTransactionMapper transactionMapper;
+
+    @Autowired
+    private IAccountingService accountingService;
+
+    @Autowired
+    private LedgerVersion ledgerVersion;
+
+    @Override
+    @Transactional(rollbackFor = Exception.class)
+    public FinPeriodClose closePeriod(String periodType, String period) {
+        // 0. 独占结账锁：等待已通过期间校验的凭证事务提交，并阻止并发结账
+        lockExclusive();
+
+        // 1. 解析期间
+        LocalDate naturalStart;
+        LocalDate periodEnd;
+        try {
+            if (PERIOD_TYPE_MONTH.equals(periodType)) {
+                YearMonth yearMonth = YearMonth.parse(period);
+                naturalStart = yearMonth.atDay(1);
+                periodEnd = yearMonth.atEndOfMonth();
+            } else if (PERIOD_TYPE_YEAR.equals(periodType)) {
+                Year year = Year.parse(period);
+                naturalStart = year.atDay(1);
+                periodEnd = year.atMonth(12).atEndOfMonth();
+            } else {
+                throw new BusinessException("期间类型必须为 MONTH 或 YEAR");
+            }
+        } catch (DateTimeParseException e) {
+            throw new BusinessException("期间格式错误：月结为 yyyy-MM，年结为 yyyy");
+        }
+
+        // 2. 结账必须按时间顺序进行
+        FinPeriodClose lastClose = selectLastClose();
+        LocalDate periodStart = naturalStart;
+        if (lastClose != null) {
+            if (!periodEnd.isAfter(lastClose.getPeriodEnd())) {
+                throw new BusinessException("该期间已结账，最近结账日：" + lastClose.getPeriodEnd());
+            }
+            if (naturalStart.isAfter(lastClose.getPeriodEnd().plusDays(1))) {
+                throw new BusinessException("请先结账 " + naturalStart + " 之前的期间，最近结账日：" + lastClose.getPeriodEnd());
+            }
+            periodStart = lastClose.getPeriodEnd().plusDays(1);
+        }
+
+        // 3. 期间内不能有未审核凭证
+        LambdaQueryWrapper<FinTransaction> draftWrapper = new LambdaQueryWrapper<>();
+        draftWrapper.le(FinTransaction::getTransDate, periodEnd);
+        if (lastClose != null) {
+            draftWrapper.gt(FinTransaction::getTransDate, lastClose.getPeriodEnd());
+        }
+        draftWrapper.ne(FinTransaction::getStatus, 1);
+        long draftCount = transactionMapper.selectCount(draftWrapper);
+        if (draftCount > 0) {
+            throw new BusinessException("期间内存在 " + draftCount + " 张未审核凭证，不能结账");
+        }
+
+        // 4. 计算结账日各科目累计余额，并校验试算平衡
+        List<AccountBalanceDTO> balances = accountingService.calculateAllAccountBalances(periodEnd);
+        BigDecimal totalDebit = BigDecimal.ZERO;
+        BigDecimal totalCredit = BigDecimal.ZERO;
+        for (AccountBalanceDTO balance : balances) {
+            totalDebit = totalDebit.add(balance.getDebitBalance());
+            totalCredit = totalCredit.add(balance.getCreditBalance());
+        }
+        if (totalDebit.compareTo(totalCredit) != 0) {
+            throw new BusinessException("试算不平衡，借方合计：" + totalDebit + "，贷方合计：" + totalCredit + "，不能结账");
+        }
+
+        // 5. 计算净利润：本年利润在结账时确定，报表直接读取
+        BigDecimal accumulatedProfit = accountingService.calculateNetProfit(periodEnd);
+        BigDecimal previousProfit = lastClose != null && lastClose.getAccumulatedProfit() != null
+                ? lastClose.getAccumulatedProfit() : BigDecimal.ZERO;
+
+        // 6. 保存结账记录
+        FinPeriodClose close = new FinPeriodClose();
+        close.setPeriodType(periodType);
+        close.setPeriodStart(periodStart);
+        close.setPeriodEnd(periodEnd);
+        close.setNetProfit(accumulatedProfit.subtract(previousProfit));
+        close.setAccumulatedProfit(accumulatedProfit);
+        close.setCloseTime(LocalDateTime.now());
+        periodCloseMapper.insert(close);
+
+        // 7. 冻结科目累计余额（借贷均为零的科目不保存）
+        List<FinPeriodCloseBalance> closeBalances = new ArrayList<>();
+        for (AccountBalanceDTO balance : balances) {
+            if (balance.getDebitBalance().signum() == 0 && balance.getCreditBalance().signum() == 0) {
+                continue;
+            }
+            FinPeriodCloseBalance closeBalance = new FinPeriodCloseBalance();
+            closeBalance.setCloseId(close.getCloseId());
+            closeBalance.setAccountId(balance.getAccountId());
+            closeBalance.setDebitAmount(balance.getDebitBalance());
+            closeBalance.setCreditAmount(balance.getCreditBalance());
+            closeBalances.add(closeBalance);
+        }
+        if (!closeBalances.isEmpty()) {
+            closeBalanceMapper.insertBatch(closeBalances);
+        }
+
+        ledgerVersion.bumpOnCommit();
+        log.info("期末结账完成：{} {} ~ {}，冻结科目 {} 个，本期净利润 {}",
+            periodType, periodStart, periodEnd, closeBalances.size(), close.getNetProfit());
+        return close;
+    }
+
+    @Override
+    @Transactional(rollbackFor = Exception.class)
+    public void reopenPeriod(Long closeId) {
+        lockExclusive();
+        FinPeriodClose close = periodCloseMapper.selectById(closeId);
+        if (close == null) {
+            throw new BusinessException("结账记录不存在");
+        }
+
+        FinPeriodClose lastClose = selectLastClose();
+        if (!close.getCloseId().equals(lastClose.getCloseId())) {
+            throw new BusinessException("只能反结账最近一次结账，最近结账日：" + lastClose.getPeriodEnd());
+        }
+
+        // 结账科目余额随结账记录级联删除
+        periodCloseMapper.deleteById(closeId);
+        ledgerVersion.bumpOnCommit();
+        log.info("反结账完成：{} {} ~ {}", close.getPeriodType(), close.getPeriodStart(), close.getPeriodEnd());
+    }
+
+    @Override
+    public List<FinPeriodClose> listClosedPeriods() {
+        LambdaQueryWrapper<FinPeriodClose> wrapper = new LambdaQueryWrapper<>();
+        wrapper.orderByDesc(FinPeriodClose::getPeriodEnd);
+        return periodCloseMapper.selectList(wrapper);
+    }
+
+    @Override
+    public LocalDate getLastClosedDate() {
+        FinPeriodClose lastClose = selectLastClose();
+        return lastClose != null ? lastClose.getPeriodEnd() : null;
+    }
+
+    @Override
+    public void assertPeriodOpen(LocalDate date) {
+        if (date == null) {
+            return;
+        }
+        LocalDate lastClosedDate;
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            // 共享结账锁持有到凭证事务提交，结账须等待本事务结束；
+            // 最近结账日用锁定读读取，不受本事务较早建立的一致性快照影响
+            lockShared();
+            FinPeriodClose lastClose = selectLastClose(true);
+            lastClosedDate = lastClose != null ? lastClose.getPeriodEnd() : null;
+        } else {
+            lastClosedDate = getLastClosedDate();
+        }
+        if (lastClosedDate != null && !date.isAfter(lastClosedDate)) {
+            throw new BusinessException("日期 " + date + " 所在期间已结账（最近结账日：" + lastClosedDate + "），不能操作凭证");
+        }
+    }
+
+    private FinPeriodClose selectLastClose() {
+        return selectLastClose(false);
+    }
+
+    private FinPeriodClose selectLastClose(boolean lockShared) {
+        LambdaQueryWrapper<FinPeriodClose> wrapper = new LambdaQueryWrapper<>();
+        wrapper.orderByDesc(FinPeriodClose::getPeriodEnd);
+        wrapper.last(lockShared ? "LIMIT 1 LOCK IN SHARE MODE" : "LIMIT 1");
+        return periodCloseMapper.selectOne(wrapper);
+    }
+
+    private void lockExclusive() {
+        if (periodLockMapper.lockExclusive() == null) {
+            periodLockMapper.insertIfAbsent();
+            periodLockMapper.lockExclusive();
+        }
+    }
+
+    private void lockShared() {
+        if (periodLockMapper.lockShared() == null) {
+            periodLockMapper.insertIfAbsent();
+            periodLockMapper.lockShared();
+        }
+    }
+}
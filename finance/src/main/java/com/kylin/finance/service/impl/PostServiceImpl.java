@@ -1,26 +1,46 @@
 package com.kylin.finance.service.impl;
 
 import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.baomidou.mybatisplus.core.conditions.update.LambdaUpdateWrapper;
 import com.kylin.common.BusinessException;
 import com.kylin.finance.common.DocumentStatus;
+import com.kylin.finance.common.LedgerVersion;
+import com.kylin.finance.dto.DocumentPostResultDTO;
 import com.kylin.finance.entity.*;
 import com.kylin.finance.entity.business.Customer;
 import com.kylin.finance.entity.business.Owner;
 import com.kylin.finance.entity.business.Vendor;
 import com.kylin.finance.entity.document.*;
 import com.kylin.finance.mapper.*;
+import com.kylin.finance.service.IAccountDailyBalanceService;
+import com.kylin.finance.service.IFinAccountService;
+import com.kylin.finance.service.IPeriodCloseService;
 import com.kylin.finance.service.IPostService;
 import com.kylin.finance.service.IFinTransactionService;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 /**
  * 过账服务实现（参考 GnuCash 双重检查逻辑）
@@ -65,12 +85,117 @@ public class PostServiceImpl implements IPostService {
     @Autowired
     private FinAccountMapper accountMapper;
 
+    @Autowired
+    private IAccountDailyBalanceService dailyBalanceService;
+
+    @Autowired
+    private LedgerVersion ledgerVersion;
+
+    @Autowired
+    private IPeriodCloseService periodCloseService;
+
+    @Autowired
+    private IFinAccountService accountService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    /**
+     * 批量过账时每个事务写入的单据数
+     */
+    private static final int BATCH_POST_CHUNK_SIZE = 200;
+
     @Override
     @Transactional(rollbackFor = Exception.class)
     public FinTransaction postInvoiceToLedger(Invoice invoice) {
         log.info("开始过账发票，ID：{}，编号：{}", invoice.getInvoiceId(), invoice.getInvoiceNo());
         
         // 1. 检查发票状态（必须为 VALIDATED）
+        checkInvoicePostable(invoice);
+
+        // 2. 加载客户和发票条目
+        // 注意：invoice.getCustomerId() 返回的是 owner_id（fin_owner表的主键），不是 customer_id
+        // 因此需要使用 OwnerMapper 查询，而不是 CustomerMapper
+        Owner customer = ownerMapper.selectById(invoice.getCustomerId());
+        LambdaQueryWrapper<InvoiceItem> itemWrapper = new LambdaQueryWrapper<>();
+        itemWrapper.eq(InvoiceItem::getInvoiceId, invoice.getInvoiceId());
+        List<InvoiceItem> items = invoiceItemMapper.selectList(itemWrapper);
+
+        // 3. 双重检查并生成会计分录
+        FinTransaction transaction = buildInvoiceTransaction(invoice, customer, items, accountMapper::selectById);
+
+        // 4. 保存交易（这会触发交易服务中的校验）
+        transactionService.saveVoucher(transaction);
+        
+        log.info("会计分录生成成功，交易ID：{}，凭证号：{}", transaction.getTransId(), transaction.getVoucherNo());
+
+        // 5. 更新发票状态为 POSTED，并锁定单据编号
+        markInvoicePosted(invoice, transaction);
+        
+        log.info("发票过账成功，ID：{}，编号：{}（已锁定），交易ID：{}", 
+            invoice.getInvoiceId(), invoice.getInvoiceNo(), transaction.getTransId());
+
+        return transaction;
+    }
+
+    @Override
+    public List<DocumentPostResultDTO> postInvoicesToLedger(List<Long> invoiceIds) {
+        Set<Long> ids = distinctIds(invoiceIds);
+        List<DocumentPostResultDTO> results = new ArrayList<>(ids.size());
+        if (ids.isEmpty()) {
+            return results;
+        }
+        log.info("开始批量过账发票，共 {} 张", ids.size());
+
+        // 1. 用少量 IN 查询预加载发票、客户和发票条目，科目取自科目表快照
+        Map<Long, Invoice> invoices = new HashMap<>();
+        for (Invoice invoice : invoiceMapper.selectBatchIds(ids)) {
+            invoices.put(invoice.getInvoiceId(), invoice);
+        }
+        Map<Long, Owner> owners = loadOwners(invoices.values().stream().map(Invoice::getCustomerId).collect(Collectors.toSet()));
+        LambdaQueryWrapper<InvoiceItem> itemWrapper = new LambdaQueryWrapper<>();
+        itemWrapper.in(InvoiceItem::getInvoiceId, ids);
+        Map<Long, List<InvoiceItem>> itemsByInvoiceId = invoiceItemMapper.selectList(itemWrapper).stream()
+                .collect(Collectors.groupingBy(InvoiceItem::getInvoiceId));
+        LocalDate lastClosedDate = periodCloseService.getLastClosedDate();
+
+        // 2. 在内存中逐张校验并生成会计分录，失败的单据记录原因后跳过
+        List<Invoice> postable = new ArrayList<>();
+        List<FinTransaction> transactions = new ArrayList<>();
+        List<DocumentPostResultDTO> pendingResults = new ArrayList<>();
+        for (Long invoiceId : ids) {
+            DocumentPostResultDTO result = new DocumentPostResultDTO();
+            result.setDocumentId(invoiceId);
+            results.add(result);
+            Invoice invoice = invoices.get(invoiceId);
+            try {
+                if (invoice == null) {
+                    throw new BusinessException("发票不存在，ID：" + invoiceId);
+                }
+                result.setDocumentNo(invoice.getInvoiceNo());
+                checkInvoicePostable(invoice);
+                Owner customer = owners.get(invoice.getCustomerId());
+                FinTransaction transaction = buildInvoiceTransaction(invoice, customer,
+                        itemsByInvoiceId.getOrDefault(invoiceId, Collections.emptyList()), accountService::getCachedAccount);
+                validatePreparedVoucher(transaction, customer, "CUSTOMER", lastClosedDate);
+                postable.add(invoice);
+                transactions.add(transaction);
+                pendingResults.add(result);
+            } catch (BusinessException e) {
+                result.setMessage(e.getMessage());
+            }
+        }
+
+        // 3. 批量写入凭证、分录并回写发票状态
+        writeBatchPostings(postable, transactions, pendingResults, this::markInvoicePosted);
+        log.info("批量过账发票完成，共 {} 张，成功 {} 张", results.size(), pendingResults.stream().filter(DocumentPostResultDTO::isSuccess).count());
+        return results;
+    }
+
+    /**
+     * 检查发票是否可以过账
+     */
+    private void checkInvoicePostable(Invoice invoice) {
         DocumentStatus currentStatus = DocumentStatus.fromCode(invoice.getStatus());
         if (currentStatus != DocumentStatus.VALIDATED) {
             throw new BusinessException(
@@ -81,10 +206,20 @@ public class PostServiceImpl implements IPostService {
             throw new BusinessException("发票已过账，无法重复过账");
         }
 
-        // 2. 验证客户信息和往来科目（双重检查 - 第一重）
-        // 注意：invoice.getCustomerId() 返回的是 owner_id（fin_owner表的主键），不是 customer_id
-        // 因此需要使用 OwnerMapper 查询，而不是 CustomerMapper
-        Owner customer = ownerMapper.selectById(invoice.getCustomerId());
+        // 锁定单据编号：确保编号不为空
+        if (invoice.getInvoiceNo() == null || invoice.getInvoiceNo().trim().isEmpty()) {
+            throw new BusinessException("发票编号不能为空，无法过账");
+        }
+    }
+
+    /**
+     * 校验客户、往来科目与发票条目（双重检查），并生成发票过账凭证
+     * 借：应收账款（关联客户），贷：收入科目（及销项税）
+     * @param accountLookup 科目查询方式（单张过账查数据库，批量过账取科目表快照）
+     */
+    private FinTransaction buildInvoiceTransaction(Invoice invoice, Owner customer, List<InvoiceItem> items,
+                                                   Function<Long, FinAccount> accountLookup) {
+        // 1. 验证客户信息和往来科目（双重检查 - 第一重）
         if (customer == null) {
             throw new BusinessException("客户信息不存在，ID：" + invoice.getCustomerId());
         }
@@ -94,7 +229,7 @@ public class PostServiceImpl implements IPostService {
         }
         
         // 校验往来科目是否存在且有效
-        FinAccount receivableAccount = accountMapper.selectById(customer.getAccountId());
+        FinAccount receivableAccount = accountLookup.apply(customer.getAccountId());
         if (receivableAccount == null) {
             throw new BusinessException(
                 String.format("客户关联的应收账款科目不存在，科目ID：%d。请检查客户配置。", customer.getAccountId()));
@@ -117,16 +252,12 @@ public class PostServiceImpl implements IPostService {
             receivableAccount.getAccountName(),
             receivableAccount.getAccountType());
 
-        // 3. 获取发票条目
-        LambdaQueryWrapper<InvoiceItem> itemWrapper = new LambdaQueryWrapper<>();
-        itemWrapper.eq(InvoiceItem::getInvoiceId, invoice.getInvoiceId());
-        List<InvoiceItem> items = invoiceItemMapper.selectList(itemWrapper);
-
+        // 2. 检查发票条目
         if (items.isEmpty()) {
             throw new BusinessException("发票没有条目，无法过账");
         }
         
-        // 4. 双重检查 - 第二重：校验单据总额 = 明细行金额之和
+        // 3. 双重检查 - 第二重：校验单据总额 = 明细行金额之和
         BigDecimal itemsTotalAmount = BigDecimal.ZERO;
         BigDecimal itemsTotalTax = BigDecimal.ZERO;
         
@@ -139,7 +270,7 @@ public class PostServiceImpl implements IPostService {
             }
             
             // 校验收入科目是否存在
-            FinAccount incomeAccount = accountMapper.selectById(item.getIncomeAccountId());
+            FinAccount incomeAccount = accountLookup.apply(item.getIncomeAccountId());
             if (incomeAccount == null) {
                 throw new BusinessException("发票条目的收入科目不存在，科目ID：" + item.getIncomeAccountId());
             }
@@ -216,26 +347,28 @@ public class PostServiceImpl implements IPostService {
         }
 
         transaction.setSplits(splits);
+        return transaction;
+    }
 
-        // 5. 保存交易（这会触发交易服务中的校验）
-        transactionService.saveVoucher(transaction);
-        
-        log.info("会计分录生成成功，交易ID：{}，凭证号：{}", transaction.getTransId(), transaction.getVoucherNo());
-
-        // 6. 更新发票状态为 POSTED，并锁定单据编号
+    /**
+     * 条件更新发票为已过账：只写状态、过账标记和交易ID，且仅当发票仍为未过账的已审核状态时更新。
+     * 并发过账（或期间被作废）时更新 0 行，抛出异常回滚本次过账，不会对同一张发票生成两张凭证，
+     * 也不会覆盖并发修改的其他字段（如核销金额）
+     */
+    private void markInvoicePosted(Invoice invoice, FinTransaction transaction) {
+        int updated = invoiceMapper.update(null, new LambdaUpdateWrapper<Invoice>()
+                .set(Invoice::getStatus, DocumentStatus.POSTED.getCode())
+                .set(Invoice::getPosted, true)
+                .set(Invoice::getTransId, transaction.getTransId())
+                .eq(Invoice::getInvoiceId, invoice.getInvoiceId())
+                .eq(Invoice::getStatus, DocumentStatus.VALIDATED.getCode())
+                .and(w -> w.eq(Invoice::getPosted, false).or().isNull(Invoice::getPosted)));
+        if (updated == 0) {
+            throw new BusinessException("发票 " + invoice.getInvoiceNo() + " 已被过账或状态已变更，请刷新后重试");
+        }
         invoice.setStatus(DocumentStatus.POSTED.getCode());
         invoice.setPosted(true);
         invoice.setTransId(transaction.getTransId());
-        // 锁定单据编号：确保编号不为空且唯一
-        if (invoice.getInvoiceNo() == null || invoice.getInvoiceNo().trim().isEmpty()) {
-            throw new BusinessException("发票编号不能为空，无法过账");
-        }
-        invoiceMapper.updateById(invoice);
-        
-        log.info("发票过账成功，ID：{}，编号：{}（已锁定），交易ID：{}", 
-            invoice.getInvoiceId(), invoice.getInvoiceNo(), transaction.getTransId());
-
-        return transaction;
     }
 
     @Override
@@ -244,6 +377,91 @@ public class PostServiceImpl implements IPostService {
         log.info("开始过账账单，ID：{}，编号：{}", bill.getBillId(), bill.getBillNo());
         
         // 1. 检查账单状态（必须为 VALIDATED）
+        checkBillPostable(bill);
+
+        // 2. 加载供应商和账单条目
+        // 注意：bill.getVendorId() 返回的是 owner_id（fin_owner表的主键），不是 vendor_id
+        // 因此需要使用 OwnerMapper 查询，而不是 VendorMapper
+        Owner vendor = ownerMapper.selectById(bill.getVendorId());
+        LambdaQueryWrapper<BillItem> itemWrapper = new LambdaQueryWrapper<>();
+        itemWrapper.eq(BillItem::getBillId, bill.getBillId());
+        List<BillItem> items = billItemMapper.selectList(itemWrapper);
+
+        // 3. 双重检查并生成会计分录
+        FinTransaction transaction = buildBillTransaction(bill, vendor, items, accountMapper::selectById);
+
+        // 4. 保存交易（这会触发交易服务中的校验）
+        transactionService.saveVoucher(transaction);
+        
+        log.info("会计分录生成成功，交易ID：{}，凭证号：{}", transaction.getTransId(), transaction.getVoucherNo());
+
+        // 5. 更新账单状态为 POSTED，并锁定单据编号
+        markBillPosted(bill, transaction);
+        
+        log.info("账单过账成功，ID：{}，编号：{}（已锁定），交易ID：{}", 
+            bill.getBillId(), bill.getBillNo(), transaction.getTransId());
+
+        return transaction;
+    }
+
+    @Override
+    public List<DocumentPostResultDTO> postBillsToLedger(List<Long> billIds) {
+        Set<Long> ids = distinctIds(billIds);
+        List<DocumentPostResultDTO> results = new ArrayList<>(ids.size());
+        if (ids.isEmpty()) {
+            return results;
+        }
+        log.info("开始批量过账账单，共 {} 张", ids.size());
+
+        // 1. 用少量 IN 查询预加载账单、供应商和账单条目，科目取自科目表快照
+        Map<Long, Bill> bills = new HashMap<>();
+        for (Bill bill : billMapper.selectBatchIds(ids)) {
+            bills.put(bill.getBillId(), bill);
+        }
+        Map<Long, Owner> owners = loadOwners(bills.values().stream().map(Bill::getVendorId).collect(Collectors.toSet()));
+        LambdaQueryWrapper<BillItem> itemWrapper = new LambdaQueryWrapper<>();
+        itemWrapper.in(BillItem::getBillId, ids);
+        Map<Long, List<BillItem>> itemsByBillId = billItemMapper.selectList(itemWrapper).stream()
+                .collect(Collectors.groupingBy(BillItem::getBillId));
+        LocalDate lastClosedDate = periodCloseService.getLastClosedDate();
+
+        // 2. 在内存中逐张校验并生成会计分录，失败的单据记录原因后跳过
+        List<Bill> postable = new ArrayList<>();
+        List<FinTransaction> transactions = new ArrayList<>();
+        List<DocumentPostResultDTO> pendingResults = new ArrayList<>();
+        for (Long billId : ids) {
+            DocumentPostResultDTO result = new DocumentPostResultDTO();
+            result.setDocumentId(billId);
+            results.add(result);
+            Bill bill = bills.get(billId);
+            try {
+                if (bill == null) {
+                    throw new BusinessException("账单不存在，ID：" + billId);
+                }
+                result.setDocumentNo(bill.getBillNo());
+                checkBillPostable(bill);
+                Owner vendor = owners.get(bill.getVendorId());
+                FinTransaction transaction = buildBillTransaction(bill, vendor,
+                        itemsByBillId.getOrDefault(billId, Collections.emptyList()), accountService::getCachedAccount);
+                validatePreparedVoucher(transaction, vendor, "VENDOR", lastClosedDate);
+                postable.add(bill);
+                transactions.add(transaction);
+                pendingResults.add(result);
+            } catch (BusinessException e) {
+                result.setMessage(e.getMessage());
+            }
+        }
+
+        // 3. 批量写入凭证、分录并回写账单状态
+        writeBatchPostings(postable, transactions, pendingResults, this::markBillPosted);
+        log.info("批量过账账单完成，共 {} 张，成功 {} 张", results.size(), pendingResults.stream().filter(DocumentPostResultDTO::isSuccess).count());
+        return results;
+    }
+
+    /**
+     * 检查账单是否可以过账
+     */
+    private void checkBillPostable(Bill bill) {
         DocumentStatus currentStatus = DocumentStatus.fromCode(bill.getStatus());
         if (currentStatus != DocumentStatus.VALIDATED) {
             throw new BusinessException(
@@ -254,10 +472,20 @@ public class PostServiceImpl implements IPostService {
             throw new BusinessException("账单已过账，无法重复过账");
         }
 
-        // 2. 验证供应商信息和往来科目（双重检查 - 第一重）
-        // 注意：bill.getVendorId() 返回的是 owner_id（fin_owner表的主键），不是 vendor_id
-        // 因此需要使用 OwnerMapper 查询，而不是 VendorMapper
-        Owner vendor = ownerMapper.selectById(bill.getVendorId());
+        // 锁定单据编号：确保编号不为空
+        if (bill.getBillNo() == null || bill.getBillNo().trim().isEmpty()) {
+            throw new BusinessException("账单编号不能为空，无法过账");
+        }
+    }
+
+    /**
+     * 校验供应商、往来科目与账单条目（双重检查），并生成账单过账凭证
+     * 借：费用/资产科目（及进项税），贷：应付账款（关联供应商）
+     * @param accountLookup 科目查询方式（单张过账查数据库，批量过账取科目表快照）
+     */
+    private FinTransaction buildBillTransaction(Bill bill, Owner vendor, List<BillItem> items,
+                                                Function<Long, FinAccount> accountLookup) {
+        // 1. 验证供应商信息和往来科目（双重检查 - 第一重）
         if (vendor == null) {
             throw new BusinessException("供应商信息不存在，ID：" + bill.getVendorId());
         }
@@ -267,7 +495,7 @@ public class PostServiceImpl implements IPostService {
         }
         
         // 校验往来科目是否存在且有效
-        FinAccount payableAccount = accountMapper.selectById(vendor.getAccountId());
+        FinAccount payableAccount = accountLookup.apply(vendor.getAccountId());
         if (payableAccount == null) {
             throw new BusinessException(
                 String.format("供应商关联的应付账款科目不存在，科目ID：%d。请检查供应商配置。", vendor.getAccountId()));
@@ -290,16 +518,12 @@ public class PostServiceImpl implements IPostService {
             payableAccount.getAccountName(),
             payableAccount.getAccountType());
 
-        // 3. 获取账单条目
-        LambdaQueryWrapper<BillItem> itemWrapper = new LambdaQueryWrapper<>();
-        itemWrapper.eq(BillItem::getBillId, bill.getBillId());
-        List<BillItem> items = billItemMapper.selectList(itemWrapper);
-
+        // 2. 检查账单条目
         if (items.isEmpty()) {
             throw new BusinessException("账单没有条目，无法过账");
         }
         
-        // 4. 双重检查 - 第二重：校验单据总额 = 明细行金额之和
+        // 3. 双重检查 - 第二重：校验单据总额 = 明细行金额之和
         BigDecimal itemsTotalAmount = BigDecimal.ZERO;
         BigDecimal itemsTotalTax = BigDecimal.ZERO;
         
@@ -312,7 +536,7 @@ public class PostServiceImpl implements IPostService {
             }
             
             // 校验费用/资产科目是否存在
-            FinAccount expenseAccount = accountMapper.selectById(item.getExpenseAccountId());
+            FinAccount expenseAccount = accountLookup.apply(item.getExpenseAccountId());
             if (expenseAccount == null) {
                 throw new BusinessException("账单条目的费用/资产科目不存在，科目ID：" + item.getExpenseAccountId());
             }
@@ -389,26 +613,146 @@ public class PostServiceImpl implements IPostService {
         }
 
         transaction.setSplits(splits);
+        return transaction;
+    }
 
-        // 5. 保存交易（这会触发交易服务中的校验）
-        transactionService.saveVoucher(transaction);
-        
-        log.info("会计分录生成成功，交易ID：{}，凭证号：{}", transaction.getTransId(), transaction.getVoucherNo());
-
-        // 6. 更新账单状态为 POSTED，并锁定单据编号
+    /**
+     * 条件更新账单为已过账，规则同 markInvoicePosted
+     */
+    private void markBillPosted(Bill bill, FinTransaction transaction) {
+        int updated = billMapper.update(null, new LambdaUpdateWrapper<Bill>()
+                .set(Bill::getStatus, DocumentStatus.POSTED.getCode())
+                .set(Bill::getPosted, true)
+                .set(Bill::getTransId, transaction.getTransId())
+                .eq(Bill::getBillId, bill.getBillId())
+                .eq(Bill::getStatus, DocumentStatus.VALIDATED.getCode())
+                .and(w -> w.eq(Bill::getPosted, false).or().isNull(Bill::getPosted)));
+        if (updated == 0) {
+            throw new BusinessException("账单 " + bill.getBillNo() + " 已被过账或状态已变更，请刷新后重试");
+        }
         bill.setStatus(DocumentStatus.POSTED.getCode());
         bill.setPosted(true);
         bill.setTransId(transaction.getTransId());
-        // 锁定单据编号：确保编号不为空且唯一
-        if (bill.getBillNo() == null || bill.getBillNo().trim().isEmpty()) {
-            throw new BusinessException("账单编号不能为空，无法过账");
+    }
+
+    /**
+     * 去除空值和重复ID，保持请求顺序
+     */
+    private Set<Long> distinctIds(List<Long> ids) {
+        Set<Long> result = new LinkedHashSet<>();
+        if (ids != null) {
+            for (Long id : ids) {
+                if (id != null) {
+                    result.add(id);
+                }
+            }
         }
-        billMapper.updateById(bill);
-        
-        log.info("账单过账成功，ID：{}，编号：{}（已锁定），交易ID：{}", 
-            bill.getBillId(), bill.getBillNo(), transaction.getTransId());
+        return result;
+    }
 
-        return transaction;
+    private Map<Long, Owner> loadOwners(Set<Long> ownerIds) {
+        Set<Long> ids = new HashSet<>(ownerIds);
+        ids.remove(null);
+        Map<Long, Owner> owners = new HashMap<>();
+        if (!ids.isEmpty()) {
+            for (Owner owner : ownerMapper.selectBatchIds(ids)) {
+                owners.put(owner.getOwnerId(), owner);
+            }
+        }
+        return owners;
+    }
+
+    /**
+     * 批量过账时对生成凭证的内存校验（对应 saveVoucher 中的结账期间、末级科目、借贷平衡和业务实体校验）
+     * 科目取自科目表快照，业务实体使用预加载结果，不再逐条查询数据库
+     */
+    private void validatePreparedVoucher(FinTransaction transaction, Owner owner, String ownerType, LocalDate lastClosedDate) {
+        LocalDate transDate = transaction.getTransDate();
+        if (transDate != null && lastClosedDate != null && !transDate.isAfter(lastClosedDate)) {
+            throw new BusinessException("日期 " + transDate + " 所在期间已结账（最近结账日：" + lastClosedDate + "），不能操作凭证");
+        }
+        if (!ownerType.equalsIgnoreCase(owner.getOwnerType())) {
+            throw new BusinessException(
+                String.format("业务实体类型不匹配：期望 %s，实际 %s", ownerType, owner.getOwnerType()));
+        }
+
+        BigDecimal debits = BigDecimal.ZERO;
+        BigDecimal credits = BigDecimal.ZERO;
+        for (FinSplit split : transaction.getSplits()) {
+            FinAccount account = accountService.getCachedAccount(split.getAccountId());
+            if (account == null) {
+                throw new BusinessException("分录科目不存在，科目ID：" + split.getAccountId());
+            }
+            if (!accountService.isLeafAccount(split.getAccountId())) {
+                throw new BusinessException("凭证分录只能使用末级科目，科目\"" + account.getAccountName() + "\"不是末级科目");
+            }
+            if (split.getAmount() == null || split.getAmount().compareTo(BigDecimal.ZERO) <= 0) {
+                throw new BusinessException("分录金额必须大于0");
+            }
+            if (split.getOwnerId() != null) {
+                owner.validateSplitAssociation(split.getAccountId(), split.getAmount());
+            }
+            if ("DEBIT".equals(split.getDirection())) {
+                debits = debits.add(split.getAmount());
+            } else {
+                credits = credits.add(split.getAmount());
+            }
+        }
+        if (debits.compareTo(credits) != 0) {
+            throw new BusinessException(String.format("借贷不平！借方：%s，贷方：%s，差异：%s",
+                debits, credits, debits.subtract(credits).abs()));
+        }
+    }
+
+    /**
+     * 分批写入过账结果，每批一个事务；整批失败时逐张重写以定位出错单据，其余单据照常过账
+     * @param documents 待过账单据
+     * @param transactions 与单据一一对应的凭证
+     * @param results 与单据一一对应的过账结果
+     * @param markPosted 条件回写单据过账状态（单据已被并发过账时抛出异常）
+     */
+    private <D> void writeBatchPostings(List<D> documents, List<FinTransaction> transactions,
+                                        List<DocumentPostResultDTO> results, BiConsumer<D, FinTransaction> markPosted) {
+        for (int from = 0; from < documents.size(); from += BATCH_POST_CHUNK_SIZE) {
+            int to = Math.min(from + BATCH_POST_CHUNK_SIZE, documents.size());
+            try {
+                writePostings(documents.subList(from, to), transactions.subList(from, to), markPosted);
+                for (int i = from; i < to; i++) {
+                    markPostSucceeded(results.get(i), transactions.get(i));
+                }
+            } catch (RuntimeException e) {
+                log.warn("单据批量过账写入失败，改为逐张写入：{}", e.getMessage());
+                for (int i = from; i < to; i++) {
+                    try {
+                        writePostings(Collections.singletonList(documents.get(i)),
+                                Collections.singletonList(transactions.get(i)), markPosted);
+                        markPostSucceeded(results.get(i), transactions.get(i));
+                    } catch (RuntimeException ex) {
+                        results.get(i).setMessage("过账写入失败：" + ex.getMessage());
+                    }
+                }
+            }
+        }
+    }
+
+    private <D> void writePostings(List<D> documents, List<FinTransaction> transactions, BiConsumer<D, FinTransaction> markPosted) {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            // 事务内按最早凭证日期重新校验结账期间并持有共享结账锁，校验之后结账的期间不会被写入
+            transactions.stream().map(FinTransaction::getTransDate).filter(Objects::nonNull).min(Comparator.naturalOrder())
+                    .ifPresent(periodCloseService::assertPeriodOpen);
+            transactionService.saveVouchersBatch(transactions);
+            // 逐张条件更新，任一单据已被并发过账时整批回滚，由调用方逐张重写定位
+            for (int i = 0; i < documents.size(); i++) {
+                markPosted.accept(documents.get(i), transactions.get(i));
+            }
+        });
+    }
+
+    private void markPostSucceeded(DocumentPostResultDTO result, FinTransaction transaction) {
+        result.setSuccess(true);
+        result.setTransId(transaction.getTransId());
+        result.setVoucherNo(transaction.getVoucherNo());
+        result.setMessage(null);
     }
 
     @Override
@@ -430,6 +774,9 @@ public class PostServiceImpl implements IPostService {
             throw new BusinessException("原单据未找到或未过账");
         }
 
+        // 冲销交易直接落库，不经过 saveVoucher，需单独校验结账期间
+        periodCloseService.assertPeriodOpen(creditNote.getCreditNoteDate());
+
         // 3. 创建冲销交易（方向相反，金额相同）
         FinTransaction creditTransaction = new FinTransaction();
         creditTransaction.setTransDate(creditNote.getCreditNoteDate());
@@ -464,6 +811,7 @@ public class PostServiceImpl implements IPostService {
             split.setTransId(creditTransaction.getTransId());
             splitMapper.insert(split);
         }
+        ledgerVersion.bumpOnCommit();
 
         // 5. 更新冲销单据状态
         creditNote.setPosted(true);
@@ -487,10 +835,7 @@ public class PostServiceImpl implements IPostService {
 
         if (invoice.getTransId() != null) {
             // 删除关联的交易
-            LambdaQueryWrapper<FinSplit> splitWrapper = new LambdaQueryWrapper<>();
-            splitWrapper.eq(FinSplit::getTransId, invoice.getTransId());
-            splitMapper.delete(splitWrapper);
-            transactionMapper.deleteById(invoice.getTransId());
+            deleteLedgerTransaction(invoice.getTransId());
         }
 
         // 更新发票状态
@@ -513,10 +858,7 @@ public class PostServiceImpl implements IPostService {
 
         if (bill.getTransId() != null) {
             // 删除关联的交易
-            LambdaQueryWrapper<FinSplit> splitWrapper = new LambdaQueryWrapper<>();
-            splitWrapper.eq(FinSplit::getTransId, bill.getTransId());
-            splitMapper.delete(splitWrapper);
-            transactionMapper.deleteById(bill.getTransId());
+            deleteLedgerTransaction(bill.getTransId());
         }
 
         // 更新账单状态
@@ -539,10 +881,7 @@ public class PostServiceImpl implements IPostService {
 
         if (creditNote.getTransId() != null) {
             // 删除关联的交易
-            LambdaQueryWrapper<FinSplit> splitWrapper = new LambdaQueryWrapper<>();
-            splitWrapper.eq(FinSplit::getTransId, creditNote.getTransId());
-            splitMapper.delete(splitWrapper);
-            transactionMapper.deleteById(creditNote.getTransId());
+            deleteLedgerTransaction(creditNote.getTransId());
         }
 
         // 更新冲销单据状态
@@ -551,6 +890,28 @@ public class PostServiceImpl implements IPostService {
         creditNoteMapper.updateById(creditNote);
     }
 
+    /**
+     * 删除过账生成的交易及分录
+     * 若交易已审核，先从科目日余额快照中冲回其分录；已结账期间的交易不能删除
+     */
+    private void deleteLedgerTransaction(Long transId) {
+        LambdaQueryWrapper<FinSplit> splitWrapper = new LambdaQueryWrapper<>();
+        splitWrapper.eq(FinSplit::getTransId, transId);
+
+        FinTransaction transaction = transactionMapper.selectById(transId);
+        if (transaction != null) {
+            periodCloseService.assertPeriodOpen(transaction.getTransDate());
+        }
+        if (transaction != null && transaction.getStatus() != null && transaction.getStatus() == 1) {
+            List<FinSplit> splits = splitMapper.selectList(splitWrapper);
+            dailyBalanceService.reverseSplits(transaction.getTransDate(), splits);
+        }
+
+        splitMapper.delete(splitWrapper);
+        transactionMapper.deleteById(transId);
+        ledgerVersion.bumpOnCommit();
+    }
+
     private Long getInvoiceTransId(Long invoiceId) {
         Invoice invoice = invoiceMapper.selectById(invoiceId);
         return invoice != null ? invoice.getTransId() : null;
@@ -1,45 +1,84 @@
 package com.kylin.finance.service.impl;
 
 import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.kylin.common.BusinessException;
 import com.kylin.finance.dto.AccountBalanceDTO;
+import com.kylin.finance.dto.AgingExportRow;
+import com.kylin.finance.dto.AgingItemDTO;
+import com.kylin.finance.dto.AgingReportDTO;
 import com.kylin.finance.dto.BalanceSheetDTO;
 import com.kylin.finance.dto.BalanceSheetExportRow;
 import com.kylin.finance.dto.CashFlowDTO;
 import com.kylin.finance.dto.CashFlowExportRow;
+import com.kylin.finance.dto.CashFlowTransactionSummary;
+import com.kylin.finance.dto.ComparativeReportDTO;
+import com.kylin.finance.dto.GeneralLedgerExportRow;
+import com.kylin.finance.dto.IncomeStatementAmount;
+import com.kylin.finance.dto.IncomeStatementDTO;
+import com.kylin.finance.dto.IncomeStatementExportRow;
+import com.kylin.finance.dto.OwnerLedgerBalance;
 import com.kylin.finance.dto.TrialBalanceDTO;
 import com.kylin.finance.dto.TrialBalanceExportRow;
 import com.kylin.finance.entity.FinAccount;
-import com.kylin.finance.entity.FinSplit;
-import com.kylin.finance.entity.FinTransaction;
+import com.kylin.finance.export.ExcelStreamWriter;
+import com.kylin.finance.mapper.BillMapper;
+import com.kylin.finance.mapper.FinAccountDailyBalanceMapper;
 import com.kylin.finance.mapper.FinAccountMapper;
 import com.kylin.finance.mapper.FinSplitMapper;
-import com.kylin.finance.mapper.FinTransactionMapper;
+import com.kylin.finance.mapper.InvoiceMapper;
 import com.kylin.finance.service.IAccountingService;
+import com.kylin.finance.service.IColumnarLedgerService;
 import com.kylin.finance.service.IReportService;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
+import java.io.OutputStream;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 /**
  * 报表服务实现
  */
+@Slf4j
 @Service
 public class ReportServiceImpl implements IReportService {
     
+    private static final String CASH_FLOW_ITEM_OPERATING = "销售商品、提供劳务收到的现金";
+    private static final String CASH_FLOW_ITEM_INVESTING = "投资支付的现金";
+    private static final String CASH_FLOW_ITEM_FINANCING = "取得借款收到的现金";
+    
+    private static final String OWNER_TYPE_CUSTOMER = "CUSTOMER";
+    private static final String OWNER_TYPE_VENDOR = "VENDOR";
+    
     @Autowired
     private FinAccountMapper accountMapper;
     
     @Autowired
-    private FinTransactionMapper transactionMapper;
+    private FinSplitMapper splitMapper;
     
     @Autowired
-    private FinSplitMapper splitMapper;
+    private FinAccountDailyBalanceMapper dailyBalanceMapper;
+    
+    @Autowired
+    private IColumnarLedgerService columnarLedgerService;
+    
+    @Autowired
+    private InvoiceMapper invoiceMapper;
+    
+    @Autowired
+    private BillMapper billMapper;
     
     @Autowired
     private IAccountingService accountingService;
@@ -64,10 +103,6 @@ public class ReportServiceImpl implements IReportService {
         List<BalanceSheetDTO.BalanceSheetItemDTO> equity = new ArrayList<>();
         BigDecimal totalEquity = BigDecimal.ZERO;
         
-        // 计算净利润：收入类科目余额 - 费用类科目余额
-        BigDecimal totalIncome = BigDecimal.ZERO;  // 收入类科目余额总和
-        BigDecimal totalExpense = BigDecimal.ZERO; // 费用类科目余额总和
-        
         // 记录"本年利润"科目的原始余额（如果存在）
         BigDecimal originalCurrentYearProfitBalance = BigDecimal.ZERO;
         AccountBalanceDTO currentYearProfitBalanceDTO = null;
@@ -130,19 +165,13 @@ public class ReportServiceImpl implements IReportService {
             } else if ("EQUITY".equals(accountType)) {
                 equity.add(item);
                 totalEquity = totalEquity.add(balanceValue);
-            } else if ("INCOME".equals(accountType)) {
-                // 收入类：余额 = 贷方 - 借方，余额为正数表示收入
-                totalIncome = totalIncome.add(balanceValue);
-            } else if ("EXPENSE".equals(accountType)) {
-                // 费用类：余额 = 借方 - 贷方，余额为正数表示费用
-                totalExpense = totalExpense.add(balanceValue);
             }
+            // 收入类、费用类科目不列示，其损益通过"本年利润"反映
         }
         
-        // 计算净利润 = 收入 - 费用
-        // 注意：收入类余额为正数（贷方余额），费用类余额为正数（借方余额）
-        // 净利润 = 收入余额 - 费用余额
-        BigDecimal netProfit = totalIncome.subtract(totalExpense);
+        // 净利润 = 收入 - 费用
+        // 已结账期间直接取结账时冻结的累计净利润，只计算最近结账日之后的损益
+        BigDecimal netProfit = accountingService.calculateNetProfit(reportDate);
         
         // 处理"本年利润"科目：使用计算出的净利润
         if (currentYearProfitBalanceDTO != null) {
@@ -191,23 +220,18 @@ public class ReportServiceImpl implements IReportService {
             .map(FinAccount::getAccountId)
             .collect(Collectors.toList());
         
-        // 计算期初现金余额
+        // 计算期初现金余额（批量查询所有现金科目）
         // 现金科目是资产类，余额为正（借方余额）时增加现金，余额为负（贷方余额，如银行透支）时减少现金
-        BigDecimal beginningCashBalance = BigDecimal.ZERO;
-        for (Long accountId : cashAccountIds) {
-            AccountBalanceDTO balance = accountingService.calculateAccountBalance(accountId, startDate.minusDays(1));
-            if (balance != null) {
-                beginningCashBalance = beginningCashBalance.add(balance.getBalance());
-            }
-        }
+        BigDecimal beginningCashBalance = accountingService.calculateAccountBalances(cashAccountIds, startDate.minusDays(1))
+            .stream()
+            .map(AccountBalanceDTO::getBalance)
+            .reduce(BigDecimal.ZERO, BigDecimal::add);
         cashFlow.setBeginningCashBalance(beginningCashBalance);
         
-        // 查询期间内的所有交易
-        LambdaQueryWrapper<FinTransaction> transWrapper = new LambdaQueryWrapper<>();
-        transWrapper.ge(FinTransaction::getTransDate, startDate);
-        transWrapper.le(FinTransaction::getTransDate, endDate);
-        transWrapper.eq(FinTransaction::getStatus, 1);
-        List<FinTransaction> transactions = transactionMapper.selectList(transWrapper);
+        // 一次性查询期间内涉及现金科目的已审核凭证，按凭证聚合现金净额（借方 - 贷方）
+        List<CashFlowTransactionSummary> cashTransactions = cashAccountIds.isEmpty()
+            ? new ArrayList<>()
+            : splitMapper.selectCashFlowTransactions(cashAccountIds, startDate, endDate);
         
         // 经营活动产生的现金流量
         List<CashFlowDTO.CashFlowItemDTO> operatingActivities = new ArrayList<>();
@@ -221,50 +245,28 @@ public class ReportServiceImpl implements IReportService {
         List<CashFlowDTO.CashFlowItemDTO> financingActivities = new ArrayList<>();
         BigDecimal netFinancingCashFlow = BigDecimal.ZERO;
         
-        // 遍历交易，分类现金流量
-        for (FinTransaction trans : transactions) {
-            LambdaQueryWrapper<FinSplit> splitWrapper = new LambdaQueryWrapper<>();
-            splitWrapper.eq(FinSplit::getTransId, trans.getTransId());
-            splitWrapper.in(FinSplit::getAccountId, cashAccountIds);
-            List<FinSplit> cashSplits = splitMapper.selectList(splitWrapper);
+        // 在内存中分类现金流量
+        for (CashFlowTransactionSummary trans : cashTransactions) {
+            String itemName = classifyCashFlowItem(trans);
+            if (itemName == null) {
+                continue;
+            }
             
-            if (!cashSplits.isEmpty()) {
-                // 判断交易类型（简化处理，实际应根据业务规则判断）
-                String description = trans.getDescription();
-                BigDecimal amount = cashSplits.stream()
-                    .filter(s -> "DEBIT".equals(s.getDirection()))
-                    .map(FinSplit::getAmount)
-                    .reduce(BigDecimal.ZERO, BigDecimal::add)
-                    .subtract(cashSplits.stream()
-                        .filter(s -> "CREDIT".equals(s.getDirection()))
-                        .map(FinSplit::getAmount)
-                        .reduce(BigDecimal.ZERO, BigDecimal::add));
-                
-                // 简化分类逻辑（实际应根据科目和业务规则详细分类）
-                if (description != null) {
-                    if (description.contains("销售") || description.contains("收入")) {
-                        CashFlowDTO.CashFlowItemDTO item = new CashFlowDTO.CashFlowItemDTO();
-                        item.setItemName("销售商品、提供劳务收到的现金");
-                        item.setAmount(amount.abs());
-                        item.setDescription(description);
-                        operatingActivities.add(item);
-                        netOperatingCashFlow = netOperatingCashFlow.add(amount);
-                    } else if (description.contains("投资")) {
-                        CashFlowDTO.CashFlowItemDTO item = new CashFlowDTO.CashFlowItemDTO();
-                        item.setItemName("投资支付的现金");
-                        item.setAmount(amount.abs());
-                        item.setDescription(description);
-                        investingActivities.add(item);
-                        netInvestingCashFlow = netInvestingCashFlow.add(amount);
-                    } else if (description.contains("借款") || description.contains("贷款")) {
-                        CashFlowDTO.CashFlowItemDTO item = new CashFlowDTO.CashFlowItemDTO();
-                        item.setItemName("取得借款收到的现金");
-                        item.setAmount(amount.abs());
-                        item.setDescription(description);
-                        financingActivities.add(item);
-                        netFinancingCashFlow = netFinancingCashFlow.add(amount);
-                    }
-                }
+            BigDecimal amount = trans.getCashAmount();
+            CashFlowDTO.CashFlowItemDTO item = new CashFlowDTO.CashFlowItemDTO();
+            item.setItemName(itemName);
+            item.setAmount(amount.abs());
+            item.setDescription(trans.getDescription());
+            
+            if (CASH_FLOW_ITEM_OPERATING.equals(itemName)) {
+                operatingActivities.add(item);
+                netOperatingCashFlow = netOperatingCashFlow.add(amount);
+            } else if (CASH_FLOW_ITEM_INVESTING.equals(itemName)) {
+                investingActivities.add(item);
+                netInvestingCashFlow = netInvestingCashFlow.add(amount);
+            } else {
+                financingActivities.add(item);
+                netFinancingCashFlow = netFinancingCashFlow.add(amount);
             }
         }
         
@@ -288,6 +290,164 @@ public class ReportServiceImpl implements IReportService {
         return cashFlow;
     }
     
+    /**
+     * 现金流量项目分类
+     * 分类规则与原逐张凭证查询时保持一致（按摘要关键字），保证报表结果不变
+     * 
+     * @return 现金流量项目名称，无法分类时返回 null（不计入现金流量表）
+     */
+    private String classifyCashFlowItem(CashFlowTransactionSummary trans) {
+        String description = trans.getDescription();
+        if (description == null) {
+            return null;
+        }
+        if (description.contains("销售") || description.contains("收入")) {
+            return CASH_FLOW_ITEM_OPERATING;
+        } else if (description.contains("投资")) {
+            return CASH_FLOW_ITEM_INVESTING;
+        } else if (description.contains("借款") || description.contains("贷款")) {
+            return CASH_FLOW_ITEM_FINANCING;
+        }
+        return null;
+    }
+    
+    @Override
+    public IncomeStatementDTO generateIncomeStatement(LocalDate startDate, LocalDate endDate) {
+        if (startDate.isAfter(endDate)) {
+            throw new BusinessException("开始日期不能晚于结束日期");
+        }
+        IncomeStatementDTO statement = new IncomeStatementDTO();
+        statement.setStartDate(startDate.toString());
+        statement.setEndDate(endDate.toString());
+        
+        // 损益类科目（按科目代码排序，保证同级项目顺序稳定）
+        LambdaQueryWrapper<FinAccount> accountWrapper = new LambdaQueryWrapper<>();
+        accountWrapper.in(FinAccount::getAccountType, "INCOME", "EXPENSE")
+                     .orderByAsc(FinAccount::getAccountCode);
+        List<FinAccount> accounts = accountMapper.selectList(accountWrapper);
+        
+        // 本期与本年累计发生额一次查询：只扫描期间内的日余额快照，不汇总整个账簿
+        Map<Long, IncomeStatementAmount> amountMap = new HashMap<>();
+        if (!accounts.isEmpty()) {
+            List<Long> accountIds = accounts.stream()
+                .map(FinAccount::getAccountId)
+                .collect(Collectors.toList());
+            LocalDate yearStart = endDate.withDayOfYear(1);
+            // 启用列式分录存储时扫描内存，否则查询日余额快照
+            List<IncomeStatementAmount> amounts = columnarLedgerService.isReady()
+                ? columnarLedgerService.selectPeriodAndYearAmountByAccountIds(accountIds, yearStart, startDate, endDate)
+                : dailyBalanceMapper.selectPeriodAndYearAmountByAccountIds(accountIds, yearStart, startDate, endDate);
+            for (IncomeStatementAmount amount : amounts) {
+                amountMap.put(amount.getAccountId(), amount);
+            }
+        }
+        
+        // 构建科目树：收入类余额 = 贷方 - 借方，费用类余额 = 借方 - 贷方
+        Map<Long, IncomeStatementDTO.IncomeStatementItemDTO> items = new LinkedHashMap<>();
+        for (FinAccount account : accounts) {
+            IncomeStatementAmount amount = amountMap.get(account.getAccountId());
+            IncomeStatementDTO.IncomeStatementItemDTO item = new IncomeStatementDTO.IncomeStatementItemDTO();
+            item.setAccountId(account.getAccountId());
+            item.setAccountCode(account.getAccountCode());
+            item.setAccountName(account.getAccountName());
+            item.setAmount(amount == null ? BigDecimal.ZERO : calculateBalanceByType(
+                account.getAccountType(), nvl(amount.getPeriodDebit()), nvl(amount.getPeriodCredit())));
+            item.setYearToDateAmount(amount == null ? BigDecimal.ZERO : calculateBalanceByType(
+                account.getAccountType(), nvl(amount.getYearDebit()), nvl(amount.getYearCredit())));
+            item.setChildren(new ArrayList<>());
+            items.put(account.getAccountId(), item);
+        }
+        List<IncomeStatementDTO.IncomeStatementItemDTO> incomes = new ArrayList<>();
+        List<IncomeStatementDTO.IncomeStatementItemDTO> expenses = new ArrayList<>();
+        Map<Long, String> accountTypes = new HashMap<>();
+        for (FinAccount account : accounts) {
+            accountTypes.put(account.getAccountId(), account.getAccountType());
+        }
+        for (FinAccount account : accounts) {
+            IncomeStatementDTO.IncomeStatementItemDTO item = items.get(account.getAccountId());
+            // 上级科目为同类损益科目时挂到上级下，否则作为一级项目
+            IncomeStatementDTO.IncomeStatementItemDTO parent = account.getParentId() != null
+                && account.getAccountType().equals(accountTypes.get(account.getParentId()))
+                ? items.get(account.getParentId()) : null;
+            if (parent != null) {
+                parent.getChildren().add(item);
+            } else if ("INCOME".equals(account.getAccountType())) {
+                incomes.add(item);
+            } else {
+                expenses.add(item);
+            }
+        }
+        
+        // 自下而上汇总：父科目金额 = 本科目发生额 + 全部下级科目金额
+        BigDecimal totalIncome = BigDecimal.ZERO;
+        BigDecimal totalIncomeYearToDate = BigDecimal.ZERO;
+        for (IncomeStatementDTO.IncomeStatementItemDTO item : incomes) {
+            rollUpIncomeStatementItem(item, 1);
+            totalIncome = totalIncome.add(item.getAmount());
+            totalIncomeYearToDate = totalIncomeYearToDate.add(item.getYearToDateAmount());
+        }
+        BigDecimal totalExpense = BigDecimal.ZERO;
+        BigDecimal totalExpenseYearToDate = BigDecimal.ZERO;
+        for (IncomeStatementDTO.IncomeStatementItemDTO item : expenses) {
+            rollUpIncomeStatementItem(item, 1);
+            totalExpense = totalExpense.add(item.getAmount());
+            totalExpenseYearToDate = totalExpenseYearToDate.add(item.getYearToDateAmount());
+        }
+        
+        statement.setIncomes(incomes);
+        statement.setTotalIncome(totalIncome);
+        statement.setTotalIncomeYearToDate(totalIncomeYearToDate);
+        statement.setExpenses(expenses);
+        statement.setTotalExpense(totalExpense);
+        statement.setTotalExpenseYearToDate(totalExpenseYearToDate);
+        statement.setNetProfit(totalIncome.subtract(totalExpense));
+        statement.setNetProfitYearToDate(totalIncomeYearToDate.subtract(totalExpenseYearToDate));
+        return statement;
+    }
+    
+    /**
+     * 设置层级并将下级科目金额汇总到本项目
+     */
+    private void rollUpIncomeStatementItem(IncomeStatementDTO.IncomeStatementItemDTO item, int level) {
+        item.setLevel(level);
+        for (IncomeStatementDTO.IncomeStatementItemDTO child : item.getChildren()) {
+            rollUpIncomeStatementItem(child, level + 1);
+            item.setAmount(item.getAmount().add(child.getAmount()));
+            item.setYearToDateAmount(item.getYearToDateAmount().add(child.getYearToDateAmount()));
+        }
+    }
+    
+    @Override
+    public List<IncomeStatementExportRow> generateIncomeStatementExportData(LocalDate startDate, LocalDate endDate) {
+        IncomeStatementDTO statement = generateIncomeStatement(startDate, endDate);
+        
+        List<IncomeStatementExportRow> exportRows = new ArrayList<>();
+        exportRows.add(new IncomeStatementExportRow("一、收入", null, null));
+        appendIncomeStatementRows(exportRows, statement.getIncomes());
+        exportRows.add(new IncomeStatementExportRow("收入合计",
+            statement.getTotalIncome(), statement.getTotalIncomeYearToDate()));
+        exportRows.add(new IncomeStatementExportRow("二、费用", null, null));
+        appendIncomeStatementRows(exportRows, statement.getExpenses());
+        exportRows.add(new IncomeStatementExportRow("费用合计",
+            statement.getTotalExpense(), statement.getTotalExpenseYearToDate()));
+        exportRows.add(new IncomeStatementExportRow("三、净利润",
+            statement.getNetProfit(), statement.getNetProfitYearToDate()));
+        return exportRows;
+    }
+    
+    /**
+     * 按科目树先序展开，下级科目按层级缩进
+     */
+    private void appendIncomeStatementRows(List<IncomeStatementExportRow> rows,
+                                           List<IncomeStatementDTO.IncomeStatementItemDTO> items) {
+        for (IncomeStatementDTO.IncomeStatementItemDTO item : items) {
+            String indent = String.join("", Collections.nCopies(item.getLevel() - 1, "    "));
+            rows.add(new IncomeStatementExportRow(indent + item.getAccountName(),
+                item.getAmount(), item.getYearToDateAmount()));
+            appendIncomeStatementRows(rows, item.getChildren());
+        }
+    }
+    
     @Override
     public List<BalanceSheetExportRow> generateBalanceSheetExportData(LocalDate reportDate) {
         // 获取资产负债表数据
@@ -508,4 +668,359 @@ public class ReportServiceImpl implements IReportService {
         
         return exportRows;
     }
+    
+    @Override
+    public long exportGeneralLedger(LocalDate startDate, LocalDate endDate, Long accountId, Integer status,
+                                    OutputStream out) {
+        // 分录逐行回调写入，每批 1000 行写出后释放，不在内存中汇集全部分录
+        try (ExcelStreamWriter<GeneralLedgerExportRow> writer =
+                     new ExcelStreamWriter<>(out, GeneralLedgerExportRow.class, "总账明细")) {
+            splitMapper.streamGeneralLedger(startDate, endDate, accountId, status, writer);
+            writer.flush();
+            log.info("总账明细导出完成：{} ~ {}，共 {} 行", startDate, endDate, writer.getTotalRows());
+            return writer.getTotalRows();
+        }
+    }
+    
+    @Override
+    public ComparativeReportDTO generateComparativeBalanceSheet(LocalDate startDate, LocalDate endDate, String periodType) {
+        // 各期末科目余额来自对比试算平衡表（整个范围一次汇总查询）
+        ComparativeReportDTO trialBalance = accountingService.generateComparativeTrialBalance(startDate, endDate, periodType);
+        int periodCount = trialBalance.getPeriods().size();
+        
+        List<ComparativeReportDTO.RowDTO> assets = new ArrayList<>();
+        List<ComparativeReportDTO.RowDTO> liabilities = new ArrayList<>();
+        List<ComparativeReportDTO.RowDTO> equity = new ArrayList<>();
+        BigDecimal[] totalAssets = zeros(periodCount);
+        BigDecimal[] totalLiabilities = zeros(periodCount);
+        BigDecimal[] totalEquity = zeros(periodCount);
+        // 净利润 = 收入 - 费用（各期末累计余额），口径与 generateBalanceSheet 一致
+        BigDecimal[] netProfit = zeros(periodCount);
+        ComparativeReportDTO.RowDTO currentYearProfitAccount = null;
+        
+        for (ComparativeReportDTO.RowDTO account : trialBalance.getRows()) {
+            String accountType = account.getAccountType();
+            if (accountType == null) {
+                continue;
+            }
+            if ("INCOME".equals(accountType) || "EXPENSE".equals(accountType)) {
+                for (int p = 0; p < periodCount; p++) {
+                    BigDecimal balance = account.getCells().get(p).getBalance();
+                    netProfit[p] = "INCOME".equals(accountType) ? netProfit[p].add(balance) : netProfit[p].subtract(balance);
+                }
+                continue;
+            }
+            // "本年利润"科目稍后以净利润列示
+            if ("EQUITY".equals(accountType) &&
+                ("4103".equals(account.getAccountCode()) ||
+                 (account.getAccountName() != null && account.getAccountName().contains("本年利润")))) {
+                currentYearProfitAccount = account;
+                continue;
+            }
+            
+            BigDecimal[] total;
+            List<ComparativeReportDTO.RowDTO> section;
+            if ("ASSET".equals(accountType)) {
+                total = totalAssets;
+                section = assets;
+            } else if ("LIABILITY".equals(accountType)) {
+                total = totalLiabilities;
+                section = liabilities;
+            } else if ("EQUITY".equals(accountType)) {
+                total = totalEquity;
+                section = equity;
+            } else {
+                continue;
+            }
+            BigDecimal[] amounts = new BigDecimal[periodCount];
+            for (int p = 0; p < periodCount; p++) {
+                amounts[p] = account.getCells().get(p).getBalance();
+                // 合计使用带符号余额，以正确处理反向余额
+                total[p] = total[p].add(amounts[p]);
+            }
+            section.add(balanceSheetRow(account.getAccountId(), account.getAccountCode(), account.getAccountName(),
+                    accountType, amounts, true));
+        }
+        
+        // "本年利润"：科目存在或任一期间净利润不为零时列示
+        boolean hasProfit = Arrays.stream(netProfit).anyMatch(amount -> amount.compareTo(BigDecimal.ZERO) != 0);
+        if (currentYearProfitAccount != null || hasProfit) {
+            equity.add(balanceSheetRow(
+                    currentYearProfitAccount != null ? currentYearProfitAccount.getAccountId() : null,
+                    currentYearProfitAccount != null ? currentYearProfitAccount.getAccountCode() : "4103",
+                    currentYearProfitAccount != null ? currentYearProfitAccount.getAccountName() : "本年利润",
+                    "EQUITY", netProfit, true));
+            for (int p = 0; p < periodCount; p++) {
+                totalEquity[p] = totalEquity[p].add(netProfit[p]);
+            }
+        }
+        BigDecimal[] totalLiabilitiesAndEquity = new BigDecimal[periodCount];
+        for (int p = 0; p < periodCount; p++) {
+            totalLiabilitiesAndEquity[p] = totalLiabilities[p].add(totalEquity[p]);
+        }
+        
+        List<ComparativeReportDTO.RowDTO> rows = new ArrayList<>(assets);
+        rows.add(balanceSheetRow(null, null, "资产总计", "ASSET", totalAssets, false));
+        rows.addAll(liabilities);
+        rows.add(balanceSheetRow(null, null, "负债合计", "LIABILITY", totalLiabilities, false));
+        rows.addAll(equity);
+        rows.add(balanceSheetRow(null, null, "所有者权益合计", "EQUITY", totalEquity, false));
+        rows.add(balanceSheetRow(null, null, "负债及权益总计", null, totalLiabilitiesAndEquity, false));
+        
+        ComparativeReportDTO sheet = new ComparativeReportDTO();
+        sheet.setPeriodType(trialBalance.getPeriodType());
+        sheet.setStartDate(trialBalance.getStartDate());
+        sheet.setEndDate(trialBalance.getEndDate());
+        sheet.setPeriods(trialBalance.getPeriods());
+        sheet.setRows(rows);
+        return sheet;
+    }
+    
+    @Override
+    public long exportComparativeTrialBalance(ComparativeReportDTO report, OutputStream out) {
+        // 两行表头：期间名称 / 借方、贷方、期末余额
+        List<List<String>> head = new ArrayList<>();
+        head.add(List.of("科目编码", "科目编码"));
+        head.add(List.of("科目名称", "科目名称"));
+        head.add(List.of("期初余额", "期初余额"));
+        for (ComparativeReportDTO.PeriodDTO period : report.getPeriods()) {
+            head.add(List.of(period.getLabel(), "本期借方发生"));
+            head.add(List.of(period.getLabel(), "本期贷方发生"));
+            head.add(List.of(period.getLabel(), "期末余额"));
+        }
+        
+        try (ExcelStreamWriter<List<Object>> writer = ExcelStreamWriter.withHead(out, head, "对比试算平衡表")) {
+            for (ComparativeReportDTO.RowDTO row : report.getRows()) {
+                List<Object> cells = new ArrayList<>(head.size());
+                cells.add(row.getAccountCode());
+                cells.add(row.getAccountName());
+                cells.add(row.getOpeningBalance());
+                for (ComparativeReportDTO.CellDTO cell : row.getCells()) {
+                    cells.add(cell.getDebit());
+                    cells.add(cell.getCredit());
+                    cells.add(cell.getBalance());
+                }
+                writer.write(cells);
+            }
+            writer.flush();
+            return writer.getTotalRows();
+        }
+    }
+    
+    @Override
+    public long exportComparativeBalanceSheet(ComparativeReportDTO report, OutputStream out) {
+        List<List<String>> head = new ArrayList<>();
+        head.add(List.of("项目"));
+        for (ComparativeReportDTO.PeriodDTO period : report.getPeriods()) {
+            head.add(List.of(period.getLabel()));
+        }
+        
+        try (ExcelStreamWriter<List<Object>> writer = ExcelStreamWriter.withHead(out, head, "对比资产负债表")) {
+            for (ComparativeReportDTO.RowDTO row : report.getRows()) {
+                List<Object> cells = new ArrayList<>(head.size());
+                cells.add(row.getAccountName() != null ? row.getAccountName() : "");
+                for (ComparativeReportDTO.CellDTO cell : row.getCells()) {
+                    // 报表上显示绝对值，与单期资产负债表导出一致
+                    cells.add(cell.getBalance() != null ? cell.getBalance().abs() : BigDecimal.ZERO);
+                }
+                writer.write(cells);
+            }
+            writer.flush();
+            return writer.getTotalRows();
+        }
+    }
+    
+    @Override
+    public AgingReportDTO generateAgingReport(String ownerType, LocalDate asOfDate) {
+        boolean receivable = isReceivable(ownerType);
+        
+        // 未结清单据按往来单位一次分组汇总各账龄分段
+        LocalDate overdue30 = asOfDate.minusDays(30);
+        LocalDate overdue60 = asOfDate.minusDays(60);
+        LocalDate overdue90 = asOfDate.minusDays(90);
+        LocalDate overdue120 = asOfDate.minusDays(120);
+        List<AgingReportDTO.RowDTO> openRows = receivable
+            ? invoiceMapper.selectAgingByOwner(asOfDate, overdue30, overdue60, overdue90, overdue120)
+            : billMapper.selectAgingByOwner(asOfDate, overdue30, overdue60, overdue90, overdue120);
+        Map<Long, AgingReportDTO.RowDTO> rowMap = new HashMap<>();
+        for (AgingReportDTO.RowDTO row : openRows) {
+            rowMap.put(row.getOwnerId(), row);
+        }
+        
+        // 往来明细账余额按分录的往来单位一次分组汇总；没有未结清单据但余额不为零的往来单位（如预收、预付款）单独成行
+        for (OwnerLedgerBalance ledger : splitMapper.selectOwnerLedgerBalances(ownerType, null, asOfDate)) {
+            BigDecimal balance = ownerLedgerBalance(receivable, ledger);
+            AgingReportDTO.RowDTO row = rowMap.get(ledger.getOwnerId());
+            if (row == null) {
+                if (balance.signum() == 0) {
+                    continue;
+                }
+                row = agingRow(ledger.getOwnerId(), ledger.getOwnerCode(), ledger.getOwnerName());
+                rowMap.put(ledger.getOwnerId(), row);
+            }
+            row.setLedgerBalance(balance);
+        }
+        
+        List<AgingReportDTO.RowDTO> rows = new ArrayList<>(rowMap.values());
+        rows.sort(Comparator.comparing(AgingReportDTO.RowDTO::getOwnerCode, Comparator.nullsLast(Comparator.naturalOrder()))
+            .thenComparing(AgingReportDTO.RowDTO::getOwnerId));
+        AgingReportDTO.RowDTO total = agingRow(null, null, "合计");
+        for (AgingReportDTO.RowDTO row : rows) {
+            row.setLedgerBalance(nvl(row.getLedgerBalance()));
+            row.setDifference(row.getLedgerBalance().subtract(nvl(row.getOpenAmount())));
+            total.setItemCount(total.getItemCount() + (row.getItemCount() != null ? row.getItemCount() : 0));
+            total.setCurrentAmount(total.getCurrentAmount().add(nvl(row.getCurrentAmount())));
+            total.setOverdue1To30(total.getOverdue1To30().add(nvl(row.getOverdue1To30())));
+            total.setOverdue31To60(total.getOverdue31To60().add(nvl(row.getOverdue31To60())));
+            total.setOverdue61To90(total.getOverdue61To90().add(nvl(row.getOverdue61To90())));
+            total.setOverdue91To120(total.getOverdue91To120().add(nvl(row.getOverdue91To120())));
+            total.setOverdueOver120(total.getOverdueOver120().add(nvl(row.getOverdueOver120())));
+            total.setOpenAmount(total.getOpenAmount().add(nvl(row.getOpenAmount())));
+            total.setLedgerBalance(total.getLedgerBalance().add(row.getLedgerBalance()));
+            total.setDifference(total.getDifference().add(row.getDifference()));
+        }
+        
+        AgingReportDTO report = new AgingReportDTO();
+        report.setOwnerType(ownerType);
+        report.setAsOfDate(asOfDate.toString());
+        report.setRows(rows);
+        report.setTotal(total);
+        return report;
+    }
+    
+    @Override
+    public List<AgingItemDTO> getAgingItems(String ownerType, Long ownerId, LocalDate asOfDate) {
+        List<AgingItemDTO> items = isReceivable(ownerType)
+            ? invoiceMapper.selectAgingItems(ownerId, asOfDate)
+            : billMapper.selectAgingItems(ownerId, asOfDate);
+        for (AgingItemDTO item : items) {
+            LocalDate dueDate = item.getDueDate() != null ? item.getDueDate() : item.getDocumentDate();
+            long overdueDays = Math.max(0, ChronoUnit.DAYS.between(dueDate, asOfDate));
+            item.setOverdueDays(overdueDays);
+            item.setAgingBucket(agingBucket(overdueDays));
+        }
+        return items;
+    }
+    
+    @Override
+    public long exportAgingReport(AgingReportDTO report, OutputStream out) {
+        String sheetName = OWNER_TYPE_CUSTOMER.equals(report.getOwnerType()) ? "应收账龄" : "应付账龄";
+        try (ExcelStreamWriter<AgingExportRow> writer = new ExcelStreamWriter<>(out, AgingExportRow.class, sheetName)) {
+            for (AgingReportDTO.RowDTO row : report.getRows()) {
+                writer.write(agingExportRow(row));
+            }
+            writer.write(agingExportRow(report.getTotal()));
+            writer.flush();
+            return writer.getTotalRows();
+        }
+    }
+    
+    /**
+     * 校验往来类型，应收返回 true、应付返回 false
+     */
+    private boolean isReceivable(String ownerType) {
+        if (OWNER_TYPE_CUSTOMER.equals(ownerType)) {
+            return true;
+        }
+        if (OWNER_TYPE_VENDOR.equals(ownerType)) {
+            return false;
+        }
+        throw new BusinessException("往来类型必须为 CUSTOMER 或 VENDOR");
+    }
+    
+    /**
+     * 往来明细账余额：应收为借方 - 贷方，应付为贷方 - 借方
+     */
+    private BigDecimal ownerLedgerBalance(boolean receivable, OwnerLedgerBalance ledger) {
+        BigDecimal debit = nvl(ledger.getDebitAmount());
+        BigDecimal credit = nvl(ledger.getCreditAmount());
+        return receivable ? debit.subtract(credit) : credit.subtract(debit);
+    }
+    
+    /**
+     * 金额全部为零的账龄行
+     */
+    private AgingReportDTO.RowDTO agingRow(Long ownerId, String ownerCode, String ownerName) {
+        AgingReportDTO.RowDTO row = new AgingReportDTO.RowDTO();
+        row.setOwnerId(ownerId);
+        row.setOwnerCode(ownerCode);
+        row.setOwnerName(ownerName);
+        row.setItemCount(0);
+        row.setCurrentAmount(BigDecimal.ZERO);
+        row.setOverdue1To30(BigDecimal.ZERO);
+        row.setOverdue31To60(BigDecimal.ZERO);
+        row.setOverdue61To90(BigDecimal.ZERO);
+        row.setOverdue91To120(BigDecimal.ZERO);
+        row.setOverdueOver120(BigDecimal.ZERO);
+        row.setOpenAmount(BigDecimal.ZERO);
+        row.setLedgerBalance(BigDecimal.ZERO);
+        row.setDifference(BigDecimal.ZERO);
+        return row;
+    }
+    
+    /**
+     * 逾期天数对应的账龄分段（与 selectAgingByOwner 的分段一致）
+     */
+    private String agingBucket(long overdueDays) {
+        if (overdueDays <= 0) {
+            return "CURRENT";
+        } else if (overdueDays <= 30) {
+            return "1-30";
+        } else if (overdueDays <= 60) {
+            return "31-60";
+        } else if (overdueDays <= 90) {
+            return "61-90";
+        } else if (overdueDays <= 120) {
+            return "91-120";
+        }
+        return "120+";
+    }
+    
+    private AgingExportRow agingExportRow(AgingReportDTO.RowDTO row) {
+        AgingExportRow exportRow = new AgingExportRow();
+        exportRow.setOwnerCode(row.getOwnerCode());
+        exportRow.setOwnerName(row.getOwnerName());
+        exportRow.setItemCount(row.getItemCount());
+        exportRow.setCurrentAmount(row.getCurrentAmount());
+        exportRow.setOverdue1To30(row.getOverdue1To30());
+        exportRow.setOverdue31To60(row.getOverdue31To60());
+        exportRow.setOverdue61To90(row.getOverdue61To90());
+        exportRow.setOverdue91To120(row.getOverdue91To120());
+        exportRow.setOverdueOver120(row.getOverdueOver120());
+        exportRow.setOpenAmount(row.getOpenAmount());
+        exportRow.setLedgerBalance(row.getLedgerBalance());
+        exportRow.setDifference(row.getDifference());
+        return exportRow;
+    }
+    
+    /**
+     * 资产负债表对比行
+     * @param absolute 项目行显示绝对值，合计行保留带符号合计
+     */
+    private ComparativeReportDTO.RowDTO balanceSheetRow(Long accountId, String accountCode, String accountName,
+                                                        String accountType, BigDecimal[] amounts, boolean absolute) {
+        ComparativeReportDTO.RowDTO row = new ComparativeReportDTO.RowDTO();
+        row.setAccountId(accountId);
+        row.setAccountCode(accountCode);
+        row.setAccountName(accountName);
+        row.setAccountType(accountType);
+        List<ComparativeReportDTO.CellDTO> cells = new ArrayList<>(amounts.length);
+        for (BigDecimal amount : amounts) {
+            ComparativeReportDTO.CellDTO cell = new ComparativeReportDTO.CellDTO();
+            cell.setBalance(absolute ? amount.abs() : amount);
+            cells.add(cell);
+        }
+        row.setCells(cells);
+        return row;
+    }
+    
+    private BigDecimal[] zeros(int length) {
+        BigDecimal[] values = new BigDecimal[length];
+        Arrays.fill(values, BigDecimal.ZERO);
+        return values;
+    }
+    
+    private BigDecimal nvl(BigDecimal value) {
+        return value != null ? value : BigDecimal.ZERO;
+    }
 }
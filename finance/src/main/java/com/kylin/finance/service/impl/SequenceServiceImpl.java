@@ -0,0 +1,120 @@
+package com.kylin.finance.service.impl;
+
+import com.kylin.finance.sequence.SequenceAllocator;
+import com.kylin.finance.service.ISequenceService;
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.function.LongSupplier;
+import java.util.function.ToLongFunction;
+
+/**
+ * 单据编号服务实现
+ *
+ * 每次从 fin_sequence 原子地租用一个号段，在内存中无锁分配；号段用完才访问数据库。
+ * 租用号段在独立事务中提交，业务事务回滚不会释放号段，因此并发请求、多实例部署下编号都不会重复。
+ *
+ * 租用使用专用的小连接池（kylin.sequence.lease-pool-size，默认 2），不占用业务连接池：
+ * 调用方的业务事务已持有一个业务连接，若在业务连接池中再借一个连接租用号段，连接池耗尽时
+ * 所有线程都持有一个连接并等待第二个，连接池死锁。专用连接池的连接只在租用的几条语句期间持有，
+ * 持有期间不再申请业务连接，因此不会形成循环等待。
+ * 序列键首次使用时的初始值查询（业务表已有最大编号）在租用事务之外执行，使用调用方的业务连接。
+ */
+@Slf4j
+@Service
+public class SequenceServiceImpl implements ISequenceService {
+
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("yyyyMMdd");
+
+    /**
+     * 原子地推进序号，并把推进后的值写入当前连接的 LAST_INSERT_ID()
+     */
+    private static final String ADVANCE_SQL =
+            "UPDATE fin_sequence SET next_value = LAST_INSERT_ID(next_value + ?) WHERE seq_key = ?";
+
+    /**
+     * 读取当前连接上一次推进后的值（必须与推进在同一事务、同一连接内执行）
+     */
+    private static final String LAST_ADVANCED_SQL = "SELECT LAST_INSERT_ID()";
+
+    /**
+     * 初始化序列键，已存在时忽略（并发初始化安全）
+     */
+    private static final String INSERT_IF_ABSENT_SQL =
+            "INSERT IGNORE INTO fin_sequence (seq_key, next_value) VALUES (?, ?)";
+
+    private final HikariDataSource leaseDataSource;
+    private final JdbcTemplate leaseJdbc;
+    private final TransactionTemplate leaseTransaction;
+    private final SequenceAllocator allocator;
+
+    public SequenceServiceImpl(DataSourceProperties dataSourceProperties,
+                               @Value("${kylin.sequence.block-size:20}") int blockSize,
+                               @Value("${kylin.sequence.lease-pool-size:2}") int leasePoolSize) {
+        // 与业务数据源连接同一数据库，连接在首次租用时才建立
+        this.leaseDataSource = dataSourceProperties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+        this.leaseDataSource.setPoolName("KylinSequenceLease");
+        this.leaseDataSource.setMaximumPoolSize(Math.max(1, leasePoolSize));
+        this.leaseDataSource.setMinimumIdle(0);
+        this.leaseJdbc = new JdbcTemplate(leaseDataSource);
+        this.leaseTransaction = new TransactionTemplate(new DataSourceTransactionManager(leaseDataSource));
+        this.allocator = new SequenceAllocator(this::leaseBlock, blockSize);
+    }
+
+    @Override
+    public String nextNo(String prefix, ToLongFunction<String> existingMaxSequence) {
+        String dateStr = LocalDate.now().format(DATE_FORMAT);
+        String key = prefix + dateStr;
+        long sequence = allocator.next(key, () -> existingMaxSequence.applyAsLong(key) + 1);
+        return String.format("%s%s%03d", prefix, dateStr, sequence);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        leaseDataSource.close();
+    }
+
+    /**
+     * 在专用连接池的独立事务中租用号段
+     */
+    private long leaseBlock(String key, int blockSize, LongSupplier initialValue) {
+        Long start = leaseTransaction.execute(status -> advance(key, blockSize));
+        if (start == null) {
+            // 序列键首次使用：先在租用事务之外按业务表已有最大编号计算初始值（不同时持有两个连接池的连接），
+            // 再初始化并租用，并发初始化时只有一个生效
+            long nextValue = initialValue.getAsLong();
+            start = leaseTransaction.execute(status -> {
+                leaseJdbc.update(INSERT_IF_ABSENT_SQL, key, nextValue);
+                return advance(key, blockSize);
+            });
+        }
+        log.debug("租用编号号段：{} [{}, {})", key, start, start + blockSize);
+
+        // 顺带清理其他日期的序列键（跨天后不再使用），作废的号段只会产生空号
+        String dateStr = key.substring(key.length() - 8);
+        allocator.evict(k -> !k.endsWith(dateStr));
+        return start;
+    }
+
+    /**
+     * 推进序号并返回本次号段起点（须在租用事务内调用）
+     * @return 序列键不存在时返回 null
+     */
+    private Long advance(String key, int blockSize) {
+        if (leaseJdbc.update(ADVANCE_SQL, blockSize, key) == 0) {
+            return null;
+        }
+        return leaseJdbc.queryForObject(LAST_ADVANCED_SQL, Long.class) - blockSize;
+    }
+}
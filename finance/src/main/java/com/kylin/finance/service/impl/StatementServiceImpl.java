@@ -0,0 +1,565 @@
+package com.kylin.finance.service.impl;
+
+import com.alibaba.excel.EasyExcel;
+import com.alibaba.excel.support.ExcelTypeEnum;
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.kylin.common.BusinessException;
+import com.kylin.finance.dto.CustomerStatementRow;
+import com.kylin.finance.dto.OwnerLedgerBalance;
+import com.kylin.finance.dto.StatementBatchDTO;
+import com.kylin.finance.entity.business.Owner;
+import com.kylin.finance.entity.document.CreditNote;
+import com.kylin.finance.entity.document.Invoice;
+import com.kylin.finance.entity.payment.Payment;
+import com.kylin.finance.entity.payment.PaymentAllocation;
+import com.kylin.finance.mapper.CreditNoteMapper;
+import com.kylin.finance.mapper.InvoiceMapper;
+import com.kylin.finance.mapper.OwnerMapper;
+import com.kylin.finance.mapper.PaymentAllocationMapper;
+import com.kylin.finance.mapper.PaymentMapper;
+import com.kylin.finance.service.IStatementService;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * 客户对账单服务实现
+ *
+ * 批量生成流程：
+ * 1. 查询全部客户，已有对账单文件或无发生额标记的客户直接跳过（断点续跑），其余按 kylin.statement.partition-size 分区
+ * 2. 分区在固定 kylin.statement.threads 个线程的线程池中并行执行；每个分区在一个只读事务中批量查询
+ *    期初余额、期间发票、收款及其核销记录、发票冲销，每类一条 IN 查询，查询次数与分区内客户数无关
+ * 3. 逐个客户渲染对账单，先写临时文件再原子改名，文件存在即表示该客户已完成；
+ *    期初无余额且期间无单据的客户不生成对账单，写一个空的 .empty 标记文件，续跑时同样跳过
+ * 4. 每个分区完成后更新批次进度并输出日志；单个客户失败只计入失败数，不影响其他客户
+ *
+ * 同一时间只运行一个批次；批次进度保存在进程内，重启后以相同期间重新启动即可从断点续跑。
+ */
+@Slf4j
+@Service
+public class StatementServiceImpl implements IStatementService {
+
+    private static final String OWNER_TYPE_CUSTOMER = "CUSTOMER";
+    private static final String FORMAT_XLSX = "xlsx";
+    private static final String FORMAT_CSV = "csv";
+
+    private static final String STATUS_RUNNING = "RUNNING";
+    private static final String STATUS_COMPLETED = "COMPLETED";
+    private static final String STATUS_FAILED = "FAILED";
+
+    /**
+     * 每个批次最多保留的失败原因条数
+     */
+    private static final int MAX_FAILURES = 100;
+
+    /**
+     * 进程内最多保留的批次数
+     */
+    private static final int MAX_BATCHES = 20;
+
+    @Value("${kylin.statement.output-dir:data/statements}")
+    private String outputDir;
+
+    @Value("${kylin.statement.threads:4}")
+    private int threads;
+
+    @Value("${kylin.statement.partition-size:200}")
+    private int partitionSize;
+
+    @Autowired
+    private OwnerMapper ownerMapper;
+
+    @Autowired
+    private InvoiceMapper invoiceMapper;
+
+    @Autowired
+    private PaymentMapper paymentMapper;
+
+    @Autowired
+    private PaymentAllocationMapper allocationMapper;
+
+    @Autowired
+    private CreditNoteMapper creditNoteMapper;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+    private final ExecutorService coordinator = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "statement-batch");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final Map<String, Batch> batches = new LinkedHashMap<>() {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Batch> eldest) {
+            return size() > MAX_BATCHES;
+        }
+    };
+
+    @Override
+    public StatementBatchDTO startBatch(LocalDate startDate, LocalDate endDate, String format, boolean overwrite) {
+        if (startDate == null || endDate == null) {
+            throw new BusinessException("对账期间不能为空");
+        }
+        if (startDate.isAfter(endDate)) {
+            throw new BusinessException("开始日期不能晚于结束日期");
+        }
+        String fileFormat = format == null ? FORMAT_XLSX : format.toLowerCase();
+        if (!FORMAT_XLSX.equals(fileFormat) && !FORMAT_CSV.equals(fileFormat)) {
+            throw new BusinessException("文件格式必须为 xlsx 或 csv");
+        }
+        if (!running.compareAndSet(false, true)) {
+            throw new BusinessException("已有对账单批次正在生成，请稍后再试");
+        }
+
+        Path directory = Paths.get(outputDir, startDate + "_" + endDate);
+        Batch batch = new Batch(UUID.randomUUID().toString().replace("-", ""), startDate, endDate, fileFormat, directory);
+        synchronized (batches) {
+            batches.put(batch.batchId, batch);
+        }
+        try {
+            coordinator.execute(() -> runBatch(batch, overwrite));
+        } catch (RejectedExecutionException e) {
+            running.set(false);
+            batch.fail("服务正在停止");
+            throw new BusinessException("服务正在停止，无法生成对账单");
+        }
+        return batch.toDTO();
+    }
+
+    @Override
+    public StatementBatchDTO getBatch(String batchId) {
+        Batch batch;
+        synchronized (batches) {
+            batch = batches.get(batchId);
+        }
+        if (batch == null) {
+            throw new BusinessException("对账单批次不存在或已过期：" + batchId);
+        }
+        return batch.toDTO();
+    }
+
+    @Override
+    public List<StatementBatchDTO> listBatches() {
+        List<Batch> recent;
+        synchronized (batches) {
+            recent = new ArrayList<>(batches.values());
+        }
+        List<StatementBatchDTO> result = new ArrayList<>(recent.size());
+        for (int i = recent.size() - 1; i >= 0; i--) {
+            result.add(recent.get(i).toDTO());
+        }
+        return result;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        // 中断正在生成的批次，已改名的文件即为断点
+        coordinator.shutdownNow();
+    }
+
+    /**
+     * 执行批次：跳过已完成的客户，分区并行生成，等待全部分区完成
+     */
+    private void runBatch(Batch batch, boolean overwrite) {
+        try {
+            Files.createDirectories(batch.directory);
+            List<Owner> owners = ownerMapper.selectList(new LambdaQueryWrapper<Owner>()
+                .eq(Owner::getOwnerType, OWNER_TYPE_CUSTOMER)
+                .orderByAsc(Owner::getOwnerId));
+
+            List<Owner> pending = new ArrayList<>();
+            for (Owner owner : owners) {
+                if (!overwrite && (Files.exists(statementPath(batch, owner))
+                    || Files.exists(emptyMarkerPath(batch, owner)))) {
+                    batch.skipped.incrementAndGet();
+                } else {
+                    pending.add(owner);
+                }
+            }
+            List<List<Owner>> partitions = new ArrayList<>();
+            int size = Math.max(1, partitionSize);
+            for (int from = 0; from < pending.size(); from += size) {
+                partitions.add(pending.subList(from, Math.min(from + size, pending.size())));
+            }
+            batch.totalOwners = owners.size();
+            batch.totalPartitions = partitions.size();
+            log.info("对账单批次 {} 开始：期间 {} ~ {}，客户 {} 个，已有文件跳过 {} 个，待生成 {} 个，分 {} 个分区",
+                batch.batchId, batch.startDate, batch.endDate, owners.size(), batch.skipped.get(),
+                pending.size(), partitions.size());
+
+            ExecutorService workers = Executors.newFixedThreadPool(Math.max(1, Math.min(threads, partitions.size())),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "statement-worker");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+            try {
+                List<Future<?>> futures = new ArrayList<>(partitions.size());
+                for (List<Owner> partition : partitions) {
+                    futures.add(workers.submit(() -> runPartition(batch, partition)));
+                }
+                for (Future<?> future : futures) {
+                    future.get();
+                }
+            } finally {
+                workers.shutdownNow();
+            }
+
+            batch.complete();
+            log.info("对账单批次 {} 完成：生成 {}，跳过 {}，无发生额 {}，失败 {}，输出目录 {}",
+                batch.batchId, batch.generated.get(), batch.skipped.get(), batch.empty.get(),
+                batch.failed.get(), batch.directory.toAbsolutePath());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            batch.fail("批次被中断，以相同期间重新启动可续跑");
+            log.warn("对账单批次 {} 被中断", batch.batchId);
+        } catch (Exception e) {
+            batch.fail(e.getMessage());
+            log.error("对账单批次 {} 失败", batch.batchId, e);
+        } finally {
+            running.set(false);
+        }
+    }
+
+    /**
+     * 生成一个分区：批量加载分区内客户的单据，逐个客户写出对账单
+     */
+    private void runPartition(Batch batch, List<Owner> owners) {
+        try {
+            PartitionData data = loadPartition(batch, owners);
+            for (Owner owner : owners) {
+                if (Thread.currentThread().isInterrupted()) {
+                    return;
+                }
+                try {
+                    if (writeStatement(batch, owner, data)) {
+                        batch.generated.incrementAndGet();
+                    } else {
+                        batch.empty.incrementAndGet();
+                    }
+                } catch (Exception e) {
+                    log.warn("客户 {} 对账单生成失败：{}", owner.getOwnerId(), e.getMessage());
+                    batch.addFailure(owner, e);
+                }
+            }
+        } catch (Exception e) {
+            log.error("对账单批次 {} 分区加载失败，客户ID {} ~ {}", batch.batchId,
+                owners.get(0).getOwnerId(), owners.get(owners.size() - 1).getOwnerId(), e);
+            for (Owner owner : owners) {
+                batch.addFailure(owner, e);
+            }
+        }
+        int completed = batch.completedPartitions.incrementAndGet();
+        log.info("对账单批次 {}：分区 {}/{} 完成，已生成 {}，无发生额 {}，失败 {}", batch.batchId,
+            completed, batch.totalPartitions, batch.generated.get(), batch.empty.get(), batch.failed.get());
+    }
+
+    /**
+     * 批量加载分区内客户的期初余额与期间单据（同一只读事务内，各类单据口径一致）
+     */
+    private PartitionData loadPartition(Batch batch, List<Owner> owners) {
+        List<Long> ownerIds = owners.stream().map(Owner::getOwnerId).collect(Collectors.toList());
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        return readOnly.execute(status -> {
+            PartitionData data = new PartitionData();
+            for (OwnerLedgerBalance opening : invoiceMapper.selectStatementOpeningBalances(ownerIds, batch.startDate)) {
+                data.openings.put(opening.getOwnerId(), opening);
+            }
+
+            List<Invoice> invoices = invoiceMapper.selectList(new LambdaQueryWrapper<Invoice>()
+                .in(Invoice::getCustomerId, ownerIds)
+                .eq(Invoice::getPosted, true)
+                .ne(Invoice::getStatus, "CANCELLED")
+                .between(Invoice::getInvoiceDate, batch.startDate, batch.endDate));
+            for (Invoice invoice : invoices) {
+                data.invoices.computeIfAbsent(invoice.getCustomerId(), key -> new ArrayList<>()).add(invoice);
+                data.invoiceNos.put(invoice.getInvoiceId(), invoice.getInvoiceNo());
+            }
+
+            List<Payment> payments = paymentMapper.selectList(new LambdaQueryWrapper<Payment>()
+                .in(Payment::getOwnerId, ownerIds)
+                .eq(Payment::getPaymentType, "RECEIPT")
+                .ne(Payment::getStatus, "VOID")
+                .between(Payment::getPaymentDate, batch.startDate, batch.endDate));
+            for (Payment payment : payments) {
+                data.payments.computeIfAbsent(payment.getOwnerId(), key -> new ArrayList<>()).add(payment);
+            }
+
+            if (!payments.isEmpty()) {
+                List<PaymentAllocation> allocations = allocationMapper.selectList(new LambdaQueryWrapper<PaymentAllocation>()
+                    .in(PaymentAllocation::getPaymentId, payments.stream().map(Payment::getPaymentId).collect(Collectors.toList()))
+                    .eq(PaymentAllocation::getDocumentType, "INVOICE"));
+                Set<Long> missingInvoiceIds = new HashSet<>();
+                for (PaymentAllocation allocation : allocations) {
+                    data.allocations.computeIfAbsent(allocation.getPaymentId(), key -> new ArrayList<>()).add(allocation);
+                    if (!data.invoiceNos.containsKey(allocation.getDocumentId())) {
+                        missingInvoiceIds.add(allocation.getDocumentId());
+                    }
+                }
+                // 核销了期间之前的发票时，补查发票编号
+                if (!missingInvoiceIds.isEmpty()) {
+                    invoiceMapper.selectList(new LambdaQueryWrapper<Invoice>()
+                            .select(Invoice::getInvoiceId, Invoice::getInvoiceNo)
+                            .in(Invoice::getInvoiceId, missingInvoiceIds))
+                        .forEach(invoice -> data.invoiceNos.put(invoice.getInvoiceId(), invoice.getInvoiceNo()));
+                }
+            }
+
+            List<CreditNote> creditNotes = creditNoteMapper.selectList(new LambdaQueryWrapper<CreditNote>()
+                .in(CreditNote::getOwnerId, ownerIds)
+                .eq(CreditNote::getPosted, true)
+                .eq(CreditNote::getOriginalDocType, "INVOICE")
+                .between(CreditNote::getCreditNoteDate, batch.startDate, batch.endDate));
+            for (CreditNote creditNote : creditNotes) {
+                data.creditNotes.computeIfAbsent(creditNote.getOwnerId(), key -> new ArrayList<>()).add(creditNote);
+            }
+            return data;
+        });
+    }
+
+    /**
+     * 写出一个客户的对账单（先写临时文件再原子改名），并删除该客户旧的无发生额标记
+     * @return 期初无余额且期间无单据时不生成对账单，改写无发生额标记（并删除旧的对账单文件），返回 false
+     */
+    private boolean writeStatement(Batch batch, Owner owner, PartitionData data) throws IOException {
+        Long ownerId = owner.getOwnerId();
+        OwnerLedgerBalance opening = data.openings.get(ownerId);
+        BigDecimal openingBalance = opening == null ? BigDecimal.ZERO
+            : opening.getDebitAmount().subtract(opening.getCreditAmount());
+
+        List<StatementLine> lines = new ArrayList<>();
+        for (Invoice invoice : data.invoices.getOrDefault(ownerId, List.of())) {
+            String description = invoice.getDueDate() != null ? "到期日 " + invoice.getDueDate() : "";
+            lines.add(new StatementLine(invoice.getInvoiceDate(), 0, invoice.getInvoiceId(), "发票",
+                invoice.getInvoiceNo(), joinText(description, invoice.getNotes()), invoice.getTotalAmount(), null));
+        }
+        for (Payment payment : data.payments.getOrDefault(ownerId, List.of())) {
+            List<String> allocated = new ArrayList<>();
+            for (PaymentAllocation allocation : data.allocations.getOrDefault(payment.getPaymentId(), List.of())) {
+                allocated.add(data.invoiceNos.getOrDefault(allocation.getDocumentId(), "#" + allocation.getDocumentId()));
+            }
+            String description = allocated.isEmpty() ? "未核销" : "核销 " + String.join("、", allocated);
+            lines.add(new StatementLine(payment.getPaymentDate(), 1, payment.getPaymentId(), "收款",
+                payment.getPaymentNo(), joinText(description, payment.getMemo()), null, payment.getAmount()));
+        }
+        for (CreditNote creditNote : data.creditNotes.getOrDefault(ownerId, List.of())) {
+            String description = "冲销发票 " + data.invoiceNos.getOrDefault(creditNote.getOriginalDocId(),
+                "#" + creditNote.getOriginalDocId());
+            lines.add(new StatementLine(creditNote.getCreditNoteDate(), 2, creditNote.getCreditNoteId(), "冲销",
+                creditNote.getCreditNoteNo(), joinText(description, creditNote.getReason()), null, creditNote.getAmount()));
+        }
+        if (lines.isEmpty() && openingBalance.signum() == 0) {
+            Files.write(emptyMarkerPath(batch, owner), new byte[0]);
+            Files.deleteIfExists(statementPath(batch, owner));
+            return false;
+        }
+        lines.sort(Comparator.comparing(StatementLine::date)
+            .thenComparingInt(StatementLine::order)
+            .thenComparing(StatementLine::documentId));
+
+        List<CustomerStatementRow> rows = new ArrayList<>(lines.size() + 2);
+        rows.add(statementRow(batch.startDate, null, null, owner.getName() + " 期初余额", null, null, openingBalance));
+        BigDecimal balance = openingBalance;
+        BigDecimal totalDebit = BigDecimal.ZERO;
+        BigDecimal totalCredit = BigDecimal.ZERO;
+        for (StatementLine line : lines) {
+            BigDecimal debit = line.debitAmount() != null ? line.debitAmount() : BigDecimal.ZERO;
+            BigDecimal credit = line.creditAmount() != null ? line.creditAmount() : BigDecimal.ZERO;
+            balance = balance.add(debit).subtract(credit);
+            totalDebit = totalDebit.add(debit);
+            totalCredit = totalCredit.add(credit);
+            rows.add(statementRow(line.date(), line.documentType(), line.documentNo(), line.description(),
+                line.debitAmount(), line.creditAmount(), balance));
+        }
+        rows.add(statementRow(batch.endDate, null, null, "本期合计及期末余额", totalDebit, totalCredit, balance));
+
+        Path target = statementPath(batch, owner);
+        Path temp = target.resolveSibling(target.getFileName() + ".tmp");
+        try {
+            try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(temp), 1 << 16)) {
+                EasyExcel.write(out, CustomerStatementRow.class)
+                    .excelType(FORMAT_CSV.equals(batch.format) ? ExcelTypeEnum.CSV : ExcelTypeEnum.XLSX)
+                    .sheet("对账单")
+                    .doWrite(rows);
+            }
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(temp);
+            throw e;
+        }
+        Files.deleteIfExists(emptyMarkerPath(batch, owner));
+        return true;
+    }
+
+    /**
+     * 对账单文件路径：{输出目录}/{开始日期}_{结束日期}/{客户编码}_{客户ID}.{格式}
+     */
+    private Path statementPath(Batch batch, Owner owner) {
+        return batch.directory.resolve(fileBaseName(owner) + "." + batch.format);
+    }
+
+    /**
+     * 无发生额标记路径：{输出目录}/{开始日期}_{结束日期}/{客户编码}_{客户ID}.empty（与格式无关）
+     */
+    private Path emptyMarkerPath(Batch batch, Owner owner) {
+        return batch.directory.resolve(fileBaseName(owner) + ".empty");
+    }
+
+    private String fileBaseName(Owner owner) {
+        String code = owner.getCode() != null ? owner.getCode().replaceAll("[\\\\/:*?\"<>|\\s]", "_") : "customer";
+        return code + "_" + owner.getOwnerId();
+    }
+
+    private CustomerStatementRow statementRow(LocalDate date, String documentType, String documentNo, String description,
+                                              BigDecimal debitAmount, BigDecimal creditAmount, BigDecimal balance) {
+        CustomerStatementRow row = new CustomerStatementRow();
+        row.setDate(date != null ? date.toString() : null);
+        row.setDocumentType(documentType);
+        row.setDocumentNo(documentNo);
+        row.setDescription(description);
+        row.setDebitAmount(debitAmount);
+        row.setCreditAmount(creditAmount);
+        row.setBalance(balance);
+        return row;
+    }
+
+    private String joinText(String text, String remark) {
+        if (remark == null || remark.isBlank()) {
+            return text;
+        }
+        return text.isEmpty() ? remark : text + "；" + remark;
+    }
+
+    /**
+     * 对账单中的一张单据（发票为借方，收款、冲销为贷方）
+     * order 为同一日期内的排列顺序：发票、收款、冲销
+     */
+    private record StatementLine(LocalDate date, int order, Long documentId, String documentType, String documentNo,
+                                 String description, BigDecimal debitAmount, BigDecimal creditAmount) {
+    }
+
+    /**
+     * 一个分区批量加载的数据（按客户ID / 收款ID 分组）
+     */
+    private static final class PartitionData {
+        private final Map<Long, OwnerLedgerBalance> openings = new HashMap<>();
+        private final Map<Long, List<Invoice>> invoices = new HashMap<>();
+        private final Map<Long, List<Payment>> payments = new HashMap<>();
+        private final Map<Long, List<PaymentAllocation>> allocations = new HashMap<>();
+        private final Map<Long, List<CreditNote>> creditNotes = new HashMap<>();
+        private final Map<Long, String> invoiceNos = new HashMap<>();
+    }
+
+    /**
+     * 批次进度（计数器由各分区线程并发更新）
+     */
+    private static final class Batch {
+        private final String batchId;
+        private final LocalDate startDate;
+        private final LocalDate endDate;
+        private final String format;
+        private final Path directory;
+        private final LocalDateTime startTime = LocalDateTime.now();
+        private final AtomicInteger completedPartitions = new AtomicInteger();
+        private final AtomicInteger generated = new AtomicInteger();
+        private final AtomicInteger skipped = new AtomicInteger();
+        private final AtomicInteger empty = new AtomicInteger();
+        private final AtomicInteger failed = new AtomicInteger();
+        private final List<String> failures = new ArrayList<>();
+
+        private volatile String status = STATUS_RUNNING;
+        private volatile int totalOwners;
+        private volatile int totalPartitions;
+        private volatile LocalDateTime finishTime;
+
+        private Batch(String batchId, LocalDate startDate, LocalDate endDate, String format, Path directory) {
+            this.batchId = batchId;
+            this.startDate = startDate;
+            this.endDate = endDate;
+            this.format = format;
+            this.directory = directory;
+        }
+
+        private void addFailure(Owner owner, Exception e) {
+            failed.incrementAndGet();
+            synchronized (failures) {
+                if (failures.size() < MAX_FAILURES) {
+                    failures.add(owner.getCode() + "(" + owner.getOwnerId() + ")：" + e.getMessage());
+                }
+            }
+        }
+
+        private void complete() {
+            finishTime = LocalDateTime.now();
+            status = STATUS_COMPLETED;
+        }
+
+        private void fail(String message) {
+            synchronized (failures) {
+                if (failures.size() < MAX_FAILURES) {
+                    failures.add(message);
+                }
+            }
+            finishTime = LocalDateTime.now();
+            status = STATUS_FAILED;
+        }
+
+        private StatementBatchDTO toDTO() {
+            StatementBatchDTO dto = new StatementBatchDTO();
+            dto.setBatchId(batchId);
+            dto.setStartDate(startDate);
+            dto.setEndDate(endDate);
+            dto.setFormat(format);
+            dto.setOutputDir(directory.toAbsolutePath().toString());
+            dto.setStatus(status);
+            dto.setTotalOwners(totalOwners);
+            dto.setTotalPartitions(totalPartitions);
+            dto.setCompletedPartitions(completedPartitions.get());
+            dto.setGeneratedCount(generated.get());
+            dto.setSkippedCount(skipped.get());
+            dto.setEmptyCount(empty.get());
+            dto.setFailedCount(failed.get());
+            synchronized (failures) {
+                dto.setFailures(new ArrayList<>(failures));
+            }
+            dto.setStartTime(startTime);
+            dto.setFinishTime(finishTime);
+            return dto;
+        }
+    }
+}
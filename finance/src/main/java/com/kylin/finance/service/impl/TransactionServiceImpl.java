@@ -4,26 +4,48 @@ import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
 import com.baomidou.mybatisplus.core.metadata.IPage;
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
+import com.baomidou.mybatisplus.extension.toolkit.Db;
 import com.kylin.common.BusinessException;
+import com.kylin.finance.common.KeysetPagination;
+import com.kylin.finance.common.LedgerVersion;
+import com.kylin.finance.common.ListTotalCache;
+import com.kylin.finance.dto.AccountBalanceSummary;
+import com.kylin.finance.dto.CursorPage;
+import com.kylin.finance.dto.VoucherImportResultDTO;
 import com.kylin.finance.dto.VoucherQueryDTO;
 import com.kylin.finance.entity.FinAccount;
 import com.kylin.finance.entity.FinSplit;
 import com.kylin.finance.entity.FinTransaction;
-import com.kylin.finance.mapper.FinAccountMapper;
+import com.kylin.finance.loader.BatchLoader;
+import com.kylin.finance.loader.EntityLoaders;
 import com.kylin.finance.mapper.FinSplitMapper;
 import com.kylin.finance.mapper.FinTransactionMapper;
+import com.kylin.finance.service.IAccountDailyBalanceService;
 import com.kylin.finance.service.IFinTransactionService;
-import com.kylin.finance.service.IAccountingService;
+import com.kylin.finance.service.IAccountRunningBalanceService;
+import com.kylin.finance.service.IPeriodCloseService;
+import com.kylin.finance.service.ISequenceService;
 import org.springframework.beans.factory.annotation.Autowired;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
-import java.time.format.DateTimeFormatter;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
 import java.util.List;
 import java.util.ArrayList;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
 
+@Slf4j
 @Service
 public class TransactionServiceImpl extends ServiceImpl<FinTransactionMapper, FinTransaction> implements IFinTransactionService {
 
@@ -31,16 +53,49 @@ public class TransactionServiceImpl extends ServiceImpl<FinTransactionMapper, Fi
     private FinSplitMapper splitMapper;
 
     @Autowired
-    private FinAccountMapper accountMapper;
+    private com.kylin.finance.service.IFinAccountService accountService;
     
     @Autowired
-    private com.kylin.finance.service.IFinAccountService accountService;
+    private IAccountRunningBalanceService runningBalanceService;
     
     @Autowired
-    private IAccountingService accountingService;
+    private EntityLoaders entityLoaders;
+    
+    @Autowired
+    private ListTotalCache listTotalCache;
+
+    @Autowired
+    private LedgerVersion ledgerVersion;
     
     @Autowired
     private com.kylin.finance.service.IOwnerValidationService ownerValidationService;
+    
+    @Autowired
+    private IAccountDailyBalanceService dailyBalanceService;
+    
+    @Autowired
+    private IPeriodCloseService periodCloseService;
+    
+    @Autowired
+    private ISequenceService sequenceService;
+    
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    /**
+     * 批量导入时每个事务写入的凭证数
+     */
+    private static final int IMPORT_CHUNK_SIZE = 500;
+
+    /**
+     * 批量写入凭证时每次 JDBC 批量提交的分录数
+     */
+    private static final int IMPORT_SPLIT_BATCH_SIZE = 1000;
+
+    /**
+     * 导入前查询已存在凭证号时每次 IN 查询的凭证号数量
+     */
+    private static final int VOUCHER_NO_QUERY_SIZE = 1000;
 
     @Override
     @Transactional(rollbackFor = Exception.class)
@@ -50,6 +105,9 @@ public class TransactionServiceImpl extends ServiceImpl<FinTransactionMapper, Fi
             throw new BusinessException("凭证至少需要一借一贷两条分录");
         }
 
+        // 已结账期间不能新增凭证
+        periodCloseService.assertPeriodOpen(transaction.getTransDate());
+
         // 2. 校验所有科目都是末级科目
         validateLeafAccounts(transaction.getSplits());
 
@@ -87,6 +145,12 @@ public class TransactionServiceImpl extends ServiceImpl<FinTransactionMapper, Fi
             split.setTransId(transaction.getTransId()); // 关联ID
             splitMapper.insert(split); // 保存子表
         }
+
+        // 10. 直接以已审核状态保存的凭证，同步更新科目日余额快照
+        if (transaction.getStatus() == 1) {
+            dailyBalanceService.recordSplits(transaction.getTransDate(), transaction.getSplits());
+        }
+        ledgerVersion.bumpOnCommit();
     }
 
     @Override
@@ -103,6 +167,10 @@ public class TransactionServiceImpl extends ServiceImpl<FinTransactionMapper, Fi
             throw new BusinessException("已审核的凭证不能修改");
         }
 
+        // 原日期和新日期所在期间都不能已结账
+        periodCloseService.assertPeriodOpen(existing.getTransDate());
+        periodCloseService.assertPeriodOpen(transaction.getTransDate());
+
         // 校验所有科目都是末级科目
         if (transaction.getSplits() != null && !transaction.getSplits().isEmpty()) {
             validateLeafAccounts(transaction.getSplits());
@@ -132,6 +200,14 @@ public class TransactionServiceImpl extends ServiceImpl<FinTransactionMapper, Fi
                 splitMapper.insert(split);
             }
         }
+
+        // 更新后变为已审核状态的凭证，同步更新科目日余额快照（原凭证未审核，无需冲回）
+        Integer newStatus = transaction.getStatus() != null ? transaction.getStatus() : existing.getStatus();
+        if (newStatus != null && newStatus == 1 && transaction.getSplits() != null) {
+            LocalDate transDate = transaction.getTransDate() != null ? transaction.getTransDate() : existing.getTransDate();
+            dailyBalanceService.recordSplits(transDate, transaction.getSplits());
+        }
+        ledgerVersion.bumpOnCommit();
     }
 
     @Override
@@ -147,6 +223,8 @@ public class TransactionServiceImpl extends ServiceImpl<FinTransactionMapper, Fi
             throw new BusinessException("已审核的凭证不能删除");
         }
 
+        periodCloseService.assertPeriodOpen(transaction.getTransDate());
+
         // 删除分录
         LambdaQueryWrapper<FinSplit> wrapper = new LambdaQueryWrapper<>();
         wrapper.eq(FinSplit::getTransId, transId);
@@ -154,6 +232,7 @@ public class TransactionServiceImpl extends ServiceImpl<FinTransactionMapper, Fi
 
         // 删除主表
         this.removeById(transId);
+        ledgerVersion.bumpOnCommit();
     }
 
     @Override
@@ -168,6 +247,8 @@ public class TransactionServiceImpl extends ServiceImpl<FinTransactionMapper, Fi
             throw new BusinessException("凭证已审核");
         }
 
+        periodCloseService.assertPeriodOpen(transaction.getTransDate());
+
         // 再次校验所有科目都是末级科目
         LambdaQueryWrapper<FinSplit> wrapper = new LambdaQueryWrapper<>();
         wrapper.eq(FinSplit::getTransId, transId);
@@ -180,11 +261,44 @@ public class TransactionServiceImpl extends ServiceImpl<FinTransactionMapper, Fi
         // 更新状态为已审核
         transaction.setStatus(1);
         this.updateById(transaction);
+
+        // 审核后分录计入余额，同步更新科目日余额快照
+        dailyBalanceService.recordSplits(transaction.getTransDate(), splits);
+        ledgerVersion.bumpOnCommit();
     }
 
     @Override
     public IPage<FinTransaction> queryVouchers(VoucherQueryDTO queryDTO) {
         Page<FinTransaction> page = new Page<>(queryDTO.getPageNum(), queryDTO.getPageSize());
+        LambdaQueryWrapper<FinTransaction> wrapper = buildVoucherFilter(queryDTO);
+
+        wrapper.orderByDesc(FinTransaction::getTransDate);
+        wrapper.orderByDesc(FinTransaction::getVoucherNo);
+
+        return this.page(page, wrapper);
+    }
+
+    @Override
+    public CursorPage<FinTransaction> queryVouchersByCursor(VoucherQueryDTO queryDTO) {
+        int size = KeysetPagination.normalizeSize(queryDTO.getPageSize());
+        LambdaQueryWrapper<FinTransaction> wrapper = buildVoucherFilter(queryDTO);
+        KeysetPagination.apply(wrapper, FinTransaction::getTransDate, FinTransaction::getVoucherNo,
+            queryDTO.getCursor(), size);
+
+        CursorPage<FinTransaction> page = KeysetPagination.toPage(this.list(wrapper), size,
+            FinTransaction::getTransDate, FinTransaction::getVoucherNo);
+        if (Boolean.TRUE.equals(queryDTO.getIncludeTotal())) {
+            String totalKey = String.format("voucher|%s|%s|%s|%s", queryDTO.getVoucherNo(),
+                queryDTO.getStartDate(), queryDTO.getEndDate(), queryDTO.getStatus());
+            listTotalCache.fill(page, totalKey, () -> this.count(buildVoucherFilter(queryDTO)));
+        }
+        return page;
+    }
+
+    /**
+     * 凭证列表筛选条件（分页与游标分页共用）
+     */
+    private LambdaQueryWrapper<FinTransaction> buildVoucherFilter(VoucherQueryDTO queryDTO) {
         LambdaQueryWrapper<FinTransaction> wrapper = new LambdaQueryWrapper<>();
 
         if (queryDTO.getVoucherNo() != null && !queryDTO.getVoucherNo().isEmpty()) {
@@ -199,11 +313,7 @@ public class TransactionServiceImpl extends ServiceImpl<FinTransactionMapper, Fi
         if (queryDTO.getStatus() != null) {
             wrapper.eq(FinTransaction::getStatus, queryDTO.getStatus());
         }
-
-        wrapper.orderByDesc(FinTransaction::getTransDate);
-        wrapper.orderByDesc(FinTransaction::getVoucherNo);
-
-        return this.page(page, wrapper);
+        return wrapper;
     }
 
     @Override
@@ -215,10 +325,12 @@ public class TransactionServiceImpl extends ServiceImpl<FinTransactionMapper, Fi
             wrapper.eq(FinSplit::getTransId, transId);
             List<FinSplit> splits = splitMapper.selectList(wrapper);
             
-            // 填充科目信息
+            // 填充科目信息（一次批量查询）
+            Map<Long, FinAccount> accounts = entityLoaders.accounts().loadMany(
+                splits.stream().map(FinSplit::getAccountId).collect(Collectors.toList()));
             for (FinSplit split : splits) {
                 if (split.getAccountId() != null) {
-                    FinAccount account = accountMapper.selectById(split.getAccountId());
+                    FinAccount account = accounts.get(split.getAccountId());
                     if (account != null) {
                         split.setAccountName(account.getAccountName());
                         split.setAccountCode(account.getAccountCode());
@@ -232,30 +344,200 @@ public class TransactionServiceImpl extends ServiceImpl<FinTransactionMapper, Fi
     }
 
     @Override
-    public String generateVoucherNo() {
-        // 生成格式：V + 日期(yyyyMMdd) + 序号(3位)
-        String dateStr = LocalDate.now().format(DateTimeFormatter.ofPattern("yyyyMMdd"));
-        
-        // 查询当天最大序号
-        LambdaQueryWrapper<FinTransaction> wrapper = new LambdaQueryWrapper<>();
-        wrapper.like(FinTransaction::getVoucherNo, "V" + dateStr);
-        wrapper.orderByDesc(FinTransaction::getVoucherNo);
-        wrapper.last("LIMIT 1");
-        FinTransaction last = this.getOne(wrapper);
-        
-        int sequence = 1;
-        if (last != null && last.getVoucherNo() != null) {
-            String lastNo = last.getVoucherNo();
-            if (lastNo.length() >= 12) {
-                try {
-                    sequence = Integer.parseInt(lastNo.substring(9)) + 1;
-                } catch (NumberFormatException e) {
-                    sequence = 1;
+    public VoucherImportResultDTO importVouchers(List<FinTransaction> transactions) {
+        VoucherImportResultDTO result = new VoucherImportResultDTO();
+        if (transactions == null || transactions.isEmpty()) {
+            return result;
+        }
+        result.setTotal(transactions.size());
+
+        // 1. 逐张校验：科目取自科目表快照，结账日与已存在凭证号各只查询一次
+        LocalDate lastClosedDate = periodCloseService.getLastClosedDate();
+        Set<String> existingVoucherNos = findExistingVoucherNos(transactions);
+        Set<String> batchVoucherNos = new HashSet<>();
+        List<Integer> validIndexes = new ArrayList<>();
+        for (int i = 0; i < transactions.size(); i++) {
+            FinTransaction transaction = transactions.get(i);
+            try {
+                if (transaction == null) {
+                    throw new BusinessException("凭证不能为空");
                 }
+                validateImportedVoucher(transaction, lastClosedDate);
+                String voucherNo = transaction.getVoucherNo();
+                if (voucherNo != null && !voucherNo.isEmpty()
+                        && (existingVoucherNos.contains(voucherNo) || !batchVoucherNos.add(voucherNo))) {
+                    throw new BusinessException("凭证号已存在：" + voucherNo);
+                }
+                validIndexes.add(i);
+            } catch (BusinessException e) {
+                result.addError(i, transaction != null ? transaction.getVoucherNo() : null, e.getMessage());
             }
         }
-        
-        return String.format("V%s%03d", dateStr, sequence);
+
+        // 2. 分批写入，每批一个事务；整批失败时逐张重写以定位出错凭证，其余凭证照常导入
+        int successCount = 0;
+        for (int from = 0; from < validIndexes.size(); from += IMPORT_CHUNK_SIZE) {
+            List<Integer> chunkIndexes = validIndexes.subList(from, Math.min(from + IMPORT_CHUNK_SIZE, validIndexes.size()));
+            List<FinTransaction> chunk = new ArrayList<>(chunkIndexes.size());
+            for (Integer index : chunkIndexes) {
+                chunk.add(transactions.get(index));
+            }
+            try {
+                writeImportedVouchers(chunk);
+                successCount += chunk.size();
+            } catch (RuntimeException e) {
+                log.warn("凭证批量写入失败，改为逐张写入：{}", e.getMessage());
+                for (Integer index : chunkIndexes) {
+                    FinTransaction transaction = transactions.get(index);
+                    try {
+                        writeImportedVouchers(Collections.singletonList(transaction));
+                        successCount++;
+                    } catch (RuntimeException ex) {
+                        result.addError(index, transaction.getVoucherNo(), "凭证写入失败：" + rootMessage(ex));
+                    }
+                }
+            }
+        }
+        result.setSuccessCount(successCount);
+        result.getErrors().sort(Comparator.comparingInt(VoucherImportResultDTO.ImportError::getIndex));
+        log.info("凭证批量导入完成，共 {} 张，成功 {} 张，失败 {} 张", result.getTotal(), successCount, result.getFailedCount());
+        return result;
+    }
+
+    /**
+     * 导入凭证的内存校验（与录入凭证一致，但不做逐科目的余额方向查询）
+     */
+    private void validateImportedVoucher(FinTransaction transaction, LocalDate lastClosedDate) {
+        if (transaction.getSplits() == null || transaction.getSplits().size() < 2) {
+            throw new BusinessException("凭证至少需要一借一贷两条分录");
+        }
+        if (transaction.getTransDate() == null) {
+            throw new BusinessException("凭证日期不能为空");
+        }
+        if (lastClosedDate != null && !transaction.getTransDate().isAfter(lastClosedDate)) {
+            throw new BusinessException("日期 " + transaction.getTransDate() + " 所在期间已结账（最近结账日：" + lastClosedDate + "），不能导入凭证");
+        }
+        if (transaction.getStatus() != null && transaction.getStatus() != 0 && transaction.getStatus() != 1) {
+            throw new BusinessException("凭证状态只能为0（草稿）或1（已审核）");
+        }
+        for (FinSplit split : transaction.getSplits()) {
+            if (split == null || split.getAccountId() == null) {
+                throw new BusinessException("分录的科目ID不能为空");
+            }
+            FinAccount account = accountService.getCachedAccount(split.getAccountId());
+            if (account == null) {
+                throw new BusinessException("科目不存在：" + split.getAccountId());
+            }
+            if (!accountService.isLeafAccount(split.getAccountId())) {
+                throw new BusinessException("凭证分录只能使用末级科目，科目\"" + account.getAccountName() + "\"不是末级科目");
+            }
+        }
+        validateDebitCreditBalance(transaction.getSplits());
+        ownerValidationService.validateOwnerAssociation(transaction.getSplits());
+    }
+
+    /**
+     * 查询导入凭证中已在数据库存在的凭证号
+     */
+    private Set<String> findExistingVoucherNos(List<FinTransaction> transactions) {
+        List<String> voucherNos = new ArrayList<>();
+        for (FinTransaction transaction : transactions) {
+            if (transaction != null && transaction.getVoucherNo() != null && !transaction.getVoucherNo().isEmpty()) {
+                voucherNos.add(transaction.getVoucherNo());
+            }
+        }
+        Set<String> existing = new HashSet<>();
+        for (int from = 0; from < voucherNos.size(); from += VOUCHER_NO_QUERY_SIZE) {
+            LambdaQueryWrapper<FinTransaction> wrapper = new LambdaQueryWrapper<>();
+            wrapper.select(FinTransaction::getVoucherNo);
+            wrapper.in(FinTransaction::getVoucherNo, voucherNos.subList(from, Math.min(from + VOUCHER_NO_QUERY_SIZE, voucherNos.size())));
+            for (FinTransaction found : this.list(wrapper)) {
+                existing.add(found.getVoucherNo());
+            }
+        }
+        return existing;
+    }
+
+    /**
+     * 在独立事务内批量写入一批导入凭证
+     * 事务内按最早凭证日期重新校验结账期间并持有共享结账锁，导入期间结账的凭证不会写入已结账期间
+     */
+    private void writeImportedVouchers(List<FinTransaction> chunk) {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            chunk.stream().map(FinTransaction::getTransDate).min(Comparator.naturalOrder())
+                    .ifPresent(periodCloseService::assertPeriodOpen);
+            saveVouchersBatch(chunk);
+        });
+    }
+
+    @Override
+    @Transactional(rollbackFor = Exception.class)
+    public void saveVouchersBatch(List<FinTransaction> transactions) {
+        if (transactions == null || transactions.isEmpty()) {
+            return;
+        }
+
+        // 补全凭证号（号段分配，不逐张查询数据库）、状态和录入时间；
+        // 同时清除上一次失败写入时回填的主键，保证重试时由数据库重新分配
+        LocalDateTime now = LocalDateTime.now();
+        for (FinTransaction transaction : transactions) {
+            transaction.setTransId(null);
+            for (FinSplit split : transaction.getSplits()) {
+                split.setSplitId(null);
+            }
+            if (transaction.getVoucherNo() == null || transaction.getVoucherNo().isEmpty()) {
+                transaction.setVoucherNo(generateVoucherNo());
+            }
+            if (transaction.getStatus() == null) {
+                transaction.setStatus(0);
+            }
+            if (transaction.getEnterDate() == null) {
+                transaction.setEnterDate(now);
+            }
+        }
+
+        // MyBatis BATCH 执行器，配合 rewriteBatchedStatements 合并为多值 INSERT
+        this.saveBatch(transactions, transactions.size());
+
+        List<FinSplit> splits = new ArrayList<>();
+        Map<LocalDate, List<FinSplit>> auditedSplitsByDate = new TreeMap<>();
+        for (FinTransaction transaction : transactions) {
+            for (FinSplit split : transaction.getSplits()) {
+                split.setTransId(transaction.getTransId());
+                splits.add(split);
+            }
+            if (transaction.getStatus() == 1) {
+                auditedSplitsByDate.computeIfAbsent(transaction.getTransDate(), k -> new ArrayList<>())
+                        .addAll(transaction.getSplits());
+            }
+        }
+        Db.saveBatch(splits, IMPORT_SPLIT_BATCH_SIZE);
+
+        // 已审核凭证按日期合并后更新科目日余额快照
+        auditedSplitsByDate.forEach(dailyBalanceService::recordSplits);
+        ledgerVersion.bumpOnCommit();
+    }
+
+    private static String rootMessage(Throwable e) {
+        Throwable root = e;
+        while (root.getCause() != null && root.getCause() != root) {
+            root = root.getCause();
+        }
+        return root.getMessage();
+    }
+
+    @Override
+    public String generateVoucherNo() {
+        // 生成格式：V + 日期(yyyyMMdd) + 序号(3位)，序号由号段分配，无需每次查询当天最大序号
+        return sequenceService.nextNo("V", this::findMaxVoucherSequence);
+    }
+
+    /**
+     * 查询当天已有凭证的最大序号（仅在当天序列首次使用时调用）
+     * @param keyPrefix V + 日期(yyyyMMdd)
+     */
+    private long findMaxVoucherSequence(String keyPrefix) {
+        return baseMapper.selectMaxVoucherSequence(keyPrefix);
     }
 
     /**
@@ -269,7 +551,7 @@ public class TransactionServiceImpl extends ServiceImpl<FinTransactionMapper, Fi
             
             boolean isLeaf = accountService.isLeafAccount(split.getAccountId());
             if (!isLeaf) {
-                com.kylin.finance.entity.FinAccount account = accountService.getById(split.getAccountId());
+                FinAccount account = entityLoaders.accounts().load(split.getAccountId());
                 String accountName = account != null ? account.getAccountName() : String.valueOf(split.getAccountId());
                 throw new BusinessException("凭证分录只能使用末级科目，科目\"" + accountName + "\"不是末级科目");
             }
@@ -318,13 +600,16 @@ public class TransactionServiceImpl extends ServiceImpl<FinTransactionMapper, Fi
             }
         }
         
+        // 一次批量加载全部分录科目，嵌套循环内不再逐条查询
+        BatchLoader<Long, FinAccount> accounts = entityLoaders.accounts().prime(accountIdsOf(splits));
+        
         // 检查现金/银行存款的借方
         for (FinSplit debitSplit : debits) {
-            com.kylin.finance.entity.FinAccount account = accountService.getById(debitSplit.getAccountId());
+            FinAccount account = accounts.load(debitSplit.getAccountId());
             if (account != null && ("1001".equals(account.getAccountCode()) || "1002".equals(account.getAccountCode()))) {
                 // 现金/银行存款借方，检查贷方是否有不常见的科目
                 for (FinSplit creditSplit : credits) {
-                    com.kylin.finance.entity.FinAccount creditAccount = accountService.getById(creditSplit.getAccountId());
+                    FinAccount creditAccount = accounts.load(creditSplit.getAccountId());
                     if (creditAccount != null) {
                         String code = creditAccount.getAccountCode();
                         // 长期负债（25开头）、长期应付款（27开头）在现金借方的贷方不常见
@@ -347,27 +632,29 @@ public class TransactionServiceImpl extends ServiceImpl<FinTransactionMapper, Fi
             return;
         }
         
+        BatchLoader<Long, FinAccount> accounts = entityLoaders.accounts().prime(accountIdsOf(splits));
         for (FinSplit split : splits) {
             if (split.getAccountId() == null || split.getAmount() == null) {
                 continue;
             }
             
-            com.kylin.finance.entity.FinAccount account = accountService.getById(split.getAccountId());
+            FinAccount account = accounts.load(split.getAccountId());
             if (account == null) {
                 continue;
             }
             
             try {
-                // 计算当前余额
-                com.kylin.finance.dto.AccountBalanceDTO balanceDTO = accountingService.calculateAccountBalance(
+                // 从内存累计余额索引查询当前余额，无需汇总该科目的历史分录
+                AccountBalanceSummary cumulative = runningBalanceService.getCumulativeAmount(
                     split.getAccountId(), transDate);
                 
-                if (balanceDTO == null) {
-                    // 科目还没有余额，跳过检查
-                    continue;
+                BigDecimal currentBalance;
+                if ("ASSET".equals(account.getAccountType()) || "EXPENSE".equals(account.getAccountType())) {
+                    currentBalance = cumulative.getDebitAmount().subtract(cumulative.getCreditAmount());
+                } else {
+                    currentBalance = cumulative.getCreditAmount().subtract(cumulative.getDebitAmount());
                 }
                 
-                BigDecimal currentBalance = balanceDTO.getBalance();
                 BigDecimal newBalance;
                 
                 // 根据科目类型计算新余额
@@ -406,4 +693,11 @@ public class TransactionServiceImpl extends ServiceImpl<FinTransactionMapper, Fi
             }
         }
     }
-}
\ No newline at end of file
+    
+    /**
+     * 分录涉及的科目ID
+     */
+    private List<Long> accountIdsOf(List<FinSplit> splits) {
+        return splits.stream().map(FinSplit::getAccountId).collect(Collectors.toList());
+    }
+}
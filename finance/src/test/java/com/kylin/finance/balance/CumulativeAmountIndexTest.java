@@ -0,0 +1,102 @@
+package com.kylin.finance.balance;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * CumulativeAmountIndex 单元测试：与逐日累加的朴素结果对照
+ */
+class CumulativeAmountIndexTest {
+
+    private static final long FIRST_DAY = 19_000L;
+    private static final long LAST_DAY = 19_030L;
+
+    /**
+     * 初始容量覆盖的最后一天（构造时额外预留 366 天）
+     */
+    private static final long CAPACITY_LAST_DAY = LAST_DAY + 366;
+
+    @Test
+    void prefixSumAtFirstDayIncludesOnlyThatDay() {
+        CumulativeAmountIndex index = new CumulativeAmountIndex(FIRST_DAY, LAST_DAY);
+        index.add(FIRST_DAY, 100, 7);
+        index.add(FIRST_DAY + 1, 50, 3);
+
+        assertThat(index.debitThrough(FIRST_DAY)).isEqualTo(100);
+        assertThat(index.creditThrough(FIRST_DAY)).isEqualTo(7);
+        assertThat(index.debitThrough(FIRST_DAY - 1)).isZero();
+        assertThat(index.creditThrough(FIRST_DAY - 1)).isZero();
+    }
+
+    @Test
+    void prefixSumAtLastCoveredDayIncludesEverything() {
+        CumulativeAmountIndex index = new CumulativeAmountIndex(FIRST_DAY, LAST_DAY);
+        index.add(FIRST_DAY, 100, 0);
+        index.add(CAPACITY_LAST_DAY, 25, 40);
+
+        assertThat(index.debitThrough(CAPACITY_LAST_DAY - 1)).isEqualTo(100);
+        assertThat(index.debitThrough(CAPACITY_LAST_DAY)).isEqualTo(125);
+        assertThat(index.creditThrough(CAPACITY_LAST_DAY)).isEqualTo(40);
+        // 超出覆盖范围的查询等于全部合计
+        assertThat(index.debitThrough(CAPACITY_LAST_DAY + 10_000)).isEqualTo(125);
+    }
+
+    @Test
+    void reversalWithNegativeAmountsCancelsOut() {
+        CumulativeAmountIndex index = new CumulativeAmountIndex(FIRST_DAY, LAST_DAY);
+        index.add(FIRST_DAY + 5, 300, 200);
+        index.add(FIRST_DAY + 5, -300, -200);
+
+        assertThat(index.debitThrough(LAST_DAY)).isZero();
+        assertThat(index.creditThrough(LAST_DAY)).isZero();
+    }
+
+    @Test
+    void growingBackwardAndForwardKeepsExistingAmounts() {
+        CumulativeAmountIndex index = new CumulativeAmountIndex(FIRST_DAY, LAST_DAY);
+        index.add(FIRST_DAY + 3, 10, 1);
+        index.add(LAST_DAY, 20, 2);
+        // 早于起点与晚于容量末尾的日期触发重建
+        index.add(FIRST_DAY - 1_000, 30, 3);
+        index.add(CAPACITY_LAST_DAY + 1_000, 40, 4);
+
+        assertThat(index.debitThrough(FIRST_DAY - 1_001)).isZero();
+        assertThat(index.debitThrough(FIRST_DAY - 1_000)).isEqualTo(30);
+        assertThat(index.debitThrough(FIRST_DAY + 3)).isEqualTo(40);
+        assertThat(index.debitThrough(LAST_DAY)).isEqualTo(60);
+        assertThat(index.creditThrough(CAPACITY_LAST_DAY + 999)).isEqualTo(6);
+        assertThat(index.debitThrough(CAPACITY_LAST_DAY + 1_000)).isEqualTo(100);
+        assertThat(index.creditThrough(CAPACITY_LAST_DAY + 1_000)).isEqualTo(10);
+    }
+
+    @Test
+    void matchesNaivePrefixSumsAcrossRebuilds() {
+        long firstDay = 20_000L;
+        int span = 3_000;
+        long[] debit = new long[span];
+        long[] credit = new long[span];
+        // 从中间一小段开始，随机日期会向两侧多次扩容
+        CumulativeAmountIndex index = new CumulativeAmountIndex(firstDay + 1_400, firstDay + 1_410);
+        Random random = new Random(42);
+        for (int i = 0; i < 5_000; i++) {
+            int day = random.nextInt(span);
+            long d = random.nextInt(10_000) - 2_000;
+            long c = random.nextInt(10_000) - 2_000;
+            debit[day] += d;
+            credit[day] += c;
+            index.add(firstDay + day, d, c);
+        }
+
+        long debitSum = 0;
+        long creditSum = 0;
+        for (int day = 0; day < span; day++) {
+            debitSum += debit[day];
+            creditSum += credit[day];
+            assertThat(index.debitThrough(firstDay + day)).as("debit through day %d", day).isEqualTo(debitSum);
+            assertThat(index.creditThrough(firstDay + day)).as("credit through day %d", day).isEqualTo(creditSum);
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package com.kylin.finance.balance;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * LedgerColumns 单元测试：汇总扫描、扩容与只读视图
+ */
+class LedgerColumnsTest {
+
+    private static final int DAY = 19_700;
+
+    @Test
+    void sumByAccountHonoursInclusiveDateRange() {
+        LedgerColumns columns = new LedgerColumns(16);
+        columns.append(0, DAY - 1, 100, LedgerColumns.DEBIT, 0L);
+        columns.append(0, DAY, 200, LedgerColumns.DEBIT, 0L);
+        columns.append(1, DAY, 300, LedgerColumns.CREDIT, 7L);
+        columns.append(0, DAY + 1, 50, LedgerColumns.CREDIT, 0L);
+        columns.append(0, DAY + 2, 999, LedgerColumns.DEBIT, 0L);
+
+        long[] debit = new long[3];
+        long[] credit = new long[3];
+        boolean[] touched = new boolean[3];
+        columns.sumByAccount(DAY, DAY + 1, debit, credit, touched);
+
+        assertThat(debit).containsExactly(200, 0, 0);
+        assertThat(credit).containsExactly(50, 300, 0);
+        assertThat(touched).containsExactly(true, true, false);
+    }
+
+    @Test
+    void reversalsAreNegativeAmountsButStillMarkTheAccount() {
+        LedgerColumns columns = new LedgerColumns(16);
+        columns.append(0, DAY, 500, LedgerColumns.DEBIT, 0L);
+        columns.append(0, DAY, -500, LedgerColumns.DEBIT, 0L);
+
+        long[] debit = new long[1];
+        long[] credit = new long[1];
+        boolean[] touched = new boolean[1];
+        columns.sumByAccount(Integer.MIN_VALUE, Integer.MAX_VALUE, debit, credit, touched);
+
+        assertThat(debit[0]).isZero();
+        assertThat(touched[0]).isTrue();
+    }
+
+    @Test
+    void sumByAccountAndBucketGroupsDaysIntoCells() {
+        LedgerColumns columns = new LedgerColumns(16);
+        // 分组：DAY、DAY+1 -> 0，DAY+2 -> 1；DAY-1 与 DAY+3 在范围外
+        int[] bucketOfDay = {0, 0, 1};
+        columns.append(0, DAY - 1, 1, LedgerColumns.DEBIT, 0L);
+        columns.append(0, DAY, 10, LedgerColumns.DEBIT, 0L);
+        columns.append(0, DAY + 1, 20, LedgerColumns.DEBIT, 0L);
+        columns.append(1, DAY + 2, 30, LedgerColumns.CREDIT, 0L);
+        columns.append(1, DAY + 3, 1, LedgerColumns.CREDIT, 0L);
+
+        long[] debit = new long[4];
+        long[] credit = new long[4];
+        boolean[] touched = new boolean[4];
+        columns.sumByAccountAndBucket(DAY, bucketOfDay, 2, debit, credit, touched);
+
+        // 下标为 科目序号 * 分组数 + 分组
+        assertThat(debit).containsExactly(30, 0, 0, 0);
+        assertThat(credit).containsExactly(0, 0, 0, 30);
+        assertThat(touched).containsExactly(true, false, false, true);
+    }
+
+    @Test
+    void growsBeyondInitialCapacityAndKeepsAppendOrder() {
+        LedgerColumns columns = new LedgerColumns(16);
+        for (int i = 0; i < 100; i++) {
+            columns.append(i % 3, DAY + i, i, i % 2 == 0 ? LedgerColumns.DEBIT : LedgerColumns.CREDIT, i);
+        }
+
+        List<Long> owners = new ArrayList<>();
+        long[] amountSum = new long[1];
+        columns.forEach((account, epochDay, amount, direction, ownerId) -> {
+            assertThat(epochDay).isEqualTo(DAY + (int) ownerId);
+            assertThat(account).isEqualTo((int) ownerId % 3);
+            owners.add(ownerId);
+            amountSum[0] += amount;
+        });
+
+        assertThat(columns.size()).isEqualTo(100);
+        assertThat(owners).hasSize(100).isSorted();
+        assertThat(amountSum[0]).isEqualTo(99 * 100 / 2);
+        assertThat(columns.capacityBytes()).isEqualTo(128L * 25);
+    }
+
+    @Test
+    void readOnlyViewIsUnaffectedByLaterAppendsAndRejectsWrites() {
+        LedgerColumns columns = new LedgerColumns(16);
+        for (int i = 0; i < 16; i++) {
+            columns.append(0, DAY, 1, LedgerColumns.DEBIT, 0L);
+        }
+        LedgerColumns view = columns.readOnlyView();
+        // 第 17 条触发扩容，之后继续追加
+        for (int i = 0; i < 20; i++) {
+            columns.append(0, DAY, 1, LedgerColumns.DEBIT, 0L);
+        }
+
+        long[] debit = new long[1];
+        view.sumByAccount(Integer.MIN_VALUE, Integer.MAX_VALUE, debit, new long[1], new boolean[1]);
+        assertThat(view.size()).isEqualTo(16);
+        assertThat(debit[0]).isEqualTo(16);
+        assertThat(columns.size()).isEqualTo(36);
+        assertThatThrownBy(() -> view.append(0, DAY, 1, LedgerColumns.DEBIT, 0L))
+                .isInstanceOf(IllegalStateException.class);
+    }
+}
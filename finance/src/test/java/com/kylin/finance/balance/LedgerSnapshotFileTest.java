@@ -0,0 +1,111 @@
+package com.kylin.finance.balance;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * LedgerSnapshotFile 单元测试：汇总、写入读取往返与损坏检测
+ */
+class LedgerSnapshotFileTest {
+
+    private static final int DAY = 19_700;
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void aggregatesByAccountAndDayAndRoundTrips() throws IOException {
+        LedgerColumns columns = new LedgerColumns(16);
+        columns.append(1, DAY + 1, 40, LedgerColumns.CREDIT, 9L);
+        columns.append(0, DAY, 100, LedgerColumns.DEBIT, 3L);
+        columns.append(0, DAY, 25, LedgerColumns.DEBIT, 4L);
+        columns.append(0, DAY, 10, LedgerColumns.CREDIT, 0L);
+        columns.append(1, DAY, -5, LedgerColumns.DEBIT, 0L);
+
+        Path path = dir.resolve("ledger.snap");
+        LedgerSnapshotFile.aggregate(columns, new long[]{1001L, 1002L, 0L}, new int[]{2, 0, 0}, 2, 77L).write(path);
+        LedgerSnapshotFile snapshot = LedgerSnapshotFile.read(path);
+
+        assertThat(snapshot.getHighWaterSplitId()).isEqualTo(77L);
+        assertThat(snapshot.getAccountCount()).isEqualTo(2);
+        assertThat(snapshot.getAccountId(1)).isEqualTo(1002L);
+        assertThat(snapshot.getFraction(0)).isEqualTo(2);
+        assertThat(snapshot.getFraction(1)).isZero();
+        // 同一 (科目, 日期) 合并为一行，按 (科目序号, 日期) 排序，不保留往来单位
+        assertThat(rows(snapshot)).containsExactly(
+                "0@" + DAY + " 125/10",
+                "1@" + DAY + " -5/0",
+                "1@" + (DAY + 1) + " 0/40");
+        assertThat(Files.exists(dir.resolve("ledger.snap.tmp"))).isFalse();
+    }
+
+    @Test
+    void missingFileReadsAsNull() throws IOException {
+        assertThat(LedgerSnapshotFile.read(dir.resolve("absent.snap"))).isNull();
+    }
+
+    @Test
+    void flippedByteFailsChecksum() throws IOException {
+        Path path = writeSample();
+        byte[] bytes = Files.readAllBytes(path);
+        // 篡改最后一行的贷方金额
+        bytes[bytes.length - 9] ^= 0x01;
+        Files.write(path, bytes);
+
+        assertThatThrownBy(() -> LedgerSnapshotFile.read(path))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("校验失败");
+    }
+
+    @Test
+    void truncatedFileIsRejected() throws IOException {
+        Path path = writeSample();
+        byte[] bytes = Files.readAllBytes(path);
+        Files.write(path, Arrays.copyOf(bytes, bytes.length - 24));
+
+        assertThatThrownBy(() -> LedgerSnapshotFile.read(path)).isInstanceOf(IOException.class);
+
+        Files.write(path, new byte[10]);
+        assertThatThrownBy(() -> LedgerSnapshotFile.read(path))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("大小异常");
+    }
+
+    @Test
+    void rewriteReplacesThePreviousSnapshot() throws IOException {
+        Path path = writeSample();
+        LedgerColumns columns = new LedgerColumns(16);
+        columns.append(0, DAY + 5, 1, LedgerColumns.DEBIT, 0L);
+        LedgerSnapshotFile.aggregate(columns, new long[]{1001L}, new int[]{2}, 1, 99L).write(path);
+
+        LedgerSnapshotFile snapshot = LedgerSnapshotFile.read(path);
+        assertThat(snapshot.getHighWaterSplitId()).isEqualTo(99L);
+        assertThat(rows(snapshot)).containsExactly("0@" + (DAY + 5) + " 1/0");
+    }
+
+    private Path writeSample() throws IOException {
+        LedgerColumns columns = new LedgerColumns(16);
+        columns.append(0, DAY, 100, LedgerColumns.DEBIT, 0L);
+        columns.append(0, DAY + 1, 100, LedgerColumns.CREDIT, 0L);
+        Path path = dir.resolve("sample.snap");
+        LedgerSnapshotFile.aggregate(columns, new long[]{1001L}, new int[]{2}, 1, 10L).write(path);
+        return path;
+    }
+
+    private static List<String> rows(LedgerSnapshotFile snapshot) {
+        List<String> rows = new ArrayList<>();
+        snapshot.forEachRow((account, epochDay, debit, credit) ->
+                rows.add(account + "@" + epochDay + " " + debit + "/" + credit));
+        return rows;
+    }
+}
@@ -0,0 +1,140 @@
+package com.kylin.finance.common;
+
+import com.baomidou.mybatisplus.core.MybatisConfiguration;
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.baomidou.mybatisplus.core.metadata.TableInfoHelper;
+import com.kylin.common.BusinessException;
+import com.kylin.finance.dto.CursorPage;
+import com.kylin.finance.entity.FinTransaction;
+import org.apache.ibatis.builder.MapperBuilderAssistant;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Base64;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * KeysetPagination 单元测试：游标往返与无效游标
+ */
+class KeysetPaginationTest {
+
+    @BeforeAll
+    static void initTableInfo() {
+        // LambdaQueryWrapper 需要实体的表信息，测试中没有 MyBatis-Plus 自动配置
+        TableInfoHelper.initTableInfo(new MapperBuilderAssistant(new MybatisConfiguration(), ""), FinTransaction.class);
+    }
+
+    @Test
+    void nextCursorRoundTripsIntoSeekCondition() {
+        List<FinTransaction> rows = List.of(
+                voucher("V20260105003", LocalDate.of(2026, 1, 5)),
+                voucher("V20260105001", LocalDate.of(2026, 1, 5)),
+                voucher("V20260104009", LocalDate.of(2026, 1, 4)));
+        CursorPage<FinTransaction> page = KeysetPagination.toPage(rows, 2,
+                FinTransaction::getTransDate, FinTransaction::getVoucherNo);
+
+        assertThat(page.isHasMore()).isTrue();
+        assertThat(page.getRecords()).hasSize(2);
+        assertThat(page.getNextCursor()).doesNotContain("=", "+", "/");
+
+        LambdaQueryWrapper<FinTransaction> wrapper = apply(page.getNextCursor(), 2);
+        assertThat(wrapper.getSqlSegment()).contains("ORDER BY").endsWith("LIMIT 3");
+        assertThat(wrapper.getParamNameValuePairs().values())
+                .contains(LocalDate.of(2026, 1, 5), "V20260105001");
+    }
+
+    @Test
+    void lastPageHasNoCursor() {
+        CursorPage<FinTransaction> page = KeysetPagination.toPage(
+                List.of(voucher("V1", LocalDate.of(2026, 1, 1))), 2,
+                FinTransaction::getTransDate, FinTransaction::getVoucherNo);
+
+        assertThat(page.isHasMore()).isFalse();
+        assertThat(page.getNextCursor()).isNull();
+    }
+
+    @Test
+    void documentNumbersMayContainAnyCharacter() {
+        String key = "单据-001\u001Fx";
+        CursorPage<FinTransaction> page = KeysetPagination.toPage(
+                List.of(voucher(key, LocalDate.of(2026, 2, 1)), voucher("Z", LocalDate.of(2026, 1, 1))), 1,
+                FinTransaction::getTransDate, FinTransaction::getVoucherNo);
+
+        LambdaQueryWrapper<FinTransaction> wrapper = apply(page.getNextCursor(), 1);
+        assertThat(wrapper.getParamNameValuePairs().values()).contains(key);
+    }
+
+    @Test
+    void emptyCursorStartsFromTheFirstPage() {
+        assertThat(apply("", 20).getParamNameValuePairs()).isEmpty();
+        assertThat(apply(null, 20).getParamNameValuePairs()).isEmpty();
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            // 不是 Base64URL
+            "!!not-base64!!",
+            "abc+/def",
+            // Base64 长度非法
+            "A",
+    })
+    void malformedBase64IsRejected(String cursor) {
+        assertInvalid(cursor);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            // 版本号不符
+            "2\u001F2026-01-05\u001FV1",
+            // 缺少分隔段
+            "1\u001F2026-01-05",
+            "plain text",
+            // 日期被篡改
+            "1\u001F2026-13-45\u001FV1",
+            "1\u001F2026-01-05' OR '1'='1\u001FV1",
+    })
+    void tamperedPayloadIsRejected(String payload) {
+        assertInvalid(Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(payload.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @Test
+    void flippedCharacterInValidCursorIsRejected() {
+        CursorPage<FinTransaction> page = KeysetPagination.toPage(
+                List.of(voucher("V1", LocalDate.of(2026, 1, 5)), voucher("V0", LocalDate.of(2026, 1, 4))), 1,
+                FinTransaction::getTransDate, FinTransaction::getVoucherNo);
+        String cursor = page.getNextCursor();
+        // 第一个字符承载版本号，改动后版本号或分隔符被破坏
+        String tampered = (cursor.charAt(0) == 'A' ? 'B' : 'A') + cursor.substring(1);
+
+        assertInvalid(tampered);
+    }
+
+    private static void assertInvalid(String cursor) {
+        assertThatThrownBy(() -> apply(cursor, 20))
+                .isInstanceOf(BusinessException.class)
+                .hasMessage("分页游标无效");
+    }
+
+    private static LambdaQueryWrapper<FinTransaction> apply(String cursor, int size) {
+        LambdaQueryWrapper<FinTransaction> wrapper = new LambdaQueryWrapper<>();
+        KeysetPagination.apply(wrapper, FinTransaction::getTransDate, FinTransaction::getVoucherNo, cursor, size);
+        // 条件参数在生成 SQL 片段时才写入 paramNameValuePairs
+        wrapper.getSqlSegment();
+        return wrapper;
+    }
+
+    private static FinTransaction voucher(String voucherNo, LocalDate transDate) {
+        FinTransaction transaction = new FinTransaction();
+        transaction.setVoucherNo(voucherNo);
+        transaction.setTransDate(transDate);
+        return transaction;
+    }
+}
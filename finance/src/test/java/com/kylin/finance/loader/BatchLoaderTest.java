@@ -0,0 +1,91 @@
+package com.kylin.finance.loader;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * BatchLoader 单元测试：记录每次批量查询的键，核对合并、缓存与分批行为
+ */
+class BatchLoaderTest {
+
+    /**
+     * 每次批量查询收到的键
+     */
+    private final List<List<Long>> calls = new ArrayList<>();
+
+    /**
+     * 偶数键存在，值为 "v" + 键；奇数键不存在
+     */
+    private final BatchLoader<Long, String> loader = new BatchLoader<>(this::query);
+
+    private Map<Long, String> query(Collection<Long> keys) {
+        calls.add(new ArrayList<>(keys));
+        Map<Long, String> result = new HashMap<>();
+        for (Long key : keys) {
+            if (key % 2 == 0) {
+                result.put(key, "v" + key);
+            }
+        }
+        return result;
+    }
+
+    @Test
+    void primedKeysAreLoadedTogetherWithTheFirstLoad() {
+        loader.prime(Arrays.asList(2L, 4L, 6L));
+
+        assertThat(loader.load(8L)).isEqualTo("v8");
+        assertThat(loader.load(2L)).isEqualTo("v2");
+        assertThat(loader.load(6L)).isEqualTo("v6");
+        assertThat(calls).containsExactly(List.of(2L, 4L, 6L, 8L));
+    }
+
+    @Test
+    void missingKeysAreCachedAndNotQueriedAgain() {
+        assertThat(loader.load(3L)).isNull();
+        assertThat(loader.load(3L)).isNull();
+        loader.prime(List.of(3L));
+        assertThat(loader.loadMany(List.of(3L))).isEmpty();
+
+        assertThat(calls).containsExactly(List.of(3L));
+    }
+
+    @Test
+    void nullKeysAreIgnored() {
+        assertThat(loader.load(null)).isNull();
+        loader.prime(Arrays.asList(null, 2L));
+
+        assertThat(loader.loadMany(Arrays.asList(2L, null))).containsOnlyKeys(2L);
+        assertThat(calls).containsExactly(List.of(2L));
+    }
+
+    @Test
+    void loadManyKeepsRequestOrderAndOnlyQueriesUncachedKeys() {
+        loader.load(4L);
+
+        Map<Long, String> result = loader.loadMany(List.of(10L, 3L, 4L, 2L));
+
+        assertThat(new ArrayList<>(result.keySet())).containsExactly(10L, 4L, 2L);
+        assertThat(calls).containsExactly(List.of(4L), List.of(10L, 3L, 2L));
+    }
+
+    @Test
+    void largeKeySetsAreSplitIntoBatchesOfAtMostOneThousand() {
+        List<Long> keys = LongStream.rangeClosed(1, 2_500).boxed().collect(Collectors.toList());
+
+        Map<Long, String> result = loader.loadMany(keys);
+
+        assertThat(result).hasSize(1_250);
+        assertThat(calls).extracting(List::size).containsExactly(1_000, 1_000, 500);
+        assertThat(calls.get(2).get(0)).isEqualTo(2_001L);
+    }
+}
@@ -0,0 +1,138 @@
+package com.kylin.finance.sequence;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongSupplier;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * SequenceAllocator 单元测试：以内存中的号段租用模拟 fin_sequence
+ */
+class SequenceAllocatorTest {
+
+    /**
+     * 与 fin_sequence 相同的语义：序列键不存在时按 initialValue 初始化，每次租用推进 blockSize
+     */
+    private static final class InMemoryLeaser implements SequenceAllocator.BlockLeaser {
+        private final Map<String, Long> nextValues = new HashMap<>();
+        private final AtomicInteger leases = new AtomicInteger();
+        private final AtomicInteger initialValueCalls = new AtomicInteger();
+
+        @Override
+        public synchronized long lease(String key, int blockSize, LongSupplier initialValue) {
+            leases.incrementAndGet();
+            long start = nextValues.computeIfAbsent(key, k -> {
+                initialValueCalls.incrementAndGet();
+                return initialValue.getAsLong();
+            });
+            nextValues.put(key, start + blockSize);
+            return start;
+        }
+    }
+
+    private final InMemoryLeaser leaser = new InMemoryLeaser();
+
+    @Test
+    void concurrentCallersExhaustBlocksWithoutDuplicatesOrGaps() throws Exception {
+        int blockSize = 7;
+        int threads = 16;
+        int perThread = 1_000;
+        SequenceAllocator allocator = new SequenceAllocator(leaser, blockSize);
+
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            Callable<long[]> worker = () -> {
+                start.await();
+                long[] values = new long[perThread];
+                for (int i = 0; i < perThread; i++) {
+                    values[i] = allocator.next("V20260101", () -> 1L);
+                }
+                return values;
+            };
+            List<Future<long[]>> futures = IntStream.range(0, threads)
+                    .mapToObj(i -> pool.submit(worker))
+                    .collect(Collectors.toList());
+            start.countDown();
+
+            long[] all = new long[threads * perThread];
+            int offset = 0;
+            for (Future<long[]> future : futures) {
+                long[] values = future.get(30, TimeUnit.SECONDS);
+                // 同一线程拿到的序号递增
+                assertThat(values).isSorted();
+                System.arraycopy(values, 0, all, offset, values.length);
+                offset += values.length;
+            }
+            Arrays.sort(all);
+            for (int i = 0; i < all.length; i++) {
+                assertThat(all[i]).as("第 %d 个序号", i).isEqualTo(i + 1L);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        // 号段用完时只有一个线程租用，其余线程等待后使用新号段，不会多租
+        int total = threads * perThread;
+        assertThat(leaser.leases.get()).isEqualTo((total + blockSize - 1) / blockSize);
+        assertThat(leaser.initialValueCalls.get()).isEqualTo(1);
+    }
+
+    @Test
+    void keysAreAllocatedIndependently() {
+        SequenceAllocator allocator = new SequenceAllocator(leaser, 3);
+
+        assertThat(allocator.next("V20260101", () -> 1L)).isEqualTo(1L);
+        assertThat(allocator.next("R20260101", () -> 42L)).isEqualTo(42L);
+        assertThat(allocator.next("V20260101", () -> 1L)).isEqualTo(2L);
+        assertThat(allocator.next("R20260101", () -> 42L)).isEqualTo(43L);
+    }
+
+    @Test
+    void failedLeaseIsRetriedOnTheNextCall() {
+        AtomicInteger attempts = new AtomicInteger();
+        SequenceAllocator allocator = new SequenceAllocator((key, blockSize, initialValue) -> {
+            if (attempts.incrementAndGet() == 1) {
+                throw new IllegalStateException("lease failed");
+            }
+            return leaser.lease(key, blockSize, initialValue);
+        }, 5);
+
+        assertThatThrownBy(() -> allocator.next("V20260101", () -> 1L)).isInstanceOf(IllegalStateException.class);
+        assertThat(allocator.next("V20260101", () -> 1L)).isEqualTo(1L);
+        assertThat(allocator.next("V20260101", () -> 1L)).isEqualTo(2L);
+    }
+
+    @Test
+    void evictedKeysDiscardTheirRemainingBlock() {
+        SequenceAllocator allocator = new SequenceAllocator(leaser, 10);
+        allocator.next("V20260101", () -> 1L);
+        allocator.next("V20260102", () -> 1L);
+
+        allocator.evict(key -> key.endsWith("0101"));
+
+        // 作废的号段 [2, 11) 产生空号，重新租用从 11 开始
+        assertThat(allocator.next("V20260101", () -> 1L)).isEqualTo(11L);
+        assertThat(allocator.next("V20260102", () -> 1L)).isEqualTo(2L);
+    }
+
+    @Test
+    void rejectsNonPositiveBlockSize() {
+        assertThatThrownBy(() -> new SequenceAllocator(leaser, 0)).isInstanceOf(IllegalArgumentException.class);
+    }
+}